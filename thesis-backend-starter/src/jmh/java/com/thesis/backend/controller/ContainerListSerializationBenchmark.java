@@ -0,0 +1,82 @@
+package com.thesis.backend.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thesis.backend.entity.ContainerInstance;
+import com.thesis.backend.entity.ImageTemplate;
+import com.thesis.backend.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialisation of the container list returned by {@code GET /api/containers},
+ * using an ObjectMapper configured the way Spring Boot configures it
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ContainerListSerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int containers;
+
+    private ObjectMapper objectMapper;
+    private List<ContainerInstance> list;
+    private byte[] serialized;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        ImageTemplate image = new ImageTemplate();
+        image.setId(1L);
+        image.setName("Ubuntu");
+        image.setDockerImage("ubuntu:22.04");
+
+        list = new ArrayList<>(containers);
+        for (long i = 0; i < containers; i++) {
+            User owner = User.builder()
+                    .id(i % 50)
+                    .username("student" + (i % 50))
+                    .email("student" + (i % 50) + "@example.com")
+                    .role("ROLE_STUDENT")
+                    .kubernetesNamespace("student-student" + (i % 50))
+                    .active(true)
+                    .build();
+            list.add(ContainerInstance.builder()
+                    .id(i)
+                    .name("ubuntu-student" + (i % 50) + "-" + i)
+                    .status("Running")
+                    .kubernetesPodName("ubuntu-student" + (i % 50) + "-" + i)
+                    .createdAt(LocalDateTime.of(2024, 1, 1, 10, 0).plusMinutes(i))
+                    .owner(owner)
+                    .imageTemplate(image)
+                    .build());
+        }
+        serialized = objectMapper.writeValueAsBytes(list);
+    }
+
+    @Benchmark
+    public byte[] serializeContainerList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(list);
+    }
+
+    /**
+     * Copy of an already serialised payload of the same size
+     */
+    @Benchmark
+    public byte[] baselineCopy() {
+        return serialized.clone();
+    }
+}
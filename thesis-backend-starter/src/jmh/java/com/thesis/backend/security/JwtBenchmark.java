@@ -0,0 +1,99 @@
+package com.thesis.backend.security;
+
+import com.thesis.backend.entity.User;
+import com.thesis.backend.repository.UserRepository;
+import com.thesis.backend.service.UserDetailsServiceImpl;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT generation/validation and one pass through {@link JwtAuthenticationFilter} with a valid token.
+ * The user lookup is an in-memory stub so only the filter's own cost is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtBenchmark {
+
+    private JwtUtil jwtUtil;
+    private JwtAuthenticationFilter filter;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        user = User.builder()
+                .id(1L)
+                .username("student1")
+                .email("student1@example.com")
+                .password("$2a$10$abcdefghijklmnopqrstuv")
+                .role("ROLE_STUDENT")
+                .active(true)
+                .build();
+        jwtUtil = new JwtUtil();
+        token = jwtUtil.generateToken(user);
+
+        UserRepository users = (UserRepository) Proxy.newProxyInstance(
+                UserRepository.class.getClassLoader(),
+                new Class<?>[]{UserRepository.class},
+                (proxy, method, args) -> {
+                    if ("findByUsername".equals(method.getName())) {
+                        return Optional.of(user);
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        filter = new JwtAuthenticationFilter(jwtUtil, new UserDetailsServiceImpl(users));
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtUtil.extractUsername(token);
+    }
+
+    @Benchmark
+    public Object filterWithValidToken() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/containers/my-containers");
+        request.addHeader("Authorization", "Bearer " + token);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    /**
+     * Filter cost for an anonymous request, the floor for {@link #filterWithValidToken()}
+     */
+    @Benchmark
+    public Object filterBaselineWithoutToken() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/images");
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return request;
+    }
+}
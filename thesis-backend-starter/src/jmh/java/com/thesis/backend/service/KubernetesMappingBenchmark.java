@@ -0,0 +1,158 @@
+package com.thesis.backend.service;
+
+import com.thesis.backend.entity.ContainerTemplate;
+import com.thesis.backend.entity.User;
+import com.thesis.backend.kubernetes.CompiledPodSpec;
+import com.thesis.backend.model.KubernetesDeployment;
+import com.thesis.backend.model.KubernetesPod;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pod/Deployment to DTO mapping on objects shaped like real API responses, and the fabric8
+ * builder cost of the student pod spec. Template pods are measured both compiled from scratch (the
+ * old per-create cost) and stamped from a cached CompiledPodSpec. The baselines return a prebuilt object.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class KubernetesMappingBenchmark {
+
+    private PodService podService;
+    private DeploymentService deploymentService;
+    private Pod pod;
+    private Deployment deployment;
+    private User student;
+    private ContainerTemplate template;
+    private CompiledPodSpec compiledSpec;
+    private Map<String, String> labels;
+
+    @Setup
+    public void setUp() {
+        podService = new PodService();
+        deploymentService = new DeploymentService();
+        student = User.builder().id(42L).username("student42").role("ROLE_STUDENT").build();
+        template = ContainerTemplate.builder()
+                .id(7L)
+                .version(3L)
+                .name("Python")
+                .dockerImage("python:3.11-slim")
+                .sshEnabled(false)
+                .persistentStorage(true)
+                .storageSize("2Gi")
+                .environmentVars("[\"PYTHONUNBUFFERED=1\",\"PIP_NO_CACHE_DIR=1\",\"LANG=C.UTF-8\"]")
+                .resourceLimits("{\"cpu-request\":\"250m\",\"memory-request\":\"512Mi\",\"cpu-limit\":\"1\",\"memory-limit\":\"1Gi\"}")
+                .exposedPorts("[8888, {\"containerPort\": 8000, \"name\": \"http\"}]")
+                .build();
+        compiledSpec = CompiledPodSpec.compile(template);
+        labels = Map.of("app", "python-student42", "owner", "student42",
+                "type", "student-container", "managed-by", "thesis-platform");
+
+        pod = new PodBuilder()
+                .withNewMetadata()
+                    .withName("ubuntu-student42-1700000000000")
+                    .withNamespace("student-student42")
+                    .withUid("0b8d5c1e-2f6a-4d0e-9c1b-3f2e4d5c6b7a")
+                    .withResourceVersion("123456")
+                    .withLabels(Map.of("app", "ubuntu-student42", "owner", "student42",
+                            "type", "student-container", "managed-by", "thesis-platform"))
+                .endMetadata()
+                .withNewSpec()
+                    .addNewContainer()
+                        .withName("main-container")
+                        .withImage("thesis-ssh-container:latest")
+                        .withNewResources()
+                            .addToRequests("cpu", new Quantity("100m"))
+                            .addToRequests("memory", new Quantity("256Mi"))
+                            .addToLimits("cpu", new Quantity("500m"))
+                            .addToLimits("memory", new Quantity("512Mi"))
+                        .endResources()
+                    .endContainer()
+                    .withNodeName("minikube")
+                .endSpec()
+                .withNewStatus()
+                    .withPhase("Running")
+                    .withPodIP("10.244.0.17")
+                    .withHostIP("192.168.49.2")
+                    .withStartTime("2024-01-01T10:00:00Z")
+                    .addNewContainerStatus()
+                        .withName("main-container")
+                        .withReady(true)
+                        .withRestartCount(0)
+                        .withImage("thesis-ssh-container:latest")
+                    .endContainerStatus()
+                .endStatus()
+                .build();
+
+        deployment = new DeploymentBuilder()
+                .withNewMetadata()
+                    .withName("course-web")
+                    .withNamespace("default")
+                    .withLabels(Map.of("app", "course-web"))
+                .endMetadata()
+                .withNewSpec()
+                    .withReplicas(3)
+                    .withNewSelector().addToMatchLabels("app", "course-web").endSelector()
+                    .withNewTemplate()
+                        .withNewMetadata().addToLabels("app", "course-web").endMetadata()
+                        .withNewSpec()
+                            .addNewContainer()
+                                .withName("web")
+                                .withImage("nginx:1.25")
+                            .endContainer()
+                        .endSpec()
+                    .endTemplate()
+                .endSpec()
+                .withNewStatus()
+                    .withReplicas(3)
+                    .withAvailableReplicas(3)
+                    .withReadyReplicas(3)
+                    .withUpdatedReplicas(3)
+                .endStatus()
+                .build();
+    }
+
+    @Benchmark
+    public KubernetesPod mapPodToDto() {
+        return podService.mapPodToDto(pod);
+    }
+
+    @Benchmark
+    public KubernetesDeployment mapDeploymentToDto() {
+        return deploymentService.mapDeploymentToDto(deployment);
+    }
+
+    @Benchmark
+    public Pod buildStudentPod() {
+        return ContainerInstanceService.buildStudentPod("ubuntu-student42-1700000000000", student, "student-student42");
+    }
+
+    @Benchmark
+    public Pod compileAndInstantiateTemplatePod() {
+        return CompiledPodSpec.compile(template)
+                .instantiate("python-student42-20240101100000", "default", labels, "student42", "ssh-credentials-student42");
+    }
+
+    @Benchmark
+    public Pod instantiateCompiledTemplatePod() {
+        return compiledSpec.instantiate("python-student42-20240101100000", "default", labels, "student42", "ssh-credentials-student42");
+    }
+
+    @Benchmark
+    public Pod baseline() {
+        return pod;
+    }
+}
@@ -0,0 +1,76 @@
+package com.thesis.backend.service;
+
+import com.thesis.backend.entity.ContainerInstance;
+import com.thesis.backend.entity.SshConnection;
+import com.thesis.backend.entity.User;
+import com.thesis.backend.event.SshConnectionChangedEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SshConnectionService#authenticateSshUser} against an index of {@code credentials} active connections
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SshAuthenticationBenchmark {
+
+    @Param({"100", "10000"})
+    public int credentials;
+
+    private SshConnectionService sshConnectionService;
+    private String username;
+    private String password;
+
+    @Setup
+    public void setUp() {
+        SshCredentialIndex index = new SshCredentialIndex(null);
+        for (long i = 0; i < credentials; i++) {
+            User student = User.builder().id(i).username("student" + i).role("ROLE_STUDENT").build();
+            ContainerInstance container = ContainerInstance.builder()
+                    .id(i)
+                    .name("container-" + i)
+                    .kubernetesPodName("pod-" + i)
+                    .owner(student)
+                    .build();
+            index.onConnectionChanged(new SshConnectionChangedEvent(SshConnection.builder()
+                    .id(i)
+                    .user(student)
+                    .containerInstance(container)
+                    .sshUsername("student_student" + i + "_1700000000000")
+                    .sshPassword("Pw" + i + "xYz12345")
+                    .status("ACTIVE")
+                    .expiresAt(LocalDateTime.now().plusDays(1))
+                    .build()));
+        }
+        long target = credentials / 2;
+        username = "student_student" + target + "_1700000000000";
+        password = "Pw" + target + "xYz12345";
+
+        sshConnectionService = new SshConnectionService(null, null, null, index, null, null);
+    }
+
+    @Benchmark
+    public boolean validPassword() {
+        return sshConnectionService.authenticateSshUser(username, password);
+    }
+
+    @Benchmark
+    public boolean wrongPassword() {
+        return sshConnectionService.authenticateSshUser(username, "wrong-password");
+    }
+
+    @Benchmark
+    public boolean unknownUser() {
+        return sshConnectionService.authenticateSshUser("nobody", password);
+    }
+}
@@ -0,0 +1,50 @@
+package com.thesis.backend.loadtest;
+
+import com.thesis.backend.kubernetes.KubernetesApiPaths;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Wraps the CRUD dispatcher of the Kubernetes mock server: counts every API call by verb and
+ * resource type and delays each response by a fixed latency plus random jitter.
+ */
+class CountingLatencyDispatcher extends Dispatcher {
+
+    private final Dispatcher delegate;
+    private final long latencyMs;
+    private final long jitterMs;
+    private final Map<String, LongAdder> calls = new ConcurrentHashMap<>();
+
+    CountingLatencyDispatcher(Dispatcher delegate, long latencyMs, long jitterMs) {
+        this.delegate = delegate;
+        this.latencyMs = latencyMs;
+        this.jitterMs = jitterMs;
+    }
+
+    @Override
+    public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+        calls.computeIfAbsent(request.getMethod() + " " + KubernetesApiPaths.resourceType(request.getPath()), key -> new LongAdder())
+                .increment();
+        long delay = latencyMs + (jitterMs > 0 ? ThreadLocalRandom.current().nextLong(jitterMs + 1) : 0);
+        if (delay > 0) {
+            Thread.sleep(delay);
+        }
+        return delegate.dispatch(request);
+    }
+
+    /**
+     * Snapshot of the call counters, e.g. {"POST pods": 12}
+     */
+    Map<String, Long> snapshot() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        calls.forEach((key, count) -> snapshot.put(key, count.sum()));
+        return snapshot;
+    }
+}
@@ -0,0 +1,80 @@
+package com.thesis.backend.loadtest;
+
+import org.apache.sshd.server.Environment;
+import org.apache.sshd.server.ExitCallback;
+import org.apache.sshd.server.channel.ChannelSession;
+import org.apache.sshd.server.command.Command;
+import org.apache.sshd.server.shell.ShellFactory;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Local stand-in for the pod exec stream: echoes every byte back, pumped on a worker thread
+ * the same way the gateway's exec streams are pumped off the SSHD I/O threads.
+ */
+class EchoShellFactory implements ShellFactory {
+
+    private final ExecutorService pumps;
+
+    EchoShellFactory(ExecutorService pumps) {
+        this.pumps = pumps;
+    }
+
+    @Override
+    public Command createShell(ChannelSession channel) {
+        return new EchoCommand();
+    }
+
+    private class EchoCommand implements Command {
+        private InputStream in;
+        private OutputStream out;
+        private ExitCallback exitCallback;
+        private Future<?> pump;
+
+        @Override
+        public void setInputStream(InputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public void setOutputStream(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void setErrorStream(OutputStream err) {
+        }
+
+        @Override
+        public void setExitCallback(ExitCallback callback) {
+            this.exitCallback = callback;
+        }
+
+        @Override
+        public void start(ChannelSession channel, Environment env) {
+            pump = pumps.submit(() -> {
+                byte[] buffer = new byte[32 * 1024];
+                try {
+                    int read;
+                    while ((read = in.read(buffer)) >= 0) {
+                        out.write(buffer, 0, read);
+                        out.flush();
+                    }
+                    exitCallback.onExit(0);
+                } catch (Exception e) {
+                    exitCallback.onExit(1, String.valueOf(e.getMessage()));
+                }
+            });
+        }
+
+        @Override
+        public void destroy(ChannelSession channel) {
+            if (pump != null) {
+                pump.cancel(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.thesis.backend.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fixed-size, lock-free recorder of nanosecond samples with percentile summaries
+ */
+class LatencyStats {
+
+    private final long[] samples;
+    private final AtomicInteger count = new AtomicInteger();
+
+    LatencyStats(int capacity) {
+        this.samples = new long[capacity];
+    }
+
+    void record(long nanos) {
+        int index = count.getAndIncrement();
+        if (index < samples.length) {
+            samples[index] = nanos;
+        }
+    }
+
+    int count() {
+        return Math.min(count.get(), samples.length);
+    }
+
+    /**
+     * Percentile in milliseconds, e.g. 0.99 for p99
+     */
+    double percentileMillis(double percentile) {
+        int n = count();
+        if (n == 0) {
+            return Double.NaN;
+        }
+        long[] sorted = Arrays.copyOf(samples, n);
+        Arrays.sort(sorted);
+        int index = (int) Math.min(n - 1, Math.max(0, Math.ceil(percentile * n) - 1));
+        return sorted[index] / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
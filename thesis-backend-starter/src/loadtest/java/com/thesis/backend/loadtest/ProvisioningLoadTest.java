@@ -0,0 +1,277 @@
+package com.thesis.backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thesis.backend.ThesisBackendApplication;
+import io.fabric8.kubernetes.client.server.mock.KubernetesCrudDispatcher;
+import io.fabric8.kubernetes.client.server.mock.KubernetesMockServer;
+import io.fabric8.mockwebserver.Context;
+import okhttp3.mockwebserver.MockWebServer;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * End-to-end provisioning benchmark: boots the backend against fabric8's KubernetesMockServer in
+ * CRUD mode (with injected per-request latency) and drives the REST API the way a teacher onboarding
+ * a class does: create students, create a container for each, then each student opens SSH access.
+ * Reports throughput, p50/p99 latency and Kubernetes API calls per operation.
+ *
+ * Run with {@code ./gradlew provisioningLoadTest -Pprovisioning.loadtest.students=200
+ * -Pprovisioning.loadtest.api-latency-ms=20}.
+ */
+public class ProvisioningLoadTest {
+
+    private static final String SUPER_ADMIN = "superadmin";
+    private static final String SUPER_ADMIN_PASSWORD = "SuperSecure2024!";
+    private static final String TEACHER = "teacher";
+    private static final String TEACHER_PASSWORD = "TeachSecure2024!";
+    private static final String STUDENT_PASSWORD = "LoadTest2024!";
+
+    private final int students = Integer.getInteger("provisioning.loadtest.students", 100);
+    private final int concurrency = Integer.getInteger("provisioning.loadtest.concurrency", 16);
+    private final long apiLatencyMs = Long.getLong("provisioning.loadtest.api-latency-ms", 10);
+    private final long apiJitterMs = Long.getLong("provisioning.loadtest.api-jitter-ms", 5);
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient http = HttpClient.newBuilder().build();
+    private String baseUrl;
+
+    public static void main(String[] args) throws Exception {
+        new ProvisioningLoadTest().run();
+    }
+
+    private void run() throws Exception {
+        CountingLatencyDispatcher dispatcher =
+                new CountingLatencyDispatcher(new KubernetesCrudDispatcher(), apiLatencyMs, apiJitterMs);
+        KubernetesMockServer kubernetes = new KubernetesMockServer(
+                new Context(), new MockWebServer(), new HashMap<>(), dispatcher, false);
+        kubernetes.init();
+
+        // Picked up by Config.autoConfigure in KubernetesConfig
+        System.setProperty("kubernetes.master", kubernetes.url("/"));
+        System.setProperty("kubernetes.auth.tryKubeConfig", "false");
+        System.setProperty("kubernetes.auth.tryServiceAccount", "false");
+        System.setProperty("kubernetes.namespace", "default");
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ThesisBackendApplication.class)
+                .properties(
+                        "server.port=0",
+                        "ssh.server.enabled=false",
+                        // Keep informer list/watch and GC traffic out of the provisioning call counts
+                        "kubernetes.cache.enabled=false",
+                        "kubernetes.gc.enabled=false",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN",
+                        "logging.level.com.thesis.backend=WARN",
+                        "logging.level.org.springframework.web=WARN",
+                        "logging.level.org.springframework.security=WARN",
+                        "logging.level.org.hibernate.SQL=WARN")
+                .run();
+        ExecutorService drivers = Executors.newFixedThreadPool(concurrency);
+        try {
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            baseUrl = "http://127.0.0.1:" + port;
+
+            String adminToken = login(SUPER_ADMIN, SUPER_ADMIN_PASSWORD);
+            String teacherToken = login(TEACHER, TEACHER_PASSWORD);
+            long imageId = firstImageId();
+
+            List<OperationResult> results = new ArrayList<>();
+
+            long[] studentIds = new long[students];
+            results.add(measure("createUser", drivers, dispatcher, i -> {
+                Map<String, String> body = Map.of(
+                        "username", studentName(i),
+                        "email", studentName(i) + "@loadtest.local",
+                        "password", STUDENT_PASSWORD,
+                        "role", "ROLE_STUDENT");
+                JsonNode user = post("/api/admin/users", adminToken, body);
+                studentIds[i] = user.get("id").asLong();
+            }));
+
+            long[] containerIds = new long[students];
+            results.add(measure("createContainerForStudent", drivers, dispatcher, i -> {
+                JsonNode container = post("/api/containers/create-for-student", teacherToken,
+                        Map.of("imageId", imageId, "studentId", studentIds[i]));
+                containerIds[i] = container.get("id").asLong();
+            }));
+
+            // Student logins are setup, not part of the measured operation
+            String[] studentTokens = new String[students];
+            runAll(drivers, i -> studentTokens[i] = login(studentName(i), STUDENT_PASSWORD));
+
+            results.add(measure("createSshConnection", drivers, dispatcher, i ->
+                    post("/api/ssh/connect/" + containerIds[i], studentTokens[i], Map.of())));
+
+            writeReport(results);
+        } finally {
+            drivers.shutdownNow();
+            context.close();
+            kubernetes.destroy();
+        }
+    }
+
+    private OperationResult measure(String operation, ExecutorService drivers, CountingLatencyDispatcher dispatcher,
+                                    Step step) {
+        Map<String, Long> callsBefore = dispatcher.snapshot();
+        LatencyStats latency = new LatencyStats(students);
+        AtomicInteger failures = new AtomicInteger();
+
+        long started = System.nanoTime();
+        runAll(drivers, i -> {
+            long start = System.nanoTime();
+            try {
+                step.run(i);
+                latency.record(System.nanoTime() - start);
+            } catch (Exception e) {
+                failures.incrementAndGet();
+            }
+            return null;
+        });
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        Map<String, Long> calls = new LinkedHashMap<>();
+        dispatcher.snapshot().forEach((key, count) -> {
+            long delta = count - callsBefore.getOrDefault(key, 0L);
+            if (delta > 0) {
+                calls.put(key, delta);
+            }
+        });
+
+        OperationResult result = new OperationResult(operation, latency, failures.get(), seconds, calls);
+        System.out.println(result.toMarkdownRow());
+        return result;
+    }
+
+    private <T> List<T> runAll(ExecutorService drivers, IntFunctionWithException<T> task) {
+        List<CompletableFuture<T>> futures = new ArrayList<>(students);
+        for (int i = 0; i < students; i++) {
+            int index = i;
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return task.apply(index);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }, drivers));
+        }
+        return futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+    }
+
+    private String login(String username, String password) throws IOException, InterruptedException {
+        return post("/api/auth/login", null, Map.of("username", username, "password", password))
+                .get("token").asText();
+    }
+
+    private long firstImageId() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/images")).GET().build();
+        return objectMapper.readTree(send(request)).get(0).get("id").asLong();
+    }
+
+    private JsonNode post(String path, String token, Object body) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return objectMapper.readTree(send(request.build()));
+    }
+
+    private String send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 300) {
+            throw new IOException(request.uri().getPath() + " returned " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+
+    private String studentName(int index) {
+        return "lt" + runId + "s" + index;
+    }
+
+    private void writeReport(List<OperationResult> results) throws IOException {
+        Path directory = Paths.get(System.getProperty("provisioning.loadtest.report-dir", "build/reports/provisioning-loadtest"));
+        Files.createDirectories(directory);
+
+        StringBuilder markdown = new StringBuilder()
+                .append("# Provisioning load test\n\n")
+                .append(String.format("%d students, %d concurrent requests, %d ms (+0..%d ms) per Kubernetes API call%n%n",
+                        students, concurrency, apiLatencyMs, apiJitterMs))
+                .append(OperationResult.MARKDOWN_HEADER);
+        results.forEach(result -> markdown.append(result.toMarkdownRow()).append('\n'));
+
+        markdown.append("\n## Kubernetes API calls\n\n| operation | call | total | per operation |\n|---|---|---|---|\n");
+        for (OperationResult result : results) {
+            result.calls.forEach((call, count) -> markdown.append(String.format(Locale.ROOT, "| %s | %s | %d | %.2f |%n",
+                    result.operation, call, count, count / (double) students)));
+        }
+
+        Files.writeString(directory.resolve("report.md"), markdown);
+        System.out.println();
+        System.out.println(markdown);
+        System.out.println("Report written to " + directory.toAbsolutePath());
+    }
+
+    @FunctionalInterface
+    private interface Step {
+        void run(int index) throws Exception;
+    }
+
+    @FunctionalInterface
+    private interface IntFunctionWithException<T> {
+        T apply(int index) throws Exception;
+    }
+
+    private static class OperationResult {
+        private static final String MARKDOWN_HEADER =
+                "| operation | ok | failures | throughput ops/s | students/min | p50 ms | p99 ms | API calls/op |\n"
+                        + "|---|---|---|---|---|---|---|---|\n";
+
+        private final String operation;
+        private final LatencyStats latency;
+        private final int failures;
+        private final double seconds;
+        private final Map<String, Long> calls;
+
+        private OperationResult(String operation, LatencyStats latency, int failures, double seconds,
+                                Map<String, Long> calls) {
+            this.operation = operation;
+            this.latency = latency;
+            this.failures = failures;
+            this.seconds = seconds;
+            this.calls = calls;
+        }
+
+        private String toMarkdownRow() {
+            int ok = latency.count();
+            long totalCalls = calls.values().stream().mapToLong(Long::longValue).sum();
+            return String.format(Locale.ROOT, "| %s | %d | %d | %.1f | %.0f | %.1f | %.1f | %.2f |",
+                    operation, ok, failures, ok / seconds, ok / seconds * 60,
+                    latency.percentileMillis(0.50), latency.percentileMillis(0.99),
+                    ok + failures > 0 ? totalCalls / (double) (ok + failures) : 0.0);
+        }
+    }
+}
@@ -0,0 +1,355 @@
+package com.thesis.backend.loadtest;
+
+import org.apache.sshd.client.SshClient;
+import org.apache.sshd.client.channel.ChannelShell;
+import org.apache.sshd.client.keyverifier.AcceptAllServerKeyVerifier;
+import org.apache.sshd.client.session.ClientSession;
+import org.apache.sshd.common.cipher.BuiltinCiphers;
+import org.apache.sshd.common.compression.BuiltinCompressions;
+import org.apache.sshd.common.io.IoServiceFactoryFactory;
+import org.apache.sshd.common.io.nio2.Nio2ServiceFactoryFactory;
+import org.apache.sshd.core.CoreModuleProperties;
+import org.apache.sshd.mina.MinaServiceFactoryFactory;
+import org.apache.sshd.netty.NettyIoServiceFactoryFactory;
+import org.apache.sshd.server.SshServer;
+import org.apache.sshd.server.keyprovider.SimpleGeneratorHostKeyProvider;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Load generator for the embedded SSHD: starts an in-process server with an echo shell standing in
+ * for the pod exec stream, opens many concurrent client sessions and measures handshake latency
+ * (connect + key exchange + auth), echo round-trips with all sessions open and bulk throughput.
+ * Every combination of I/O backend, cipher, compression and worker count is run and written to
+ * build/reports/ssh-loadtest as Markdown and CSV.
+ *
+ * Run with {@code ./gradlew sshLoadTest -Pssh.loadtest.sessions=2000}; thousands of sessions need a
+ * matching open-files ulimit.
+ */
+public class SshLoadTest {
+
+    private static final String USERNAME = "load";
+    private static final String PASSWORD = "load-test";
+    private static final long TIMEOUT_MS = 60_000;
+    private static final int ECHO_PAYLOAD = 64;
+
+    private final int sessions = Integer.getInteger("ssh.loadtest.sessions", 1000);
+    private final int concurrency = Integer.getInteger("ssh.loadtest.concurrency", 64);
+    private final int echoRounds = Integer.getInteger("ssh.loadtest.echo-rounds", 20);
+    private final int throughputSessions = Integer.getInteger("ssh.loadtest.throughput-sessions", 16);
+    private final int throughputBytes = Integer.getInteger("ssh.loadtest.throughput-bytes", 8 * 1024 * 1024);
+
+    public static void main(String[] args) throws Exception {
+        new SshLoadTest().run();
+    }
+
+    private void run() throws Exception {
+        List<String> backends = listProperty("ssh.loadtest.backends", "nio2,mina,netty");
+        List<String> ciphers = listProperty("ssh.loadtest.ciphers",
+                "aes128-ctr,aes128-gcm@openssh.com,chacha20-poly1305@openssh.com");
+        List<String> compressions = listProperty("ssh.loadtest.compressions", "none,zlib");
+        int cores = Runtime.getRuntime().availableProcessors();
+        List<Integer> workerCounts = listProperty("ssh.loadtest.workers", (cores + 1) + "," + (cores * 2)).stream()
+                .map(Integer::valueOf)
+                .collect(Collectors.toList());
+
+        List<Result> results = new ArrayList<>();
+        for (String backend : backends) {
+            for (String cipher : ciphers) {
+                for (String compression : compressions) {
+                    for (int workers : workerCounts) {
+                        Scenario scenario = new Scenario(backend, cipher, compression, workers);
+                        System.out.printf("Running %s ...%n", scenario);
+                        Result result = runScenario(scenario);
+                        System.out.println(result.toMarkdownRow());
+                        results.add(result);
+                    }
+                }
+            }
+        }
+        writeReport(results);
+    }
+
+    private Result runScenario(Scenario scenario) throws Exception {
+        ExecutorService pumps = Executors.newCachedThreadPool();
+        ExecutorService drivers = Executors.newFixedThreadPool(concurrency);
+        SshServer server = SshServer.setUpDefaultServer();
+        SshClient client = SshClient.setUpDefaultClient();
+        List<ClientSession> openSessions = new ArrayList<>();
+        Result result = new Result(scenario, sessions, echoRounds);
+
+        try {
+            server.setIoServiceFactoryFactory(ioFactory(scenario.backend));
+            server.setHost("127.0.0.1");
+            server.setPort(0);
+            server.setKeyPairProvider(new SimpleGeneratorHostKeyProvider());
+            server.setPasswordAuthenticator((username, password, session) -> PASSWORD.equals(password));
+            server.setShellFactory(new EchoShellFactory(pumps));
+            server.setCompressionFactories(List.of(
+                    BuiltinCompressions.none, BuiltinCompressions.zlib, BuiltinCompressions.delayedZlib));
+            CoreModuleProperties.NIO_WORKERS.set(server, scenario.workers);
+            server.start();
+
+            client.setIoServiceFactoryFactory(ioFactory(scenario.backend));
+            client.setServerKeyVerifier(AcceptAllServerKeyVerifier.INSTANCE);
+            client.setCipherFactories(List.of(BuiltinCiphers.fromFactoryName(scenario.cipher)));
+            client.setCompressionFactories(List.of(BuiltinCompressions.fromFactoryName(scenario.compression)));
+            CoreModuleProperties.NIO_WORKERS.set(client, scenario.workers);
+            client.start();
+
+            long started = System.nanoTime();
+
+            // Phase 1: open every session and keep it open
+            List<ShellHandle> shells = runAll(drivers, sessions, index -> {
+                long handshakeStart = System.nanoTime();
+                ClientSession session = client.connect(USERNAME, "127.0.0.1", server.getPort())
+                        .verify(TIMEOUT_MS)
+                        .getSession();
+                session.addPasswordIdentity(PASSWORD);
+                session.auth().verify(TIMEOUT_MS);
+                result.handshake.record(System.nanoTime() - handshakeStart);
+
+                ChannelShell channel = session.createShellChannel();
+                channel.setUsePty(false);
+                channel.open().verify(TIMEOUT_MS);
+                synchronized (openSessions) {
+                    openSessions.add(session);
+                }
+                return new ShellHandle(channel.getInvertedIn(), channel.getInvertedOut());
+            }, result.failures);
+
+            // Phase 2: echo round-trips while all sessions are open
+            runAll(drivers, shells.size(), index -> {
+                ShellHandle shell = shells.get(index);
+                byte[] payload = new byte[ECHO_PAYLOAD];
+                Arrays.fill(payload, (byte) 'x');
+                byte[] echo = new byte[ECHO_PAYLOAD];
+                for (int round = 0; round < echoRounds; round++) {
+                    long roundStart = System.nanoTime();
+                    shell.in.write(payload);
+                    shell.in.flush();
+                    readFully(shell.out, echo);
+                    result.echo.record(System.nanoTime() - roundStart);
+                }
+                return null;
+            }, result.failures);
+
+            // Phase 3: bulk transfer through a subset of the sessions
+            AtomicLong transferred = new AtomicLong();
+            long throughputStart = System.nanoTime();
+            runAll(drivers, Math.min(throughputSessions, shells.size()), index -> {
+                ShellHandle shell = shells.get(index);
+                CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> {
+                    byte[] chunk = new byte[32 * 1024];
+                    try {
+                        for (int sent = 0; sent < throughputBytes; sent += chunk.length) {
+                            shell.in.write(chunk, 0, Math.min(chunk.length, throughputBytes - sent));
+                        }
+                        shell.in.flush();
+                    } catch (IOException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }, pumps);
+                byte[] buffer = new byte[32 * 1024];
+                long received = 0;
+                while (received < throughputBytes) {
+                    int read = shell.out.read(buffer);
+                    if (read < 0) {
+                        throw new IOException("Channel closed after " + received + " bytes");
+                    }
+                    received += read;
+                }
+                writer.join();
+                transferred.addAndGet(received);
+                return null;
+            }, result.failures);
+            result.throughputMbPerSecond = transferred.get() / (1024.0 * 1024.0)
+                    / ((System.nanoTime() - throughputStart) / 1e9);
+            result.durationSeconds = (System.nanoTime() - started) / 1e9;
+        } finally {
+            for (ClientSession session : openSessions) {
+                session.close(true);
+            }
+            client.stop();
+            server.stop(true);
+            drivers.shutdownNow();
+            pumps.shutdownNow();
+        }
+        return result;
+    }
+
+    private <T> List<T> runAll(ExecutorService drivers, int count, Task<T> task, AtomicInteger failures)
+            throws InterruptedException {
+        Semaphore inFlight = new Semaphore(concurrency);
+        List<CompletableFuture<T>> futures = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int index = i;
+            inFlight.acquire();
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return task.run(index);
+                } catch (Exception e) {
+                    failures.incrementAndGet();
+                    return null;
+                } finally {
+                    inFlight.release();
+                }
+            }, drivers));
+        }
+        return futures.stream()
+                .map(CompletableFuture::join)
+                .filter(value -> value != null)
+                .collect(Collectors.toList());
+    }
+
+    private static IoServiceFactoryFactory ioFactory(String backend) {
+        Supplier<IoServiceFactoryFactory> factory;
+        switch (backend.toLowerCase(Locale.ROOT)) {
+            case "nio2":
+                factory = Nio2ServiceFactoryFactory::new;
+                break;
+            case "mina":
+                factory = MinaServiceFactoryFactory::new;
+                break;
+            case "netty":
+                factory = NettyIoServiceFactoryFactory::new;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown I/O backend: " + backend);
+        }
+        return factory.get();
+    }
+
+    private static void readFully(InputStream in, byte[] buffer) throws IOException {
+        int offset = 0;
+        while (offset < buffer.length) {
+            int read = in.read(buffer, offset, buffer.length - offset);
+            if (read < 0) {
+                throw new IOException("Channel closed during echo");
+            }
+            offset += read;
+        }
+    }
+
+    private static List<String> listProperty(String name, String defaultValue) {
+        return Arrays.stream(System.getProperty(name, defaultValue).split(","))
+                .map(String::trim)
+                .filter(value -> !value.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    private void writeReport(List<Result> results) throws IOException {
+        Path directory = Paths.get(System.getProperty("ssh.loadtest.report-dir", "build/reports/ssh-loadtest"));
+        Files.createDirectories(directory);
+
+        StringBuilder markdown = new StringBuilder()
+                .append("# SSH gateway load test\n\n")
+                .append(String.format("%d sessions, %d in flight, %d echo rounds of %d bytes, %d x %d MiB bulk transfer%n%n",
+                        sessions, concurrency, echoRounds, ECHO_PAYLOAD, throughputSessions,
+                        throughputBytes / (1024 * 1024)))
+                .append(Result.MARKDOWN_HEADER);
+        StringBuilder csv = new StringBuilder(Result.CSV_HEADER);
+        for (Result result : results) {
+            markdown.append(result.toMarkdownRow()).append('\n');
+            csv.append(result.toCsvRow()).append('\n');
+        }
+
+        Files.writeString(directory.resolve("report.md"), markdown);
+        Files.writeString(directory.resolve("results.csv"), csv);
+        System.out.println();
+        System.out.println(markdown);
+        System.out.println("Report written to " + directory.toAbsolutePath());
+    }
+
+    @FunctionalInterface
+    private interface Task<T> {
+        T run(int index) throws Exception;
+    }
+
+    private static class ShellHandle {
+        private final OutputStream in;
+        private final InputStream out;
+
+        private ShellHandle(OutputStream in, InputStream out) {
+            this.in = in;
+            this.out = out;
+        }
+    }
+
+    private static class Scenario {
+        private final String backend;
+        private final String cipher;
+        private final String compression;
+        private final int workers;
+
+        private Scenario(String backend, String cipher, String compression, int workers) {
+            this.backend = backend;
+            this.cipher = cipher;
+            this.compression = compression;
+            this.workers = workers;
+        }
+
+        @Override
+        public String toString() {
+            return backend + " / " + cipher + " / " + compression + " / " + workers + " workers";
+        }
+    }
+
+    private static class Result {
+        private static final String MARKDOWN_HEADER =
+                "| backend | cipher | compression | workers | sessions ok | failures | handshake p50 ms | "
+                        + "handshake p99 ms | echo p50 ms | echo p99 ms | throughput MiB/s | duration s |\n"
+                        + "|---|---|---|---|---|---|---|---|---|---|---|---|\n";
+        private static final String CSV_HEADER =
+                "backend,cipher,compression,workers,sessions_ok,failures,handshake_p50_ms,handshake_p99_ms,"
+                        + "echo_p50_ms,echo_p99_ms,throughput_mib_s,duration_s\n";
+
+        private final Scenario scenario;
+        private final LatencyStats handshake;
+        private final LatencyStats echo;
+        private final AtomicInteger failures = new AtomicInteger();
+        private double throughputMbPerSecond;
+        private double durationSeconds;
+
+        private Result(Scenario scenario, int sessions, int echoRounds) {
+            this.scenario = scenario;
+            this.handshake = new LatencyStats(sessions);
+            this.echo = new LatencyStats(sessions * echoRounds);
+        }
+
+        private Object[] values() {
+            return new Object[]{scenario.backend, scenario.cipher, scenario.compression, scenario.workers,
+                    handshake.count(), failures.get(),
+                    handshake.percentileMillis(0.50), handshake.percentileMillis(0.99),
+                    echo.percentileMillis(0.50), echo.percentileMillis(0.99),
+                    throughputMbPerSecond, durationSeconds};
+        }
+
+        private String toMarkdownRow() {
+            return String.format(Locale.ROOT,
+                    "| %s | %s | %s | %d | %d | %d | %.2f | %.2f | %.3f | %.3f | %.1f | %.1f |", values());
+        }
+
+        private String toCsvRow() {
+            return String.format(Locale.ROOT, "%s,%s,%s,%d,%d,%d,%.3f,%.3f,%.4f,%.4f,%.2f,%.2f", values());
+        }
+    }
+}
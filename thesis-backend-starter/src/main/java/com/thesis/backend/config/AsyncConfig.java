@@ -0,0 +1,39 @@
+package com.thesis.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    public static final String SSH_EVENT_EXECUTOR = "sshEventExecutor";
+
+    @Value("${ssh.events.threads:2}")
+    private int sshEventThreads;
+
+    @Value("${ssh.events.queue-capacity:1000}")
+    private int sshEventQueueCapacity;
+
+    /**
+     * Runs the after-commit SshConnectionChangedEvent listeners (credential index, Secret sync) off the
+     * request thread. Bounded; when the queue is full the publishing thread runs the listener itself.
+     */
+    @Bean(name = SSH_EVENT_EXECUTOR)
+    public ThreadPoolTaskExecutor sshEventExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(Math.max(1, sshEventThreads));
+        executor.setMaxPoolSize(Math.max(1, sshEventThreads));
+        executor.setQueueCapacity(sshEventQueueCapacity);
+        executor.setThreadNamePrefix("ssh-events-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+}
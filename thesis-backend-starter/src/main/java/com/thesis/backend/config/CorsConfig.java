@@ -24,6 +24,9 @@ public class CorsConfig {
         // Allow common headers
         configuration.setAllowedHeaders(Arrays.asList("*"));
         
+        // Let the browser read paging headers of Kubernetes list endpoints
+        configuration.setExposedHeaders(Arrays.asList("X-Continue-Token", "X-Resource-Version"));
+        
         // Allow credentials (for JWT tokens)
         configuration.setAllowCredentials(true);
         
@@ -34,55 +34,29 @@ public class DataInitializer implements CommandLineRunner {
     }
 
     private void initializeUsers() {
-        // Check if users already exist
-        if (userRepository.count() > 0) {
-            log.info("Users already exist, skipping initialization");
+        // Per username rather than "table empty": on MariaDB the demo teacher/student are seeded by Flyway
+        log.info("Ensuring default users exist...");
+        createUserIfMissing("superadmin", "superadmin@university.edu", "SuperSecure2024!", "ROLE_SUPER_ADMIN");
+        createUserIfMissing("teacher", "teacher@university.edu", "TeachSecure2024!", "ROLE_TEACHER");
+        createUserIfMissing("student", "student@university.edu", "StudyHard2024#", "ROLE_STUDENT");
+        // Admin user (legacy - for backward compatibility)
+        createUserIfMissing("admin", "admin@university.edu", "AdminPower2024$", "ROLE_ADMIN");
+        log.info("User initialization completed successfully!");
+    }
+
+    private void createUserIfMissing(String username, String email, String password, String role) {
+        if (userRepository.findByUsername(username).isPresent()) {
+            log.info("User {} already exists, skipping", username);
             return;
         }
-
-        log.info("Initializing default users...");
-
-        // Create a super admin user
-        User superAdmin = new User();
-        superAdmin.setUsername("superadmin");
-        superAdmin.setEmail("superadmin@university.edu");
-        superAdmin.setPassword(passwordEncoder.encode("SuperSecure2024!"));
-        superAdmin.setRole("ROLE_SUPER_ADMIN");
-        superAdmin.setActive(true);
-        userRepository.save(superAdmin);
-        log.info("Created super admin user: {}", superAdmin.getUsername());
-
-        // Create a teacher user
-        User teacher = new User();
-        teacher.setUsername("teacher");
-        teacher.setEmail("teacher@university.edu");
-        teacher.setPassword(passwordEncoder.encode("TeachSecure2024!"));
-        teacher.setRole("ROLE_TEACHER");
-        teacher.setActive(true);
-        userRepository.save(teacher);
-        log.info("Created teacher user: {}", teacher.getUsername());
-
-        // Create a student user
-        User student = new User();
-        student.setUsername("student");
-        student.setEmail("student@university.edu");
-        student.setPassword(passwordEncoder.encode("StudyHard2024#"));
-        student.setRole("ROLE_STUDENT");
-        student.setActive(true);
-        userRepository.save(student);
-        log.info("Created student user: {}", student.getUsername());
-
-        // Create an admin user (legacy - for backward compatibility)
-        User admin = new User();
-        admin.setUsername("admin");
-        admin.setEmail("admin@university.edu");
-        admin.setPassword(passwordEncoder.encode("AdminPower2024$"));
-        admin.setRole("ROLE_ADMIN");
-        admin.setActive(true);
-        userRepository.save(admin);
-        log.info("Created admin user: {}", admin.getUsername());
-
-        log.info("User initialization completed successfully!");
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(email);
+        user.setPassword(passwordEncoder.encode(password));
+        user.setRole(role);
+        user.setActive(true);
+        userRepository.save(user);
+        log.info("Created {} user: {}", role, user.getUsername());
     }
 
     private void initializeImageTemplates() {
@@ -1,9 +1,12 @@
 package com.thesis.backend.config;
 
+import com.thesis.backend.kubernetes.FaultInjectingOkHttpClientFactory;
+import com.thesis.backend.kubernetes.KubernetesFaultInjector;
 import io.fabric8.kubernetes.client.Config;
 import io.fabric8.kubernetes.client.ConfigBuilder;
 import io.fabric8.kubernetes.client.DefaultKubernetesClient;
 import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientBuilder;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -21,8 +24,12 @@ public class KubernetesConfig {
     @Value("${kubernetes.config.auto:true}")
     private Boolean autoConfig;
 
+    // Routes all API calls through the fault injector; rules and mode are set at runtime via /api/admin/kubernetes/faults
+    @Value("${kubernetes.fault-injection.enabled:false}")
+    private boolean faultInjectionEnabled;
+
     @Bean
-    public KubernetesClient kubernetesClient() {
+    public KubernetesClient kubernetesClient(KubernetesFaultInjector faultInjector) {
         try {
             Config config;
             
@@ -42,6 +49,14 @@ public class KubernetesConfig {
             log.info("Kubernetes client configured - Master URL: {}, Namespace: {}", 
                     config.getMasterUrl(), config.getNamespace());
             
+            if (faultInjectionEnabled) {
+                log.warn("Kubernetes fault injection is enabled (mode {})", faultInjector.getMode());
+                return new KubernetesClientBuilder()
+                        .withConfig(config)
+                        .withHttpClientFactory(new FaultInjectingOkHttpClientFactory(faultInjector))
+                        .build();
+            }
+            
             return new DefaultKubernetesClient(config);
             
         } catch (Exception e) {
@@ -0,0 +1,58 @@
+package com.thesis.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * API rate limits (ratelimit.*). Limits are looked up as limits.&lt;role&gt;.&lt;route class&gt;, e.g.
+ * ratelimit.limits.student.create, falling back to limits.default.&lt;route class&gt;; a route class with
+ * neither is not limited. Roles are the lowercase role name without ROLE_ (super-admin for
+ * ROLE_SUPER_ADMIN), or anonymous for unauthenticated requests.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "ratelimit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Lock stripes of the bucket map; each stripe holds at most maxBuckets / stripes buckets
+     */
+    private int stripes = 32;
+
+    private int maxBuckets = 50000;
+
+    /**
+     * Buckets unused for this long are dropped (they have refilled long before)
+     */
+    private long idleEvictMinutes = 30;
+
+    private Map<String, Map<String, Limit>> limits = new HashMap<>();
+
+    @Getter
+    @Setter
+    public static class Limit {
+
+        /**
+         * Burst size: requests allowed back to back
+         */
+        private long capacity;
+
+        /**
+         * Sustained rate the bucket refills at
+         */
+        private double perMinute;
+    }
+
+    public Limit limitFor(String role, String routeClass) {
+        Limit limit = limits.getOrDefault(role, Map.of()).get(routeClass);
+        return limit != null ? limit : limits.getOrDefault("default", Map.of()).get(routeClass);
+    }
+}
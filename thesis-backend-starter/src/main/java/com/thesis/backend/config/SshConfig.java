@@ -1,6 +1,11 @@
 package com.thesis.backend.config;
 
 import com.thesis.backend.service.SshConnectionService;
+import com.thesis.backend.service.SshCredentialIndex;
+import com.thesis.backend.ssh.PodGatewayFactory;
+import com.thesis.backend.ssh.SshSessionGovernor;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import org.apache.sshd.core.CoreModuleProperties;
 import org.apache.sshd.server.SshServer;
 import org.apache.sshd.server.auth.password.PasswordAuthenticator;
 import org.apache.sshd.server.auth.pubkey.PublickeyAuthenticator;
@@ -17,6 +22,7 @@ import org.springframework.context.annotation.Configuration;
 import java.io.IOException;
 import java.nio.file.Paths;
 import java.security.PublicKey;
+import java.time.Duration;
 
 @Configuration
 public class SshConfig {
@@ -35,9 +41,24 @@ public class SshConfig {
     @Value("${ssh.server.enabled:false}")
     private boolean sshServerEnabled;
 
+    @Value("${ssh.gateway.enabled:false}")
+    private boolean gatewayEnabled;
+
+    @Value("${ssh.limits.idle-timeout-minutes:30}")
+    private long idleTimeoutMinutes;
+
     @Autowired
     private SshConnectionService sshConnectionService;
 
+    @Autowired
+    private SshSessionGovernor sshSessionGovernor;
+
+    @Autowired
+    private SshCredentialIndex sshCredentialIndex;
+
+    @Autowired
+    private KubernetesClient kubernetesClient;
+
     @Bean
     public SshServer sshServer() throws IOException {
         if (!sshServerEnabled) {
@@ -52,33 +73,56 @@ public class SshConfig {
         // Use a simple host key provider
         sshServer.setKeyPairProvider(new SimpleGeneratorHostKeyProvider(Paths.get(hostKeyPath)));
         
+        // Session caps, bandwidth buckets and idle timeout
+        sshServer.addSessionListener(sshSessionGovernor);
+        CoreModuleProperties.IDLE_TIMEOUT.set(sshServer, Duration.ofMinutes(idleTimeoutMinutes));
+
         // Set up password authentication
         sshServer.setPasswordAuthenticator(new PasswordAuthenticator() {
             @Override
             public boolean authenticate(String username, String password, ServerSession session) {
                 logger.info("SSH password authentication attempt for user: {}", username);
-                return sshConnectionService.authenticateSshUser(username, password);
+                if (!gatewayEnabled) {
+                    return sshConnectionService.authenticateSshUser(username, password);
+                }
+                // Remember which pod this session belongs to so the channels can be routed there
+                return sshCredentialIndex.authenticate(username, password)
+                        .map(credential -> {
+                            session.setAttribute(PodGatewayFactory.CREDENTIAL, credential);
+                            return true;
+                        })
+                        .orElse(false);
             }
         });
         
-        // Set up public key authentication (optional)
+        // Set up public key authentication against the uploaded connection keys
         sshServer.setPublickeyAuthenticator(new PublickeyAuthenticator() {
             @Override
             public boolean authenticate(String username, PublicKey key, ServerSession session) {
-                logger.info("SSH public key authentication attempt for user: {}", username);
-                // For now, we'll rely on password authentication
-                // In future, you could implement public key authentication
-                return false;
+                logger.debug("SSH public key authentication attempt for user: {}", username);
+                return sshCredentialIndex.authenticate(username, key)
+                        .map(credential -> {
+                            session.setAttribute(PodGatewayFactory.CREDENTIAL, credential);
+                            return true;
+                        })
+                        .orElse(false);
             }
         });
 
-        // Set up shell factory to provide bash shell
-        sshServer.setShellFactory(new ProcessShellFactory("/bin/bash", "-i", "-l"));
+        if (gatewayEnabled) {
+            // Gateway mode: shells and exec requests run inside the student's pod
+            PodGatewayFactory gatewayFactory = new PodGatewayFactory(kubernetesClient, sshSessionGovernor);
+            sshServer.setShellFactory(gatewayFactory);
+            sshServer.setCommandFactory(gatewayFactory);
+        } else {
+            // Set up shell factory to provide bash shell
+            sshServer.setShellFactory(new ProcessShellFactory("/bin/bash", "-i", "-l"));
+        }
         
         // Start the server
         try {
             sshServer.start();
-            logger.info("SSH server started on {}:{}", sshHost, sshPort);
+            logger.info("SSH server started on {}:{} (gateway mode: {})", sshHost, sshPort, gatewayEnabled);
         } catch (IOException e) {
             logger.error("Failed to start SSH server", e);
         }
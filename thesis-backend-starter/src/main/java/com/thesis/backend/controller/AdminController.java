@@ -1,17 +1,31 @@
 package com.thesis.backend.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thesis.backend.dto.OrphanCollectionReport;
+import com.thesis.backend.dto.TeardownJobStatus;
+import com.thesis.backend.dto.TeardownRequest;
+import com.thesis.backend.dto.UserImportResult;
+import com.thesis.backend.dto.UserImportRow;
 import com.thesis.backend.entity.User;
 import com.thesis.backend.repository.UserRepository;
+import com.thesis.backend.service.CohortTeardownService;
 import com.thesis.backend.service.NamespaceService;
+import com.thesis.backend.service.OrphanResourceCollector;
+import com.thesis.backend.service.UserImportService;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
 
@@ -24,6 +38,12 @@ public class AdminController {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final NamespaceService namespaceService;
+    private final UserImportService userImportService;
+    private final OrphanResourceCollector orphanResourceCollector;
+    private final CohortTeardownService cohortTeardownService;
+    private final ObjectMapper objectMapper;
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
 
     @Data
     public static class CreateUserRequest {
@@ -113,6 +133,51 @@ public class AdminController {
         }
     }
 
+    /**
+     * Import a roster of users from JSON (Super Admin only).
+     * Streams one JSON line per row as each row finishes.
+     */
+    @PostMapping(value = "/users/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<StreamingResponseBody> importUsers(@RequestBody List<UserImportRow> rows,
+                                                             @AuthenticationPrincipal User admin) {
+        log.info("Admin {} importing {} users", admin.getUsername(), rows.size());
+        return streamImport(rows, admin.getId());
+    }
+
+    /**
+     * Import a roster of users from CSV with a username,email,password,role header (Super Admin only)
+     */
+    @PostMapping(value = "/users/import", consumes = "text/csv")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<?> importUsersCsv(@RequestBody String csv,
+                                            @AuthenticationPrincipal User admin) {
+        List<UserImportRow> rows;
+        try {
+            rows = userImportService.parseCsv(csv);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Failed to parse CSV: " + e.getMessage());
+        }
+        log.info("Admin {} importing {} users from CSV", admin.getUsername(), rows.size());
+        return streamImport(rows, admin.getId());
+    }
+
+    private ResponseEntity<StreamingResponseBody> streamImport(List<UserImportRow> rows, Long adminId) {
+        StreamingResponseBody body = outputStream ->
+                userImportService.importUsers(rows, adminId, result -> writeLine(outputStream, result));
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+
+    private void writeLine(OutputStream outputStream, UserImportResult result) {
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(result));
+            outputStream.write('\n');
+            outputStream.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     /**
      * Update a user (Super Admin only)
      */
@@ -254,4 +319,60 @@ public class AdminController {
             return ResponseEntity.badRequest().body("Failed to reset password: " + e.getMessage());
         }
     }
+
+    /**
+     * Recent orphan collection reports, newest first (Super Admin only)
+     */
+    @GetMapping("/kubernetes/gc")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<List<OrphanCollectionReport>> getOrphanCollectionReports() {
+        return ResponseEntity.ok(orphanResourceCollector.getReports());
+    }
+
+    /**
+     * Run the orphan resource collector now; dryRun only reports what would be reclaimed
+     */
+    @PostMapping("/kubernetes/gc")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<OrphanCollectionReport> runOrphanCollection(
+            @RequestParam(defaultValue = "true") boolean dryRun) {
+        return ResponseEntity.ok(orphanResourceCollector.collect(dryRun));
+    }
+
+    /**
+     * Start a bulk teardown by cohort, role and/or user IDs; returns the job to poll (Super Admin only)
+     */
+    @PostMapping("/teardown")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<?> startTeardown(@RequestBody TeardownRequest request,
+                                           @AuthenticationPrincipal User admin) {
+        try {
+            return ResponseEntity.accepted().body(cohortTeardownService.start(request, admin));
+        } catch (Exception e) {
+            log.error("Failed to start teardown", e);
+            return ResponseEntity.badRequest().body(Map.of("error", "Failed to start teardown: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Teardown jobs, newest first
+     */
+    @GetMapping("/teardown")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<List<TeardownJobStatus>> getTeardownJobs() {
+        return ResponseEntity.ok(cohortTeardownService.getJobs());
+    }
+
+    /**
+     * Progress of one teardown job, including namespaces stuck in Terminating
+     */
+    @GetMapping("/teardown/{jobId}")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<TeardownJobStatus> getTeardownJob(@PathVariable String jobId) {
+        TeardownJobStatus status = cohortTeardownService.getJob(jobId);
+        if (status == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(status);
+    }
 }
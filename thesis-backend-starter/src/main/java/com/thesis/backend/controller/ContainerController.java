@@ -6,16 +6,22 @@ import com.thesis.backend.entity.User;
 import com.thesis.backend.repository.ContainerInstanceRepository;
 import com.thesis.backend.repository.ImageTemplateRepository;
 import com.thesis.backend.repository.UserRepository;
+import com.thesis.backend.service.ContainerChangeLog;
 import com.thesis.backend.service.ContainerInstanceService;
+import com.thesis.backend.service.DashboardService;
 import com.thesis.backend.service.KubernetesService;
 import com.thesis.backend.service.NamespaceService;
+import com.thesis.backend.web.ChangeCounters;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -34,6 +40,18 @@ public class ContainerController {
     private final ContainerInstanceService containerInstanceService;
     private final UserRepository userRepository;
     private final NamespaceService namespaceService;
+    private final ChangeCounters changeCounters;
+    private final ContainerChangeLog containerChangeLog;
+    private final DashboardService dashboardService;
+
+    @Value("${ssh.gateway.enabled:false}")
+    private boolean sshGatewayEnabled;
+
+    @Value("${ssh.gateway.public-host:localhost}")
+    private String sshGatewayHost;
+
+    @Value("${ssh.server.port:2222}")
+    private int sshGatewayPort;
 
     @Data
     public static class CreateContainerRequest {
@@ -118,8 +136,16 @@ public class ContainerController {
      */
     @GetMapping("/my-containers")
     @PreAuthorize("hasAnyRole('STUDENT', 'TEACHER', 'ADMIN', 'SUPER_ADMIN')")
-    public ResponseEntity<List<ContainerInstance>> getMyContainers(@AuthenticationPrincipal User user) {
+    public ResponseEntity<List<ContainerInstance>> getMyContainers(@AuthenticationPrincipal User user,
+                                                                   WebRequest request) {
         try {
+            // Rows embed their owner, so the body also depends on the users collection
+            String etag = changeCounters.etag("my-containers-" + user.getId(),
+                    ChangeCounters.CONTAINERS, ChangeCounters.USERS);
+            if (request.checkNotModified(etag)) {
+                return null;
+            }
+            
             List<ContainerInstance> containers;
             if ("ROLE_TEACHER".equals(user.getRole()) || 
                 "ROLE_ADMIN".equals(user.getRole()) || 
@@ -130,40 +156,48 @@ public class ContainerController {
                 // Students see only their own containers
                 containers = containerInstanceService.getStudentContainers(user);
             }
-            return ResponseEntity.ok(containers);
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate()).body(containers);
         } catch (Exception e) {
             log.error("Failed to fetch user containers for user: {}", user.getUsername(), e);
             return ResponseEntity.internalServerError().build();
         }
     }
 
+    /**
+     * Delta sync: containers inserted, updated or deleted after the given cursor. Start with since=0
+     * (full snapshot, reset=true), then pass back the returned cursor; keep paging while hasMore is set.
+     */
+    @GetMapping("/changes")
+    @PreAuthorize("hasAnyRole('STUDENT', 'TEACHER', 'ADMIN', 'SUPER_ADMIN')")
+    public ResponseEntity<ContainerChangeLog.Changes> getChanges(@AuthenticationPrincipal User user,
+                                                                 @RequestParam(defaultValue = "0") long since,
+                                                                 @RequestParam(defaultValue = "500") int limit) {
+        try {
+            boolean seesAll = "ROLE_TEACHER".equals(user.getRole())
+                    || "ROLE_ADMIN".equals(user.getRole())
+                    || "ROLE_SUPER_ADMIN".equals(user.getRole());
+            ContainerChangeLog.Changes changes = containerChangeLog.changes(since, seesAll ? null : user.getId(),
+                    Math.max(1, Math.min(limit, 5000)));
+            return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(changes);
+        } catch (Exception e) {
+            log.error("Failed to fetch container changes since {} for user: {}", since, user.getUsername(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
     /**
      * Get container statistics for dashboard
      */
     @GetMapping("/stats")
     @PreAuthorize("hasAnyRole('TEACHER', 'ADMIN')")
-    public ResponseEntity<Map<String, Object>> getContainerStats() {
+    public ResponseEntity<Map<String, Object>> getContainerStats(WebRequest request) {
         try {
-            List<ContainerInstance> containers = containerInstanceService.getAllContainers();
-            
-            long totalContainers = containers.size();
-            long runningContainers = containers.stream()
-                .filter(c -> "Running".equalsIgnoreCase(c.getStatus()))
-                .count();
-            long stoppedContainers = containers.stream()
-                .filter(c -> "Stopped".equalsIgnoreCase(c.getStatus()))
-                .count();
-            long pendingContainers = containers.stream()
-                .filter(c -> "Pending".equalsIgnoreCase(c.getStatus()))
-                .count();
-            
-            Map<String, Object> stats = new HashMap<>();
-            stats.put("total", totalContainers);
-            stats.put("running", runningContainers);
-            stats.put("stopped", stoppedContainers);
-            stats.put("pending", pendingContainers);
+            if (request.checkNotModified(changeCounters.etag("container-stats", ChangeCounters.CONTAINERS))) {
+                return null;
+            }
             
-            return ResponseEntity.ok(stats);
+            Map<String, Object> stats = dashboardService.containerStats();
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate()).body(stats);
         } catch (Exception e) {
             log.error("Failed to fetch container statistics", e);
             return ResponseEntity.internalServerError().build();
@@ -207,16 +241,7 @@ public class ContainerController {
     public ResponseEntity<Map<String, Object>> refreshAllContainerStatuses() {
         try {
             List<ContainerInstance> containers = containerInstanceService.getAllContainers();
-            int updated = 0;
-            
-            for (ContainerInstance container : containers) {
-                try {
-                    containerInstanceService.updateContainerStatus(container);
-                    updated++;
-                } catch (Exception e) {
-                    log.warn("Failed to update status for container {}: {}", container.getName(), e.getMessage());
-                }
-            }
+            int updated = containerInstanceService.updateContainerStatuses(containers);
             
             Map<String, Object> result = new HashMap<>();
             result.put("totalContainers", containers.size());
@@ -306,7 +331,16 @@ public class ContainerController {
             sshInfo.put("status", container.getStatus());
             sshInfo.put("podName", container.getKubernetesPodName());
             
-            if ("Running".equals(container.getStatus())) {
+            if ("Running".equals(container.getStatus()) && sshGatewayEnabled) {
+                // One gateway port for every container; credentials come from /api/ssh/connect
+                sshInfo.put("host", sshGatewayHost);
+                sshInfo.put("port", sshGatewayPort);
+                sshInfo.put("ready", true);
+                sshInfo.put("gateway", true);
+                sshInfo.put("credentialsEndpoint", "/api/ssh/connect/" + container.getId());
+                sshInfo.put("instructions", "Request credentials from /api/ssh/connect/" + container.getId()
+                        + ", then connect using: ssh -p " + sshGatewayPort + " <sshUsername>@" + sshGatewayHost);
+            } else if ("Running".equals(container.getStatus())) {
                 // Get real SSH connection details from Kubernetes
                 String minikubeIp = containerInstanceService.getMinikubeIp();
                 
@@ -395,8 +429,10 @@ public class ContainerController {
             
             // Start pod logic (this might involve scaling a deployment or patching the pod)
             // For now, just update the status
+            if (containerChangeLog.write(seq -> containerRepo.updateStatus(id, "Running", seq)) > 0) {
+                changeCounters.bump(ChangeCounters.CONTAINERS);
+            }
             container.setStatus("Running");
-            containerRepo.save(container);
             
             log.info("Container {} started successfully", id);
             return ResponseEntity.ok(container);
@@ -418,8 +454,10 @@ public class ContainerController {
                     .orElseThrow(() -> new RuntimeException("Container not found"));
             
             // Stop pod logic
+            if (containerChangeLog.write(seq -> containerRepo.updateStatus(id, "Stopped", seq)) > 0) {
+                changeCounters.bump(ChangeCounters.CONTAINERS);
+            }
             container.setStatus("Stopped");
-            containerRepo.save(container);
             
             log.info("Container {} stopped successfully", id);
             return ResponseEntity.ok(container);
@@ -440,16 +478,11 @@ public class ContainerController {
             ContainerInstance container = containerRepo.findById(id)
                     .orElseThrow(() -> new RuntimeException("Container not found"));
             
-            // Delete the pod from Kubernetes
-            // TODO: Implement deletePod method in KubernetesService
-            String podName = container.getKubernetesPodName();
-            String namespace = container.getOwner() != null ? 
-                container.getOwner().getKubernetesNamespace() : "default";
-            
-            log.info("Would delete pod {} from namespace {}", podName, namespace);
+            // Delete the pod, SSH service and PVC from Kubernetes
+            containerInstanceService.deleteKubernetesResources(container);
             
-            // Delete from database
-            containerRepo.delete(container);
+            // Delete from database (batch delete by id: the loaded copy may be older than a concurrent status update)
+            containerChangeLog.delete(container);
             
             log.info("Container {} deleted successfully", id);
             return ResponseEntity.ok(Map.of("message", "Container deleted successfully"));
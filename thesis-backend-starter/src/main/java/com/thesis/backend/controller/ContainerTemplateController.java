@@ -2,7 +2,10 @@ package com.thesis.backend.controller;
 
 import com.thesis.backend.entity.ContainerTemplate;
 import com.thesis.backend.entity.User;
+import com.thesis.backend.kubernetes.CompiledPodSpec;
 import com.thesis.backend.repository.ContainerTemplateRepository;
+import com.thesis.backend.service.CompiledPodSpecCache;
+import com.thesis.backend.service.TemplateSearchIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -21,6 +24,8 @@ import java.util.Map;
 public class ContainerTemplateController {
     
     private final ContainerTemplateRepository containerTemplateRepository;
+    private final CompiledPodSpecCache compiledPodSpecCache;
+    private final TemplateSearchIndex templateSearchIndex;
     
     /**
      * Get all available container templates
@@ -57,12 +62,19 @@ public class ContainerTemplateController {
      */
     @PostMapping
     @PreAuthorize("hasRole('TEACHER')")
-    public ResponseEntity<ContainerTemplate> createTemplate(
+    public ResponseEntity<?> createTemplate(
             @RequestBody ContainerTemplate template,
             @AuthenticationPrincipal User teacher) {
         
+        String invalid = validate(template);
+        if (invalid != null) {
+            return ResponseEntity.badRequest().body(Map.of("error", invalid));
+        }
+        template.setId(null);
+        template.setVersion(null);
         template.setCreatedBy(teacher);
         ContainerTemplate savedTemplate = containerTemplateRepository.save(template);
+        templateSearchIndex.index(savedTemplate);
         log.info("Created container template: {} by teacher: {}", template.getName(), teacher.getUsername());
         return ResponseEntity.ok(savedTemplate);
     }
@@ -72,7 +84,7 @@ public class ContainerTemplateController {
      */
     @PutMapping("/{templateId}")
     @PreAuthorize("hasRole('TEACHER')")
-    public ResponseEntity<ContainerTemplate> updateTemplate(
+    public ResponseEntity<?> updateTemplate(
             @PathVariable Long templateId,
             @RequestBody ContainerTemplate template,
             @AuthenticationPrincipal User teacher) {
@@ -85,9 +97,20 @@ public class ContainerTemplateController {
             return ResponseEntity.status(403).build();
         }
         
+        String invalid = validate(template);
+        if (invalid != null) {
+            return ResponseEntity.badRequest().body(Map.of("error", invalid));
+        }
+        
         template.setId(templateId);
+        // Clients that echo the version get optimistic locking; others update the current row
+        if (template.getVersion() == null) {
+            template.setVersion(existingTemplate.getVersion());
+        }
         template.setCreatedBy(teacher);
         ContainerTemplate savedTemplate = containerTemplateRepository.save(template);
+        compiledPodSpecCache.invalidate(templateId);
+        templateSearchIndex.index(savedTemplate);
         return ResponseEntity.ok(savedTemplate);
     }
     
@@ -110,6 +133,8 @@ public class ContainerTemplateController {
         }
         
         containerTemplateRepository.delete(template);
+        compiledPodSpecCache.invalidate(templateId);
+        templateSearchIndex.remove(templateId);
         Map<String, String> response = new HashMap<>();
         response.put("message", "Template deleted successfully");
         return ResponseEntity.ok(response);
@@ -126,12 +151,21 @@ public class ContainerTemplateController {
     }
     
     /**
-     * Search templates by name
+     * Ranked search over name, description, category, difficulty, image and pre-installed tools.
+     * Words may be prefixes ("pyth") or, from three characters on, fragments ("sql"). The old
+     * name parameter is still accepted.
      */
     @GetMapping("/search")
     @PreAuthorize("hasAnyRole('TEACHER', 'STUDENT')")
-    public ResponseEntity<List<ContainerTemplate>> searchTemplates(@RequestParam String name) {
-        List<ContainerTemplate> templates = containerTemplateRepository.findByNameContainingIgnoreCase(name);
+    public ResponseEntity<List<ContainerTemplate>> searchTemplates(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String name,
+            @RequestParam(defaultValue = "50") int limit) {
+        String query = q != null ? q : name;
+        if (query == null || query.isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<ContainerTemplate> templates = templateSearchIndex.search(query, Math.min(Math.max(limit, 1), 500));
         return ResponseEntity.ok(templates);
     }
     
@@ -146,6 +180,19 @@ public class ContainerTemplateController {
         return ResponseEntity.ok(getPredefinedTemplates());
     }
     
+    /**
+     * Compile the template the way container creation will, so bad env/resource/port JSON is rejected
+     * on save instead of on the first student's container
+     */
+    private String validate(ContainerTemplate template) {
+        try {
+            CompiledPodSpec.compile(template);
+            return null;
+        } catch (IllegalArgumentException e) {
+            return "Invalid template: " + e.getMessage();
+        }
+    }
+    
     private List<Map<String, Object>> getPredefinedTemplates() {
         return List.of(
             Map.of(
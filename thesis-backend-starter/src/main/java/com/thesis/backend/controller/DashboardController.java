@@ -0,0 +1,42 @@
+package com.thesis.backend.controller;
+
+import com.thesis.backend.entity.User;
+import com.thesis.backend.service.DashboardService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/dashboard")
+@RequiredArgsConstructor
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    /**
+     * Everything the dashboard page shows in one request. Staff get container, user, pod and template
+     * counts, recent activities and system status; students get their own container counts and
+     * activities. Sections that could not be computed in time are null and listed in unavailableSections.
+     */
+    @GetMapping
+    @PreAuthorize("hasAnyRole('STUDENT', 'TEACHER', 'ADMIN', 'SUPER_ADMIN')")
+    public ResponseEntity<Map<String, Object>> getDashboard(@AuthenticationPrincipal User user) {
+        try {
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .body(dashboardService.getDashboard(user));
+        } catch (Exception e) {
+            log.error("Failed to build dashboard for user: {}", user.getUsername(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+}
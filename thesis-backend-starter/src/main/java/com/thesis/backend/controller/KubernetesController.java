@@ -1,5 +1,6 @@
 package com.thesis.backend.controller;
 
+import com.thesis.backend.kubernetes.KubernetesResourceCache;
 import com.thesis.backend.service.DeploymentService;
 import com.thesis.backend.service.NamespaceService;
 import com.thesis.backend.service.PodService;
@@ -17,6 +18,9 @@ import java.util.Map;
 @RequestMapping("/api/kubernetes")
 public class KubernetesController {
 
+    private static final String CONTINUE_TOKEN_HEADER = "X-Continue-Token";
+    private static final String RESOURCE_VERSION_HEADER = "X-Resource-Version";
+
     @Autowired
     private PodService podService;
 
@@ -26,20 +30,46 @@ public class KubernetesController {
     @Autowired
     private NamespaceService namespaceService;
 
+    @Autowired
+    private KubernetesResourceCache resourceCache;
+
+    /**
+     * Object counts and approximate memory footprint of the informer cache per resource type
+     */
+    @GetMapping("/cache")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+    public ResponseEntity<Map<String, Object>> getCacheFootprint() {
+        return ResponseEntity.ok(resourceCache.footprint());
+    }
+
     // Pod management endpoints
     
+    /**
+     * Without a limit the full list is returned, from the informer cache unless consistent=true;
+     * with a limit one page is read from the API server and the continuation token for the next
+     * one is sent in the X-Continue-Token header. X-Resource-Version is always set.
+     * managedOnly=true narrows the list to objects carrying the platform's managed-by label.
+     */
     @GetMapping("/pods")
     @PreAuthorize("hasRole('TEACHER')")
     public ResponseEntity<List<KubernetesPod>> getAllPods(
-            @RequestParam(value = "allNamespaces", defaultValue = "false") boolean allNamespaces) {
-        return ResponseEntity.ok(podService.getAllPods(allNamespaces));
+            @RequestParam(value = "allNamespaces", defaultValue = "false") boolean allNamespaces,
+            @RequestParam(value = "managedOnly", defaultValue = "false") boolean managedOnly,
+            @RequestParam(value = "limit", required = false) Long limit,
+            @RequestParam(value = "continue", required = false) String continueToken,
+            @RequestParam(value = "consistent", defaultValue = "false") boolean consistent) {
+        if (limit == null) {
+            return page(podService.getAllPods(allNamespaces, managedOnly, consistent));
+        }
+        return page(podService.listPods(allNamespaces, managedOnly, limit, continueToken));
     }
 
     @GetMapping("/namespaces/{namespace}/pods")
     @PreAuthorize("hasAnyRole('TEACHER', 'STUDENT')")
     public ResponseEntity<List<KubernetesPod>> getPodsInNamespace(
-            @PathVariable String namespace) {
-        return ResponseEntity.ok(podService.getPodsInNamespace(namespace));
+            @PathVariable String namespace,
+            @RequestParam(value = "consistent", defaultValue = "false") boolean consistent) {
+        return page(podService.getPodsInNamespace(namespace, consistent));
     }
 
     @GetMapping("/namespaces/{namespace}/pods/{name}")
@@ -99,15 +129,23 @@ public class KubernetesController {
     @GetMapping("/deployments")
     @PreAuthorize("hasRole('TEACHER')")
     public ResponseEntity<List<KubernetesDeployment>> getAllDeployments(
-            @RequestParam(value = "allNamespaces", defaultValue = "false") boolean allNamespaces) {
-        return ResponseEntity.ok(deploymentService.getAllDeployments(allNamespaces));
+            @RequestParam(value = "allNamespaces", defaultValue = "false") boolean allNamespaces,
+            @RequestParam(value = "managedOnly", defaultValue = "false") boolean managedOnly,
+            @RequestParam(value = "limit", required = false) Long limit,
+            @RequestParam(value = "continue", required = false) String continueToken,
+            @RequestParam(value = "consistent", defaultValue = "false") boolean consistent) {
+        if (limit == null) {
+            return page(deploymentService.getAllDeployments(allNamespaces, managedOnly, consistent));
+        }
+        return page(deploymentService.listDeployments(allNamespaces, managedOnly, limit, continueToken));
     }
 
     @GetMapping("/namespaces/{namespace}/deployments")
     @PreAuthorize("hasAnyRole('TEACHER', 'STUDENT')")
     public ResponseEntity<List<KubernetesDeployment>> getDeploymentsInNamespace(
-            @PathVariable String namespace) {
-        return ResponseEntity.ok(deploymentService.getDeploymentsInNamespace(namespace));
+            @PathVariable String namespace,
+            @RequestParam(value = "consistent", defaultValue = "false") boolean consistent) {
+        return page(deploymentService.getDeploymentsInNamespace(namespace, consistent));
     }
 
     @GetMapping("/namespaces/{namespace}/deployments/{name}")
@@ -181,8 +219,15 @@ public class KubernetesController {
     
     @GetMapping("/namespaces")
     @PreAuthorize("hasAnyRole('TEACHER', 'STUDENT')")
-    public ResponseEntity<List<KubernetesNamespace>> getAllNamespaces() {
-        return ResponseEntity.ok(namespaceService.getAllNamespaces());
+    public ResponseEntity<List<KubernetesNamespace>> getAllNamespaces(
+            @RequestParam(value = "managedOnly", defaultValue = "false") boolean managedOnly,
+            @RequestParam(value = "limit", required = false) Long limit,
+            @RequestParam(value = "continue", required = false) String continueToken,
+            @RequestParam(value = "consistent", defaultValue = "false") boolean consistent) {
+        if (limit == null) {
+            return page(namespaceService.getAllNamespaces(managedOnly, consistent));
+        }
+        return page(namespaceService.listNamespaces(managedOnly, limit, continueToken));
     }
 
     @GetMapping("/namespaces/{name}")
@@ -215,4 +260,18 @@ public class KubernetesController {
             return ResponseEntity.notFound().build();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Body is the page items; paging state travels in headers so list clients stay unchanged
+     */
+    private <T> ResponseEntity<List<T>> page(KubernetesListResult<T> result) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (result.hasMore()) {
+            response.header(CONTINUE_TOKEN_HEADER, result.getContinueToken());
+        }
+        if (result.getResourceVersion() != null) {
+            response.header(RESOURCE_VERSION_HEADER, result.getResourceVersion());
+        }
+        return response.body(result.getItems());
+    }
+}
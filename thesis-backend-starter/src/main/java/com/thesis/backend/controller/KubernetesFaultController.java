@@ -0,0 +1,87 @@
+package com.thesis.backend.controller;
+
+import com.thesis.backend.dto.KubernetesFaultRule;
+import com.thesis.backend.dto.KubernetesTrafficSample;
+import com.thesis.backend.kubernetes.KubernetesFaultInjector;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runtime control of Kubernetes fault injection. Only effective when the client was built
+ * with kubernetes.fault-injection.enabled=true.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/admin/kubernetes/faults")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('SUPER_ADMIN')")
+public class KubernetesFaultController {
+
+    private final KubernetesFaultInjector faultInjector;
+
+    /**
+     * Current mode, rules and counters
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getState() {
+        Map<String, Object> response = new HashMap<>(faultInjector.getStats());
+        response.put("rules", faultInjector.getRules());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Replace the injection rules (first match wins)
+     */
+    @PutMapping("/rules")
+    public ResponseEntity<List<KubernetesFaultRule>> setRules(@RequestBody List<KubernetesFaultRule> rules) {
+        faultInjector.setRules(rules);
+        log.warn("Kubernetes fault rules replaced: {}", rules);
+        return ResponseEntity.ok(faultInjector.getRules());
+    }
+
+    /**
+     * Switch between OFF, INJECT, RECORD and REPLAY
+     */
+    @PostMapping("/mode/{mode}")
+    public ResponseEntity<Map<String, Object>> setMode(@PathVariable KubernetesFaultInjector.Mode mode) {
+        faultInjector.setMode(mode);
+        return ResponseEntity.ok(faultInjector.getStats());
+    }
+
+    /**
+     * Traffic samples captured in RECORD mode
+     */
+    @GetMapping("/recording")
+    public ResponseEntity<List<KubernetesTrafficSample>> getRecording() {
+        return ResponseEntity.ok(faultInjector.getRecording());
+    }
+
+    /**
+     * Load a replay profile; without a body the current recording is used
+     */
+    @PostMapping("/replay")
+    public ResponseEntity<Map<String, Object>> loadReplay(
+            @RequestBody(required = false) List<KubernetesTrafficSample> samples) {
+        faultInjector.loadReplayProfile(samples != null ? samples : faultInjector.getRecording());
+        faultInjector.setMode(KubernetesFaultInjector.Mode.REPLAY);
+        return ResponseEntity.ok(faultInjector.getStats());
+    }
+
+    /**
+     * Turn injection off and clear rules, recording and counters
+     */
+    @DeleteMapping
+    public ResponseEntity<Map<String, String>> reset() {
+        faultInjector.reset();
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "Kubernetes fault injection reset");
+        return ResponseEntity.ok(response);
+    }
+}
@@ -3,8 +3,11 @@ package com.thesis.backend.controller;
 import com.thesis.backend.entity.SshConnection;
 import com.thesis.backend.entity.User;
 import com.thesis.backend.service.SshConnectionService;
+import com.thesis.backend.service.SshExpiryService;
+import com.thesis.backend.ssh.SshKeys;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -21,6 +24,10 @@ import java.util.Map;
 public class SshController {
     
     private final SshConnectionService sshConnectionService;
+    private final SshExpiryService sshExpiryService;
+    
+    @Value("${ssh.gateway.public-host:localhost}")
+    private String gatewayHost;
     
     /**
      * Create SSH access for a student to a container
@@ -99,6 +106,47 @@ public class SshController {
         }
     }
     
+    /**
+     * Upload the public key for password-less login on a connection
+     */
+    @PutMapping("/connections/{connectionId}/public-key")
+    @PreAuthorize("hasRole('STUDENT') and @sshConnectionService.isConnectionOwner(#connectionId, authentication.principal)")
+    public ResponseEntity<Map<String, Object>> uploadPublicKey(
+            @PathVariable Long connectionId,
+            @RequestBody Map<String, String> request) {
+        
+        try {
+            SshConnection connection = sshConnectionService.updatePublicKey(connectionId, request.get("publicKey"));
+            Map<String, Object> response = new HashMap<>();
+            response.put("connectionId", connection.getId());
+            response.put("fingerprint", SshKeys.fingerprint(connection.getSshPublicKey()));
+            response.put("message", "Public key uploaded successfully");
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Failed to upload public key: " + e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
+    /**
+     * Remove the public key from a connection
+     */
+    @DeleteMapping("/connections/{connectionId}/public-key")
+    @PreAuthorize("hasRole('STUDENT') and @sshConnectionService.isConnectionOwner(#connectionId, authentication.principal)")
+    public ResponseEntity<Map<String, String>> removePublicKey(@PathVariable Long connectionId) {
+        try {
+            sshConnectionService.updatePublicKey(connectionId, null);
+            Map<String, String> response = new HashMap<>();
+            response.put("message", "Public key removed successfully");
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Failed to remove public key: " + e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
     /**
      * Revoke SSH access (only for teachers or connection owner)
      */
@@ -133,9 +181,10 @@ public class SshController {
     @PostMapping("/admin/cleanup")
     @PreAuthorize("hasRole('TEACHER')")
     public ResponseEntity<Map<String, String>> cleanupExpiredConnections() {
-        sshConnectionService.cleanupExpiredConnections();
+        int expired = sshExpiryService.expireOverdue();
         Map<String, String> response = new HashMap<>();
         response.put("message", "Expired connections cleaned up successfully");
+        response.put("expired", String.valueOf(expired));
         return ResponseEntity.ok(response);
     }
     
@@ -178,6 +227,21 @@ public class SshController {
     private Map<String, String> generateSshInstructions(SshConnection connection) {
         Map<String, String> instructions = new HashMap<>();
         
+        if (sshConnectionService.isGatewayEnabled()) {
+            // All sessions share the gateway port; the username selects the container
+            instructions.put("command", String.format("ssh %s@%s -p %d",
+                    connection.getSshUsername(),
+                    gatewayHost,
+                    connection.getConnectionPort()));
+            instructions.put("description", "Use this command to connect to your container through the SSH gateway");
+            instructions.put("password", connection.getSshPassword());
+            instructions.put("scpExample", String.format("scp -P %d file.txt %s@%s:",
+                    connection.getConnectionPort(),
+                    connection.getSshUsername(),
+                    gatewayHost));
+            return instructions;
+        }
+        
         // For minikube, we need to get the minikube IP
         String minikubeIp = "$(minikube ip)";
         
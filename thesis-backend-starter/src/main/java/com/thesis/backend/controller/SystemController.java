@@ -1,13 +1,15 @@
 package com.thesis.backend.controller;
 
+import com.thesis.backend.service.SystemStatusService;
+import com.thesis.backend.web.ChangeCounters;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import javax.sql.DataSource;
-import java.sql.Connection;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -17,37 +19,22 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class SystemController {
 
-    private final DataSource dataSource;
+    private final SystemStatusService systemStatusService;
+    private final ChangeCounters changeCounters;
 
     /**
-     * Get system status for dashboard
+     * Get system status for dashboard (background snapshot; 304 while it is unchanged)
      */
     @GetMapping("/status")
     @PreAuthorize("hasAnyRole('TEACHER', 'ADMIN', 'STUDENT')")
-    public ResponseEntity<Map<String, Object>> getSystemStatus() {
+    public ResponseEntity<Map<String, Object>> getSystemStatus(WebRequest request) {
         try {
-            Map<String, Object> status = new HashMap<>();
-            
-            // Check database connectivity
-            status.put("database", checkDatabaseStatus());
-            
-            // Check Kubernetes connectivity (mock for now)
-            status.put("kubernetes", checkKubernetesStatus());
-            
-            // Check SSH service status (mock for now)
-            status.put("ssh", checkSshServiceStatus());
-            
-            // Overall platform status
-            status.put("platform", "operational");
-            
-            // Add system metrics
-            Map<String, Object> metrics = new HashMap<>();
-            metrics.put("uptime", "99.9%");
-            metrics.put("responseTime", "< 100ms");
-            metrics.put("lastUpdate", java.time.LocalDateTime.now().toString());
-            status.put("metrics", metrics);
-            
-            return ResponseEntity.ok(status);
+            if (request.checkNotModified(changeCounters.etag("system-status", ChangeCounters.SYSTEM))) {
+                return null;
+            }
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .body(systemStatusService.getStatus());
         } catch (Exception e) {
             log.error("Failed to fetch system status", e);
             return ResponseEntity.internalServerError().build();
@@ -70,9 +57,9 @@ public class SystemController {
             
             // Service dependencies
             Map<String, Object> dependencies = new HashMap<>();
-            dependencies.put("database", checkDatabaseStatus());
-            dependencies.put("kubernetes", checkKubernetesStatus());
-            dependencies.put("ssh", checkSshServiceStatus());
+            dependencies.put("database", systemStatusService.checkDatabaseStatus());
+            dependencies.put("kubernetes", systemStatusService.checkKubernetesStatus());
+            dependencies.put("ssh", systemStatusService.checkSshServiceStatus());
             health.put("dependencies", dependencies);
             
             // Resource usage (mock data)
@@ -126,47 +113,4 @@ public class SystemController {
             return ResponseEntity.internalServerError().build();
         }
     }
-
-    /**
-     * Check database connectivity
-     */
-    private String checkDatabaseStatus() {
-        try {
-            Connection connection = dataSource.getConnection();
-            boolean isValid = connection.isValid(5); // 5 second timeout
-            connection.close();
-            return isValid ? "operational" : "error";
-        } catch (Exception e) {
-            log.warn("Database health check failed", e);
-            return "error";
-        }
-    }
-
-    /**
-     * Check Kubernetes cluster status (mock implementation)
-     */
-    private String checkKubernetesStatus() {
-        try {
-            // TODO: Implement actual Kubernetes cluster health check
-            // For now, return operational status
-            return "operational";
-        } catch (Exception e) {
-            log.warn("Kubernetes health check failed", e);
-            return "error";
-        }
-    }
-
-    /**
-     * Check SSH service status (mock implementation)
-     */
-    private String checkSshServiceStatus() {
-        try {
-            // TODO: Implement actual SSH service health check
-            // For now, return operational status
-            return "operational";
-        } catch (Exception e) {
-            log.warn("SSH service health check failed", e);
-            return "error";
-        }
-    }
 }
@@ -4,15 +4,22 @@ import com.thesis.backend.entity.ContainerInstance;
 import com.thesis.backend.entity.User;
 import com.thesis.backend.repository.ContainerInstanceRepository;
 import com.thesis.backend.repository.UserRepository;
+import com.thesis.backend.service.ContainerChangeLog;
+import com.thesis.backend.service.ContainerInstanceService;
+import com.thesis.backend.service.DashboardService;
 import com.thesis.backend.service.NamespaceService;
+import com.thesis.backend.service.UserSearchIndex;
+import com.thesis.backend.web.ChangeCounters;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.HashMap;
 import java.util.List;
@@ -29,6 +36,11 @@ public class UserController {
     private final PasswordEncoder passwordEncoder;
     private final NamespaceService namespaceService;
     private final ContainerInstanceRepository containerInstanceRepository;
+    private final ContainerInstanceService containerInstanceService;
+    private final UserSearchIndex userSearchIndex;
+    private final ChangeCounters changeCounters;
+    private final ContainerChangeLog containerChangeLog;
+    private final DashboardService dashboardService;
 
     /**
      * Get all users (for admins and teachers)
@@ -64,8 +76,12 @@ public class UserController {
      */
     @GetMapping("/students")
     @PreAuthorize("hasAnyRole('TEACHER', 'ADMIN')")
-    public ResponseEntity<List<Map<String, Object>>> getAllStudents() {
+    public ResponseEntity<List<Map<String, Object>>> getAllStudents(WebRequest request) {
         try {
+            if (request.checkNotModified(changeCounters.etag("students", ChangeCounters.USERS))) {
+                return null;
+            }
+            
             List<User> students = userRepository.findByRole("ROLE_STUDENT");
             
             List<Map<String, Object>> studentList = students.stream()
@@ -80,13 +96,40 @@ public class UserController {
                 })
                 .collect(Collectors.toList());
             
-            return ResponseEntity.ok(studentList);
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate()).body(studentList);
         } catch (Exception e) {
             log.error("Failed to fetch students", e);
             return ResponseEntity.internalServerError().build();
         }
     }
 
+    /**
+     * Autocomplete over username/email prefixes (for teachers picking students without loading the roster)
+     */
+    @GetMapping("/search")
+    @PreAuthorize("hasAnyRole('TEACHER', 'ADMIN')")
+    public ResponseEntity<List<Map<String, Object>>> searchUsers(
+            @RequestParam String q,
+            @RequestParam(required = false) String role,
+            @RequestParam(defaultValue = "20") int limit) {
+        String roleFilter = role == null || role.isBlank() ? null
+                : role.startsWith("ROLE_") ? role : "ROLE_" + role.toUpperCase();
+        List<Map<String, Object>> users = userSearchIndex.search(q, roleFilter, Math.min(Math.max(limit, 1), 100))
+                .stream()
+                .map(entry -> {
+                    Map<String, Object> userInfo = new HashMap<>();
+                    userInfo.put("id", entry.id());
+                    userInfo.put("username", entry.username());
+                    userInfo.put("email", entry.email());
+                    userInfo.put("role", entry.role());
+                    userInfo.put("cohort", entry.cohort());
+                    userInfo.put("status", Boolean.FALSE.equals(entry.active()) ? "inactive" : "active");
+                    return userInfo;
+                })
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(users);
+    }
+
     /**
      * Get user statistics for dashboard
      */
@@ -94,26 +137,7 @@ public class UserController {
     @PreAuthorize("hasAnyRole('TEACHER', 'ADMIN')")
     public ResponseEntity<Map<String, Object>> getUserStats() {
         try {
-            List<User> allUsers = userRepository.findAll();
-            
-            long totalUsers = allUsers.size();
-            long students = allUsers.stream()
-                .filter(user -> "ROLE_STUDENT".equals(user.getRole()))
-                .count();
-            long teachers = allUsers.stream()
-                .filter(user -> "ROLE_TEACHER".equals(user.getRole()))
-                .count();
-            long admins = allUsers.stream()
-                .filter(user -> "ROLE_ADMIN".equals(user.getRole()))
-                .count();
-            
-            Map<String, Object> stats = new HashMap<>();
-            stats.put("total", totalUsers);
-            stats.put("students", students);
-            stats.put("teachers", teachers);
-            stats.put("admins", admins);
-            stats.put("active", totalUsers); // Assuming all users are active for now
-            
+            Map<String, Object> stats = dashboardService.userStats();
             return ResponseEntity.ok(stats);
         } catch (Exception e) {
             log.error("Failed to fetch user statistics", e);
@@ -185,6 +209,7 @@ public class UserController {
                     .password(passwordEncoder.encode(request.getPassword()))
                     .email(request.getEmail() != null ? request.getEmail() : request.getUsername() + "@example.com")
                     .role(role)
+                    .cohort(request.getCohort())
                     .build();
             
             // Create Kubernetes namespace for students
@@ -194,7 +219,7 @@ public class UserController {
                     Map<String, String> labels = new HashMap<>();
                     labels.put("type", "student-namespace");
                     labels.put("student", request.getUsername());
-                    labels.put("managed-by", "thesis-backend");
+                    labels.put("managed-by", "thesis-platform");
                     
                     namespaceService.createNamespace(namespaceName, labels);
                     newUser.setKubernetesNamespace(namespaceName);
@@ -284,6 +309,10 @@ public class UserController {
                 user.setRole(role);
             }
             
+            if (request.getCohort() != null) {
+                user.setCohort(request.getCohort().isBlank() ? null : request.getCohort().trim());
+            }
+            
             User updatedUser = userRepository.save(user);
             
             Map<String, Object> userInfo = new HashMap<>();
@@ -292,6 +321,7 @@ public class UserController {
             userInfo.put("email", updatedUser.getEmail());
             userInfo.put("role", updatedUser.getRole());
             userInfo.put("kubernetesNamespace", updatedUser.getKubernetesNamespace());
+            userInfo.put("cohort", updatedUser.getCohort());
             userInfo.put("status", "active");
             
             log.info("User {} updated successfully by admin {}", updatedUser.getUsername(), admin.getUsername());
@@ -332,7 +362,10 @@ public class UserController {
             List<ContainerInstance> userContainers = containerInstanceRepository.findByOwner(user);
             if (!userContainers.isEmpty()) {
                 log.info("Deleting {} containers for user {}", userContainers.size(), username);
-                containerInstanceRepository.deleteAll(userContainers);
+                // Pods may live outside the user's namespace (legacy default namespace), so remove them explicitly
+                userContainers.forEach(containerInstanceService::deleteKubernetesResources);
+                // One statement, no per-row version check against concurrent status updates
+                containerChangeLog.delete(userContainers);
                 log.info("Deleted {} containers", userContainers.size());
             }
             
@@ -375,6 +408,7 @@ public class UserController {
         private String password;
         private String email;
         private String role; // STUDENT, TEACHER, ADMIN, SUPER_ADMIN
+        private String cohort;
     }
 
     @Data
@@ -382,5 +416,6 @@ public class UserController {
         private String email;
         private String password;
         private String role;
+        private String cohort; // blank clears it
     }
 }
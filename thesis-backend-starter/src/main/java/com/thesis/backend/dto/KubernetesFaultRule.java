@@ -0,0 +1,27 @@
+package com.thesis.backend.dto;
+
+import lombok.Data;
+
+/**
+ * One fault injection rule for Kubernetes API calls. The first rule matching a request's
+ * resource type and verb applies; "*" or null match everything.
+ */
+@Data
+public class KubernetesFaultRule {
+    private String resourceType = "*";   // pods, services, namespaces, secrets, ...
+    private String verb;                 // GET, POST, PUT, PATCH, DELETE; null for any
+
+    // Uniform base latency plus an occasional spike for tail latency
+    private long latencyMinMs;
+    private long latencyMaxMs;
+    private double spikeProbability;
+    private long spikeMs;
+
+    // Synthetic error responses instead of reaching the API server
+    private double errorRate;
+    private int errorStatus = 503;       // 429, 500, 503, ...
+    private int retryAfterSeconds = 1;   // sent with 429
+
+    // Fraction of watch requests that fail to establish
+    private double watchDropRate;
+}
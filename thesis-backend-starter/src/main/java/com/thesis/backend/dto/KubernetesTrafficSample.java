@@ -0,0 +1,22 @@
+package com.thesis.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Timing and outcome of one recorded Kubernetes API call, used to replay a degradation profile
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class KubernetesTrafficSample {
+    private String verb;
+    private String resourceType;
+    private int status;
+    private long latencyMs;
+    private boolean watch;
+    private long recordedAt;
+}
@@ -0,0 +1,34 @@
+package com.thesis.backend.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of one OrphanResourceCollector run. In a dry run the lists name what would have been changed.
+ */
+@Data
+public class OrphanCollectionReport {
+    private LocalDateTime startedAt;
+    private long durationMs;
+    private boolean dryRun;
+    private boolean aborted;
+
+    // "namespace/name" of deleted cluster objects
+    private List<String> deletedPods = new ArrayList<>();
+    private List<String> deletedServices = new ArrayList<>();
+    private List<String> deletedClaims = new ArrayList<>();
+
+    // Database rows reconciled with the cluster
+    private List<Long> stoppedContainers = new ArrayList<>();
+    private List<Long> revokedConnections = new ArrayList<>();
+
+    // Requests freed by the deleted pods and claims
+    private long reclaimedCpuMillis;
+    private long reclaimedMemoryBytes;
+    private long reclaimedStorageBytes;
+
+    private List<String> errors = new ArrayList<>();
+}
@@ -0,0 +1,31 @@
+package com.thesis.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Progress of a bulk teardown job
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TeardownJobStatus {
+    private String jobId;
+    private String state; // RUNNING, COMPLETED, COMPLETED_WITH_ERRORS
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private int totalUsers;
+    private int processedUsers;
+    private int failedUsers;
+    private int namespacesTerminating;
+    private int namespacesDeleted;
+    private Map<String, String> stuckNamespaces; // namespace -> why it is still Terminating
+    private List<String> errors;
+}
@@ -0,0 +1,17 @@
+package com.thesis.backend.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Selects the users of a bulk teardown. Given criteria are combined (all must match); at least one is required.
+ */
+@Data
+public class TeardownRequest {
+    private String cohort;
+    private String role;          // STUDENT or TEACHER (ROLE_ prefix optional)
+    private List<Long> userIds;
+    private boolean includeTeachers;  // teachers are skipped unless set, even when matched by role, cohort or ID
+    private boolean deleteUsers;  // also delete the accounts; otherwise they are kept without cluster resources
+}
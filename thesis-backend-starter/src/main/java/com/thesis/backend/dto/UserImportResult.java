@@ -0,0 +1,19 @@
+package com.thesis.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportResult {
+    private int row;
+    private String username;
+    private String status; // CREATED, SKIPPED, FAILED
+    private Long userId;
+    private String kubernetesNamespace;
+    private String message;
+}
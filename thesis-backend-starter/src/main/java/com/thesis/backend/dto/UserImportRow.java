@@ -0,0 +1,12 @@
+package com.thesis.backend.dto;
+
+import lombok.Data;
+
+@Data
+public class UserImportRow {
+    private String username;
+    private String email;
+    private String password;
+    private String role; // STUDENT or TEACHER (ROLE_ prefix optional)
+    private String cohort; // optional
+}
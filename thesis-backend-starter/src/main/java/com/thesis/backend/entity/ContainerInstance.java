@@ -1,14 +1,25 @@
 
 package com.thesis.backend.entity;
 
+import com.thesis.backend.service.ContainerChangeLogListener;
+import com.thesis.backend.web.ChangeCounterListener;
 import jakarta.persistence.*;
 import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
 @Getter @Setter @Builder @NoArgsConstructor @AllArgsConstructor
+@EntityListeners({ContainerChangeLogListener.class, ChangeCounterListener.class})
 public class ContainerInstance {
     @Id @GeneratedValue private Long id;
+
+    // Bumped by every status UPDATE in ContainerInstanceRepository; stale entity saves fail instead of overwriting
+    @Version
+    private Long version;
+
+    // Position in the container change sequence (delta sync); set on every insert/update by ContainerChangeLog
+    @Column(name = "change_seq")
+    private Long changeSeq;
     private String name;
     private String status;
     private String kubernetesPodName;
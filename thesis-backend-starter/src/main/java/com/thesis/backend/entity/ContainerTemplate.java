@@ -15,6 +15,10 @@ public class ContainerTemplate {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
+
+    // Bumped on every update; keys the compiled pod spec cache
+    @Version
+    private Long version;
     
     @Column(nullable = false)
     private String name;
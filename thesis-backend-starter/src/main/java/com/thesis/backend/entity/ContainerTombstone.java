@@ -0,0 +1,33 @@
+package com.thesis.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marker left behind by a deleted ContainerInstance so delta sync clients (/api/containers/changes)
+ * learn about the deletion; written by ContainerChangeLog in the same transaction as the delete.
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "container_tombstones")
+public class ContainerTombstone {
+
+    @Id
+    @Column(name = "container_id")
+    private Long containerId;
+
+    @Column(name = "owner_id")
+    private Long ownerId;
+
+    @Column(name = "change_seq", nullable = false)
+    private Long changeSeq;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+}
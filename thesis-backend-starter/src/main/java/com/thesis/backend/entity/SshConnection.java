@@ -18,6 +18,10 @@ public class SshConnection {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
+    // Bumped by the conditional status/key UPDATEs in SshConnectionRepository (not by lastAccessed flushes)
+    @Version
+    private Long version;
+    
     @ManyToOne
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
@@ -1,5 +1,7 @@
 package com.thesis.backend.entity;
 
+import com.thesis.backend.service.UserSearchIndexListener;
+import com.thesis.backend.web.ChangeCounterListener;
 import jakarta.persistence.*;
 import lombok.*;
 import org.springframework.security.core.GrantedAuthority;
@@ -16,11 +18,13 @@ import java.util.Collections;
 @AllArgsConstructor
 @Builder
 @Table(name = "users")
+@EntityListeners({UserSearchIndexListener.class, ChangeCounterListener.class})
 public class User implements UserDetails {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
+    private Long id;  // Pooled sequence so Hibernate can batch inserts (IDENTITY disables batching)
 
     @Column(unique = true, nullable = false)
     private String email;
@@ -44,6 +48,9 @@ public class User implements UserDetails {
     @Column(name = "created_by_admin_id")
     private Long createdByAdminId;  // Track which admin created this user
 
+    @Column(name = "cohort")
+    private String cohort;  // Course/semester group, e.g. "os-2025-fall"; used for bulk teardown
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return Collections.singletonList(new SimpleGrantedAuthority(role));
@@ -0,0 +1,15 @@
+package com.thesis.backend.event;
+
+import com.thesis.backend.entity.SshConnection;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Published whenever an SSH connection is created or changes status,
+ * so in-memory views (credential index, expiry wheel) stay current without polling the DB.
+ */
+@Getter
+@RequiredArgsConstructor
+public class SshConnectionChangedEvent {
+    private final SshConnection connection;
+}
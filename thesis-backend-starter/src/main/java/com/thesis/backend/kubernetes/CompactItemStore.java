@@ -0,0 +1,79 @@
+package com.thesis.backend.kubernetes;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.client.informers.cache.Cache;
+import io.fabric8.kubernetes.client.informers.cache.ItemStore;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+
+/**
+ * Informer item store that keeps a compact record per object instead of the full fabric8 model.
+ * Objects are reduced on ingest and rebuilt as slim model objects (only the kept fields set) on read.
+ */
+public class CompactItemStore<T extends HasMetadata, C> implements ItemStore<T> {
+
+    private final ConcurrentHashMap<String, C> items = new ConcurrentHashMap<>();
+    private final Function<T, C> compact;
+    private final Function<C, T> expand;
+    private final ToLongFunction<C> footprint;
+
+    public CompactItemStore(Function<T, C> compact, Function<C, T> expand, ToLongFunction<C> footprint) {
+        this.compact = compact;
+        this.expand = expand;
+        this.footprint = footprint;
+    }
+
+    @Override
+    public String getKey(T obj) {
+        return Cache.metaNamespaceKeyFunc(obj);
+    }
+
+    @Override
+    public T put(String key, T obj) {
+        return expandOrNull(items.put(key, compact.apply(obj)));
+    }
+
+    @Override
+    public T remove(String key) {
+        return expandOrNull(items.remove(key));
+    }
+
+    @Override
+    public Stream<String> keySet() {
+        return items.keySet().stream();
+    }
+
+    @Override
+    public Stream<T> values() {
+        return items.values().stream().map(expand);
+    }
+
+    @Override
+    public T get(String key) {
+        return expandOrNull(items.get(key));
+    }
+
+    @Override
+    public int size() {
+        return items.size();
+    }
+
+    /**
+     * Estimated heap held by the compact records, excluding interned strings
+     */
+    public long estimatedBytes() {
+        long bytes = 0;
+        for (Map.Entry<String, C> entry : items.entrySet()) {
+            bytes += CompactObjects.stringBytes(entry.getKey()) + 32 + footprint.applyAsLong(entry.getValue());
+        }
+        return bytes;
+    }
+
+    private T expandOrNull(C record) {
+        return record != null ? expand.apply(record) : null;
+    }
+}
@@ -0,0 +1,258 @@
+package com.thesis.backend.kubernetes;
+
+import io.fabric8.kubernetes.api.model.ContainerBuilder;
+import io.fabric8.kubernetes.api.model.IntOrString;
+import io.fabric8.kubernetes.api.model.Namespace;
+import io.fabric8.kubernetes.api.model.NamespaceBuilder;
+import io.fabric8.kubernetes.api.model.ObjectMeta;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.ResourceRequirements;
+import io.fabric8.kubernetes.api.model.Service;
+import io.fabric8.kubernetes.api.model.ServiceBuilder;
+import io.fabric8.kubernetes.api.model.ServicePort;
+import io.fabric8.kubernetes.api.model.ServicePortBuilder;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Compact cache records and their conversions. Only the fields read by PodService/DeploymentService
+ * mapping, ContainerInstanceService status and SSH port lookups, and the namespace views are kept;
+ * managedFields, annotations, conditions and the rest of the spec are dropped on ingest.
+ */
+public class CompactObjects {
+
+    private static final int OBJECT_HEADER = 16;
+    private static final int REFERENCE = 8;
+
+    private final LabelInterner interner;
+
+    public CompactObjects(LabelInterner interner) {
+        this.interner = interner;
+    }
+
+    /**
+     * Identity and labels shared by all cached kinds
+     */
+    public record Meta(String namespace, String name, String uid, String resourceVersion,
+                       String creationTimestamp, String deletionTimestamp, Map<String, String> labels) {
+    }
+
+    public record CompactPod(Meta meta, String phase, String podIp,
+                             Map<String, String> limits, Map<String, String> requests) {
+    }
+
+    public record CompactDeployment(Meta meta, Integer replicas, Integer availableReplicas, String image,
+                                    Map<String, String> limits, Map<String, String> requests) {
+    }
+
+    public record CompactService(Meta meta, String type, String clusterIp, Map<String, String> selector,
+                                 List<CompactPort> ports) {
+    }
+
+    public record CompactPort(String name, Integer port, String targetPort, Integer nodePort) {
+    }
+
+    public record CompactNamespace(Meta meta, String phase) {
+    }
+
+    public CompactPod compact(Pod pod) {
+        ResourceRequirements resources = pod.getSpec() != null && pod.getSpec().getContainers() != null
+                && !pod.getSpec().getContainers().isEmpty()
+                ? pod.getSpec().getContainers().get(0).getResources() : null;
+        return new CompactPod(meta(pod.getMetadata()),
+                pod.getStatus() != null ? interner.intern(pod.getStatus().getPhase()) : null,
+                pod.getStatus() != null ? pod.getStatus().getPodIP() : null,
+                quantities(resources != null ? resources.getLimits() : null),
+                quantities(resources != null ? resources.getRequests() : null));
+    }
+
+    public Pod expand(CompactPod pod) {
+        PodBuilder builder = new PodBuilder().withMetadata(objectMeta(pod.meta()));
+        if (!pod.limits().isEmpty() || !pod.requests().isEmpty()) {
+            builder.withNewSpec()
+                    .addToContainers(new ContainerBuilder()
+                            .withName(pod.meta().name())
+                            .withNewResources()
+                                .withLimits(toQuantities(pod.limits()))
+                                .withRequests(toQuantities(pod.requests()))
+                            .endResources()
+                            .build())
+                    .endSpec();
+        }
+        return builder.withNewStatus()
+                    .withPhase(pod.phase())
+                    .withPodIP(pod.podIp())
+                .endStatus()
+                .build();
+    }
+
+    public CompactDeployment compact(Deployment deployment) {
+        String image = null;
+        ResourceRequirements resources = null;
+        if (deployment.getSpec() != null && deployment.getSpec().getTemplate() != null
+                && deployment.getSpec().getTemplate().getSpec() != null
+                && deployment.getSpec().getTemplate().getSpec().getContainers() != null
+                && !deployment.getSpec().getTemplate().getSpec().getContainers().isEmpty()) {
+            image = interner.intern(deployment.getSpec().getTemplate().getSpec().getContainers().get(0).getImage());
+            resources = deployment.getSpec().getTemplate().getSpec().getContainers().get(0).getResources();
+        }
+        return new CompactDeployment(meta(deployment.getMetadata()),
+                deployment.getSpec() != null ? deployment.getSpec().getReplicas() : null,
+                deployment.getStatus() != null ? deployment.getStatus().getAvailableReplicas() : null,
+                image,
+                quantities(resources != null ? resources.getLimits() : null),
+                quantities(resources != null ? resources.getRequests() : null));
+    }
+
+    public Deployment expand(CompactDeployment deployment) {
+        return new DeploymentBuilder()
+                .withMetadata(objectMeta(deployment.meta()))
+                .withNewSpec()
+                    .withReplicas(deployment.replicas())
+                    .withNewTemplate()
+                        .withNewSpec()
+                            .addToContainers(new ContainerBuilder()
+                                    .withName(deployment.meta().name())
+                                    .withImage(deployment.image())
+                                    .withNewResources()
+                                        .withLimits(toQuantities(deployment.limits()))
+                                        .withRequests(toQuantities(deployment.requests()))
+                                    .endResources()
+                                    .build())
+                        .endSpec()
+                    .endTemplate()
+                .endSpec()
+                .withNewStatus()
+                    .withAvailableReplicas(deployment.availableReplicas())
+                .endStatus()
+                .build();
+    }
+
+    public CompactService compact(Service service) {
+        List<CompactPort> ports = List.of();
+        if (service.getSpec() != null && service.getSpec().getPorts() != null) {
+            ports = service.getSpec().getPorts().stream()
+                    .map(port -> new CompactPort(interner.intern(port.getName()), port.getPort(),
+                            port.getTargetPort() != null ? interner.intern(port.getTargetPort().toString()) : null,
+                            port.getNodePort()))
+                    .collect(Collectors.toUnmodifiableList());
+        }
+        return new CompactService(meta(service.getMetadata()),
+                service.getSpec() != null ? interner.intern(service.getSpec().getType()) : null,
+                service.getSpec() != null ? service.getSpec().getClusterIP() : null,
+                interner.intern(service.getSpec() != null ? service.getSpec().getSelector() : null),
+                ports);
+    }
+
+    public Service expand(CompactService service) {
+        List<ServicePort> ports = service.ports().stream()
+                .map(port -> new ServicePortBuilder()
+                        .withName(port.name())
+                        .withPort(port.port())
+                        .withTargetPort(port.targetPort() != null ? new IntOrString(port.targetPort()) : null)
+                        .withNodePort(port.nodePort())
+                        .build())
+                .collect(Collectors.toList());
+        return new ServiceBuilder()
+                .withMetadata(objectMeta(service.meta()))
+                .withNewSpec()
+                    .withType(service.type())
+                    .withClusterIP(service.clusterIp())
+                    .withSelector(service.selector())
+                    .withPorts(ports)
+                .endSpec()
+                .build();
+    }
+
+    public CompactNamespace compact(Namespace namespace) {
+        return new CompactNamespace(meta(namespace.getMetadata()),
+                namespace.getStatus() != null ? interner.intern(namespace.getStatus().getPhase()) : null);
+    }
+
+    public Namespace expand(CompactNamespace namespace) {
+        return new NamespaceBuilder()
+                .withMetadata(objectMeta(namespace.meta()))
+                .withNewStatus()
+                    .withPhase(namespace.phase())
+                .endStatus()
+                .build();
+    }
+
+    public static long footprint(CompactPod pod) {
+        return OBJECT_HEADER + 5 * REFERENCE + footprint(pod.meta()) + stringBytes(pod.podIp())
+                + mapBytes(pod.limits()) + mapBytes(pod.requests());
+    }
+
+    public static long footprint(CompactDeployment deployment) {
+        return OBJECT_HEADER + 6 * REFERENCE + footprint(deployment.meta()) + 2 * 16
+                + mapBytes(deployment.limits()) + mapBytes(deployment.requests());
+    }
+
+    public static long footprint(CompactService service) {
+        return OBJECT_HEADER + 5 * REFERENCE + footprint(service.meta()) + stringBytes(service.clusterIp())
+                + mapBytes(service.selector()) + OBJECT_HEADER + (long) service.ports().size() * (OBJECT_HEADER + 4 * REFERENCE + 32);
+    }
+
+    public static long footprint(CompactNamespace namespace) {
+        return OBJECT_HEADER + 2 * REFERENCE + footprint(namespace.meta());
+    }
+
+    /**
+     * Approximate heap of a compact (Latin-1) String: object, hash and backing byte[]
+     */
+    static long stringBytes(String value) {
+        return value == null ? 0 : 24 + 16 + value.length();
+    }
+
+    private static long footprint(Meta meta) {
+        // namespace and labels are interned and accounted for by the interner
+        return OBJECT_HEADER + 7 * REFERENCE + stringBytes(meta.name()) + stringBytes(meta.uid())
+                + stringBytes(meta.resourceVersion()) + stringBytes(meta.creationTimestamp())
+                + stringBytes(meta.deletionTimestamp()) + mapBytes(meta.labels());
+    }
+
+    private static long mapBytes(Map<String, String> map) {
+        return map.isEmpty() ? 0 : OBJECT_HEADER + 16 + 2L * REFERENCE * map.size() * 2;
+    }
+
+    private Meta meta(ObjectMeta metadata) {
+        return new Meta(interner.intern(metadata.getNamespace()), metadata.getName(), metadata.getUid(),
+                metadata.getResourceVersion(), metadata.getCreationTimestamp(), metadata.getDeletionTimestamp(),
+                interner.intern(metadata.getLabels()));
+    }
+
+    private static ObjectMeta objectMeta(Meta meta) {
+        return new ObjectMetaBuilder()
+                .withNamespace(meta.namespace())
+                .withName(meta.name())
+                .withUid(meta.uid())
+                .withResourceVersion(meta.resourceVersion())
+                .withCreationTimestamp(meta.creationTimestamp())
+                .withDeletionTimestamp(meta.deletionTimestamp())
+                .withLabels(meta.labels().isEmpty() ? null : new HashMap<>(meta.labels()))
+                .build();
+    }
+
+    private Map<String, String> quantities(Map<String, Quantity> quantities) {
+        if (quantities == null || quantities.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, String> values = new HashMap<>();
+        quantities.forEach((name, quantity) -> values.put(name, quantity.toString()));
+        return interner.intern(values);
+    }
+
+    private static Map<String, Quantity> toQuantities(Map<String, String> values) {
+        Map<String, Quantity> quantities = new HashMap<>();
+        values.forEach((name, value) -> quantities.put(name, new Quantity(value)));
+        return quantities;
+    }
+}
@@ -0,0 +1,403 @@
+package com.thesis.backend.kubernetes;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thesis.backend.entity.ContainerTemplate;
+import io.fabric8.kubernetes.api.model.Container;
+import io.fabric8.kubernetes.api.model.ContainerPort;
+import io.fabric8.kubernetes.api.model.ContainerPortBuilder;
+import io.fabric8.kubernetes.api.model.EnvVar;
+import io.fabric8.kubernetes.api.model.ObjectMeta;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaimVolumeSource;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodSpec;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.ResourceRequirements;
+import io.fabric8.kubernetes.api.model.SecretVolumeSource;
+import io.fabric8.kubernetes.api.model.Volume;
+import io.fabric8.kubernetes.api.model.VolumeMount;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * A ContainerTemplate parsed and validated once. The JSON columns (env, resources, ports) are turned
+ * into fabric8 value objects at compile time; {@link #instantiate} only allocates the per-pod shell and
+ * stamps name, namespace, labels, the student's workspace user and the PVC claim name.
+ *
+ * The value objects (EnvVar, ContainerPort, Quantity) are shared by every pod built from the spec and
+ * must not be mutated.
+ */
+public final class CompiledPodSpec {
+
+    public static final String SSH_IMAGE = "thesis-ssh-container:latest";
+    public static final String WORKSPACE_VOLUME = "workspace-storage";
+    public static final String WORKSPACE_PATH = "/workspace";
+    public static final String CREDENTIALS_VOLUME = "ssh-credentials";
+    public static final String CREDENTIALS_PATH = "/etc/thesis-ssh";
+
+    static final Map<String, String> DEFAULT_REQUESTS = Map.of("cpu", "100m", "memory", "256Mi");
+    static final Map<String, String> DEFAULT_LIMITS = Map.of("cpu", "500m", "memory", "512Mi");
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final Pattern ENV_NAME = Pattern.compile("[-._a-zA-Z][-._a-zA-Z0-9]*");
+    private static final Set<String> PROTOCOLS = Set.of("TCP", "UDP", "SCTP");
+    private static final Set<String> RESOURCES = Set.of("cpu", "memory", "ephemeral-storage");
+
+    private final Long templateId;
+    private final Long version;
+    private final String image;
+    private final List<String> command;
+    private final List<EnvVar> env;
+    private final Map<String, Quantity> requests;
+    private final Map<String, Quantity> limits;
+    private final List<ContainerPort> ports;
+    private final boolean sshEnabled;
+    private final boolean persistentStorage;
+    private final Quantity storageSize;
+
+    private CompiledPodSpec(ContainerTemplate template, List<EnvVar> env, Map<String, Quantity> requests,
+                            Map<String, Quantity> limits, List<ContainerPort> ports, Quantity storageSize) {
+        this.templateId = template.getId();
+        this.version = template.getVersion();
+        this.sshEnabled = Boolean.TRUE.equals(template.getSshEnabled());
+        this.persistentStorage = Boolean.TRUE.equals(template.getPersistentStorage());
+        // SSH templates run the platform image; its entrypoint is sshd, so the template command is not applied
+        this.image = sshEnabled ? SSH_IMAGE : template.getDockerImage();
+        this.command = !sshEnabled && template.getDefaultCommand() != null && !template.getDefaultCommand().isBlank()
+                ? List.of("/bin/sh", "-c", template.getDefaultCommand())
+                : List.of();
+        this.env = List.copyOf(env);
+        this.requests = Map.copyOf(requests);
+        this.limits = Map.copyOf(limits);
+        this.ports = List.copyOf(ports);
+        this.storageSize = storageSize;
+    }
+
+    /**
+     * Parse and validate a template
+     *
+     * @throws IllegalArgumentException naming the offending field if the template cannot produce a valid pod
+     */
+    public static CompiledPodSpec compile(ContainerTemplate template) {
+        boolean sshEnabled = Boolean.TRUE.equals(template.getSshEnabled());
+        if (!sshEnabled && (template.getDockerImage() == null || template.getDockerImage().isBlank())) {
+            throw new IllegalArgumentException("dockerImage is required");
+        }
+
+        List<EnvVar> env = new ArrayList<>();
+        if (sshEnabled) {
+            env.add(new EnvVar("ROOT_PASSWORD", "rootpass123", null));
+        }
+        parseEnv(template.getEnvironmentVars()).forEach((name, value) -> env.add(new EnvVar(name, value, null)));
+
+        Map<String, Quantity> requests = new LinkedHashMap<>();
+        Map<String, Quantity> limits = new LinkedHashMap<>();
+        if (template.getResourceLimits() != null && !template.getResourceLimits().isBlank()) {
+            DEFAULT_REQUESTS.forEach((name, amount) -> requests.put(name, new Quantity(amount)));
+            DEFAULT_LIMITS.forEach((name, amount) -> limits.put(name, new Quantity(amount)));
+            parseResources(template.getResourceLimits(), requests, limits);
+            requests.forEach((name, request) -> {
+                Quantity limit = limits.get(name);
+                if (limit != null && amount(request).compareTo(amount(limit)) > 0) {
+                    throw new IllegalArgumentException("resourceLimits: " + name + " request " + request
+                            + " exceeds limit " + limit);
+                }
+            });
+        }
+
+        List<ContainerPort> ports = new ArrayList<>();
+        if (sshEnabled) {
+            ports.add(new ContainerPortBuilder().withContainerPort(22).withProtocol("TCP").withName("ssh").build());
+        }
+        for (ContainerPort port : parsePorts(template.getExposedPorts())) {
+            boolean duplicate = ports.stream().anyMatch(existing ->
+                    existing.getContainerPort().equals(port.getContainerPort())
+                            && existing.getProtocol().equals(port.getProtocol()));
+            if (!duplicate) {
+                ports.add(port);
+            }
+        }
+
+        Quantity storageSize = null;
+        if (Boolean.TRUE.equals(template.getPersistentStorage())) {
+            String size = template.getStorageSize() != null && !template.getStorageSize().isBlank()
+                    ? template.getStorageSize() : "1Gi";
+            storageSize = quantity("storageSize", size);
+        }
+
+        return new CompiledPodSpec(template, env, requests, limits, ports, storageSize);
+    }
+
+    /**
+     * Build a pod for one student from this spec
+     *
+     * @param credentialsSecret the student's SSH credential Secret, mounted into SSH-enabled pods
+     */
+    public Pod instantiate(String podName, String namespace, Map<String, String> labels, String workspaceUser,
+                           String credentialsSecret) {
+        Container container = new Container();
+        container.setName("main-container");
+        container.setImage(image);
+        if (!command.isEmpty()) {
+            container.setCommand(new ArrayList<>(command));
+        }
+
+        List<EnvVar> containerEnv = new ArrayList<>(env.size() + 1);
+        containerEnv.addAll(env);
+        containerEnv.add(new EnvVar("WORKSPACE_USER", workspaceUser, null));
+        container.setEnv(containerEnv);
+        container.setPorts(new ArrayList<>(ports));
+        if (!requests.isEmpty() || !limits.isEmpty()) {
+            container.setResources(new ResourceRequirements(null, new LinkedHashMap<>(limits), new LinkedHashMap<>(requests)));
+        }
+
+        PodSpec spec = new PodSpec();
+        spec.setContainers(new ArrayList<>(List.of(container)));
+        List<VolumeMount> mounts = new ArrayList<>(2);
+        List<Volume> volumes = new ArrayList<>(2);
+        if (persistentStorage) {
+            VolumeMount mount = new VolumeMount();
+            mount.setName(WORKSPACE_VOLUME);
+            mount.setMountPath(WORKSPACE_PATH);
+            mounts.add(mount);
+
+            Volume volume = new Volume();
+            volume.setName(WORKSPACE_VOLUME);
+            volume.setPersistentVolumeClaim(new PersistentVolumeClaimVolumeSource(claimName(podName), false));
+            volumes.add(volume);
+        }
+        if (sshEnabled) {
+            // The SSH image's startup script applies the credentials found here
+            VolumeMount mount = new VolumeMount();
+            mount.setName(CREDENTIALS_VOLUME);
+            mount.setMountPath(CREDENTIALS_PATH);
+            mount.setReadOnly(true);
+            mounts.add(mount);
+
+            // Optional so the pod starts before the student's first SSH grant
+            SecretVolumeSource secret = new SecretVolumeSource();
+            secret.setSecretName(credentialsSecret);
+            secret.setOptional(true);
+            secret.setDefaultMode(0400);
+            Volume volume = new Volume();
+            volume.setName(CREDENTIALS_VOLUME);
+            volume.setSecret(secret);
+            volumes.add(volume);
+        }
+        if (!mounts.isEmpty()) {
+            container.setVolumeMounts(mounts);
+            spec.setVolumes(volumes);
+        }
+
+        ObjectMeta metadata = new ObjectMeta();
+        metadata.setName(podName);
+        metadata.setNamespace(namespace);
+        metadata.setLabels(new LinkedHashMap<>(labels));
+
+        Pod pod = new Pod();
+        pod.setMetadata(metadata);
+        pod.setSpec(spec);
+        return pod;
+    }
+
+    public static String claimName(String podName) {
+        return podName + "-pvc";
+    }
+
+    public Long getTemplateId() {
+        return templateId;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public boolean isSshEnabled() {
+        return sshEnabled;
+    }
+
+    public boolean isPersistentStorage() {
+        return persistentStorage;
+    }
+
+    public Quantity getStorageSize() {
+        return storageSize;
+    }
+
+    /**
+     * Accepts a JSON object ({"NAME":"value"}), a JSON array of "NAME=value" strings (what the template
+     * form sends) or plain NAME=value lines
+     */
+    static Map<String, String> parseEnv(String raw) {
+        Map<String, String> env = new LinkedHashMap<>();
+        if (raw == null || raw.isBlank()) {
+            return env;
+        }
+        JsonNode node = readJson(raw);
+        if (node != null && node.isObject()) {
+            node.fields().forEachRemaining(field -> putEnv(env, field.getKey(), field.getValue().asText()));
+        } else if (node != null && node.isArray()) {
+            node.forEach(item -> {
+                if (item.isObject()) {
+                    putEnv(env, item.path("name").asText(), item.path("value").asText());
+                } else {
+                    putEnvLine(env, item.asText());
+                }
+            });
+        } else {
+            raw.lines().map(String::trim).filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                    .forEach(line -> putEnvLine(env, line));
+        }
+        return env;
+    }
+
+    /**
+     * Accepts flat keys ({"cpu-limit":"1","memory-request":"512Mi"}, as used by PodService) or the
+     * Kubernetes shape ({"limits":{"cpu":"1"},"requests":{"memory":"512Mi"}})
+     */
+    static void parseResources(String raw, Map<String, Quantity> requests, Map<String, Quantity> limits) {
+        JsonNode node = readJson(raw);
+        if (node == null || !node.isObject()) {
+            throw new IllegalArgumentException("resourceLimits must be a JSON object");
+        }
+        Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            String key = field.getKey();
+            JsonNode value = field.getValue();
+            if (("limits".equals(key) || "requests".equals(key)) && value.isObject()) {
+                Map<String, Quantity> target = "limits".equals(key) ? limits : requests;
+                value.fields().forEachRemaining(resource ->
+                        target.put(resourceName(resource.getKey()), quantity("resourceLimits." + key + "." + resource.getKey(),
+                                resource.getValue().asText())));
+            } else if (key.endsWith("-limit")) {
+                limits.put(resourceName(key.substring(0, key.length() - "-limit".length())),
+                        quantity("resourceLimits." + key, value.asText()));
+            } else if (key.endsWith("-request")) {
+                requests.put(resourceName(key.substring(0, key.length() - "-request".length())),
+                        quantity("resourceLimits." + key, value.asText()));
+            } else {
+                throw new IllegalArgumentException("resourceLimits: unknown key " + key);
+            }
+        }
+    }
+
+    /**
+     * Accepts a JSON array of port numbers or {"containerPort":8080,"protocol":"TCP","name":"http"}
+     * objects, or a comma-separated list such as "8080,9000/udp"
+     */
+    static List<ContainerPort> parsePorts(String raw) {
+        List<ContainerPort> ports = new ArrayList<>();
+        if (raw == null || raw.isBlank()) {
+            return ports;
+        }
+        JsonNode node = readJson(raw);
+        if (node != null && node.isArray()) {
+            node.forEach(item -> {
+                if (item.isObject()) {
+                    ports.add(port(item.path("containerPort").asText(item.path("port").asText()),
+                            item.path("protocol").asText("TCP"), item.path("name").asText(null)));
+                } else {
+                    ports.add(portSpec(item.asText()));
+                }
+            });
+        } else {
+            for (String part : raw.split(",")) {
+                if (!part.isBlank()) {
+                    ports.add(portSpec(part.trim()));
+                }
+            }
+        }
+        return ports;
+    }
+
+    private static ContainerPort portSpec(String spec) {
+        int slash = spec.indexOf('/');
+        return slash < 0 ? port(spec, "TCP", null) : port(spec.substring(0, slash), spec.substring(slash + 1), null);
+    }
+
+    private static ContainerPort port(String number, String protocol, String name) {
+        int containerPort;
+        try {
+            containerPort = Integer.parseInt(number.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("exposedPorts: invalid port " + number);
+        }
+        if (containerPort < 1 || containerPort > 65535) {
+            throw new IllegalArgumentException("exposedPorts: port " + containerPort + " out of range");
+        }
+        String normalized = protocol.trim().toUpperCase();
+        if (!PROTOCOLS.contains(normalized)) {
+            throw new IllegalArgumentException("exposedPorts: unsupported protocol " + protocol);
+        }
+        return new ContainerPortBuilder()
+                .withContainerPort(containerPort)
+                .withProtocol(normalized)
+                .withName(name == null || name.isBlank() ? null : name)
+                .build();
+    }
+
+    private static void putEnvLine(Map<String, String> env, String line) {
+        int equals = line.indexOf('=');
+        if (equals <= 0) {
+            throw new IllegalArgumentException("environmentVars: expected NAME=value but got " + line);
+        }
+        putEnv(env, line.substring(0, equals).trim(), line.substring(equals + 1));
+    }
+
+    private static void putEnv(Map<String, String> env, String name, String value) {
+        if (!ENV_NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("environmentVars: invalid name " + name);
+        }
+        // Set per pod; a template value would be silently overwritten
+        if ("WORKSPACE_USER".equals(name)) {
+            throw new IllegalArgumentException("environmentVars: WORKSPACE_USER is reserved");
+        }
+        env.put(name, value);
+    }
+
+    private static String resourceName(String name) {
+        if (!RESOURCES.contains(name)) {
+            throw new IllegalArgumentException("resourceLimits: unsupported resource " + name);
+        }
+        return name;
+    }
+
+    private static Quantity quantity(String field, String amount) {
+        Quantity quantity;
+        try {
+            quantity = new Quantity(amount);
+            amount(quantity);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException(field + ": invalid quantity " + amount);
+        }
+        if (amount(quantity).signum() <= 0) {
+            throw new IllegalArgumentException(field + " must be positive");
+        }
+        return quantity;
+    }
+
+    private static BigDecimal amount(Quantity quantity) {
+        return Quantity.getAmountInBytes(quantity);
+    }
+
+    private static JsonNode readJson(String raw) {
+        String trimmed = raw.trim();
+        if (!trimmed.startsWith("{") && !trimmed.startsWith("[")) {
+            return null;
+        }
+        try {
+            return JSON.readTree(trimmed);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("invalid JSON: " + e.getOriginalMessage());
+        }
+    }
+}
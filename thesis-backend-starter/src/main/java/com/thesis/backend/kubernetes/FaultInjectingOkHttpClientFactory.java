@@ -0,0 +1,21 @@
+package com.thesis.backend.kubernetes;
+
+import io.fabric8.kubernetes.client.okhttp.OkHttpClientFactory;
+import okhttp3.OkHttpClient;
+
+/**
+ * fabric8 OkHttp client factory that puts the {@link KubernetesFaultInjector} in front of every call
+ */
+public class FaultInjectingOkHttpClientFactory extends OkHttpClientFactory {
+
+    private final KubernetesFaultInjector faultInjector;
+
+    public FaultInjectingOkHttpClientFactory(KubernetesFaultInjector faultInjector) {
+        this.faultInjector = faultInjector;
+    }
+
+    @Override
+    protected void additionalConfig(OkHttpClient.Builder builder) {
+        builder.addInterceptor(faultInjector);
+    }
+}
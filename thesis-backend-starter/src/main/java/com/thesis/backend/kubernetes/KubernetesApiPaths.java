@@ -0,0 +1,30 @@
+package com.thesis.backend.kubernetes;
+
+/**
+ * Parsing helpers for Kubernetes API request paths
+ */
+public final class KubernetesApiPaths {
+
+    private KubernetesApiPaths() {
+    }
+
+    /**
+     * Resource type of an API path: "/api/v1/namespaces/ns/pods/name?x" -> "pods",
+     * "/apis/rbac.authorization.k8s.io/v1/namespaces/ns/roles" -> "roles", "/api/v1/namespaces/ns" -> "namespaces"
+     */
+    public static String resourceType(String path) {
+        String[] segments = path.split("\\?", 2)[0].replaceAll("^/+", "").split("/");
+        int start;
+        if (segments.length > 2 && "api".equals(segments[0])) {
+            start = 2;
+        } else if (segments.length > 3 && "apis".equals(segments[0])) {
+            start = 3;
+        } else {
+            return "other";
+        }
+        if ("namespaces".equals(segments[start]) && segments.length > start + 2) {
+            return segments[start + 2];
+        }
+        return segments[start];
+    }
+}
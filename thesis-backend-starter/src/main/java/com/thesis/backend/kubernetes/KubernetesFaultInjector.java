@@ -0,0 +1,267 @@
+package com.thesis.backend.kubernetes;
+
+import com.thesis.backend.dto.KubernetesFaultRule;
+import com.thesis.backend.dto.KubernetesTrafficSample;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * OkHttp interceptor for the fabric8 client that degrades Kubernetes API traffic on demand.
+ * INJECT applies {@link KubernetesFaultRule}s, RECORD samples real latencies and statuses,
+ * REPLAY re-applies a recorded profile per verb and resource type. Switchable at runtime.
+ */
+@Slf4j
+@Component
+public class KubernetesFaultInjector implements Interceptor {
+
+    public enum Mode { OFF, INJECT, RECORD, REPLAY }
+
+    private final List<KubernetesFaultRule> rules = new CopyOnWriteArrayList<>();
+    private final Deque<KubernetesTrafficSample> recording = new ArrayDeque<>();
+    private volatile Map<String, List<KubernetesTrafficSample>> replayProfile = Map.of();
+    private volatile Mode mode;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong delayedRequests = new AtomicLong();
+    private final AtomicLong injectedErrors = new AtomicLong();
+    private final AtomicLong droppedWatches = new AtomicLong();
+
+    @Value("${kubernetes.fault-injection.recording-limit:10000}")
+    private int recordingLimit;
+
+    public KubernetesFaultInjector(@Value("${kubernetes.fault-injection.mode:OFF}") Mode mode) {
+        this.mode = mode;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Mode current = mode;
+        if (current == Mode.OFF) {
+            return chain.proceed(chain.request());
+        }
+
+        Request request = chain.request();
+        String verb = request.method();
+        String resourceType = KubernetesApiPaths.resourceType(request.url().encodedPath());
+        boolean watch = "true".equals(request.url().queryParameter("watch"));
+        requests.incrementAndGet();
+
+        switch (current) {
+            case INJECT:
+                return inject(chain, request, verb, resourceType, watch);
+            case RECORD:
+                return record(chain, request, verb, resourceType, watch);
+            case REPLAY:
+                return replay(chain, request, verb, resourceType);
+            default:
+                return chain.proceed(request);
+        }
+    }
+
+    private Response inject(Chain chain, Request request, String verb, String resourceType, boolean watch)
+            throws IOException {
+        KubernetesFaultRule rule = rules.stream()
+                .filter(candidate -> matches(candidate.getResourceType(), resourceType)
+                        && matches(candidate.getVerb(), verb))
+                .findFirst()
+                .orElse(null);
+        if (rule == null) {
+            return chain.proceed(request);
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long delay = rule.getLatencyMaxMs() > rule.getLatencyMinMs()
+                ? random.nextLong(rule.getLatencyMinMs(), rule.getLatencyMaxMs() + 1)
+                : rule.getLatencyMinMs();
+        if (rule.getSpikeProbability() > 0 && random.nextDouble() < rule.getSpikeProbability()) {
+            delay += rule.getSpikeMs();
+        }
+        sleep(delay);
+
+        if (watch && rule.getWatchDropRate() > 0 && random.nextDouble() < rule.getWatchDropRate()) {
+            droppedWatches.incrementAndGet();
+            throw new IOException("Injected fault: watch on " + resourceType + " dropped");
+        }
+        if (rule.getErrorRate() > 0 && random.nextDouble() < rule.getErrorRate()) {
+            return errorResponse(request, rule.getErrorStatus(), rule.getRetryAfterSeconds());
+        }
+        return chain.proceed(request);
+    }
+
+    private Response record(Chain chain, Request request, String verb, String resourceType, boolean watch)
+            throws IOException {
+        long started = System.nanoTime();
+        int status = 0;
+        try {
+            Response response = chain.proceed(request);
+            status = response.code();
+            return response;
+        } finally {
+            KubernetesTrafficSample sample = KubernetesTrafficSample.builder()
+                    .verb(verb)
+                    .resourceType(resourceType)
+                    .status(status)
+                    .latencyMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started))
+                    .watch(watch)
+                    .recordedAt(System.currentTimeMillis())
+                    .build();
+            synchronized (recording) {
+                recording.addLast(sample);
+                while (recording.size() > recordingLimit) {
+                    recording.removeFirst();
+                }
+            }
+        }
+    }
+
+    private Response replay(Chain chain, Request request, String verb, String resourceType) throws IOException {
+        List<KubernetesTrafficSample> samples = replayProfile.get(verb + " " + resourceType);
+        if (samples == null || samples.isEmpty()) {
+            return chain.proceed(request);
+        }
+
+        KubernetesTrafficSample sample = samples.get(ThreadLocalRandom.current().nextInt(samples.size()));
+        sleep(sample.getLatencyMs());
+        if (sample.getStatus() == 0) {
+            // The recorded call failed at the transport level
+            throw new IOException("Replayed fault: " + verb + " " + resourceType + " failed");
+        }
+        if (sample.getStatus() == 429 || sample.getStatus() >= 500) {
+            return errorResponse(request, sample.getStatus(), 1);
+        }
+        return chain.proceed(request);
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public void setMode(Mode mode) {
+        log.warn("Kubernetes fault injection mode set to {}", mode);
+        this.mode = mode;
+    }
+
+    public List<KubernetesFaultRule> getRules() {
+        return new ArrayList<>(rules);
+    }
+
+    public void setRules(List<KubernetesFaultRule> newRules) {
+        rules.clear();
+        rules.addAll(newRules);
+    }
+
+    public List<KubernetesTrafficSample> getRecording() {
+        synchronized (recording) {
+            return new ArrayList<>(recording);
+        }
+    }
+
+    /**
+     * Use the given samples (typically an earlier recording) as the replay profile
+     */
+    public void loadReplayProfile(List<KubernetesTrafficSample> samples) {
+        Map<String, List<KubernetesTrafficSample>> profile = new HashMap<>();
+        for (KubernetesTrafficSample sample : samples) {
+            profile.computeIfAbsent(sample.getVerb() + " " + sample.getResourceType(), key -> new ArrayList<>()).add(sample);
+        }
+        replayProfile = profile;
+    }
+
+    public void reset() {
+        mode = Mode.OFF;
+        rules.clear();
+        replayProfile = Map.of();
+        synchronized (recording) {
+            recording.clear();
+        }
+        requests.set(0);
+        delayedRequests.set(0);
+        injectedErrors.set(0);
+        droppedWatches.set(0);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("mode", mode);
+        stats.put("interceptedRequests", requests.get());
+        stats.put("delayedRequests", delayedRequests.get());
+        stats.put("injectedErrors", injectedErrors.get());
+        stats.put("droppedWatches", droppedWatches.get());
+        stats.put("rules", rules.size());
+        stats.put("recordedSamples", getRecording().size());
+        stats.put("replayKeys", replayProfile.keySet());
+        return stats;
+    }
+
+    private Response errorResponse(Request request, int status, int retryAfterSeconds) {
+        injectedErrors.incrementAndGet();
+        String reason = reasonFor(status);
+        String body = String.format(
+                "{\"kind\":\"Status\",\"apiVersion\":\"v1\",\"status\":\"Failure\",\"message\":\"Injected fault\","
+                        + "\"reason\":\"%s\",\"code\":%d}", reason, status);
+        Response.Builder response = new Response.Builder()
+                .request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .code(status)
+                .message("Injected fault")
+                .body(ResponseBody.create(MediaType.parse("application/json"), body));
+        if (status == 429) {
+            response.header("Retry-After", String.valueOf(retryAfterSeconds));
+        }
+        return response.build();
+    }
+
+    /**
+     * Status reason the API server reports with this code, so clients classify the fault as they would a real one
+     */
+    static String reasonFor(int status) {
+        return switch (status) {
+            case 400 -> "BadRequest";
+            case 401 -> "Unauthorized";
+            case 403 -> "Forbidden";
+            case 404 -> "NotFound";
+            case 409 -> "Conflict";
+            case 429 -> "TooManyRequests";
+            case 503 -> "ServiceUnavailable";
+            case 504 -> "Timeout";
+            default -> status >= 500 ? "InternalError" : "Unknown";
+        };
+    }
+
+    private void sleep(long millis) throws IOException {
+        if (millis <= 0) {
+            return;
+        }
+        delayedRequests.incrementAndGet();
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted during injected latency", e);
+        }
+    }
+
+    private static boolean matches(String pattern, String value) {
+        return pattern == null || "*".equals(pattern) || pattern.equalsIgnoreCase(value);
+    }
+}
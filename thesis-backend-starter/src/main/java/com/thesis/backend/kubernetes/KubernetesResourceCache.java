@@ -0,0 +1,250 @@
+package com.thesis.backend.kubernetes;
+
+import com.thesis.backend.model.KubernetesListResult;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.Namespace;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.Service;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.fabric8.kubernetes.client.informers.cache.Cache;
+import io.fabric8.kubernetes.client.utils.Serialization;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Informer-backed local stores for the platform-managed ({@value ManagedResources#SELECTOR}) pods,
+ * deployments, services and namespaces. Objects without the label are never watched, so listings that
+ * include them go to the API server. Reads are served from memory with a per-namespace index; until
+ * an informer has synced (or when the cache is disabled) callers fall back to the API server.
+ * In lean mode objects are reduced to {@link CompactObjects} records on ingest and label strings are interned.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class KubernetesResourceCache {
+
+    // Objects serialized per type by footprint(); the JSON size of the rest is extrapolated
+    static final int FOOTPRINT_SAMPLE = 32;
+
+    private static final Comparator<HasMetadata> BY_NAMESPACE_AND_NAME = Comparator
+            .comparing((HasMetadata item) -> String.valueOf(item.getMetadata().getNamespace()))
+            .thenComparing(item -> item.getMetadata().getName());
+
+    private final KubernetesClient kubernetesClient;
+
+    @Value("${kubernetes.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${kubernetes.cache.resync-ms:0}")
+    private long resyncMs;
+
+    // full keeps the fabric8 objects as received, lean keeps compact records
+    @Value("${kubernetes.cache.mode:lean}")
+    private String mode;
+
+    @Value("${kubernetes.cache.intern-limit:100000}")
+    private int internLimit;
+
+    private LabelInterner interner;
+    private final Map<String, CompactItemStore<?, ?>> compactStores = new LinkedHashMap<>();
+
+    private volatile SharedIndexInformer<Pod> podInformer;
+    private volatile SharedIndexInformer<Deployment> deploymentInformer;
+    private volatile SharedIndexInformer<Service> serviceInformer;
+    private volatile SharedIndexInformer<Namespace> namespaceInformer;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            log.info("Kubernetes resource cache disabled; reads go to the API server");
+            return;
+        }
+        // Scoped server-side: on a shared cluster the platform's objects are a small part of the whole
+        SharedIndexInformer<Pod> pods = kubernetesClient.pods().inAnyNamespace()
+                .withLabel(ManagedResources.LABEL, ManagedResources.VALUE).runnableInformer(resyncMs);
+        SharedIndexInformer<Deployment> deployments = kubernetesClient.apps().deployments().inAnyNamespace()
+                .withLabel(ManagedResources.LABEL, ManagedResources.VALUE).runnableInformer(resyncMs);
+        SharedIndexInformer<Service> services = kubernetesClient.services().inAnyNamespace()
+                .withLabel(ManagedResources.LABEL, ManagedResources.VALUE).runnableInformer(resyncMs);
+        SharedIndexInformer<Namespace> namespaces = kubernetesClient.namespaces()
+                .withLabel(ManagedResources.LABEL, ManagedResources.VALUE).runnableInformer(resyncMs);
+
+        if (isLean()) {
+            interner = new LabelInterner(internLimit);
+            CompactObjects compact = new CompactObjects(interner);
+            pods.itemStore(compactStore("pods",
+                    new CompactItemStore<Pod, CompactObjects.CompactPod>(
+                            compact::compact, compact::expand, CompactObjects::footprint)));
+            deployments.itemStore(compactStore("deployments",
+                    new CompactItemStore<Deployment, CompactObjects.CompactDeployment>(
+                            compact::compact, compact::expand, CompactObjects::footprint)));
+            services.itemStore(compactStore("services",
+                    new CompactItemStore<Service, CompactObjects.CompactService>(
+                            compact::compact, compact::expand, CompactObjects::footprint)));
+            namespaces.itemStore(compactStore("namespaces",
+                    new CompactItemStore<Namespace, CompactObjects.CompactNamespace>(
+                            compact::compact, compact::expand, CompactObjects::footprint)));
+        }
+
+        podInformer = start("pods", pods);
+        deploymentInformer = start("deployments", deployments);
+        serviceInformer = start("services", services);
+        namespaceInformer = start("namespaces", namespaces);
+    }
+
+    private <T extends HasMetadata, C> CompactItemStore<T, C> compactStore(String type, CompactItemStore<T, C> store) {
+        compactStores.put(type, store);
+        return store;
+    }
+
+    private boolean isLean() {
+        return "lean".equalsIgnoreCase(mode);
+    }
+
+    private <T extends HasMetadata> SharedIndexInformer<T> start(String type, SharedIndexInformer<T> informer) {
+        informer.start().whenComplete((ignored, error) -> {
+            if (error != null) {
+                log.warn("Kubernetes {} informer failed to start, serving reads from the API server: {}",
+                        type, error.getMessage());
+            } else {
+                log.info("Kubernetes {} informer synced at resourceVersion {}", type, informer.lastSyncResourceVersion());
+            }
+        });
+        return informer;
+    }
+
+    @PreDestroy
+    public void stop() {
+        for (SharedIndexInformer<?> informer : new SharedIndexInformer<?>[]{podInformer, deploymentInformer, serviceInformer, namespaceInformer}) {
+            if (informer != null) {
+                informer.stop();
+            }
+        }
+    }
+
+    public boolean podsReady() {
+        return isReady(podInformer);
+    }
+
+    public boolean deploymentsReady() {
+        return isReady(deploymentInformer);
+    }
+
+    public boolean servicesReady() {
+        return isReady(serviceInformer);
+    }
+
+    public boolean namespacesReady() {
+        return isReady(namespaceInformer);
+    }
+
+    /**
+     * Cached pod by namespace and name, or null if absent or not platform-managed
+     */
+    public Pod pod(String namespace, String name) {
+        return podInformer.getStore().getByKey(Cache.namespaceKeyFunc(namespace, name));
+    }
+
+    public Service service(String namespace, String name) {
+        return serviceInformer.getStore().getByKey(Cache.namespaceKeyFunc(namespace, name));
+    }
+
+    public Namespace namespace(String name) {
+        return namespaceInformer.getStore().getByKey(name);
+    }
+
+    /**
+     * Cached platform-managed pods in a namespace (or all namespaces when null)
+     */
+    public KubernetesListResult<Pod> pods(String namespace) {
+        return select(podInformer, namespace);
+    }
+
+    public KubernetesListResult<Deployment> deployments(String namespace) {
+        return select(deploymentInformer, namespace);
+    }
+
+    public KubernetesListResult<Service> services(String namespace) {
+        return select(serviceInformer, namespace);
+    }
+
+    public KubernetesListResult<Namespace> namespaces() {
+        return select(namespaceInformer, null);
+    }
+
+    /**
+     * Object count and approximate heap per cached resource type. Lean stores report the estimated size
+     * of their compact records plus the shared interner. estimatedSerializedBytes is the JSON size of the
+     * objects as the cache hands them out, extrapolated from a sample of at most
+     * {@value #FOOTPRINT_SAMPLE} objects per type, and is comparable across both modes.
+     */
+    public Map<String, Object> footprint() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("enabled", enabled);
+        report.put("mode", isLean() ? "lean" : "full");
+        report.put("pods", footprint("pods", podInformer));
+        report.put("deployments", footprint("deployments", deploymentInformer));
+        report.put("services", footprint("services", serviceInformer));
+        report.put("namespaces", footprint("namespaces", namespaceInformer));
+        if (interner != null) {
+            report.put("internedStrings", interner.size());
+            report.put("internedBytes", interner.estimatedBytes());
+        }
+        return report;
+    }
+
+    private Map<String, Object> footprint(String type, SharedIndexInformer<?> informer) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        if (informer == null) {
+            return stats;
+        }
+        // Keys only: listing the values would rebuild every object of a lean store
+        List<String> keys = informer.getStore().listKeys();
+        int step = Math.max(1, keys.size() / FOOTPRINT_SAMPLE);
+        long sampledBytes = 0;
+        int sampled = 0;
+        for (int i = 0; i < keys.size() && sampled < FOOTPRINT_SAMPLE; i += step) {
+            Object item = informer.getStore().getByKey(keys.get(i));
+            if (item != null) {
+                sampledBytes += Serialization.asJson(item).length();
+                sampled++;
+            }
+        }
+        stats.put("synced", isReady(informer));
+        stats.put("resourceVersion", informer.lastSyncResourceVersion());
+        stats.put("objects", keys.size());
+        stats.put("estimatedSerializedBytes", sampled > 0 ? sampledBytes * keys.size() / sampled : 0);
+        stats.put("serializedSample", sampled);
+        CompactItemStore<?, ?> store = compactStores.get(type);
+        if (store != null) {
+            stats.put("estimatedHeapBytes", store.estimatedBytes());
+        }
+        return stats;
+    }
+
+    private static boolean isReady(SharedIndexInformer<?> informer) {
+        return informer != null && informer.isRunning() && informer.hasSynced();
+    }
+
+    private static <T extends HasMetadata> KubernetesListResult<T> select(SharedIndexInformer<T> informer,
+                                                                          String namespace) {
+        List<T> items = namespace != null
+                ? informer.getIndexer().byIndex(Cache.NAMESPACE_INDEX, namespace)
+                : informer.getIndexer().list();
+        List<T> sorted = items.stream().sorted(BY_NAMESPACE_AND_NAME).collect(Collectors.toList());
+        return new KubernetesListResult<>(sorted, null, informer.lastSyncResourceVersion());
+    }
+}
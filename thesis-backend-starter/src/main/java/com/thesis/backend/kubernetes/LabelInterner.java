@@ -0,0 +1,61 @@
+package com.thesis.backend.kubernetes;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Canonical instances for strings that repeat across cached objects (label keys and values,
+ * namespaces, quantities). Bounded: once full, new strings are returned as-is instead of interned.
+ */
+public class LabelInterner {
+
+    private final ConcurrentHashMap<String, String> pool = new ConcurrentHashMap<>();
+    private final int limit;
+
+    public LabelInterner(int limit) {
+        this.limit = limit;
+    }
+
+    public String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        String existing = pool.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        if (pool.size() >= limit) {
+            return value;
+        }
+        existing = pool.putIfAbsent(value, value);
+        return existing != null ? existing : value;
+    }
+
+    /**
+     * Immutable copy with interned keys and values; null and empty maps become the shared empty map
+     */
+    public Map<String, String> intern(Map<String, String> values) {
+        if (values == null || values.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, String> interned = new HashMap<>(values.size() * 2);
+        values.forEach((key, value) -> interned.put(intern(key), intern(value)));
+        return Map.copyOf(interned);
+    }
+
+    public int size() {
+        return pool.size();
+    }
+
+    /**
+     * Approximate heap held by the pool: one String (header, hash, byte[]) and one map entry per value
+     */
+    public long estimatedBytes() {
+        long bytes = 0;
+        for (String value : pool.keySet()) {
+            bytes += CompactObjects.stringBytes(value) + 32;
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,31 @@
+package com.thesis.backend.kubernetes;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.OwnerReference;
+import io.fabric8.kubernetes.api.model.OwnerReferenceBuilder;
+
+/**
+ * Label carried by every Kubernetes object the platform creates
+ */
+public final class ManagedResources {
+
+    public static final String LABEL = "managed-by";
+    public static final String VALUE = "thesis-platform";
+    public static final String SELECTOR = LABEL + "=" + VALUE;
+
+    private ManagedResources() {
+    }
+
+    /**
+     * Owner reference that lets Kubernetes garbage-collect a dependent together with its owner
+     * (same namespace only)
+     */
+    public static OwnerReference ownerReference(HasMetadata owner) {
+        return new OwnerReferenceBuilder()
+                .withApiVersion(owner.getApiVersion())
+                .withKind(owner.getKind())
+                .withName(owner.getMetadata().getName())
+                .withUid(owner.getMetadata().getUid())
+                .build();
+    }
+}
@@ -0,0 +1,81 @@
+package com.thesis.backend.kubernetes;
+
+import com.thesis.backend.model.KubernetesListResult;
+import io.fabric8.kubernetes.api.model.PartialObjectMetadata;
+import io.fabric8.kubernetes.api.model.PartialObjectMetadataList;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.http.HttpRequest;
+import io.fabric8.kubernetes.client.http.HttpResponse;
+import io.fabric8.kubernetes.client.utils.Serialization;
+import io.fabric8.kubernetes.client.utils.URLUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Metadata-only list calls. The API server answers with PartialObjectMetadataList, so
+ * spec and status are never transferred or deserialized.
+ */
+@Component
+@RequiredArgsConstructor
+public class MetadataLister {
+
+    private static final String ACCEPT_METADATA =
+            "application/json;as=PartialObjectMetadataList;g=meta.k8s.io;v=v1,application/json";
+
+    private final KubernetesClient kubernetesClient;
+
+    /**
+     * List one page of object metadata under an API collection path, e.g. "/api/v1/namespaces"
+     */
+    public KubernetesListResult<PartialObjectMetadata> list(String collectionPath, String labelSelector,
+                                                           Long limit, String continueToken) {
+        List<String> query = new ArrayList<>();
+        if (labelSelector != null) {
+            query.add("labelSelector=" + encode(labelSelector));
+        }
+        if (limit != null) {
+            query.add("limit=" + limit);
+        }
+        if (continueToken != null) {
+            query.add("continue=" + encode(continueToken));
+        }
+        String url = URLUtils.join(kubernetesClient.getMasterUrl().toString(), collectionPath)
+                + (query.isEmpty() ? "" : "?" + String.join("&", query));
+
+        HttpRequest request = kubernetesClient.getHttpClient().newHttpRequestBuilder()
+                .uri(url)
+                .header("Accept", ACCEPT_METADATA)
+                .build();
+        try {
+            HttpResponse<String> response = kubernetesClient.getHttpClient()
+                    .sendAsync(request, String.class)
+                    .get(kubernetesClient.getConfiguration().getRequestTimeout(), TimeUnit.MILLISECONDS);
+            if (!response.isSuccessful()) {
+                throw new KubernetesClientException("Metadata list of " + collectionPath + " failed: "
+                        + response.code() + " " + response.body(), response.code(), null);
+            }
+            PartialObjectMetadataList list = Serialization.unmarshal(response.body(), PartialObjectMetadataList.class);
+            return new KubernetesListResult<>(list.getItems(),
+                    list.getMetadata() != null ? list.getMetadata().getContinue() : null,
+                    list.getMetadata() != null ? list.getMetadata().getResourceVersion() : null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new KubernetesClientException("Interrupted while listing " + collectionPath, e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new KubernetesClientException("Metadata list of " + collectionPath + " failed", e);
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,50 @@
+package com.thesis.backend.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One page of a Kubernetes list call. continueToken is null on the last page.
+ */
+public class KubernetesListResult<T> {
+    private List<T> items = new ArrayList<>();
+    private String continueToken;
+    private String resourceVersion;
+
+    public KubernetesListResult() {
+    }
+
+    public KubernetesListResult(List<T> items, String continueToken, String resourceVersion) {
+        this.items = items;
+        this.continueToken = continueToken;
+        this.resourceVersion = resourceVersion;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public String getContinueToken() {
+        return continueToken;
+    }
+
+    public void setContinueToken(String continueToken) {
+        this.continueToken = continueToken;
+    }
+
+    public String getResourceVersion() {
+        return resourceVersion;
+    }
+
+    public void setResourceVersion(String resourceVersion) {
+        this.resourceVersion = resourceVersion;
+    }
+
+    public boolean hasMore() {
+        return continueToken != null && !continueToken.isEmpty();
+    }
+}
@@ -1,12 +1,74 @@
-
 package com.thesis.backend.repository;
 
 import com.thesis.backend.entity.ContainerInstance;
 import com.thesis.backend.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
+/**
+ * Status changes go through the conditional UPDATEs below rather than read-modify-save: each is a
+ * single statement that only touches the row when the condition still holds, and bumps the version
+ * so an entity copy loaded earlier can no longer be saved over it. Each also stamps the change
+ * sequence it is given; run them through ContainerChangeLog.write so delta sync sees the change.
+ */
 public interface ContainerInstanceRepository extends JpaRepository<ContainerInstance, Long> {
     List<ContainerInstance> findByOwner(User owner);
+
+    /**
+     * Rows inserted or updated in the change sequence window (since, upTo], oldest first; ownerId null
+     * means every owner
+     */
+    @Query("SELECT ci FROM ContainerInstance ci WHERE ci.changeSeq > :since AND ci.changeSeq <= :upTo "
+            + "AND (:ownerId IS NULL OR ci.owner.id = :ownerId) ORDER BY ci.changeSeq")
+    List<ContainerInstance> findChanged(@Param("since") long since, @Param("upTo") long upTo,
+                                        @Param("ownerId") Long ownerId, Pageable page);
+
+    @Query("SELECT COALESCE(MAX(ci.changeSeq), 0) FROM ContainerInstance ci")
+    long maxChangeSeq();
+
+    /**
+     * Set the status unless it already has that value; returns 0 when nothing changed
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE ContainerInstance ci SET ci.status = :status, ci.version = ci.version + 1, ci.changeSeq = :seq "
+            + "WHERE ci.id = :id AND (ci.status IS NULL OR ci.status <> :status)")
+    int updateStatus(@Param("id") Long id, @Param("status") String status, @Param("seq") long seq);
+
+    /**
+     * Move the status only if it is still the value the caller observed (compare-and-set)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE ContainerInstance ci SET ci.status = :status, ci.version = ci.version + 1, ci.changeSeq = :seq "
+            + "WHERE ci.id = :id AND ci.status = :expected")
+    int compareAndSetStatus(@Param("id") Long id, @Param("expected") String expected, @Param("status") String status,
+                            @Param("seq") long seq);
+
+    /**
+     * Batched compare-and-set for rows that were all observed in the same status
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE ContainerInstance ci SET ci.status = :status, ci.version = ci.version + 1, ci.changeSeq = :seq "
+            + "WHERE ci.id IN :ids AND ci.status = :expected")
+    int compareAndSetStatus(@Param("ids") Collection<Long> ids, @Param("expected") String expected,
+                            @Param("status") String status, @Param("seq") long seq);
+
+    /**
+     * Batched updateStatus
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE ContainerInstance ci SET ci.status = :status, ci.version = ci.version + 1, ci.changeSeq = :seq "
+            + "WHERE ci.id IN :ids AND (ci.status IS NULL OR ci.status <> :status)")
+    int updateStatusForIds(@Param("ids") Collection<Long> ids, @Param("status") String status,
+                           @Param("seq") long seq);
 }
@@ -0,0 +1,37 @@
+package com.thesis.backend.repository;
+
+import com.thesis.backend.entity.ContainerTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ContainerTombstoneRepository extends JpaRepository<ContainerTombstone, Long> {
+
+    /**
+     * Deletions in the change sequence window (since, upTo], oldest first; ownerId null means every owner
+     */
+    @Query("SELECT t FROM ContainerTombstone t WHERE t.changeSeq > :since AND t.changeSeq <= :upTo "
+            + "AND (:ownerId IS NULL OR t.ownerId = :ownerId) ORDER BY t.changeSeq")
+    List<ContainerTombstone> findChanged(@Param("since") long since, @Param("upTo") long upTo,
+                                         @Param("ownerId") Long ownerId, Pageable page);
+
+    @Query("SELECT COALESCE(MAX(t.changeSeq), 0) FROM ContainerTombstone t")
+    long maxChangeSeq();
+
+    @Query("SELECT MIN(t.changeSeq) FROM ContainerTombstone t")
+    Long minChangeSeq();
+
+    /**
+     * Prune tombstones deleted before the cutoff, always keeping those at or above keepFrom
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ContainerTombstone t WHERE t.deletedAt < :cutoff AND t.changeSeq < :keepFrom")
+    int deleteExpired(@Param("cutoff") LocalDateTime cutoff, @Param("keepFrom") long keepFrom);
+}
@@ -4,11 +4,14 @@ import com.thesis.backend.entity.SshConnection;
 import com.thesis.backend.entity.User;
 import com.thesis.backend.entity.ContainerInstance;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,6 +20,10 @@ public interface SshConnectionRepository extends JpaRepository<SshConnection, Lo
     
     List<SshConnection> findByUserAndStatus(User user, String status);
     
+    List<SshConnection> findByUser(User user);
+    
+    List<SshConnection> findByContainerInstanceIn(Collection<ContainerInstance> containerInstances);
+    
     List<SshConnection> findByContainerInstanceAndStatus(ContainerInstance containerInstance, String status);
     
     Optional<SshConnection> findByUserAndContainerInstanceAndStatus(User user, ContainerInstance containerInstance, String status);
@@ -24,7 +31,7 @@ public interface SshConnectionRepository extends JpaRepository<SshConnection, Lo
     @Query("SELECT sc FROM SshConnection sc WHERE sc.sshUsername = :username AND sc.status = 'ACTIVE'")
     Optional<SshConnection> findActiveBySshUsername(@Param("username") String username);
     
-    @Query("SELECT sc FROM SshConnection sc WHERE sc.expiresAt < :now")
+    @Query("SELECT sc FROM SshConnection sc WHERE sc.expiresAt < :now AND sc.status = 'ACTIVE'")
     List<SshConnection> findExpiredConnections(@Param("now") LocalDateTime now);
     
     @Query("SELECT sc FROM SshConnection sc WHERE sc.user = :user AND sc.status = 'ACTIVE'")
@@ -32,4 +39,42 @@ public interface SshConnectionRepository extends JpaRepository<SshConnection, Lo
     
     @Query("SELECT sc FROM SshConnection sc WHERE sc.containerInstance.kubernetesPodName = :podName AND sc.status = 'ACTIVE'")
     List<SshConnection> findActiveConnectionsByPodName(@Param("podName") String podName);
+    
+    @Query("SELECT sc FROM SshConnection sc WHERE sc.status = 'ACTIVE'")
+    List<SshConnection> findAllActive();
+    
+    @Modifying
+    @Transactional
+    @Query("UPDATE SshConnection sc SET sc.lastAccessed = :accessedAt WHERE sc.id IN :ids")
+    int updateLastAccessed(@Param("ids") Collection<Long> ids, @Param("accessedAt") LocalDateTime accessedAt);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE SshConnection sc SET sc.status = 'EXPIRED', sc.version = sc.version + 1 "
+            + "WHERE sc.id IN :ids AND sc.status = 'ACTIVE'")
+    int expireActive(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Revoke: ACTIVE -> INACTIVE in one statement; 0 if the connection was no longer active
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE SshConnection sc SET sc.status = 'INACTIVE', sc.version = sc.version + 1 "
+            + "WHERE sc.id = :id AND sc.status = 'ACTIVE'")
+    int deactivate(@Param("id") Long id);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE SshConnection sc SET sc.status = 'INACTIVE', sc.version = sc.version + 1 "
+            + "WHERE sc.id IN :ids AND sc.status = 'ACTIVE'")
+    int deactivateAll(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Set the public key only while the connection is active, so an expiry racing the update wins
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE SshConnection sc SET sc.sshPublicKey = :publicKey, sc.version = sc.version + 1 "
+            + "WHERE sc.id = :id AND sc.status = 'ACTIVE'")
+    int updatePublicKeyIfActive(@Param("id") Long id, @Param("publicKey") String publicKey);
 }
@@ -4,6 +4,7 @@ import com.thesis.backend.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,4 +13,7 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     Optional<User> findByUsername(String username);
     List<User> findByRole(String role);
+    List<User> findByCohort(String cohort);
+    List<User> findByUsernameIn(Collection<String> usernames);
+    List<User> findByEmailIn(Collection<String> emails);
 }
@@ -0,0 +1,83 @@
+package com.thesis.backend.security;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.SequenceInputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Request whose first bytes were already read by a filter; downstream readers get those bytes
+ * followed by whatever is left of the original body
+ */
+class PeekedBodyRequest extends HttpServletRequestWrapper {
+
+    private final byte[] head;
+
+    private PeekedBodyRequest(HttpServletRequest request, byte[] head) {
+        super(request);
+        this.head = head;
+    }
+
+    /**
+     * Read at most limit bytes of the body; the result is complete when shorter than limit
+     */
+    static PeekedBodyRequest peek(HttpServletRequest request, int limit) throws IOException {
+        return new PeekedBodyRequest(request, request.getInputStream().readNBytes(limit));
+    }
+
+    byte[] getHead() {
+        return head;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+        InputStream body = new SequenceInputStream(new ByteArrayInputStream(head), super.getInputStream());
+        return new ServletInputStream() {
+            private boolean finished;
+
+            @Override
+            public int read() throws IOException {
+                int b = body.read();
+                finished = b < 0;
+                return b;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                int n = body.read(buffer, offset, length);
+                finished = n < 0;
+                return n;
+            }
+
+            @Override
+            public boolean isFinished() {
+                return finished;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(ReadListener readListener) {
+                throw new UnsupportedOperationException("Async reads are not supported");
+            }
+        };
+    }
+
+    @Override
+    public BufferedReader getReader() throws IOException {
+        Charset charset = getCharacterEncoding() != null ? Charset.forName(getCharacterEncoding()) : StandardCharsets.UTF_8;
+        return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+    }
+}
@@ -0,0 +1,151 @@
+package com.thesis.backend.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thesis.backend.config.RateLimitProperties;
+import com.thesis.backend.entity.User;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-user, per-route-class rate limiting in front of the controllers. Runs after
+ * JwtAuthenticationFilter so authenticated callers are limited by user ID under their role's limits;
+ * unauthenticated ones as "anonymous", logins by submitted username plus client address (a class
+ * behind one NAT address does not share one bucket) and everything else by client address. Logins
+ * also draw from a looser per-address bucket (role "anonymous-ip") so one address cannot spray
+ * usernames.
+ * Rejections get 429 with Retry-After before any Kubernetes or database work happens.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    static final String CREATE = "create";
+    static final String SSH = "ssh";
+    static final String AUTH = "auth";
+    static final String WRITE = "write";
+    static final String READ = "read";
+    static final String ANONYMOUS_IP = "anonymous-ip";
+
+    // Login bodies are a username and a password; anything longer is not parsed for the username
+    private static final int MAX_LOGIN_BODY = 4096;
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final RateLimiter rateLimiter;
+    private final RateLimitProperties properties;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled()
+                || "OPTIONS".equals(request.getMethod())
+                || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String routeClass = routeClass(request.getMethod(), request.getRequestURI());
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        String caller;
+        String role;
+        String username = null;
+        if (authentication != null && authentication.getPrincipal() instanceof User user) {
+            caller = "user-" + user.getId();
+            role = roleKey(user.getRole());
+        } else {
+            role = "anonymous";
+            if (AUTH.equals(routeClass)) {
+                PeekedBodyRequest peeked = PeekedBodyRequest.peek(request, MAX_LOGIN_BODY);
+                request = peeked;
+                username = submittedUsername(peeked.getHead());
+            }
+            caller = username != null
+                    ? "login-" + username + "@" + request.getRemoteAddr()
+                    : "ip-" + request.getRemoteAddr();
+        }
+
+        RateLimiter.Decision decision = rateLimiter.check(caller, role, routeClass);
+        if (decision.allowed() && username != null) {
+            decision = rateLimiter.check("ip-" + request.getRemoteAddr(), ANONYMOUS_IP, routeClass);
+        }
+        if (decision.allowed()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long retryAfterSeconds = Math.max(1, (long) Math.ceil(decision.retryAfterNanos() / (double) TimeUnit.SECONDS.toNanos(1)));
+        log.warn("Rate limited {} ({}) on {} {} [{}], retry after {}s",
+                caller, role, request.getMethod(), request.getRequestURI(), routeClass, retryAfterSeconds);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"Too many requests\",\"routeClass\":\"" + routeClass
+                + "\",\"retryAfterSeconds\":" + retryAfterSeconds + "}");
+    }
+
+    /**
+     * Route class of a request: pod-creating calls, SSH connects and logins get their own (tight)
+     * buckets, everything else is a generic read or write
+     */
+    static String routeClass(String method, String path) {
+        boolean read = "GET".equals(method) || "HEAD".equals(method);
+        if ("POST".equals(method) && (path.startsWith("/api/containers/create")
+                || (path.startsWith("/api/kubernetes/") && (path.contains("/pods") || path.contains("/deployments"))))) {
+            return CREATE;
+        }
+        if (!read) {
+            if (path.startsWith("/api/ssh/connect/")) {
+                return SSH;
+            }
+            if (path.startsWith("/api/auth/")) {
+                return AUTH;
+            }
+        }
+        return read ? READ : WRITE;
+    }
+
+    /**
+     * Username field of a JSON login body, or null when the body is truncated or not a login
+     */
+    static String submittedUsername(byte[] body) {
+        if (body.length == 0 || body.length >= MAX_LOGIN_BODY) {
+            return null;
+        }
+        try {
+            JsonNode username = JSON.readTree(body).get("username");
+            return username != null && username.isTextual() && !username.asText().isBlank()
+                    ? username.asText().trim().toLowerCase(Locale.ROOT)
+                    : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * ROLE_SUPER_ADMIN -> super-admin
+     */
+    static String roleKey(String role) {
+        if (role == null) {
+            return "default";
+        }
+        String name = role.startsWith("ROLE_") ? role.substring(5) : role;
+        return name.toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+}
@@ -0,0 +1,154 @@
+package com.thesis.backend.security;
+
+import com.thesis.backend.config.RateLimitProperties;
+import com.thesis.backend.util.TokenBucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets per (caller, role, route class), held in lock-striped LRU maps. A stripe that grows
+ * past its share of ratelimit.max-buckets drops its least recently used bucket, and idle buckets are
+ * swept periodically, so a flood of distinct callers cannot grow the map without bound.
+ */
+@Slf4j
+@Component
+public class RateLimiter {
+
+    /**
+     * Outcome of one check; retryAfterNanos is 0 when the request was allowed
+     */
+    public record Decision(boolean allowed, long retryAfterNanos) {
+        static final Decision ALLOW = new Decision(true, 0);
+    }
+
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier nanoClock;
+    private final Stripe[] stripes;
+    private final Counter evictions;
+
+    private static final class Stripe extends LinkedHashMap<String, TokenBucket> {
+        private final int maxSize;
+        private final Counter evictions;
+
+        private Stripe(int maxSize, Counter evictions) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+            this.evictions = evictions;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, TokenBucket> eldest) {
+            if (size() > maxSize) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    @Autowired
+    public RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::nanoTime);
+    }
+
+    RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.nanoClock = nanoClock;
+        this.evictions = Counter.builder("http.ratelimit.evictions")
+                .description("Rate limit buckets dropped because their stripe was full")
+                .register(meterRegistry);
+
+        int stripeCount = Math.max(1, properties.getStripes());
+        int perStripe = Math.max(1, properties.getMaxBuckets() / stripeCount);
+        stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(perStripe, evictions);
+        }
+        Gauge.builder("http.ratelimit.buckets", this, RateLimiter::size)
+                .description("Live rate limit buckets")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Charge one request to the caller's bucket for the route class
+     *
+     * @param caller user ID or client address
+     * @param role   limit lookup key, see RateLimitProperties
+     */
+    public Decision check(String caller, String role, String routeClass) {
+        RateLimitProperties.Limit limit = properties.limitFor(role, routeClass);
+        if (limit == null || limit.getCapacity() <= 0 || limit.getPerMinute() <= 0) {
+            return Decision.ALLOW;
+        }
+
+        TokenBucket bucket = bucket(caller + '|' + role + '|' + routeClass, limit);
+        boolean allowed = bucket.tryAcquire(1);
+        Counter.builder("http.ratelimit.requests")
+                .tag("role", role)
+                .tag("route", routeClass)
+                .tag("outcome", allowed ? "allowed" : "rejected")
+                .register(meterRegistry)
+                .increment();
+        return allowed ? Decision.ALLOW : new Decision(false, Math.max(1, bucket.nanosUntilAvailable(1)));
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Drop buckets that have not been used for ratelimit.idle-evict-minutes
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void evictIdle() {
+        long cutoff = nanoClock.getAsLong() - TimeUnit.MINUTES.toNanos(properties.getIdleEvictMinutes());
+        int evicted = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                // Access order: the least recently used buckets come first
+                Iterator<TokenBucket> buckets = stripe.values().iterator();
+                while (buckets.hasNext()) {
+                    if (buckets.next().lastUsedNanos() - cutoff >= 0) {
+                        break;
+                    }
+                    buckets.remove();
+                    evicted++;
+                }
+            }
+        }
+        if (evicted > 0) {
+            log.debug("Evicted {} idle rate limit buckets", evicted);
+        }
+    }
+
+    private TokenBucket bucket(String key, RateLimitProperties.Limit limit) {
+        Stripe stripe = stripes[Math.floorMod(key.hashCode(), stripes.length)];
+        synchronized (stripe) {
+            TokenBucket bucket = stripe.get(key);
+            if (bucket == null) {
+                bucket = new TokenBucket(limit.getCapacity(), limit.getPerMinute() / 60.0, nanoClock);
+                stripe.put(key, bucket);
+            }
+            return bucket;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.thesis.backend.service;
+
+import com.thesis.backend.entity.User;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Activity feed shared by ActivityController and the aggregated dashboard.
+ * TODO: Implement proper activity tracking with database entities
+ */
+@Service
+public class ActivityService {
+
+    /**
+     * Recent platform activities (mock data for demonstration)
+     */
+    public List<Map<String, Object>> recentActivities() {
+        List<Map<String, Object>> activities = new ArrayList<>();
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+        
+        // Mock recent activities
+        activities.add(createActivity("Container Created", "student", "Created new Python container", 
+                LocalDateTime.now().minusMinutes(5).format(formatter), "container"));
+        activities.add(createActivity("SSH Connection", "student", "Connected to container via SSH", 
+                LocalDateTime.now().minusMinutes(15).format(formatter), "ssh"));
+        activities.add(createActivity("Template Created", "teacher", "Created new Data Science template", 
+                LocalDateTime.now().minusMinutes(30).format(formatter), "template"));
+        activities.add(createActivity("Container Started", "student", "Started existing container", 
+                LocalDateTime.now().minusHours(1).format(formatter), "container"));
+        activities.add(createActivity("User Login", "teacher", "Logged into the system", 
+                LocalDateTime.now().minusHours(2).format(formatter), "auth"));
+        
+        return activities;
+    }
+
+    /**
+     * A user's own activities (mock data for demonstration)
+     */
+    public List<Map<String, Object>> userActivities(User user) {
+        List<Map<String, Object>> activities = new ArrayList<>();
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+        
+        if ("ROLE_STUDENT".equals(user.getRole())) {
+            activities.add(createActivity("Container Access", user.getUsername(), "Accessed Python container", 
+                    LocalDateTime.now().minusMinutes(10).format(formatter), "container"));
+            activities.add(createActivity("SSH Session", user.getUsername(), "Started SSH session", 
+                    LocalDateTime.now().minusMinutes(25).format(formatter), "ssh"));
+            activities.add(createActivity("Login", user.getUsername(), "Logged into the system", 
+                    LocalDateTime.now().minusHours(1).format(formatter), "auth"));
+        } else if ("ROLE_TEACHER".equals(user.getRole())) {
+            activities.add(createActivity("Dashboard View", user.getUsername(), "Viewed student progress", 
+                    LocalDateTime.now().minusMinutes(5).format(formatter), "dashboard"));
+            activities.add(createActivity("Template Update", user.getUsername(), "Updated container template", 
+                    LocalDateTime.now().minusMinutes(20).format(formatter), "template"));
+            activities.add(createActivity("Container Review", user.getUsername(), "Reviewed student containers", 
+                    LocalDateTime.now().minusMinutes(45).format(formatter), "container"));
+        }
+        
+        return activities;
+    }
+
+    /**
+     * Helper method to create activity object
+     */
+    private Map<String, Object> createActivity(String action, String user, String description, 
+                                               String timestamp, String type) {
+        Map<String, Object> activity = new HashMap<>();
+        activity.put("id", UUID.randomUUID().toString());
+        activity.put("action", action);
+        activity.put("user", user);
+        activity.put("description", description);
+        activity.put("timestamp", timestamp);
+        activity.put("type", type);
+        return activity;
+    }
+}
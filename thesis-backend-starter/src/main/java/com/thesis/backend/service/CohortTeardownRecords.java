@@ -0,0 +1,71 @@
+package com.thesis.backend.service;
+
+import com.thesis.backend.entity.ContainerInstance;
+import com.thesis.backend.entity.SshConnection;
+import com.thesis.backend.entity.User;
+import com.thesis.backend.repository.ContainerInstanceRepository;
+import com.thesis.backend.repository.SshConnectionRepository;
+import com.thesis.backend.repository.UserRepository;
+import com.thesis.backend.web.ChangeCounters;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Database side of a cohort teardown, one transaction per user so a failure part-way through leaves
+ * the user's rows as they were instead of deleting connections but keeping the account
+ */
+@Service
+@RequiredArgsConstructor
+public class CohortTeardownRecords {
+
+    private final UserRepository userRepository;
+    private final ContainerInstanceRepository containerInstanceRepository;
+    private final SshConnectionRepository sshConnectionRepository;
+    private final ContainerChangeLog containerChangeLog;
+    private final ChangeCounters changeCounters;
+
+    /**
+     * Delete the user together with their SSH connections and containers (tombstoned for delta sync)
+     */
+    @Transactional
+    public void deleteUser(User user, List<ContainerInstance> containers) {
+        // Connections reference both the user and the containers; dedupe by id before deleting
+        Map<Long, SshConnection> connections = new LinkedHashMap<>();
+        sshConnectionRepository.findByUser(user).forEach(connection -> connections.put(connection.getId(), connection));
+        if (!containers.isEmpty()) {
+            sshConnectionRepository.findByContainerInstanceIn(containers)
+                    .forEach(connection -> connections.put(connection.getId(), connection));
+        }
+        // Batch deletes: no per-row version check against concurrent status updates
+        sshConnectionRepository.deleteAllInBatch(connections.values());
+        containerChangeLog.delete(containers);
+        userRepository.delete(user);
+    }
+
+    /**
+     * Keep the account but mark its containers deleted and forget its namespace
+     */
+    @Transactional
+    public void releaseUser(User user, List<ContainerInstance> containers) {
+        if (!containers.isEmpty()) {
+            List<Long> ids = containers.stream().map(ContainerInstance::getId).collect(Collectors.toList());
+            containerChangeLog.write(seq -> containerInstanceRepository.updateStatusForIds(ids, "Deleted", seq));
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    changeCounters.bump(ChangeCounters.CONTAINERS);
+                }
+            });
+        }
+        user.setKubernetesNamespace(null);
+        userRepository.save(user);
+    }
+}
@@ -0,0 +1,331 @@
+package com.thesis.backend.service;
+
+import com.thesis.backend.dto.TeardownJobStatus;
+import com.thesis.backend.dto.TeardownRequest;
+import com.thesis.backend.entity.ContainerInstance;
+import com.thesis.backend.entity.SshConnection;
+import com.thesis.backend.entity.User;
+import com.thesis.backend.kubernetes.KubernetesResourceCache;
+import com.thesis.backend.repository.ContainerInstanceRepository;
+import com.thesis.backend.repository.SshConnectionRepository;
+import com.thesis.backend.repository.UserRepository;
+import io.fabric8.kubernetes.api.model.DeletionPropagation;
+import io.fabric8.kubernetes.api.model.Namespace;
+import io.fabric8.kubernetes.api.model.NamespaceCondition;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk teardown of users' cluster resources (end of semester). Users are processed concurrently
+ * under a limit: SSH access is revoked, containers outside the student namespace are removed with
+ * label-selected collection deletes, and the student namespace is deleted with background
+ * propagation. Namespace termination is then tracked until the namespace is gone; namespaces that
+ * stay Terminating too long are reported as stuck together with the blocking condition.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CohortTeardownService {
+
+    private static final Set<String> PROTECTED_ROLES = Set.of("ROLE_SUPER_ADMIN", "ROLE_ADMIN");
+    private static final String TEACHER_ROLE = "ROLE_TEACHER";
+    private static final int JOB_HISTORY = 20;
+
+    private final UserRepository userRepository;
+    private final ContainerInstanceRepository containerInstanceRepository;
+    private final SshConnectionRepository sshConnectionRepository;
+    private final SshConnectionService sshConnectionService;
+    private final NamespaceService namespaceService;
+    private final KubernetesClient kubernetesClient;
+    private final KubernetesResourceCache resourceCache;
+    private final CohortTeardownRecords teardownRecords;
+
+    @Value("${cohort.teardown.concurrency:16}")
+    private int concurrency;
+
+    @Value("${cohort.teardown.stuck-after-minutes:10}")
+    private long stuckAfterMinutes;
+
+    @Value("${ssh.container.namespace:default}")
+    private String sharedNamespace;
+
+    private ExecutorService executor;
+    private final Map<String, TeardownJob> jobs = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void startExecutor() {
+        // The pool size is the concurrency limit for users/namespaces being torn down
+        executor = Executors.newFixedThreadPool(Math.max(1, concurrency));
+    }
+
+    @PreDestroy
+    void stopExecutor() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Start a teardown job and return immediately; progress is available through {@link #getJob}
+     */
+    public TeardownJobStatus start(TeardownRequest request, User admin) {
+        List<User> users = select(request).stream()
+                .filter(user -> !PROTECTED_ROLES.contains(user.getRole()))
+                // Teachers only when the request opts in, never as a side effect of a cohort or ID list
+                .filter(user -> request.isIncludeTeachers() || !TEACHER_ROLE.equals(user.getRole()))
+                .filter(user -> !user.getId().equals(admin.getId()))
+                .collect(Collectors.toList());
+
+        TeardownJob job = new TeardownJob(UUID.randomUUID().toString(), users.size());
+        jobs.put(job.id, job);
+        pruneHistory();
+        log.info("Teardown job {} started by {} for {} users (cohort={}, role={}, includeTeachers={}, deleteUsers={})",
+                job.id, admin.getUsername(), users.size(), request.getCohort(), request.getRole(),
+                request.isIncludeTeachers(), request.isDeleteUsers());
+
+        List<CompletableFuture<Void>> tasks = users.stream()
+                .map(user -> CompletableFuture.runAsync(() -> teardownUser(job, user, request.isDeleteUsers()), executor))
+                .collect(Collectors.toList());
+        CompletableFuture.allOf(tasks.toArray(new CompletableFuture[0]))
+                .whenComplete((ignored, error) -> job.usersDone = true);
+        return job.snapshot();
+    }
+
+    public TeardownJobStatus getJob(String jobId) {
+        TeardownJob job = jobs.get(jobId);
+        return job != null ? job.snapshot() : null;
+    }
+
+    public List<TeardownJobStatus> getJobs() {
+        return jobs.values().stream()
+                .sorted((a, b) -> b.startedAt.compareTo(a.startedAt))
+                .map(TeardownJob::snapshot)
+                .collect(Collectors.toList());
+    }
+
+    private List<User> select(TeardownRequest request) {
+        String role = request.getRole() != null && !request.getRole().isBlank()
+                ? request.getRole().trim().toUpperCase(Locale.ROOT) : null;
+        if (role != null && !role.startsWith("ROLE_")) {
+            role = "ROLE_" + role;
+        }
+        String cohort = request.getCohort() != null && !request.getCohort().isBlank() ? request.getCohort().trim() : null;
+        List<Long> ids = request.getUserIds() != null && !request.getUserIds().isEmpty() ? request.getUserIds() : null;
+        if (role == null && cohort == null && ids == null) {
+            throw new RuntimeException("A cohort, role or list of user IDs is required");
+        }
+
+        List<User> candidates = ids != null ? userRepository.findAllById(ids)
+                : cohort != null ? userRepository.findByCohort(cohort)
+                : userRepository.findByRole(role);
+        String roleFilter = role;
+        return candidates.stream()
+                .filter(user -> roleFilter == null || roleFilter.equals(user.getRole()))
+                .filter(user -> cohort == null || cohort.equals(user.getCohort()))
+                .collect(Collectors.toList());
+    }
+
+    private void teardownUser(TeardownJob job, User user, boolean deleteUser) {
+        try {
+            List<ContainerInstance> containers = containerInstanceRepository.findByOwner(user);
+
+            // Revoke SSH first so the gateway stops routing into pods that are going away
+            for (SshConnection connection : sshConnectionRepository.findActiveConnectionsByUser(user)) {
+                try {
+                    sshConnectionService.revokeSshAccess(connection.getId());
+                } catch (Exception e) {
+                    log.warn("Could not revoke SSH connection {} of {}: {}", connection.getId(), user.getUsername(), e.getMessage());
+                }
+            }
+
+            // Legacy containers live in the shared namespace: one collection delete per kind
+            deleteOwnedInSharedNamespace(user, containers);
+
+            String namespace = user.getKubernetesNamespace();
+            if (namespace != null && !namespace.equals(sharedNamespace) && !"default".equals(namespace)) {
+                namespaceService.deleteStudentNamespace(namespace);
+                job.namespaces.put(namespace, new NamespaceProgress(Instant.now()));
+            }
+
+            if (deleteUser) {
+                teardownRecords.deleteUser(user, containers);
+            } else {
+                teardownRecords.releaseUser(user, containers);
+            }
+            job.processed.incrementAndGet();
+        } catch (Exception e) {
+            log.warn("Teardown of user {} failed: {}", user.getUsername(), e.getMessage());
+            job.processed.incrementAndGet();
+            job.failed.incrementAndGet();
+            job.errors.add(user.getUsername() + ": " + e.getMessage());
+        }
+    }
+
+    private void deleteOwnedInSharedNamespace(User user, List<ContainerInstance> containers) {
+        // Legacy objects predate the managed-by label; owner and type are on every student container
+        Map<String, String> owned = Map.of("owner", user.getUsername(), "type", "student-container");
+        kubernetesClient.pods().inNamespace(sharedNamespace).withLabels(owned)
+                .withPropagationPolicy(DeletionPropagation.BACKGROUND).delete();
+        kubernetesClient.services().inNamespace(sharedNamespace).withLabels(owned)
+                .withPropagationPolicy(DeletionPropagation.BACKGROUND).delete();
+        kubernetesClient.persistentVolumeClaims().inNamespace(sharedNamespace).withLabels(owned)
+                .withPropagationPolicy(DeletionPropagation.BACKGROUND).delete();
+
+        // Per-grant SSH Services used to be created without labels: go by the rows' pod names
+        for (ContainerInstance container : containers) {
+            if (container.getKubernetesPodName() != null) {
+                kubernetesClient.services().inNamespace(sharedNamespace).withName(container.getKubernetesPodName() + "-ssh")
+                        .withPropagationPolicy(DeletionPropagation.BACKGROUND).delete();
+            }
+        }
+    }
+
+    /**
+     * Follow namespaces of all jobs until they are gone; presence comes from the informer cache when synced
+     */
+    @Scheduled(fixedDelayString = "${cohort.teardown.poll-ms:5000}")
+    public void trackTerminatingNamespaces() {
+        Instant stuckBefore = Instant.now().minus(Duration.ofMinutes(stuckAfterMinutes));
+        for (TeardownJob job : jobs.values()) {
+            job.namespaces.forEach((name, progress) -> {
+                if (progress.deleted) {
+                    return;
+                }
+                try {
+                    Namespace namespace = resourceCache.namespacesReady()
+                            ? resourceCache.namespace(name)
+                            : kubernetesClient.namespaces().withName(name).get();
+                    if (namespace == null) {
+                        progress.deleted = true;
+                        progress.stuckReason = null;
+                    } else if (progress.since.isBefore(stuckBefore)) {
+                        // The lean cache keeps no conditions, so read the blocking reason live
+                        progress.stuckReason = stuckReason(kubernetesClient.namespaces().withName(name).get());
+                    }
+                } catch (Exception e) {
+                    log.debug("Could not check namespace {}: {}", name, e.getMessage());
+                }
+            });
+            job.finishIfDone();
+        }
+    }
+
+    private static String stuckReason(Namespace namespace) {
+        if (namespace == null) {
+            return "Terminating";
+        }
+        if (namespace.getStatus() == null || namespace.getStatus().getConditions() == null) {
+            return "Terminating (no status conditions reported)";
+        }
+        String reasons = namespace.getStatus().getConditions().stream()
+                .filter(condition -> "True".equals(condition.getStatus()))
+                .map(CohortTeardownService::describe)
+                .collect(Collectors.joining("; "));
+        return reasons.isEmpty() ? "Terminating (no blocking condition reported)" : reasons;
+    }
+
+    private static String describe(NamespaceCondition condition) {
+        return condition.getType() + (condition.getMessage() != null ? ": " + condition.getMessage() : "");
+    }
+
+    private void pruneHistory() {
+        if (jobs.size() <= JOB_HISTORY) {
+            return;
+        }
+        jobs.values().stream()
+                .filter(job -> job.finishedAt != null)
+                .sorted((a, b) -> a.startedAt.compareTo(b.startedAt))
+                .limit(jobs.size() - JOB_HISTORY)
+                .forEach(job -> jobs.remove(job.id));
+    }
+
+    private static class NamespaceProgress {
+        private final Instant since;
+        private volatile boolean deleted;
+        private volatile String stuckReason;
+
+        NamespaceProgress(Instant since) {
+            this.since = since;
+        }
+    }
+
+    private static class TeardownJob {
+        private final String id;
+        private final int totalUsers;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private volatile LocalDateTime finishedAt;
+        private volatile boolean usersDone;
+        private final AtomicInteger processed = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final Map<String, NamespaceProgress> namespaces = new ConcurrentHashMap<>();
+        private final List<String> errors = Collections.synchronizedList(new ArrayList<>());
+
+        TeardownJob(String id, int totalUsers) {
+            this.id = id;
+            this.totalUsers = totalUsers;
+        }
+
+        /**
+         * Done once every user was processed and every namespace is gone or reported stuck
+         */
+        void finishIfDone() {
+            if (finishedAt == null && usersDone
+                    && namespaces.values().stream().allMatch(ns -> ns.deleted || ns.stuckReason != null)) {
+                finishedAt = LocalDateTime.now();
+            }
+        }
+
+        TeardownJobStatus snapshot() {
+            Map<String, String> stuck = new LinkedHashMap<>();
+            int terminating = 0;
+            int deleted = 0;
+            for (Map.Entry<String, NamespaceProgress> entry : namespaces.entrySet()) {
+                if (entry.getValue().deleted) {
+                    deleted++;
+                } else {
+                    terminating++;
+                    if (entry.getValue().stuckReason != null) {
+                        stuck.put(entry.getKey(), entry.getValue().stuckReason);
+                    }
+                }
+            }
+            String state = finishedAt == null ? "RUNNING"
+                    : failed.get() > 0 || !stuck.isEmpty() ? "COMPLETED_WITH_ERRORS" : "COMPLETED";
+            return TeardownJobStatus.builder()
+                    .jobId(id)
+                    .state(state)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .totalUsers(totalUsers)
+                    .processedUsers(processed.get())
+                    .failedUsers(failed.get())
+                    .namespacesTerminating(terminating)
+                    .namespacesDeleted(deleted)
+                    .stuckNamespaces(stuck)
+                    .errors(new ArrayList<>(errors))
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.thesis.backend.service;
+
+import com.thesis.backend.entity.ContainerTemplate;
+import com.thesis.backend.kubernetes.CompiledPodSpec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiled pod specs keyed by template ID. An entry is only reused while its version matches the
+ * template's @Version, so a template changed through any path is recompiled on its next use;
+ * ContainerTemplateController also evicts on update and delete.
+ */
+@Slf4j
+@Service
+public class CompiledPodSpecCache {
+
+    private final Map<Long, CompiledPodSpec> specs = new ConcurrentHashMap<>();
+
+    /**
+     * Compiled spec for the template, compiling it on first use or after a version change
+     *
+     * @throws IllegalArgumentException if the template does not compile
+     */
+    public CompiledPodSpec get(ContainerTemplate template) {
+        if (template.getId() == null) {
+            return CompiledPodSpec.compile(template);
+        }
+        CompiledPodSpec cached = specs.get(template.getId());
+        if (cached != null && Objects.equals(cached.getVersion(), template.getVersion())) {
+            return cached;
+        }
+        CompiledPodSpec compiled = CompiledPodSpec.compile(template);
+        // A racing reader may hold an older version; keep whichever is newer
+        specs.merge(template.getId(), compiled, (existing, fresh) ->
+                existing.getVersion() != null && fresh.getVersion() != null
+                        && existing.getVersion() > fresh.getVersion() ? existing : fresh);
+        log.debug("Compiled pod spec for template {} (version {})", template.getId(), template.getVersion());
+        return compiled;
+    }
+
+    /**
+     * Drop the compiled spec of an updated or deleted template
+     */
+    public void invalidate(Long templateId) {
+        if (templateId != null) {
+            specs.remove(templateId);
+        }
+    }
+
+    public int size() {
+        return specs.size();
+    }
+}
@@ -0,0 +1,227 @@
+package com.thesis.backend.service;
+
+import com.thesis.backend.entity.ContainerInstance;
+import com.thesis.backend.entity.ContainerTombstone;
+import com.thesis.backend.repository.ContainerInstanceRepository;
+import com.thesis.backend.repository.ContainerTombstoneRepository;
+import com.thesis.backend.web.ChangeCounters;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.function.LongToIntFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Monotonic change sequence behind the container delta sync API. Every insert/update of a
+ * ContainerInstance is stamped with the next sequence number (ContainerChangeLogListener for entity
+ * saves, write() for bulk UPDATEs) and every delete leaves a tombstone carrying one, so
+ * changes(since) is two indexed range scans.
+ *
+ * Numbers are handed out before the writing transaction commits, so they can become visible out of
+ * order. Numbers still in flight are tracked and the cursor handed to clients stops below the oldest
+ * of them; a client therefore never skips past a change that commits later.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ContainerChangeLog {
+
+    private final ContainerInstanceRepository containerInstanceRepository;
+    private final ContainerTombstoneRepository containerTombstoneRepository;
+    private final ChangeCounters changeCounters;
+
+    @Value("${containers.changes.tombstone-retention-days:30}")
+    private int tombstoneRetentionDays;
+
+    private long sequence;
+    private final TreeSet<Long> inFlight = new TreeSet<>();
+
+    // Cursors at or below this may have missed pruned tombstones and must resync from a snapshot
+    private volatile long horizon;
+
+    /**
+     * One page of changes. With reset set, changed is a full snapshot and the client should drop its
+     * local copy first; otherwise apply changed as upserts and deleted as removals.
+     */
+    public record Changes(long cursor, boolean reset, boolean hasMore,
+                          List<ContainerInstance> changed, List<Long> deleted) {
+    }
+
+    @PostConstruct
+    void init() {
+        sequence = Math.max(containerInstanceRepository.maxChangeSeq(), containerTombstoneRepository.maxChangeSeq());
+        horizon = computeHorizon();
+        log.info("Container change sequence starts at {}", sequence);
+    }
+
+    /**
+     * Next sequence number for an entity insert/update, released once the surrounding transaction ends
+     */
+    public long stamp() {
+        long seq = allocate();
+        releaseAfterTransaction(seq);
+        return seq;
+    }
+
+    /**
+     * Run a bulk statement that stamps the given sequence number on the rows it touches
+     */
+    public int write(LongToIntFunction statement) {
+        long seq = allocate();
+        try {
+            return statement.applyAsInt(seq);
+        } finally {
+            releaseAfterTransaction(seq);
+        }
+    }
+
+    @Transactional
+    public void delete(ContainerInstance container) {
+        delete(List.of(container));
+    }
+
+    /**
+     * Delete containers and leave tombstones for them. One statement without per-row version checks,
+     * so a concurrent status update cannot make it fail.
+     */
+    @Transactional
+    public void delete(Collection<ContainerInstance> containers) {
+        if (containers.isEmpty()) {
+            return;
+        }
+        write(seq -> {
+            LocalDateTime now = LocalDateTime.now();
+            containerTombstoneRepository.saveAll(containers.stream()
+                    .map(container -> ContainerTombstone.builder()
+                            .containerId(container.getId())
+                            .ownerId(container.getOwner() != null ? container.getOwner().getId() : null)
+                            .changeSeq(seq)
+                            .deletedAt(now)
+                            .build())
+                    .collect(Collectors.toList()));
+            containerInstanceRepository.deleteAllInBatch(containers);
+            return containers.size();
+        });
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                changeCounters.bump(ChangeCounters.CONTAINERS);
+            }
+        });
+    }
+
+    /**
+     * Changes after the given cursor, at most limit entries (a batch sharing one sequence number is
+     * never split, so a page can exceed the limit by the size of that batch)
+     *
+     * @param ownerId only this owner's containers, or null for all
+     */
+    public Changes changes(long since, Long ownerId, int limit) {
+        long upTo = safeCursor();
+        if (since <= 0 || since < horizon || since > upTo) {
+            // First sync, a cursor older than the retained tombstones, or one from another database
+            List<ContainerInstance> snapshot = ownerId == null
+                    ? containerInstanceRepository.findAll()
+                    : containerInstanceRepository.findChanged(Long.MIN_VALUE, Long.MAX_VALUE, ownerId, Pageable.unpaged());
+            return new Changes(upTo, true, false, snapshot, List.of());
+        }
+
+        PageRequest page = PageRequest.of(0, limit + 1);
+        List<ContainerInstance> changed = containerInstanceRepository.findChanged(since, upTo, ownerId, page);
+        List<ContainerTombstone> deleted = containerTombstoneRepository.findChanged(since, upTo, ownerId, page);
+        if (changed.size() + deleted.size() <= limit) {
+            return changes(upTo, false, changed, deleted);
+        }
+
+        // Too many: cut before the (limit+1)-th change by sequence, keeping same-numbered batches whole
+        List<Long> seqs = new ArrayList<>(changed.size() + deleted.size());
+        changed.forEach(container -> seqs.add(container.getChangeSeq()));
+        deleted.forEach(tombstone -> seqs.add(tombstone.getChangeSeq()));
+        seqs.sort(null);
+        long cursor = seqs.get(limit) - 1;
+        if (cursor <= since) {
+            cursor = seqs.get(limit);
+            changed = containerInstanceRepository.findChanged(since, cursor, ownerId, Pageable.unpaged());
+            deleted = containerTombstoneRepository.findChanged(since, cursor, ownerId, Pageable.unpaged());
+        } else {
+            long last = cursor;
+            changed = changed.stream().filter(container -> container.getChangeSeq() <= last).collect(Collectors.toList());
+            deleted = deleted.stream().filter(tombstone -> tombstone.getChangeSeq() <= last).collect(Collectors.toList());
+        }
+        return changes(cursor, cursor < upTo, changed, deleted);
+    }
+
+    /**
+     * Drop tombstones past the retention period. The newest one is always kept so the horizon can be
+     * recomputed from the table after a restart.
+     */
+    @Scheduled(fixedDelayString = "${containers.changes.prune-interval-ms:3600000}")
+    public void pruneTombstones() {
+        long newest = containerTombstoneRepository.maxChangeSeq();
+        int pruned = containerTombstoneRepository.deleteExpired(
+                LocalDateTime.now().minusDays(tombstoneRetentionDays), newest);
+        if (pruned > 0) {
+            horizon = computeHorizon();
+            log.info("Pruned {} container tombstones, delta sync cursors below {} now resync", pruned, horizon);
+        }
+    }
+
+    private static Changes changes(long cursor, boolean hasMore, List<ContainerInstance> changed,
+                                   List<ContainerTombstone> deleted) {
+        return new Changes(cursor, false, hasMore, changed,
+                deleted.stream().map(ContainerTombstone::getContainerId).collect(Collectors.toList()));
+    }
+
+    /**
+     * Highest sequence number below which every change has committed (or rolled back)
+     */
+    private synchronized long safeCursor() {
+        return inFlight.isEmpty() ? sequence : inFlight.first() - 1;
+    }
+
+    private synchronized long allocate() {
+        long seq = ++sequence;
+        inFlight.add(seq);
+        return seq;
+    }
+
+    private synchronized void release(long seq) {
+        inFlight.remove(seq);
+    }
+
+    private void releaseAfterTransaction(long seq) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    release(seq);
+                }
+            });
+        } else {
+            release(seq);
+        }
+    }
+
+    /**
+     * Conservative: tombstones are only ever pruned from the low end, so everything below the oldest
+     * retained one may be gone
+     */
+    private long computeHorizon() {
+        Long oldest = containerTombstoneRepository.minChangeSeq();
+        return oldest != null ? oldest - 1 : 0;
+    }
+}
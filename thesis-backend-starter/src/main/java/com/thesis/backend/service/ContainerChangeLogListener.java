@@ -0,0 +1,28 @@
+package com.thesis.backend.service;
+
+import com.thesis.backend.entity.ContainerInstance;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA listener that stamps every ContainerInstance insert and entity update with the next change
+ * sequence number. Bulk UPDATEs bypass it and stamp through ContainerChangeLog.write instead.
+ */
+@Component
+public class ContainerChangeLogListener {
+
+    // Lazy: Hibernate resolves entity listeners while the EntityManagerFactory the log depends on is built
+    private final ObjectProvider<ContainerChangeLog> containerChangeLog;
+
+    public ContainerChangeLogListener(ObjectProvider<ContainerChangeLog> containerChangeLog) {
+        this.containerChangeLog = containerChangeLog;
+    }
+
+    @PrePersist
+    @PreUpdate
+    public void stamp(ContainerInstance container) {
+        container.setChangeSeq(containerChangeLog.getObject().stamp());
+    }
+}
@@ -4,10 +4,14 @@ import com.thesis.backend.entity.ContainerInstance;
 import com.thesis.backend.entity.ContainerTemplate;
 import com.thesis.backend.entity.ImageTemplate;
 import com.thesis.backend.entity.User;
+import com.thesis.backend.kubernetes.CompiledPodSpec;
+import com.thesis.backend.kubernetes.KubernetesResourceCache;
+import com.thesis.backend.kubernetes.ManagedResources;
 import com.thesis.backend.repository.ContainerInstanceRepository;
 import com.thesis.backend.repository.ContainerTemplateRepository;
 import com.thesis.backend.repository.ImageTemplateRepository;
 import com.thesis.backend.repository.UserRepository;
+import com.thesis.backend.web.ChangeCounters;
 import io.fabric8.kubernetes.api.model.Container;
 import io.fabric8.kubernetes.api.model.ContainerBuilder;
 import io.fabric8.kubernetes.api.model.IntOrString;
@@ -15,7 +19,6 @@ import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
 import io.fabric8.kubernetes.api.model.PersistentVolumeClaimBuilder;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.api.model.PodBuilder;
-import io.fabric8.kubernetes.api.model.PodSpecBuilder;
 import io.fabric8.kubernetes.api.model.Quantity;
 import io.fabric8.kubernetes.api.model.ServiceBuilder;
 import io.fabric8.kubernetes.client.KubernetesClient;
@@ -26,9 +29,11 @@ import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -41,9 +46,16 @@ public class ContainerInstanceService {
     private final UserRepository userRepository;
     private final KubernetesClient kubernetesClient;
     private final NamespaceService namespaceService;
+    private final KubernetesResourceCache resourceCache;
+    private final CompiledPodSpecCache compiledPodSpecCache;
+    private final ChangeCounters changeCounters;
+    private final ContainerChangeLog containerChangeLog;
     
     @Value("${ssh.container.namespace:default}")
     private String namespace;
+
+    @Value("${ssh.gateway.enabled:false}")
+    private boolean sshGatewayEnabled;
     
     /**
      * Create a container instance from a template for a student
@@ -167,19 +179,22 @@ public class ContainerInstanceService {
             throw new RuntimeException("Access denied");
         }
         
-        // Delete the Kubernetes pod and service
+        // Delete the Kubernetes pod and service (the workspace PVC is kept)
         try {
-            kubernetesClient.pods().inNamespace(namespace).withName(instance.getKubernetesPodName()).delete();
-            kubernetesClient.services().inNamespace(namespace).withName(instance.getKubernetesPodName() + "-ssh").delete();
+            String containerNamespace = namespaceFor(instance);
+            kubernetesClient.pods().inNamespace(containerNamespace).withName(instance.getKubernetesPodName()).delete();
+            kubernetesClient.services().inNamespace(containerNamespace).withName(instance.getKubernetesPodName() + "-ssh").delete();
             
             log.info("Stopped Kubernetes pod and service for container {}", instance.getName());
         } catch (Exception e) {
             log.warn("Could not stop Kubernetes resources (development mode): {}", e.getMessage());
         }
         
-        // Update status
+        // Explicit user action: wins over whatever a concurrent refresh observed
+        if (containerChangeLog.write(seq -> containerInstanceRepository.updateStatus(instance.getId(), "Stopped", seq)) > 0) {
+            changeCounters.bump(ChangeCounters.CONTAINERS);
+        }
         instance.setStatus("Stopped");
-        containerInstanceRepository.save(instance);
         
         log.info("Stopped container {} by user {}", instance.getName(), user.getUsername());
     }
@@ -197,8 +212,10 @@ public class ContainerInstanceService {
         
         // For now, we'll recreate the pod since Kubernetes doesn't support start/stop
         // In a production environment, you might want to use deployments instead
+        if (containerChangeLog.write(seq -> containerInstanceRepository.updateStatus(instance.getId(), "Starting", seq)) > 0) {
+            changeCounters.bump(ChangeCounters.CONTAINERS);
+        }
         instance.setStatus("Starting");
-        containerInstanceRepository.save(instance);
         
         log.info("Started container {} by user {}", instance.getName(), user.getUsername());
     }
@@ -214,22 +231,46 @@ public class ContainerInstanceService {
             throw new RuntimeException("Access denied");
         }
         
-        // Delete Kubernetes resources
+        deleteKubernetesResources(instance);
+        
+        // Delete from database (batch delete by id: the loaded copy may be older than a concurrent status update)
+        containerChangeLog.delete(instance);
+        
+        log.info("Deleted container {} by user {}", instance.getName(), user.getUsername());
+    }
+    
+    /**
+     * Delete the pod, SSH service and workspace PVC of a container. Failures are logged; anything
+     * left behind is picked up by the OrphanResourceCollector.
+     */
+    public void deleteKubernetesResources(ContainerInstance instance) {
+        String containerNamespace = namespaceFor(instance);
+        String podName = instance.getKubernetesPodName();
         try {
-            kubernetesClient.pods().inNamespace(namespace).withName(instance.getKubernetesPodName()).delete();
+            kubernetesClient.pods().inNamespace(containerNamespace).withName(podName).delete();
+            kubernetesClient.services().inNamespace(containerNamespace).withName(podName + "-ssh").delete();
+            kubernetesClient.persistentVolumeClaims().inNamespace(containerNamespace).withName(podName + "-pvc").delete();
             
-            // Delete the SSH service
-            kubernetesClient.services().inNamespace(namespace).withName(instance.getKubernetesPodName() + "-ssh").delete();
-            
-            log.info("Deleted Kubernetes pod and service for container {}", instance.getName());
+            log.info("Deleted Kubernetes resources of container {} in namespace {}", instance.getName(), containerNamespace);
         } catch (Exception e) {
-            log.warn("Could not delete Kubernetes resources (development mode): {}", e.getMessage());
+            log.warn("Could not delete Kubernetes resources of container {}: {}", instance.getName(), e.getMessage());
         }
-        
-        // Delete from database
-        containerInstanceRepository.delete(instance);
-        
-        log.info("Deleted container {} by user {}", instance.getName(), user.getUsername());
+    }
+    
+    /**
+     * Namespace the container's pod lives in: the owner's namespace, or the default one for legacy containers
+     */
+    public String namespaceFor(ContainerInstance instance) {
+        return namespaceFor(instance.getOwner());
+    }
+
+    /**
+     * Namespace a container owned by this user is created in (and later looked up in, see above)
+     */
+    public String namespaceFor(User owner) {
+        return owner != null && owner.getKubernetesNamespace() != null
+                ? owner.getKubernetesNamespace()
+                : namespace;
     }
     
     /**
@@ -245,9 +286,7 @@ public class ContainerInstanceService {
         
         try {
             // Get the correct namespace for the container
-            String containerNamespace = instance.getOwner() != null && instance.getOwner().getKubernetesNamespace() != null
-                    ? instance.getOwner().getKubernetesNamespace()
-                    : namespace;
+            String containerNamespace = namespaceFor(instance);
             
             log.info("Fetching logs for pod {} in namespace {}", instance.getKubernetesPodName(), containerNamespace);
             
@@ -271,161 +310,154 @@ public class ContainerInstanceService {
     }
     
     /**
-     * Create Kubernetes pod from template
+     * Create Kubernetes pod from template. The template is compiled once per version; each pod only
+     * stamps the student-specific fields onto the compiled spec.
      */
     private String createKubernetesPod(ContainerTemplate template, String containerName, User student) {
+        CompiledPodSpec spec = compiledPodSpecCache.get(template);
+
         Map<String, String> labels = new HashMap<>();
         labels.put("app", containerName);
         labels.put("owner", student.getUsername());
         labels.put("type", "student-container");
-        labels.put("ssh-enabled", template.getSshEnabled().toString());
-        
-        // Start building container
-        ContainerBuilder containerBuilder = new ContainerBuilder()
-                .withName("main-container");
-        
-        // Set image based on SSH requirements
-        if (template.getSshEnabled()) {
-            containerBuilder = containerBuilder
-                    .withImage("thesis-ssh-container:latest")
-                    .addNewPort()
-                        .withContainerPort(22)
-                        .withProtocol("TCP")
-                    .endPort()
-                    .addNewEnv()
-                        .withName("ROOT_PASSWORD")
-                        .withValue("rootpass123")
-                    .endEnv();
-        } else {
-            containerBuilder = containerBuilder.withImage(template.getDockerImage());
-        }
-        
-        // Add environment variables from template
-        if (template.getEnvironmentVars() != null && !template.getEnvironmentVars().isEmpty()) {
-            containerBuilder = containerBuilder
-                    .addNewEnv()
-                        .withName("WORKSPACE_USER")
-                        .withValue(student.getUsername())
-                    .endEnv();
-        }
-        
-        // Add resource limits if specified
-        if (template.getResourceLimits() != null && !template.getResourceLimits().isEmpty()) {
-            containerBuilder = containerBuilder
-                    .withNewResources()
-                        .addToRequests("memory", new Quantity("256Mi"))
-                        .addToRequests("cpu", new Quantity("100m"))
-                        .addToLimits("memory", new Quantity("512Mi"))
-                        .addToLimits("cpu", new Quantity("500m"))
-                    .endResources();
-        }
-        
-        // Add persistent volume mount if required
-        if (template.getPersistentStorage()) {
-            containerBuilder = containerBuilder
-                    .addNewVolumeMount()
-                        .withName("workspace-storage")
-                        .withMountPath("/workspace")
-                    .endVolumeMount();
-        }
-        
-        // Build the pod spec
-        PodSpecBuilder podSpecBuilder = new PodSpecBuilder()
-                .addToContainers(containerBuilder.build());
-        
-        // Add persistent volume if required
-        if (template.getPersistentStorage()) {
-            podSpecBuilder = podSpecBuilder
-                .addNewVolume()
-                    .withName("workspace-storage")
-                    .withNewPersistentVolumeClaim()
-                        .withClaimName(containerName + "-pvc")
-                    .endPersistentVolumeClaim()
-                .endVolume();
-        }
-        
-        // Build the complete pod
-        Pod pod = new PodBuilder()
-                .withNewMetadata()
-                    .withName(containerName)
-                    .withNamespace(namespace)
-                    .withLabels(labels)
-                .endMetadata()
-                .withSpec(podSpecBuilder.build())
-                .build();
-        
+        labels.put("ssh-enabled", Boolean.toString(spec.isSshEnabled()));
+        labels.put(ManagedResources.LABEL, ManagedResources.VALUE);
+
+        // Same namespace every reader resolves through namespaceFor(instance)
+        String containerNamespace = namespaceFor(student);
+        Pod pod = spec.instantiate(containerName, containerNamespace, labels, student.getUsername(),
+                SshCredentialSecretService.secretNameFor(student));
+
         // Create PVC if persistent storage is required
-        if (template.getPersistentStorage()) {
-            createPersistentVolumeClaim(containerName, template.getStorageSize());
+        if (spec.isPersistentStorage()) {
+            createPersistentVolumeClaim(containerName, containerNamespace, spec.getStorageSize(), labels);
         }
         
         // Create the pod
-        kubernetesClient.pods().inNamespace(namespace).resource(pod).create();        
+        kubernetesClient.pods().inNamespace(containerNamespace).resource(pod).create();
         return containerName;
     }
 
     /**
      * Create PVC for persistent storage
      */
-    private void createPersistentVolumeClaim(String name, String size) {
+    private void createPersistentVolumeClaim(String name, String containerNamespace, Quantity size,
+                                             Map<String, String> labels) {
+        // Not owned by the pod: the workspace must survive stop/start
         PersistentVolumeClaim pvc = new PersistentVolumeClaimBuilder()
                 .withNewMetadata()
-                    .withName(name + "-pvc")
-                    .withNamespace(namespace)
+                    .withName(CompiledPodSpec.claimName(name))
+                    .withNamespace(containerNamespace)
+                    .withLabels(labels)
                 .endMetadata()
                 .withNewSpec()
                     .withAccessModes("ReadWriteOnce")
                     .withNewResources()
-                        .addToRequests("storage", new Quantity(size != null ? size : "1Gi"))
+                        .addToRequests("storage", size)
                     .endResources()
                 .endSpec()
                 .build();
         
-        kubernetesClient.persistentVolumeClaims().inNamespace(namespace).resource(pvc).create();
+        kubernetesClient.persistentVolumeClaims().inNamespace(containerNamespace).resource(pvc).create();
     }
     
     /**
-     * Update container status by checking Kubernetes pod status
+     * Update container status by checking Kubernetes pod status. The write is a compare-and-set on the
+     * status this call started from, so a stop/start that lands in between is not overwritten.
      */
     public void updateContainerStatus(ContainerInstance instance) {
+        String observed = instance.getStatus();
+        String target = observeStatus(instance);
+        if (target == null) {
+            return;
+        }
+        int updated = containerChangeLog.write(seq -> observed != null
+                ? containerInstanceRepository.compareAndSetStatus(instance.getId(), observed, target, seq)
+                : containerInstanceRepository.updateStatus(instance.getId(), target, seq));
+        if (updated > 0) {
+            changeCounters.bump(ChangeCounters.CONTAINERS);
+            instance.setStatus(target);
+            log.info("Updated container {} status from {} to {}", instance.getName(), observed, target);
+        } else {
+            log.debug("Container {} changed concurrently, skipped {} -> {}", instance.getName(), observed, target);
+        }
+    }
+
+    /**
+     * Refresh many containers: pod lookups first (cache-backed), then one conditional UPDATE per
+     * distinct (observed, new) status pair instead of one save per row
+     *
+     * @return number of rows whose status changed
+     */
+    public int updateContainerStatuses(List<ContainerInstance> instances) {
+        Map<String, Map<String, List<ContainerInstance>>> transitions = new HashMap<>();
+        for (ContainerInstance instance : instances) {
+            String target = observeStatus(instance);
+            if (target != null) {
+                transitions.computeIfAbsent(String.valueOf(instance.getStatus()), key -> new HashMap<>())
+                        .computeIfAbsent(target, key -> new ArrayList<>())
+                        .add(instance);
+            }
+        }
+
+        int updated = 0;
+        for (Map.Entry<String, Map<String, List<ContainerInstance>>> from : transitions.entrySet()) {
+            for (Map.Entry<String, List<ContainerInstance>> to : from.getValue().entrySet()) {
+                List<Long> ids = to.getValue().stream().map(ContainerInstance::getId).collect(Collectors.toList());
+                String expected = to.getValue().get(0).getStatus();
+                updated += containerChangeLog.write(seq -> expected != null
+                        ? containerInstanceRepository.compareAndSetStatus(ids, expected, to.getKey(), seq)
+                        : containerInstanceRepository.updateStatusForIds(ids, to.getKey(), seq));
+            }
+        }
+        if (updated > 0) {
+            changeCounters.bump(ChangeCounters.CONTAINERS);
+            log.info("Status refresh changed {} of {} containers", updated, instances.size());
+        }
+        return updated;
+    }
+
+    /**
+     * Status the row should move to according to Kubernetes, or null if it should stay as it is
+     */
+    private String observeStatus(ContainerInstance instance) {
         try {
             log.debug("Checking pod status for: {}", instance.getKubernetesPodName());
             
-            Pod pod = kubernetesClient.pods()
-                    .inNamespace(namespace)
-                    .withName(instance.getKubernetesPodName())
-                    .get();
+            // Cache first; a miss may just be a pod the informer has not seen yet
+            String containerNamespace = namespaceFor(instance);
+            Pod pod = resourceCache.podsReady() ? resourceCache.pod(containerNamespace, instance.getKubernetesPodName()) : null;
+            if (pod == null) {
+                pod = kubernetesClient.pods()
+                        .inNamespace(containerNamespace)
+                        .withName(instance.getKubernetesPodName())
+                        .get();
+            }
             
-            if (pod != null && pod.getStatus() != null) {
-                String phase = pod.getStatus().getPhase();
-                String currentStatus = instance.getStatus();
-                
-                // Only update if status has changed
-                if (!phase.equals(currentStatus)) {
-                    instance.setStatus(phase);
-                    containerInstanceRepository.save(instance);
-                    log.info("Updated container {} status from {} to {}", instance.getName(), currentStatus, phase);
-                } else {
-                    log.debug("Container {} status unchanged: {}", instance.getName(), phase);
-                }
-            } else {
-                log.warn("Pod {} not found or has no status", instance.getKubernetesPodName());
-                
-                // If pod doesn't exist, mark as stopped
-                if (!"Stopped".equals(instance.getStatus()) && !"Deleted".equals(instance.getStatus())) {
-                    instance.setStatus("Stopped");
-                    containerInstanceRepository.save(instance);
-                    log.info("Marked container {} as Stopped (pod not found)", instance.getName());
+            if (pod != null) {
+                // A pod the API server has not reported a phase for yet is still starting, not gone
+                String phase = pod.getStatus() != null ? pod.getStatus().getPhase() : null;
+                if (phase == null || phase.equals(instance.getStatus()) || "Deleted".equals(instance.getStatus())) {
+                    log.debug("Container {} status unchanged: {}", instance.getName(), instance.getStatus());
+                    return null;
                 }
+                return phase;
+            }
+            
+            log.warn("Pod {} not found in namespace {}", instance.getKubernetesPodName(), containerNamespace);
+            // If pod doesn't exist, mark as stopped
+            if (!"Stopped".equals(instance.getStatus()) && !"Deleted".equals(instance.getStatus())) {
+                return "Stopped";
             }
+            return null;
         } catch (Exception e) {
             log.error("Failed to get pod status from Kubernetes for {}: {}", instance.getKubernetesPodName(), e.getMessage());
             
             // Don't simulate in production - let the actual error be known
-            // Only fallback to simulation if specifically in development mode
             if ("Creating".equals(instance.getStatus())) {
                 log.warn("Container {} stuck in Creating state, will retry status check later", instance.getName());
             }
+            return null;
         }
     }
     
@@ -457,61 +489,16 @@ public class ContainerInstanceService {
                 userRepository.save(student);
             }
             
-            Map<String, String> labels = new HashMap<>();
-            labels.put("app", containerName);
-            labels.put("owner", student.getUsername());
-            labels.put("type", "student-container");
-            labels.put("ssh-enabled", "true");
-            labels.put("managed-by", "thesis-platform");
-            
-            // Create a container with SSH enabled using our custom SSH image
-            Container container = new ContainerBuilder()
-                    .withName("main-container")
-                    .withImage("thesis-ssh-container:latest") // Use our SSH-enabled image
-                    .withImagePullPolicy("Never") // Use local image in Minikube
-                    .addNewPort()
-                        .withContainerPort(22)
-                        .withProtocol("TCP")
-                        .withName("ssh")
-                    .endPort()
-                    .addNewEnv()
-                        .withName("ROOT_PASSWORD")
-                        .withValue("student123") // Simple password for educational purposes
-                    .endEnv()
-                    .addNewEnv()
-                        .withName("SSH_ENABLED")
-                        .withValue("true")
-                    .endEnv()
-                    .addNewEnv()
-                        .withName("WORKSPACE_USER")
-                        .withValue(student.getUsername())
-                    .endEnv()
-                    .withNewResources()
-                        .addToRequests("memory", new Quantity("256Mi"))
-                        .addToRequests("cpu", new Quantity("100m"))
-                        .addToLimits("memory", new Quantity("512Mi"))
-                        .addToLimits("cpu", new Quantity("500m"))
-                    .endResources()
-                    .build();
-            
-            // Build the pod in student's namespace
-            Pod pod = new PodBuilder()
-                    .withNewMetadata()
-                        .withName(containerName)
-                        .withNamespace(studentNamespace)
-                        .withLabels(labels)
-                    .endMetadata()
-                    .withNewSpec()
-                        .addToContainers(container)
-                        .withRestartPolicy("Always")
-                    .endSpec()
-                    .build();
+            Pod pod = buildStudentPod(containerName, student, studentNamespace);
+            Map<String, String> labels = pod.getMetadata().getLabels();
             
             // Create the pod in student's namespace
-            kubernetesClient.pods().inNamespace(studentNamespace).resource(pod).create();
+            Pod createdPod = kubernetesClient.pods().inNamespace(studentNamespace).resource(pod).create();
             
-            // Create NodePort service for SSH access in student's namespace
-            createNodePortService(containerName, labels, studentNamespace);
+            // Create NodePort service for SSH access in student's namespace (the gateway needs none)
+            if (!sshGatewayEnabled) {
+                createNodePortService(containerName, labels, studentNamespace, createdPod);
+            }
             
             log.info("Created Kubernetes pod {} with SSH-enabled image for student {} in namespace {}", 
                     containerName, student.getUsername(), studentNamespace);
@@ -526,10 +513,81 @@ public class ContainerInstanceService {
         return containerName;
     }
     
+    /**
+     * Build the SSH-enabled student pod spec (no API calls, no service state)
+     */
+    static Pod buildStudentPod(String containerName, User student, String studentNamespace) {
+        Map<String, String> labels = new HashMap<>();
+        labels.put("app", containerName);
+        labels.put("owner", student.getUsername());
+        labels.put("type", "student-container");
+        labels.put("ssh-enabled", "true");
+        labels.put("managed-by", "thesis-platform");
+        
+        // Create a container with SSH enabled using our custom SSH image
+        Container container = new ContainerBuilder()
+                .withName("main-container")
+                .withImage("thesis-ssh-container:latest") // Use our SSH-enabled image
+                .withImagePullPolicy("Never") // Use local image in Minikube
+                .addNewPort()
+                    .withContainerPort(22)
+                    .withProtocol("TCP")
+                    .withName("ssh")
+                .endPort()
+                .addNewEnv()
+                    .withName("ROOT_PASSWORD")
+                    .withValue("student123") // Simple password for educational purposes
+                .endEnv()
+                .addNewEnv()
+                    .withName("SSH_ENABLED")
+                    .withValue("true")
+                .endEnv()
+                .addNewEnv()
+                    .withName("WORKSPACE_USER")
+                    .withValue(student.getUsername())
+                .endEnv()
+                .addNewVolumeMount()
+                    .withName(CompiledPodSpec.CREDENTIALS_VOLUME)
+                    .withMountPath(CompiledPodSpec.CREDENTIALS_PATH)
+                    .withReadOnly(true)
+                .endVolumeMount()
+                .withNewResources()
+                    .addToRequests("memory", new Quantity("256Mi"))
+                    .addToRequests("cpu", new Quantity("100m"))
+                    .addToLimits("memory", new Quantity("512Mi"))
+                    .addToLimits("cpu", new Quantity("500m"))
+                .endResources()
+                .build();
+        
+        // Build the pod in student's namespace
+        Pod pod = new PodBuilder()
+                .withNewMetadata()
+                    .withName(containerName)
+                    .withNamespace(studentNamespace)
+                    .withLabels(labels)
+                .endMetadata()
+                .withNewSpec()
+                    .addToContainers(container)
+                    // Optional so the pod starts before the student's first SSH grant
+                    .addNewVolume()
+                        .withName(CompiledPodSpec.CREDENTIALS_VOLUME)
+                        .withNewSecret()
+                            .withSecretName(SshCredentialSecretService.secretNameFor(student))
+                            .withOptional(true)
+                            .withDefaultMode(0400)
+                        .endSecret()
+                    .endVolume()
+                    .withRestartPolicy("Always")
+                .endSpec()
+                .build();
+        
+        return pod;
+    }
+    
     /**
      * Create NodePort service for SSH access to a container
      */
-    private void createNodePortService(String containerName, Map<String, String> labels, String targetNamespace) {
+    private void createNodePortService(String containerName, Map<String, String> labels, String targetNamespace, Pod owner) {
         try {
             // Calculate a unique NodePort (30000-32767 range in Kubernetes)
             int nodePort = 30000 + Math.abs(containerName.hashCode() % 2767);
@@ -539,6 +597,8 @@ public class ContainerInstanceService {
                         .withName(containerName + "-ssh")
                         .withNamespace(targetNamespace)
                         .withLabels(labels)
+                        // Deleted by Kubernetes together with the pod
+                        .withOwnerReferences(ManagedResources.ownerReference(owner))
                     .endMetadata()
                     .withNewSpec()
                         .withType("NodePort")
@@ -575,10 +635,14 @@ public class ContainerInstanceService {
      */
     public Integer getContainerSshPort(String containerName, String targetNamespace) {
         try {
-            io.fabric8.kubernetes.api.model.Service service = kubernetesClient.services()
-                    .inNamespace(targetNamespace)
-                    .withName(containerName + "-ssh")
-                    .get();
+            io.fabric8.kubernetes.api.model.Service service = resourceCache.servicesReady()
+                    ? resourceCache.service(targetNamespace, containerName + "-ssh") : null;
+            if (service == null) {
+                service = kubernetesClient.services()
+                        .inNamespace(targetNamespace)
+                        .withName(containerName + "-ssh")
+                        .get();
+            }
             
             if (service != null && service.getSpec().getPorts() != null && !service.getSpec().getPorts().isEmpty()) {
                 return service.getSpec().getPorts().get(0).getNodePort();
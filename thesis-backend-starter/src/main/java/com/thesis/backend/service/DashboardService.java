@@ -0,0 +1,219 @@
+package com.thesis.backend.service;
+
+import com.thesis.backend.entity.ContainerInstance;
+import com.thesis.backend.entity.User;
+import com.thesis.backend.model.KubernetesPod;
+import com.thesis.backend.repository.ImageTemplateRepository;
+import com.thesis.backend.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Composes the dashboard document that used to take five requests. Sections are computed
+ * concurrently on a bounded pool, each with its own timeout; a section that fails, times out or is
+ * rejected by a full pool comes back as null and is listed in unavailableSections while the rest of
+ * the document is still returned. Complete documents are cached briefly per role (per user for
+ * students, whose sections are their own).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DashboardService {
+
+    // Student documents are cached per user; expired ones are swept once the map grows past this
+    private static final int MAX_CACHED = 256;
+
+    private final ContainerInstanceService containerInstanceService;
+    private final UserRepository userRepository;
+    private final ImageTemplateRepository imageTemplateRepository;
+    private final PodService podService;
+    private final ActivityService activityService;
+    private final SystemStatusService systemStatusService;
+
+    @Value("${dashboard.threads:8}")
+    private int threads;
+
+    @Value("${dashboard.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${dashboard.section-timeout-ms:2000}")
+    private long sectionTimeoutMs;
+
+    @Value("${dashboard.cache-ttl-ms:5000}")
+    private long cacheTtlMs;
+
+    private ExecutorService executor;
+    private final Map<String, CachedDashboard> cache = new ConcurrentHashMap<>();
+
+    // Concurrent requests for the same key share one computation
+    private record CachedDashboard(CompletableFuture<Map<String, Object>> document, long expiresAt) {
+    }
+
+    @PostConstruct
+    void startExecutor() {
+        AtomicInteger count = new AtomicInteger();
+        // Bounded queue: under overload sections are rejected (and reported unavailable) instead of piling up
+        executor = new ThreadPoolExecutor(Math.max(1, threads), Math.max(1, threads), 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "dashboard-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    void stopExecutor() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Dashboard document for the user, from the cache when a fresh one exists
+     */
+    public Map<String, Object> getDashboard(User user) {
+        String key = isStaff(user) ? user.getRole() : "user-" + user.getId();
+        long now = System.currentTimeMillis();
+        if (cache.size() > MAX_CACHED) {
+            cache.values().removeIf(cached -> cached.expiresAt() <= now);
+        }
+        CachedDashboard entry = cache.compute(key, (k, cached) -> cached != null && cached.expiresAt() > now
+                ? cached
+                : new CachedDashboard(compose(user), now + cacheTtlMs));
+
+        Map<String, Object> document = entry.document().join();
+        if (!((List<?>) document.get("unavailableSections")).isEmpty()) {
+            // Partial documents are served once but never reused
+            cache.remove(key, entry);
+        }
+        return document;
+    }
+
+    /**
+     * Container counts by status (also served by /api/containers/stats)
+     */
+    public Map<String, Object> containerStats() {
+        List<ContainerInstance> containers = containerInstanceService.getAllContainers();
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("total", (long) containers.size());
+        stats.put("running", countStatus(containers, "Running"));
+        stats.put("stopped", countStatus(containers, "Stopped"));
+        stats.put("pending", countStatus(containers, "Pending"));
+        return stats;
+    }
+
+    /**
+     * User counts by role (also served by /api/users/stats)
+     */
+    public Map<String, Object> userStats() {
+        List<User> allUsers = userRepository.findAll();
+
+        long totalUsers = allUsers.size();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("total", totalUsers);
+        stats.put("students", allUsers.stream().filter(user -> "ROLE_STUDENT".equals(user.getRole())).count());
+        stats.put("teachers", allUsers.stream().filter(user -> "ROLE_TEACHER".equals(user.getRole())).count());
+        stats.put("admins", allUsers.stream().filter(user -> "ROLE_ADMIN".equals(user.getRole())).count());
+        stats.put("active", totalUsers); // Assuming all users are active for now
+        return stats;
+    }
+
+    private CompletableFuture<Map<String, Object>> compose(User user) {
+        Map<String, CompletableFuture<Object>> sections = new LinkedHashMap<>();
+        if (isStaff(user)) {
+            sections.put("containers", section(this::containerStats));
+            sections.put("users", section(this::userStats));
+            sections.put("pods", section(this::podStats));
+            sections.put("templates", section(imageTemplateRepository::count));
+            sections.put("recentActivities", section(activityService::recentActivities));
+            sections.put("systemStatus", section(systemStatusService::getStatus));
+        } else {
+            sections.put("containers", section(() -> myContainerStats(user)));
+            sections.put("recentActivities", section(() -> activityService.userActivities(user)));
+        }
+
+        return CompletableFuture.allOf(sections.values().toArray(new CompletableFuture[0]))
+                .handle((ignored, failure) -> {
+                    Map<String, Object> document = new LinkedHashMap<>();
+                    List<String> unavailable = new ArrayList<>();
+                    sections.forEach((name, future) -> {
+                        Object value = future.isCompletedExceptionally() ? null : future.join();
+                        if (value == null) {
+                            unavailable.add(name);
+                        }
+                        document.put(name, value);
+                    });
+                    document.put("role", user.getRole());
+                    document.put("generatedAt", LocalDateTime.now().toString());
+                    document.put("unavailableSections", unavailable);
+                    if (!unavailable.isEmpty()) {
+                        log.warn("Dashboard for {} is missing sections {}", user.getUsername(), unavailable);
+                    }
+                    return document;
+                });
+    }
+
+    private CompletableFuture<Object> section(Supplier<?> supplier) {
+        try {
+            return CompletableFuture.<Object>supplyAsync(supplier, executor)
+                    .orTimeout(sectionTimeoutMs, TimeUnit.MILLISECONDS)
+                    .whenComplete((value, failure) -> {
+                        if (failure instanceof TimeoutException) {
+                            log.debug("Dashboard section timed out after {} ms", sectionTimeoutMs);
+                        } else if (failure != null) {
+                            log.warn("Dashboard section failed: {}", failure.getMessage());
+                        }
+                    });
+        } catch (RejectedExecutionException e) {
+            log.warn("Dashboard executor saturated, skipping section");
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private Map<String, Object> podStats() {
+        List<KubernetesPod> pods = podService.getAllPods(true, true, false).getItems();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("total", (long) pods.size());
+        stats.put("running", pods.stream().filter(pod -> "Running".equals(pod.getStatus())).count());
+        return stats;
+    }
+
+    private Map<String, Object> myContainerStats(User user) {
+        List<ContainerInstance> containers = containerInstanceService.getStudentContainers(user);
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("total", (long) containers.size());
+        stats.put("running", countStatus(containers, "Running"));
+        return stats;
+    }
+
+    private static long countStatus(List<ContainerInstance> containers, String status) {
+        return containers.stream().filter(container -> status.equalsIgnoreCase(container.getStatus())).count();
+    }
+
+    private static boolean isStaff(User user) {
+        return "ROLE_TEACHER".equals(user.getRole())
+                || "ROLE_ADMIN".equals(user.getRole())
+                || "ROLE_SUPER_ADMIN".equals(user.getRole());
+    }
+}
@@ -1,12 +1,20 @@
 package com.thesis.backend.service;
 
+import com.thesis.backend.kubernetes.KubernetesResourceCache;
+import com.thesis.backend.kubernetes.ManagedResources;
 import com.thesis.backend.model.KubernetesDeployment;
+import com.thesis.backend.model.KubernetesListResult;
+import io.fabric8.kubernetes.api.model.ListOptions;
+import io.fabric8.kubernetes.api.model.ListOptionsBuilder;
 import io.fabric8.kubernetes.api.model.apps.Deployment;
 import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder;
+import io.fabric8.kubernetes.api.model.apps.DeploymentList;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -18,30 +26,70 @@ public class DeploymentService {
     @Autowired
     private KubernetesClient kubernetesClient;
 
+    @Autowired
+    private KubernetesResourceCache resourceCache;
+
+    @Value("${kubernetes.list.page-size:500}")
+    private long pageSize;
+
     /**
-     * Get all deployments in the current namespace or in all namespaces if specified
+     * Get all deployments in the current namespace or in all namespaces if specified. Managed-only
+     * listings are served from the informer cache unless consistent is set; otherwise fetched in pages of kubernetes.list.page-size.
      */
-    public List<KubernetesDeployment> getAllDeployments(boolean allNamespaces) {
-        List<Deployment> deployments;
-        if (allNamespaces) {
-            deployments = kubernetesClient.apps().deployments().inAnyNamespace().list().getItems();
-        } else {
-            deployments = kubernetesClient.apps().deployments().list().getItems();
+    public KubernetesListResult<KubernetesDeployment> getAllDeployments(boolean allNamespaces, boolean managedOnly,
+                                                                        boolean consistent) {
+        String namespace = allNamespaces ? null : kubernetesClient.getNamespace();
+        if (!consistent && managedOnly && resourceCache.deploymentsReady()) {
+            return mapCached(resourceCache.deployments(namespace));
         }
 
-        return deployments.stream()
+        List<KubernetesDeployment> deployments = new ArrayList<>();
+        String continueToken = null;
+        KubernetesListResult<KubernetesDeployment> page;
+        do {
+            page = listDeployments(allNamespaces, managedOnly, pageSize, continueToken);
+            deployments.addAll(page.getItems());
+            continueToken = page.getContinueToken();
+        } while (page.hasMore());
+        return new KubernetesListResult<>(deployments, null, page.getResourceVersion());
+    }
+
+    /**
+     * Get one page of deployments, optionally restricted to platform-managed ones by a server-side label selector
+     */
+    public KubernetesListResult<KubernetesDeployment> listDeployments(boolean allNamespaces, boolean managedOnly,
+                                                                      long limit, String continueToken) {
+        ListOptions options = new ListOptionsBuilder()
+                .withLimit(limit)
+                .withContinue(continueToken)
+                .withLabelSelector(managedOnly ? ManagedResources.SELECTOR : null)
+                .build();
+        DeploymentList page = allNamespaces
+                ? kubernetesClient.apps().deployments().inAnyNamespace().list(options)
+                : kubernetesClient.apps().deployments().list(options);
+
+        List<KubernetesDeployment> items = page.getItems().stream()
                 .map(this::mapDeploymentToDto)
                 .collect(Collectors.toList());
+        return new KubernetesListResult<>(items, page.getMetadata().getContinue(), page.getMetadata().getResourceVersion());
     }
 
     /**
-     * Get deployments in a specific namespace
+     * Get deployments in a specific namespace; always live, the cache only holds platform-managed ones
      */
-    public List<KubernetesDeployment> getDeploymentsInNamespace(String namespace) {
-        List<Deployment> deployments = kubernetesClient.apps().deployments().inNamespace(namespace).list().getItems();
-        return deployments.stream()
+    public KubernetesListResult<KubernetesDeployment> getDeploymentsInNamespace(String namespace, boolean consistent) {
+        DeploymentList deployments = kubernetesClient.apps().deployments().inNamespace(namespace).list();
+        List<KubernetesDeployment> items = deployments.getItems().stream()
+                .map(this::mapDeploymentToDto)
+                .collect(Collectors.toList());
+        return new KubernetesListResult<>(items, null, deployments.getMetadata().getResourceVersion());
+    }
+
+    private KubernetesListResult<KubernetesDeployment> mapCached(KubernetesListResult<Deployment> cached) {
+        List<KubernetesDeployment> items = cached.getItems().stream()
                 .map(this::mapDeploymentToDto)
                 .collect(Collectors.toList());
+        return new KubernetesListResult<>(items, null, cached.getResourceVersion());
     }
 
     /**
@@ -69,6 +117,7 @@ public class DeploymentService {
             labels = new HashMap<>();
         }
         labels.put("app", name);
+        labels.put(ManagedResources.LABEL, ManagedResources.VALUE);
 
         Deployment deployment = new DeploymentBuilder()
                 .withNewMetadata()
@@ -153,7 +202,7 @@ public class DeploymentService {
     /**
      * Map Kubernetes Deployment to a simplified DTO
      */
-    private KubernetesDeployment mapDeploymentToDto(Deployment deployment) {
+    KubernetesDeployment mapDeploymentToDto(Deployment deployment) {
         KubernetesDeployment kubernetesDeployment = new KubernetesDeployment();
         kubernetesDeployment.setName(deployment.getMetadata().getName());
         kubernetesDeployment.setNamespace(deployment.getMetadata().getNamespace());
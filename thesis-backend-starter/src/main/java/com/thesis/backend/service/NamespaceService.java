@@ -1,6 +1,10 @@
 package com.thesis.backend.service;
 
 import com.thesis.backend.entity.User;
+import com.thesis.backend.kubernetes.KubernetesResourceCache;
+import com.thesis.backend.kubernetes.ManagedResources;
+import com.thesis.backend.kubernetes.MetadataLister;
+import com.thesis.backend.model.KubernetesListResult;
 import com.thesis.backend.model.KubernetesNamespace;
 import io.fabric8.kubernetes.api.model.*;
 import io.fabric8.kubernetes.api.model.rbac.*;
@@ -10,6 +14,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -20,6 +25,11 @@ import java.util.stream.Collectors;
 public class NamespaceService {
 
     private final KubernetesClient kubernetesClient;
+    private final MetadataLister metadataLister;
+    private final KubernetesResourceCache resourceCache;
+    
+    @Value("${kubernetes.list.page-size:500}")
+    private long pageSize;
     
     @Value("${kubernetes.namespace.prefix:student-}")
     private String namespacePrefix;
@@ -28,12 +38,40 @@ public class NamespaceService {
     private boolean rbacEnabled;
 
     /**
-     * Get all namespaces
+     * Get all namespaces; managed-only listings come from the informer cache, everything else (or
+     * consistent reads) by paging through metadata-only lists
+     */
+    public KubernetesListResult<KubernetesNamespace> getAllNamespaces(boolean managedOnly, boolean consistent) {
+        if (!consistent && managedOnly && resourceCache.namespacesReady()) {
+            KubernetesListResult<Namespace> cached = resourceCache.namespaces();
+            List<KubernetesNamespace> items = cached.getItems().stream()
+                    .map(this::mapNamespaceToDto)
+                    .collect(Collectors.toList());
+            return new KubernetesListResult<>(items, null, cached.getResourceVersion());
+        }
+
+        List<KubernetesNamespace> namespaces = new ArrayList<>();
+        String continueToken = null;
+        KubernetesListResult<KubernetesNamespace> page;
+        do {
+            page = listNamespaces(managedOnly, pageSize, continueToken);
+            namespaces.addAll(page.getItems());
+            continueToken = page.getContinueToken();
+        } while (page.hasMore());
+        return new KubernetesListResult<>(namespaces, null, page.getResourceVersion());
+    }
+
+    /**
+     * Get one page of namespaces. Only metadata is fetched; the phase is derived from the deletion timestamp.
      */
-    public List<KubernetesNamespace> getAllNamespaces() {
-        return kubernetesClient.namespaces().list().getItems()
-                .stream().map(this::mapNamespaceToDto)
+    public KubernetesListResult<KubernetesNamespace> listNamespaces(boolean managedOnly, long limit, String continueToken) {
+        KubernetesListResult<PartialObjectMetadata> page = metadataLister.list("/api/v1/namespaces",
+                managedOnly ? ManagedResources.SELECTOR : null, limit, continueToken);
+
+        List<KubernetesNamespace> items = page.getItems().stream()
+                .map(this::mapNamespaceMetadataToDto)
                 .collect(Collectors.toList());
+        return new KubernetesListResult<>(items, page.getContinueToken(), page.getResourceVersion());
     }
 
     /**
@@ -90,6 +128,17 @@ public class NamespaceService {
         return kubernetesNamespace;
     }
 
+    private KubernetesNamespace mapNamespaceMetadataToDto(PartialObjectMetadata metadata) {
+        KubernetesNamespace kubernetesNamespace = new KubernetesNamespace();
+        kubernetesNamespace.setName(metadata.getMetadata().getName());
+        kubernetesNamespace.setStatus(metadata.getMetadata().getDeletionTimestamp() != null ? "Terminating" : "Active");
+        kubernetesNamespace.setCreationTimestamp(metadata.getMetadata().getCreationTimestamp());
+        if (metadata.getMetadata().getLabels() != null) {
+            kubernetesNamespace.setLabels(metadata.getMetadata().getLabels());
+        }
+        return kubernetesNamespace;
+    }
+
     /**
      * Create a dedicated namespace for a student with RBAC
      */
@@ -385,14 +434,13 @@ public class NamespaceService {
         String namespaceName = generateNamespaceName(student);
         
         try {
-            // Delete all pods
-            kubernetesClient.pods().inNamespace(namespaceName).delete();
-            
-            // Delete all services
-            kubernetesClient.services().inNamespace(namespaceName).delete();
-            
-            // Delete all configmaps
-            kubernetesClient.configMaps().inNamespace(namespaceName).delete();
+            // Collection deletes; dependents are removed by the cluster in the background
+            kubernetesClient.pods().inNamespace(namespaceName)
+                    .withPropagationPolicy(DeletionPropagation.BACKGROUND).delete();
+            kubernetesClient.services().inNamespace(namespaceName)
+                    .withPropagationPolicy(DeletionPropagation.BACKGROUND).delete();
+            kubernetesClient.configMaps().inNamespace(namespaceName)
+                    .withPropagationPolicy(DeletionPropagation.BACKGROUND).delete();
             
             log.info("Cleaned up resources in namespace: {} for student: {}", namespaceName, student.getUsername());
         } catch (Exception e) {
@@ -412,12 +460,14 @@ public class NamespaceService {
             
             log.info("Deleting namespace: {}", namespaceName);
             
-            // Delete the namespace (this will cascade delete all resources in it)
+            // Delete the namespace (this will cascade delete all resources in it); returns once
+            // the namespace is Terminating, the contents are removed in the background
             kubernetesClient.namespaces()
                     .withName(namespaceName)
+                    .withPropagationPolicy(DeletionPropagation.BACKGROUND)
                     .delete();
             
-            log.info("Successfully deleted namespace: {}", namespaceName);
+            log.info("Namespace {} is terminating", namespaceName);
             
         } catch (Exception e) {
             log.error("Failed to delete namespace: {}", namespaceName, e);
@@ -0,0 +1,322 @@
+package com.thesis.backend.service;
+
+import com.thesis.backend.dto.OrphanCollectionReport;
+import com.thesis.backend.entity.ContainerInstance;
+import com.thesis.backend.entity.SshConnection;
+import com.thesis.backend.kubernetes.KubernetesResourceCache;
+import com.thesis.backend.kubernetes.ManagedResources;
+import com.thesis.backend.repository.ContainerInstanceRepository;
+import com.thesis.backend.repository.SshConnectionRepository;
+import io.fabric8.kubernetes.api.model.Container;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.KubernetesResourceList;
+import io.fabric8.kubernetes.api.model.ListOptions;
+import io.fabric8.kubernetes.api.model.ListOptionsBuilder;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Periodically reconciles the database with the cluster. Student pods, SSH Services and workspace
+ * PVCs without a ContainerInstance row are deleted; containers whose pod is gone are marked Stopped
+ * and their active SSH connections revoked. Objects younger than the grace period are left alone so
+ * a container that is still being provisioned is never collected.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrphanResourceCollector {
+
+    // Only objects created for student containers; pods created through /api/kubernetes have no DB row by design
+    private static final String STUDENT_CONTAINER_SELECTOR = ManagedResources.SELECTOR + ",type=student-container";
+    private static final Set<String> INACTIVE_STATUSES = Set.of("Stopped", "Deleted", "Failed", "Succeeded");
+
+    private final ContainerInstanceRepository containerInstanceRepository;
+    private final SshConnectionRepository sshConnectionRepository;
+    private final ContainerInstanceService containerInstanceService;
+    private final SshConnectionService sshConnectionService;
+    private final KubernetesClient kubernetesClient;
+    private final KubernetesResourceCache resourceCache;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${kubernetes.gc.enabled:true}")
+    private boolean enabled;
+
+    // Scheduled runs only report until every legacy row resolves to its pod
+    @Value("${kubernetes.gc.dry-run:true}")
+    private boolean dryRun;
+
+    // Where containers lived before per-user namespaces; legacy rows still point there
+    @Value("${ssh.container.namespace:default}")
+    private String sharedNamespace;
+
+    @Value("${kubernetes.gc.grace-period-minutes:10}")
+    private long gracePeriodMinutes;
+
+    @Value("${kubernetes.list.page-size:500}")
+    private long pageSize;
+
+    private final Deque<OrphanCollectionReport> reports = new ArrayDeque<>();
+    private static final int REPORT_HISTORY = 20;
+
+    @Scheduled(fixedDelayString = "${kubernetes.gc.interval-ms:300000}",
+            initialDelayString = "${kubernetes.gc.initial-delay-ms:60000}")
+    public void scheduledCollect() {
+        if (enabled) {
+            collect(dryRun);
+        }
+    }
+
+    /**
+     * Run one collection. Aborts without changing anything if the cluster cannot be listed.
+     */
+    public synchronized OrphanCollectionReport collect(boolean dryRun) {
+        long started = System.nanoTime();
+        OrphanCollectionReport report = new OrphanCollectionReport();
+        report.setStartedAt(LocalDateTime.now());
+        report.setDryRun(dryRun);
+
+        List<Pod> pods;
+        List<io.fabric8.kubernetes.api.model.Service> services;
+        List<PersistentVolumeClaim> claims;
+        try {
+            pods = resourceCache.podsReady()
+                    ? resourceCache.pods(null).getItems()
+                    : listAll(options -> kubernetesClient.pods().inAnyNamespace().list(options), ManagedResources.SELECTOR);
+            services = resourceCache.servicesReady()
+                    ? resourceCache.services(null).getItems()
+                    : listAll(options -> kubernetesClient.services().inAnyNamespace().list(options), ManagedResources.SELECTOR);
+            claims = listAll(options -> kubernetesClient.persistentVolumeClaims().inAnyNamespace().list(options),
+                    STUDENT_CONTAINER_SELECTOR);
+        } catch (Exception e) {
+            // Never treat an unreachable cluster as an empty one
+            log.warn("Orphan collection skipped, cluster listing failed: {}", e.getMessage());
+            report.setAborted(true);
+            report.getErrors().add("Cluster listing failed: " + e.getMessage());
+            return finish(report, started);
+        }
+
+        List<ContainerInstance> instances = containerInstanceRepository.findAll();
+        // Keyed by namespace/name: pod names are only unique within a student's namespace
+        Set<String> knownPods = instances.stream()
+                .filter(instance -> instance.getKubernetesPodName() != null)
+                .flatMap(instance -> Stream.of(podKey(instance), sharedPodKey(instance)))
+                .collect(Collectors.toSet());
+        Set<String> clusterPods = pods.stream()
+                .filter(pod -> pod.getMetadata().getDeletionTimestamp() == null)
+                .map(OrphanResourceCollector::key)
+                .collect(Collectors.toSet());
+        Instant cutoff = Instant.now().minus(Duration.ofMinutes(gracePeriodMinutes));
+
+        for (Pod pod : pods) {
+            Map<String, String> labels = pod.getMetadata().getLabels();
+            if (labels == null || !"student-container".equals(labels.get("type"))
+                    || knownPods.contains(key(pod)) || !olderThan(pod, cutoff)
+                    || pod.getMetadata().getDeletionTimestamp() != null) {
+                continue;
+            }
+            if (delete(report, "pod", pod, () -> kubernetesClient.pods()
+                    .inNamespace(pod.getMetadata().getNamespace()).withName(pod.getMetadata().getName()).delete())) {
+                report.getDeletedPods().add(key(pod));
+                addPodRequests(report, pod);
+            }
+        }
+
+        for (io.fabric8.kubernetes.api.model.Service service : services) {
+            String name = service.getMetadata().getName();
+            if (!name.endsWith("-ssh") || !olderThan(service, cutoff)) {
+                continue;
+            }
+            String podKey = service.getMetadata().getNamespace() + "/" + name.substring(0, name.length() - "-ssh".length());
+            if (knownPods.contains(podKey) && clusterPods.contains(podKey)) {
+                continue;
+            }
+            if (delete(report, "service", service, () -> kubernetesClient.services()
+                    .inNamespace(service.getMetadata().getNamespace()).withName(name).delete())) {
+                report.getDeletedServices().add(key(service));
+            }
+        }
+
+        for (PersistentVolumeClaim claim : claims) {
+            String name = claim.getMetadata().getName();
+            if (!name.endsWith("-pvc")
+                    || knownPods.contains(claim.getMetadata().getNamespace() + "/" + name.substring(0, name.length() - "-pvc".length()))
+                    || !olderThan(claim, cutoff)) {
+                continue;
+            }
+            if (delete(report, "pvc", claim, () -> kubernetesClient.persistentVolumeClaims()
+                    .inNamespace(claim.getMetadata().getNamespace()).withName(name).delete())) {
+                report.getDeletedClaims().add(key(claim));
+                Quantity storage = claim.getSpec() != null && claim.getSpec().getResources() != null
+                        && claim.getSpec().getResources().getRequests() != null
+                        ? claim.getSpec().getResources().getRequests().get("storage") : null;
+                report.setReclaimedStorageBytes(report.getReclaimedStorageBytes() + bytes(storage));
+            }
+        }
+
+        reconcileRows(report, instances, clusterPods, cutoff);
+        return finish(report, started);
+    }
+
+    public List<OrphanCollectionReport> getReports() {
+        synchronized (reports) {
+            return new ArrayList<>(reports);
+        }
+    }
+
+    /**
+     * Containers that should be running but whose pod is gone are re-checked against the API server
+     * (which marks them Stopped); active SSH connections to stopped containers are revoked
+     */
+    private void reconcileRows(OrphanCollectionReport report, List<ContainerInstance> instances,
+                               Set<String> clusterPods, Instant cutoff) {
+        for (ContainerInstance instance : instances) {
+            if (INACTIVE_STATUSES.contains(instance.getStatus()) || clusterPods.contains(podKey(instance))
+                    || clusterPods.contains(sharedPodKey(instance))
+                    || instance.getCreatedAt() == null
+                    || instance.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().isAfter(cutoff)) {
+                continue;
+            }
+            if (report.isDryRun()) {
+                report.getStoppedContainers().add(instance.getId());
+                continue;
+            }
+            containerInstanceService.updateContainerStatus(instance);
+            if ("Stopped".equals(instance.getStatus())) {
+                report.getStoppedContainers().add(instance.getId());
+                meterRegistry.counter("kubernetes.gc.rows.fixed", "kind", "container").increment();
+            }
+        }
+
+        for (SshConnection connection : sshConnectionRepository.findAllActive()) {
+            ContainerInstance container = connection.getContainerInstance();
+            boolean stopped = container == null || INACTIVE_STATUSES.contains(container.getStatus())
+                    || report.getStoppedContainers().contains(container.getId());
+            if (!stopped) {
+                continue;
+            }
+            report.getRevokedConnections().add(connection.getId());
+            if (!report.isDryRun()) {
+                try {
+                    sshConnectionService.revokeSshAccess(connection.getId());
+                    meterRegistry.counter("kubernetes.gc.rows.fixed", "kind", "ssh-connection").increment();
+                } catch (Exception e) {
+                    report.getErrors().add("Revoking SSH connection " + connection.getId() + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private boolean delete(OrphanCollectionReport report, String kind, HasMetadata item, Runnable deletion) {
+        if (report.isDryRun()) {
+            return true;
+        }
+        try {
+            deletion.run();
+            meterRegistry.counter("kubernetes.gc.deleted", "kind", kind).increment();
+            log.info("Deleted orphaned {} {}", kind, key(item));
+            return true;
+        } catch (Exception e) {
+            log.warn("Failed to delete orphaned {} {}: {}", kind, key(item), e.getMessage());
+            report.getErrors().add("Deleting " + kind + " " + key(item) + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    private OrphanCollectionReport finish(OrphanCollectionReport report, long started) {
+        report.setDurationMs(Duration.ofNanos(System.nanoTime() - started).toMillis());
+        synchronized (reports) {
+            reports.addFirst(report);
+            while (reports.size() > REPORT_HISTORY) {
+                reports.removeLast();
+            }
+        }
+        if (!report.getDeletedPods().isEmpty() || !report.getDeletedServices().isEmpty()
+                || !report.getDeletedClaims().isEmpty() || !report.getStoppedContainers().isEmpty()) {
+            log.info("Orphan collection{}: {} pods, {} services, {} PVCs, {} containers stopped, {} SSH connections revoked, "
+                            + "reclaimed {}m CPU / {} bytes memory",
+                    report.isDryRun() ? " (dry run)" : "", report.getDeletedPods().size(), report.getDeletedServices().size(),
+                    report.getDeletedClaims().size(), report.getStoppedContainers().size(),
+                    report.getRevokedConnections().size(), report.getReclaimedCpuMillis(), report.getReclaimedMemoryBytes());
+        }
+        return report;
+    }
+
+    private <T extends HasMetadata> List<T> listAll(Function<ListOptions, ? extends KubernetesResourceList<T>> lister,
+                                                    String labelSelector) {
+        List<T> items = new ArrayList<>();
+        String continueToken = null;
+        do {
+            KubernetesResourceList<T> page = lister.apply(new ListOptionsBuilder()
+                    .withLabelSelector(labelSelector)
+                    .withLimit(pageSize)
+                    .withContinue(continueToken)
+                    .build());
+            items.addAll(page.getItems());
+            continueToken = page.getMetadata().getContinue();
+        } while (continueToken != null && !continueToken.isEmpty());
+        return items;
+    }
+
+    private static void addPodRequests(OrphanCollectionReport report, Pod pod) {
+        if (pod.getSpec() == null || pod.getSpec().getContainers() == null) {
+            return;
+        }
+        for (Container container : pod.getSpec().getContainers()) {
+            if (container.getResources() == null || container.getResources().getRequests() == null) {
+                continue;
+            }
+            Map<String, Quantity> requests = container.getResources().getRequests();
+            report.setReclaimedCpuMillis(report.getReclaimedCpuMillis()
+                    + Quantity.getAmountInBytes(requests.getOrDefault("cpu", new Quantity("0")))
+                            .multiply(BigDecimal.valueOf(1000)).longValue());
+            report.setReclaimedMemoryBytes(report.getReclaimedMemoryBytes() + bytes(requests.get("memory")));
+        }
+    }
+
+    private static long bytes(Quantity quantity) {
+        return quantity == null ? 0 : Quantity.getAmountInBytes(quantity).longValue();
+    }
+
+    private static boolean olderThan(HasMetadata item, Instant cutoff) {
+        String created = item.getMetadata().getCreationTimestamp();
+        return created != null && Instant.parse(created).isBefore(cutoff);
+    }
+
+    private String podKey(ContainerInstance instance) {
+        return containerInstanceService.namespaceFor(instance) + "/" + instance.getKubernetesPodName();
+    }
+
+    /**
+     * Key of the pod if it was created before the owner got a namespace of their own
+     */
+    private String sharedPodKey(ContainerInstance instance) {
+        return sharedNamespace + "/" + instance.getKubernetesPodName();
+    }
+
+    private static String key(HasMetadata item) {
+        return item.getMetadata().getNamespace() + "/" + item.getMetadata().getName();
+    }
+}
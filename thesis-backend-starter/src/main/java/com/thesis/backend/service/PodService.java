@@ -1,14 +1,22 @@
 package com.thesis.backend.service;
 
+import com.thesis.backend.kubernetes.KubernetesResourceCache;
+import com.thesis.backend.kubernetes.ManagedResources;
+import com.thesis.backend.model.KubernetesListResult;
 import com.thesis.backend.model.KubernetesPod;
+import io.fabric8.kubernetes.api.model.ListOptions;
+import io.fabric8.kubernetes.api.model.ListOptionsBuilder;
 import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodList;
 import io.fabric8.kubernetes.api.model.PodBuilder;
 import io.fabric8.kubernetes.api.model.Quantity;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.dsl.PodResource;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -20,30 +28,70 @@ public class PodService {
     @Autowired
     private KubernetesClient kubernetesClient;
 
+    @Autowired
+    private KubernetesResourceCache resourceCache;
+
+    @Value("${kubernetes.list.page-size:500}")
+    private long pageSize;
+
     /**
-     * Get all pods in the current namespace or in all namespaces if specified
+     * Get all pods in the current namespace or in all namespaces if specified. Managed-only listings
+     * are served from the informer cache unless consistent is set; otherwise fetched in pages of kubernetes.list.page-size
+     * so no single response holds the whole cluster.
      */
-    public List<KubernetesPod> getAllPods(boolean allNamespaces) {
-        List<Pod> pods;
-        if (allNamespaces) {
-            pods = kubernetesClient.pods().inAnyNamespace().list().getItems();
-        } else {
-            pods = kubernetesClient.pods().list().getItems();
+    public KubernetesListResult<KubernetesPod> getAllPods(boolean allNamespaces, boolean managedOnly, boolean consistent) {
+        String namespace = allNamespaces ? null : kubernetesClient.getNamespace();
+        if (!consistent && managedOnly && resourceCache.podsReady()) {
+            return mapCached(resourceCache.pods(namespace));
         }
 
-        return pods.stream()
+        List<KubernetesPod> pods = new ArrayList<>();
+        String continueToken = null;
+        KubernetesListResult<KubernetesPod> page;
+        do {
+            page = listPods(allNamespaces, managedOnly, pageSize, continueToken);
+            pods.addAll(page.getItems());
+            continueToken = page.getContinueToken();
+        } while (page.hasMore());
+        return new KubernetesListResult<>(pods, null, page.getResourceVersion());
+    }
+
+    /**
+     * Get one page of pods, optionally restricted to platform-managed pods by a server-side label selector
+     */
+    public KubernetesListResult<KubernetesPod> listPods(boolean allNamespaces, boolean managedOnly,
+                                                        long limit, String continueToken) {
+        ListOptions options = new ListOptionsBuilder()
+                .withLimit(limit)
+                .withContinue(continueToken)
+                .withLabelSelector(managedOnly ? ManagedResources.SELECTOR : null)
+                .build();
+        PodList page = allNamespaces
+                ? kubernetesClient.pods().inAnyNamespace().list(options)
+                : kubernetesClient.pods().list(options);
+
+        List<KubernetesPod> items = page.getItems().stream()
                 .map(this::mapPodToDto)
                 .collect(Collectors.toList());
+        return new KubernetesListResult<>(items, page.getMetadata().getContinue(), page.getMetadata().getResourceVersion());
     }
 
     /**
-     * Get pods in a specific namespace
+     * Get pods in a specific namespace; always live, the cache only holds platform-managed pods
      */
-    public List<KubernetesPod> getPodsInNamespace(String namespace) {
-        List<Pod> pods = kubernetesClient.pods().inNamespace(namespace).list().getItems();
-        return pods.stream()
+    public KubernetesListResult<KubernetesPod> getPodsInNamespace(String namespace, boolean consistent) {
+        PodList pods = kubernetesClient.pods().inNamespace(namespace).list();
+        List<KubernetesPod> items = pods.getItems().stream()
                 .map(this::mapPodToDto)
                 .collect(Collectors.toList());
+        return new KubernetesListResult<>(items, null, pods.getMetadata().getResourceVersion());
+    }
+
+    private KubernetesListResult<KubernetesPod> mapCached(KubernetesListResult<Pod> cached) {
+        List<KubernetesPod> items = cached.getItems().stream()
+                .map(this::mapPodToDto)
+                .collect(Collectors.toList());
+        return new KubernetesListResult<>(items, null, cached.getResourceVersion());
     }
 
     /**
@@ -79,11 +127,14 @@ public class PodService {
             resourceRequests.put("memory", new Quantity(resources.get("memory-request")));
         }
 
+        Map<String, String> podLabels = labels != null ? new HashMap<>(labels) : new HashMap<>();
+        podLabels.put(ManagedResources.LABEL, ManagedResources.VALUE);
+
         Pod pod = new PodBuilder()
                 .withNewMetadata()
                     .withName(name)
                     .withNamespace(namespace)
-                    .withLabels(labels)
+                    .withLabels(podLabels)
                 .endMetadata()
                 .withNewSpec()
                     .addNewContainer()
@@ -156,7 +207,7 @@ public class PodService {
     /**
      * Map Kubernetes Pod to a simplified DTO
      */
-    private KubernetesPod mapPodToDto(Pod pod) {
+    KubernetesPod mapPodToDto(Pod pod) {
         KubernetesPod kubernetesPod = new KubernetesPod();
         kubernetesPod.setName(pod.getMetadata().getName());
         kubernetesPod.setNamespace(pod.getMetadata().getNamespace());
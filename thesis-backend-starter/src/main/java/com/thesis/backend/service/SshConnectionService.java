@@ -3,17 +3,24 @@ package com.thesis.backend.service;
 import com.thesis.backend.entity.ContainerInstance;
 import com.thesis.backend.entity.SshConnection;
 import com.thesis.backend.entity.User;
+import com.thesis.backend.event.SshConnectionChangedEvent;
+import com.thesis.backend.kubernetes.ManagedResources;
 import com.thesis.backend.repository.SshConnectionRepository;
 import com.thesis.backend.repository.ContainerInstanceRepository;
+import com.thesis.backend.ssh.SshKeys;
 import io.fabric8.kubernetes.api.model.Pod;
-import io.fabric8.kubernetes.api.model.PodBuilder;
 import io.fabric8.kubernetes.api.model.Service;
 import io.fabric8.kubernetes.api.model.ServiceBuilder;
+import io.fabric8.kubernetes.api.model.ServicePort;
 import io.fabric8.kubernetes.api.model.IntOrString;
 import io.fabric8.kubernetes.client.KubernetesClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
 import java.security.SecureRandom;
@@ -21,6 +28,7 @@ import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 @Slf4j
@@ -28,9 +36,14 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class SshConnectionService {
     
+    static final String GRANT_LABEL = "ssh-grant";
+    
     private final SshConnectionRepository sshConnectionRepository;
     private final ContainerInstanceRepository containerInstanceRepository;
     private final KubernetesClient kubernetesClient;
+    private final SshCredentialIndex sshCredentialIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
     
     @Value("${ssh.container.base-port:30000}")
     private int baseSshPort;
@@ -38,12 +51,31 @@ public class SshConnectionService {
     @Value("${ssh.container.namespace:default}")
     private String namespace;
     
+    @Value("${ssh.gateway.enabled:false}")
+    private boolean gatewayEnabled;
+    
+    @Value("${ssh.server.port:2222}")
+    private int gatewayPort;
+    
     private final SecureRandom random = new SecureRandom();
     
+    private Timer grantTimer;
+    
+    @PostConstruct
+    void initMetrics() {
+        grantTimer = Timer.builder("ssh.access.grant")
+                .description("End-to-end time to grant SSH access, including the credential Secret write")
+                .register(meterRegistry);
+    }
+    
     /**
      * Create SSH access for a student to a specific container
      */
     public SshConnection createSshAccess(User student, Long containerInstanceId, Integer durationHours) {
+        return grantTimer.record(() -> grantSshAccess(student, containerInstanceId, durationHours));
+    }
+    
+    private SshConnection grantSshAccess(User student, Long containerInstanceId, Integer durationHours) {
         ContainerInstance container = containerInstanceRepository.findById(containerInstanceId)
                 .orElseThrow(() -> new RuntimeException("Container not found"));
         
@@ -57,13 +89,11 @@ public class SshConnectionService {
             return existingConnection.get();
         }
         
-        // Create SSH-enabled container if not already done
-        String sshEnabledPodName = ensureSshEnabledContainer(container);
-        
         // Generate SSH credentials
         String sshUsername = generateSshUsername(student.getUsername());
         String sshPassword = generateSecurePassword();
-        int sshPort = allocatePort();
+        // Without the gateway: a template container's own NodePort Service, or one created for this grant
+        int sshPort = gatewayEnabled ? gatewayPort : exposeSsh(container);
         
         // Create SSH connection record
         SshConnection sshConnection = SshConnection.builder()
@@ -76,13 +106,28 @@ public class SshConnectionService {
                 .expiresAt(LocalDateTime.now().plusHours(durationHours != null ? durationHours : 24))
                 .build();
         
-        // Update container with SSH details
-        updateContainerWithSshAccess(container, sshUsername, sshPassword, sshPort);
-        
-        // Expose SSH port via Kubernetes Service
-        createSshService(container, sshPort);
+        // Listeners index the credential and project it into the student's Secret,
+        // which the container applies from its mounted volume
+        SshConnection savedConnection = sshConnectionRepository.save(sshConnection);
+        eventPublisher.publishEvent(new SshConnectionChangedEvent(savedConnection));
+        return savedConnection;
+    }
+    
+    /**
+     * Attach (or with null, remove) the OpenSSH public key used for key-based login
+     */
+    public SshConnection updatePublicKey(Long connectionId, String publicKey) {
+        String normalized = publicKey != null ? SshKeys.normalize(publicKey) : null;
+        if (sshConnectionRepository.updatePublicKeyIfActive(connectionId, normalized) == 0) {
+            sshConnectionRepository.findById(connectionId)
+                    .orElseThrow(() -> new RuntimeException("SSH connection not found"));
+            throw new RuntimeException("SSH connection is not active");
+        }
         
-        return sshConnectionRepository.save(sshConnection);
+        SshConnection saved = sshConnectionRepository.findById(connectionId)
+                .orElseThrow(() -> new RuntimeException("SSH connection not found"));
+        eventPublisher.publishEvent(new SshConnectionChangedEvent(saved));
+        return saved;
     }
     
     /**
@@ -99,51 +144,28 @@ public class SshConnectionService {
         SshConnection connection = sshConnectionRepository.findById(connectionId)
                 .orElseThrow(() -> new RuntimeException("SSH connection not found"));
         
+        // Conditional ACTIVE -> INACTIVE; an expiry or another revoke that got there first wins
+        if (sshConnectionRepository.deactivate(connectionId) == 0) {
+            log.debug("SSH connection {} was already inactive ({})", connectionId, connection.getStatus());
+            return;
+        }
         connection.setStatus("INACTIVE");
-        sshConnectionRepository.save(connection);
+        eventPublisher.publishEvent(new SshConnectionChangedEvent(connection));
         
         // Remove SSH service
-        removeSshService(connection.getContainerInstance());
-        
-        log.info("SSH access revoked for connection {}", connectionId);
-    }
-    
-    /**
-     * Clean up expired connections
-     */
-    public void cleanupExpiredConnections() {
-        List<SshConnection> expiredConnections = sshConnectionRepository
-                .findExpiredConnections(LocalDateTime.now());
-        
-        for (SshConnection connection : expiredConnections) {
-            connection.setStatus("EXPIRED");
-            sshConnectionRepository.save(connection);
+        if (!gatewayEnabled) {
             removeSshService(connection.getContainerInstance());
         }
         
-        log.info("Cleaned up {} expired SSH connections", expiredConnections.size());
+        log.info("SSH access revoked for connection {}", connectionId);
     }
     
     /**
-     * Authenticate SSH connection
+     * Authenticate SSH connection against the in-memory credential index (no DB access;
+     * lastAccessed is written back in batches by the index)
      */
     public boolean authenticateSshUser(String username, String password) {
-        Optional<SshConnection> connection = sshConnectionRepository.findActiveBySshUsername(username);
-        
-        if (connection.isPresent()) {
-            SshConnection conn = connection.get();
-            if (conn.getSshPassword().equals(password) && 
-                conn.getExpiresAt().isAfter(LocalDateTime.now())) {
-                
-                // Update last accessed time
-                conn.setLastAccessed(LocalDateTime.now());
-                sshConnectionRepository.save(conn);
-                
-                return true;
-            }
-        }
-        
-        return false;
+        return sshCredentialIndex.authenticate(username, password).isPresent();
     }
     
     /**
@@ -154,151 +176,53 @@ public class SshConnectionService {
     }
     
     /**
-     * Ensure container has SSH capability
-     */
-    private String ensureSshEnabledContainer(ContainerInstance container) {
-        String podName = container.getKubernetesPodName();
-        Pod existingPod = kubernetesClient.pods().inNamespace(namespace).withName(podName).get();
-        
-        if (existingPod == null) {
-            throw new RuntimeException("Container pod not found: " + podName);
-        }
-        
-        // Check if pod already has SSH capability
-        if (podHasSshCapability(existingPod)) {
-            return podName;
-        }
-        
-        // Create new SSH-enabled pod
-        String sshPodName = podName + "-ssh";
-        createSshEnabledPod(existingPod, sshPodName);
-        
-        // Update container instance
-        container.setKubernetesPodName(sshPodName);
-        containerInstanceRepository.save(container);
-        
-        return sshPodName;
-    }
-    
-    /**
-     * Check if pod has SSH capability
-     */
-    private boolean podHasSshCapability(Pod pod) {
-        return pod.getSpec().getContainers().stream()
-                .anyMatch(container -> container.getPorts() != null && 
-                         container.getPorts().stream()
-                                 .anyMatch(port -> port.getContainerPort() == 22));
-    }
-    
-    /**
-     * Create SSH-enabled pod
-     */
-    private void createSshEnabledPod(Pod originalPod, String newPodName) {
-        Map<String, String> labels = new HashMap<>();
-        labels.put("app", newPodName);
-        labels.put("type", "ssh-container");
-        
-        Pod sshPod = new PodBuilder()
-                .withNewMetadata()
-                    .withName(newPodName)
-                    .withNamespace(namespace)
-                    .withLabels(labels)
-                .endMetadata()
-                .withNewSpec()
-                    .addNewContainer()
-                        .withName("ssh-container")
-                        .withImage("thesis-ssh-container:latest")  // Use our custom SSH image
-                        .addNewEnv()
-                            .withName("ROOT_PASSWORD")
-                            .withValue("rootpass123")
-                        .endEnv()
-                        .addNewPort()
-                            .withContainerPort(22)
-                            .withProtocol("TCP")
-                        .endPort()
-                        .withNewResources()
-                            .addToRequests("memory", new io.fabric8.kubernetes.api.model.Quantity("256Mi"))
-                            .addToRequests("cpu", new io.fabric8.kubernetes.api.model.Quantity("100m"))
-                            .addToLimits("memory", new io.fabric8.kubernetes.api.model.Quantity("512Mi"))
-                            .addToLimits("cpu", new io.fabric8.kubernetes.api.model.Quantity("500m"))
-                        .endResources()
-                    .endContainer()
-                .endSpec()
-                .build();
-        
-        kubernetesClient.pods().inNamespace(namespace).create(sshPod);
-        log.info("Created SSH-enabled pod: {}", newPodName);
-    }
-    
-    /**
-     * Update container with SSH access
+     * NodePort SSH is reachable on: the existing {@code <pod>-ssh} Service (template containers get one
+     * at creation) or a Service created for the grant
      */
-    private void updateContainerWithSshAccess(ContainerInstance container, String username, String password, int port) {
-        String podName = container.getKubernetesPodName();
-        
-        // Update the pod with SSH user environment variable
-        try {
-            // Get the current pod
-            Pod currentPod = kubernetesClient.pods().inNamespace(namespace).withName(podName).get();
-            if (currentPod == null) {
-                throw new RuntimeException("Pod not found: " + podName);
+    private int exposeSsh(ContainerInstance container) {
+        Service existing = kubernetesClient.services().inNamespace(namespaceFor(container))
+                .withName(sshServiceName(container)).get();
+        if (existing != null && existing.getSpec() != null && existing.getSpec().getPorts() != null) {
+            Integer nodePort = existing.getSpec().getPorts().stream()
+                    .map(ServicePort::getNodePort)
+                    .filter(Objects::nonNull)
+                    .findFirst()
+                    .orElse(null);
+            if (nodePort != null) {
+                log.info("Reusing SSH service {} on port {}", sshServiceName(container), nodePort);
+                return nodePort;
             }
-            
-            // Create environment variable for SSH users
-            String sshUsers = username + ":" + password;
-            
-            // Update the pod with new environment variable
-            Pod updatedPod = new PodBuilder(currentPod)
-                    .editSpec()
-                        .editContainer(0)
-                            .addNewEnv()
-                                .withName("SSH_USERS")
-                                .withValue(sshUsers)
-                            .endEnv()
-                        .endContainer()
-                    .endSpec()
-                    .build();
-            
-            // Apply the update
-            kubernetesClient.pods().inNamespace(namespace).withName(podName).patch(updatedPod);
-            
-            // Wait a moment for the pod to update
-            Thread.sleep(2000);
-            
-            // Execute command to create user in the running container
-            String setupCommand = String.format(
-                "useradd -m -s /bin/bash %s && echo '%s:%s' | chpasswd && usermod -aG sudo %s && mkdir -p /home/%s/workspace && chown %s:%s /home/%s/workspace",
-                username, username, password, username, username, username, username, username
-            );
-            
-            kubernetesClient.pods()
-                    .inNamespace(namespace)
-                    .withName(podName)
-                    .redirectingInput()
-                    .redirectingOutput()
-                    .exec("bash", "-c", setupCommand);
-            
-            log.info("SSH user {} created in container {}", username, podName);
-        } catch (Exception e) {
-            log.error("Failed to create SSH user in container: {}", e.getMessage());
-            // Don't throw exception - the container might still work
-            log.warn("Continuing without dynamic user creation. User creation will happen on container restart.");
         }
+        int port = allocatePort();
+        createSshService(container, port);
+        return port;
     }
     
     /**
      * Create Kubernetes service to expose SSH port
      */
     private void createSshService(ContainerInstance container, int port) {
-        String serviceName = container.getKubernetesPodName() + "-ssh";
+        String serviceName = sshServiceName(container);
         
         Map<String, String> selector = new HashMap<>();
         selector.put("app", container.getKubernetesPodName());
         
+        Map<String, String> labels = new HashMap<>();
+        labels.put("app", container.getKubernetesPodName());
+        labels.put(ManagedResources.LABEL, ManagedResources.VALUE);
+        // Marks the Service as the grant's own, so revoking never removes a container's NodePort Service
+        labels.put(GRANT_LABEL, "true");
+        
+        // Owned by the pod so Kubernetes removes it with the container
+        Pod pod = kubernetesClient.pods().inNamespace(namespaceFor(container))
+                .withName(container.getKubernetesPodName()).get();
+        
         Service sshService = new ServiceBuilder()
                 .withNewMetadata()
                     .withName(serviceName)
-                    .withNamespace(namespace)
+                    .withNamespace(namespaceFor(container))
+                    .withLabels(labels)
+                    .withOwnerReferences(pod != null ? List.of(ManagedResources.ownerReference(pod)) : List.of())
                 .endMetadata()
                 .withNewSpec()
                     .withSelector(selector)
@@ -312,19 +236,41 @@ public class SshConnectionService {
                 .endSpec()
                 .build();
         
-        kubernetesClient.services().inNamespace(namespace).create(sshService);
+        kubernetesClient.services().inNamespace(namespaceFor(container)).resource(sshService).create();
         log.info("Created SSH service {} on port {}", serviceName, port);
     }
     
     /**
-     * Remove SSH service
+     * Remove the SSH service once no active grant uses it, and only if a grant created it
      */
-    private void removeSshService(ContainerInstance container) {
-        String serviceName = container.getKubernetesPodName() + "-ssh";
-        kubernetesClient.services().inNamespace(namespace).withName(serviceName).delete();
+    void removeSshService(ContainerInstance container) {
+        String serviceName = sshServiceName(container);
+        if (!sshConnectionRepository.findByContainerInstanceAndStatus(container, "ACTIVE").isEmpty()) {
+            log.debug("SSH service {} still used by active connections", serviceName);
+            return;
+        }
+        Service service = kubernetesClient.services().inNamespace(namespaceFor(container)).withName(serviceName).get();
+        if (service == null || service.getMetadata().getLabels() == null
+                || !"true".equals(service.getMetadata().getLabels().get(GRANT_LABEL))) {
+            log.debug("Keeping SSH service {}: not created by a grant", serviceName);
+            return;
+        }
+        kubernetesClient.services().inNamespace(namespaceFor(container)).withName(serviceName).delete();
         log.info("Removed SSH service: {}", serviceName);
     }
     
+    private static String sshServiceName(ContainerInstance container) {
+        return container.getKubernetesPodName() + "-ssh";
+    }
+    
+    /**
+     * Namespace the container's pod lives in
+     */
+    private String namespaceFor(ContainerInstance container) {
+        User owner = container.getOwner();
+        return owner != null && owner.getKubernetesNamespace() != null ? owner.getKubernetesNamespace() : namespace;
+    }
+    
     /**
      * Generate unique SSH username
      */
@@ -352,6 +298,10 @@ public class SshConnectionService {
         return baseSshPort + random.nextInt(5000);
     }
     
+    public boolean isGatewayEnabled() {
+        return gatewayEnabled;
+    }
+    
     /**
      * Check if user owns the SSH connection
      */
@@ -0,0 +1,256 @@
+package com.thesis.backend.service;
+
+import com.thesis.backend.config.AsyncConfig;
+import com.thesis.backend.entity.ContainerInstance;
+import com.thesis.backend.entity.SshConnection;
+import com.thesis.backend.event.SshConnectionChangedEvent;
+import com.thesis.backend.repository.SshConnectionRepository;
+import com.thesis.backend.ssh.SshKeys;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of active SSH credentials so the SSHD authenticator never touches the database.
+ * Passwords are looked up by username, public keys by fingerprint.
+ * Loaded once at startup and kept current through {@link SshConnectionChangedEvent}s.
+ * lastAccessed updates are coalesced per connection and written back in batches.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SshCredentialIndex {
+
+    private final SshConnectionRepository sshConnectionRepository;
+
+    @Value("${ssh.container.namespace:default}")
+    private String defaultNamespace;
+
+    private final Map<String, SshCredential> credentialsByUsername = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, SshCredential>> credentialsByFingerprint = new ConcurrentHashMap<>();
+    private final Map<Long, LocalDateTime> pendingAccess = new ConcurrentHashMap<>();
+    private final SecureRandom random = new SecureRandom();
+
+    /**
+     * Seed the index from the active connections in the database
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<SshConnection> active = sshConnectionRepository.findAllActive();
+        active.forEach(this::put);
+        log.info("Loaded {} active SSH credentials into memory", active.size());
+    }
+
+    /**
+     * Runs after the change commits and off the request thread. The committed row is re-read rather than
+     * trusting the event, so events handled out of order still leave the index at the current state.
+     */
+    @Async(AsyncConfig.SSH_EVENT_EXECUTOR)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onConnectionChanged(SshConnectionChangedEvent event) {
+        SshConnection changed = event.getConnection();
+        SshConnection connection = sshConnectionRepository.findById(changed.getId()).orElse(null);
+        if (connection != null && "ACTIVE".equals(connection.getStatus())) {
+            put(connection);
+        } else {
+            remove(changed.getSshUsername());
+            log.debug("Removed SSH credential for {} ({})", changed.getSshUsername(),
+                    connection != null ? connection.getStatus() : "deleted");
+        }
+    }
+
+    /**
+     * Check a username/password pair against the index; records the access for write-behind on success
+     */
+    public Optional<SshCredential> authenticate(String username, String password) {
+        SshCredential credential = credentialsByUsername.get(username);
+        if (credential == null || password == null || credential.getPasswordHash() == null) {
+            return Optional.empty();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (!credential.getExpiresAt().isAfter(now)) {
+            return Optional.empty();
+        }
+
+        byte[] candidate = hash(credential.getSalt(), password);
+        if (!MessageDigest.isEqual(candidate, credential.getPasswordHash())) {
+            return Optional.empty();
+        }
+
+        pendingAccess.put(credential.getConnectionId(), now);
+        return Optional.of(credential);
+    }
+
+    /**
+     * Check an offered public key for the given username by its fingerprint
+     */
+    public Optional<SshCredential> authenticate(String username, PublicKey key) {
+        Map<String, SshCredential> credentials = credentialsByFingerprint.get(SshKeys.fingerprint(key));
+        SshCredential credential = credentials != null ? credentials.get(username) : null;
+        if (credential == null) {
+            return Optional.empty();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (!credential.getExpiresAt().isAfter(now)) {
+            return Optional.empty();
+        }
+
+        pendingAccess.put(credential.getConnectionId(), now);
+        return Optional.of(credential);
+    }
+
+    public Optional<SshCredential> findByUsername(String username) {
+        return Optional.ofNullable(credentialsByUsername.get(username));
+    }
+
+    public int size() {
+        return credentialsByUsername.size();
+    }
+
+    /**
+     * Write coalesced lastAccessed timestamps back to the database, one UPDATE per second of access time
+     */
+    @Scheduled(fixedDelayString = "${ssh.auth.access-flush-interval-ms:5000}")
+    public void flushLastAccessed() {
+        if (pendingAccess.isEmpty()) {
+            return;
+        }
+
+        Map<LocalDateTime, List<Long>> idsBySecond = new TreeMap<>();
+        for (Map.Entry<Long, LocalDateTime> entry : pendingAccess.entrySet()) {
+            // remove(key, value) keeps any newer access recorded while we are flushing
+            if (pendingAccess.remove(entry.getKey(), entry.getValue())) {
+                idsBySecond.computeIfAbsent(entry.getValue().truncatedTo(ChronoUnit.SECONDS), k -> new ArrayList<>())
+                        .add(entry.getKey());
+            }
+        }
+
+        try {
+            int updated = 0;
+            for (Map.Entry<LocalDateTime, List<Long>> group : idsBySecond.entrySet()) {
+                updated += sshConnectionRepository.updateLastAccessed(group.getValue(), group.getKey());
+            }
+            log.debug("Flushed lastAccessed for {} SSH connections", updated);
+        } catch (Exception e) {
+            log.warn("Failed to flush SSH lastAccessed updates, will retry: {}", e.getMessage());
+            idsBySecond.forEach((accessedAt, ids) -> ids.forEach(id -> pendingAccess.putIfAbsent(id, accessedAt)));
+        }
+    }
+
+    private void put(SshConnection connection) {
+        String fingerprint = null;
+        if (connection.getSshPublicKey() != null) {
+            try {
+                fingerprint = SshKeys.fingerprint(connection.getSshPublicKey());
+            } catch (IllegalArgumentException e) {
+                log.warn("Ignoring unreadable public key on SSH connection {}: {}", connection.getId(), e.getMessage());
+            }
+        }
+        if (connection.getSshPassword() == null && fingerprint == null) {
+            return;
+        }
+        byte[] salt = new byte[16];
+        random.nextBytes(salt);
+
+        // Pod coordinates let the gateway route the session without another lookup
+        ContainerInstance container = connection.getContainerInstance();
+        String podNamespace = container != null && container.getOwner() != null
+                && container.getOwner().getKubernetesNamespace() != null
+                ? container.getOwner().getKubernetesNamespace()
+                : defaultNamespace;
+
+        SshCredential credential = new SshCredential(
+                connection.getId(),
+                connection.getUser() != null ? connection.getUser().getId() : null,
+                connection.getSshUsername(),
+                salt,
+                connection.getSshPassword() != null ? hash(salt, connection.getSshPassword()) : null,
+                connection.getExpiresAt(),
+                podNamespace,
+                container != null ? container.getKubernetesPodName() : null,
+                fingerprint);
+
+        // Replace in place: a concurrent authenticate sees the old or the new credential, never neither
+        String sshUsername = credential.getSshUsername();
+        if (fingerprint != null) {
+            credentialsByFingerprint.compute(fingerprint, (key, credentials) -> {
+                Map<String, SshCredential> updated = credentials != null ? credentials : new ConcurrentHashMap<>();
+                updated.put(sshUsername, credential);
+                return updated;
+            });
+        }
+        SshCredential previous = credentialsByUsername.put(sshUsername, credential);
+        if (previous != null && previous.getPublicKeyFingerprint() != null
+                && !previous.getPublicKeyFingerprint().equals(fingerprint)) {
+            dropFingerprint(sshUsername, previous);
+        }
+    }
+
+    private void remove(String sshUsername) {
+        SshCredential previous = credentialsByUsername.remove(sshUsername);
+        if (previous != null && previous.getPublicKeyFingerprint() != null) {
+            dropFingerprint(sshUsername, previous);
+        }
+    }
+
+    /**
+     * Remove this exact credential from its key's entry; a newer one for the same user is left alone
+     */
+    private void dropFingerprint(String sshUsername, SshCredential stale) {
+        credentialsByFingerprint.computeIfPresent(stale.getPublicKeyFingerprint(), (fingerprint, credentials) -> {
+            credentials.remove(sshUsername, stale);
+            return credentials.isEmpty() ? null : credentials;
+        });
+    }
+
+    private static byte[] hash(byte[] salt, String password) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(salt);
+            return digest.digest(password.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Immutable view of one active SSH connection; the password is only kept as a salted hash
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class SshCredential {
+        private final Long connectionId;
+        private final Long userId;
+        private final String sshUsername;
+        private final byte[] salt;
+        private final byte[] passwordHash;
+        private final LocalDateTime expiresAt;
+        private final String podNamespace;
+        private final String podName;
+        private final String publicKeyFingerprint;
+    }
+}
@@ -0,0 +1,168 @@
+package com.thesis.backend.service;
+
+import com.thesis.backend.config.AsyncConfig;
+import com.thesis.backend.entity.SshConnection;
+import com.thesis.backend.entity.User;
+import com.thesis.backend.event.SshConnectionChangedEvent;
+import com.thesis.backend.kubernetes.CompiledPodSpec;
+import com.thesis.backend.repository.SshConnectionRepository;
+import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.api.model.SecretBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.Sha2Crypt;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Projects a student's active SSH credentials into a per-student Secret that the
+ * thesis-ssh-container mounts at {@link #MOUNT_PATH}; the container's startup script applies it.
+ * Every write is the full desired state (server-side apply), so granting or revoking access is
+ * one idempotent API call with no exec into the pod.
+ */
+@Slf4j
+@Service
+public class SshCredentialSecretService {
+
+    public static final String MOUNT_PATH = CompiledPodSpec.CREDENTIALS_PATH;
+    public static final String USERS_KEY = "users";
+    public static final String AUTHORIZED_KEYS_PREFIX = "authorized_keys.";
+
+    private final SshConnectionRepository sshConnectionRepository;
+    private final KubernetesClient kubernetesClient;
+    private final Timer syncTimer;
+
+    // crypt(3) hash per connection, so a sync re-renders identical lines instead of re-salting every password
+    private final Map<Long, PasswordCrypt> cryptByConnection = new ConcurrentHashMap<>();
+
+    @Value("${ssh.container.namespace:default}")
+    private String defaultNamespace;
+
+    public SshCredentialSecretService(SshConnectionRepository sshConnectionRepository,
+                                      KubernetesClient kubernetesClient,
+                                      MeterRegistry meterRegistry) {
+        this.sshConnectionRepository = sshConnectionRepository;
+        this.kubernetesClient = kubernetesClient;
+        this.syncTimer = Timer.builder("ssh.credentials.sync")
+                .description("Time to write a student's SSH credential Secret")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Name of the Secret holding a student's SSH credentials
+     */
+    public static String secretNameFor(User student) {
+        return "ssh-credentials-" + student.getUsername().toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9-]", "-");
+    }
+
+    /**
+     * Runs after the change commits and off the request thread; the sync reads the student's active
+     * connections from the database, so whichever sync runs last writes the current state
+     */
+    @Async(AsyncConfig.SSH_EVENT_EXECUTOR)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onConnectionChanged(SshConnectionChangedEvent event) {
+        SshConnection connection = event.getConnection();
+        if (!"ACTIVE".equals(connection.getStatus())) {
+            cryptByConnection.remove(connection.getId());
+        }
+        User student = connection.getUser();
+        if (student == null) {
+            return;
+        }
+        try {
+            syncStudentSecret(student);
+        } catch (Exception e) {
+            // The container keeps its last applied state; the next change rewrites the full set
+            log.error("Failed to sync SSH credential Secret for {}: {}", student.getUsername(), e.getMessage());
+        }
+    }
+
+    /**
+     * Write the Secret from the student's currently active connections
+     */
+    public void syncStudentSecret(User student) {
+        syncTimer.record(() -> {
+            List<SshConnection> active = sshConnectionRepository.findByUserAndStatus(student, "ACTIVE");
+            String namespace = student.getKubernetesNamespace() != null
+                    ? student.getKubernetesNamespace()
+                    : defaultNamespace;
+
+            Map<String, String> labels = new HashMap<>();
+            labels.put("owner", student.getUsername());
+            labels.put("type", "ssh-credentials");
+            labels.put("managed-by", "thesis-platform");
+
+            Map<String, String> data = new HashMap<>();
+            data.put(USERS_KEY, encode(renderUsers(active)));
+            for (SshConnection connection : active) {
+                if (connection.getSshPublicKey() != null) {
+                    data.put(AUTHORIZED_KEYS_PREFIX + connection.getSshUsername(),
+                            encode(connection.getSshPublicKey() + "\n"));
+                }
+            }
+
+            Secret secret = new SecretBuilder()
+                    .withNewMetadata()
+                        .withName(secretNameFor(student))
+                        .withNamespace(namespace)
+                        .withLabels(labels)
+                    .endMetadata()
+                    .withType("Opaque")
+                    // data rather than stringData so keys dropped from the applied set are removed
+                    .withData(data)
+                    .build();
+
+            kubernetesClient.secrets().inNamespace(namespace).resource(secret).forceConflicts().serverSideApply();
+            log.info("Synced {} SSH credentials for {} into {}/{}",
+                    active.size(), student.getUsername(), namespace, secretNameFor(student));
+        });
+    }
+
+    /**
+     * One "username:crypt-hash" line per connection, the format `chpasswd -e` reads
+     */
+    private String renderUsers(List<SshConnection> connections) {
+        StringBuilder users = new StringBuilder();
+        connections.stream()
+                .filter(connection -> connection.getSshPassword() != null)
+                .sorted(Comparator.comparing(SshConnection::getSshUsername))
+                .forEach(connection -> users
+                        .append(connection.getSshUsername())
+                        .append(':')
+                        .append(crypt(connection))
+                        .append('\n'));
+        return users.toString();
+    }
+
+    private String crypt(SshConnection connection) {
+        PasswordCrypt cached = cryptByConnection.get(connection.getId());
+        if (cached == null || !cached.password().equals(connection.getSshPassword())) {
+            cached = new PasswordCrypt(connection.getSshPassword(),
+                    Sha2Crypt.sha512Crypt(connection.getSshPassword().getBytes(StandardCharsets.UTF_8)));
+            cryptByConnection.put(connection.getId(), cached);
+        }
+        return cached.crypt();
+    }
+
+    private static String encode(String value) {
+        return Base64.getEncoder().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private record PasswordCrypt(String password, String crypt) {
+    }
+}
@@ -0,0 +1,148 @@
+package com.thesis.backend.service;
+
+import com.thesis.backend.config.AsyncConfig;
+import com.thesis.backend.entity.SshConnection;
+import com.thesis.backend.event.SshConnectionChangedEvent;
+import com.thesis.backend.repository.SshConnectionRepository;
+import com.thesis.backend.util.HierarchicalTimerWheel;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Expires SSH connections on time. Every active connection sits in a hierarchical timer wheel
+ * (seeded from the database at startup, kept current through {@link SshConnectionChangedEvent}s);
+ * each tick expires whatever fell due with one bulk UPDATE and removes SSH Services in parallel.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SshExpiryService {
+
+    private final SshConnectionRepository sshConnectionRepository;
+    private final SshConnectionService sshConnectionService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${ssh.expiry.tick-ms:1000}")
+    private long tickMs;
+
+    @Value("${ssh.expiry.cleanup-threads:8}")
+    private int cleanupThreads;
+
+    private HierarchicalTimerWheel<Long> wheel;
+    private ExecutorService cleanupExecutor;
+
+    @PostConstruct
+    void init() {
+        // 64 slots x 4 levels at 1s ticks covers ~194 days before entries need re-parking
+        wheel = new HierarchicalTimerWheel<>(tickMs, 64, 4, System.currentTimeMillis());
+        cleanupExecutor = Executors.newFixedThreadPool(Math.max(1, cleanupThreads));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        cleanupExecutor.shutdownNow();
+    }
+
+    /**
+     * Seed the wheel from the active connections in the database
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<SshConnection> active = sshConnectionRepository.findAllActive();
+        active.forEach(connection -> wheel.schedule(connection.getId(), toEpochMillis(connection.getExpiresAt())));
+        log.info("Scheduled expiry for {} active SSH connections", active.size());
+    }
+
+    /**
+     * Runs after the change commits, off the request thread. Like the credential index it re-reads
+     * the row, so events handled out of order still leave the wheel at the current state.
+     */
+    @Async(AsyncConfig.SSH_EVENT_EXECUTOR)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onConnectionChanged(SshConnectionChangedEvent event) {
+        SshConnection connection = sshConnectionRepository.findById(event.getConnection().getId()).orElse(null);
+        if (connection != null && "ACTIVE".equals(connection.getStatus())) {
+            wheel.schedule(connection.getId(), toEpochMillis(connection.getExpiresAt()));
+        } else {
+            wheel.cancel(event.getConnection().getId());
+        }
+    }
+
+    @Scheduled(fixedRateString = "${ssh.expiry.tick-ms:1000}")
+    public void tick() {
+        List<Long> due = wheel.advance(System.currentTimeMillis());
+        if (!due.isEmpty()) {
+            expire(due);
+        }
+    }
+
+    /**
+     * Sweep the database for overdue connections the wheel may have missed (admin safety net)
+     */
+    public int expireOverdue() {
+        List<Long> ids = sshConnectionRepository.findExpiredConnections(LocalDateTime.now()).stream()
+                .map(SshConnection::getId)
+                .collect(Collectors.toList());
+        return ids.isEmpty() ? 0 : expire(ids);
+    }
+
+    private int expire(Collection<Long> ids) {
+        int updated;
+        try {
+            updated = sshConnectionRepository.expireActive(ids);
+        } catch (Exception e) {
+            // Put them back so the next tick retries
+            log.error("Failed to expire {} SSH connections: {}", ids.size(), e.getMessage());
+            long retryAt = System.currentTimeMillis() + tickMs;
+            ids.forEach(id -> wheel.schedule(id, retryAt));
+            return 0;
+        }
+
+        List<SshConnection> expired = sshConnectionRepository.findAllById(ids).stream()
+                .filter(connection -> "EXPIRED".equals(connection.getStatus()))
+                .collect(Collectors.toList());
+        expired.forEach(connection -> eventPublisher.publishEvent(new SshConnectionChangedEvent(connection)));
+
+        if (!sshConnectionService.isGatewayEnabled()) {
+            List<CompletableFuture<Void>> removals = new ArrayList<>();
+            for (SshConnection connection : expired) {
+                removals.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        sshConnectionService.removeSshService(connection.getContainerInstance());
+                    } catch (Exception e) {
+                        log.warn("Failed to remove SSH service for connection {}: {}", connection.getId(), e.getMessage());
+                    }
+                }, cleanupExecutor));
+            }
+            CompletableFuture.allOf(removals.toArray(new CompletableFuture[0])).join();
+        }
+
+        log.info("Expired {} SSH connections", updated);
+        return updated;
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
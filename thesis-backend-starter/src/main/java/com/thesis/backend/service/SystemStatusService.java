@@ -0,0 +1,98 @@
+package com.thesis.backend.service;
+
+import com.thesis.backend.web.ChangeCounters;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Dashboard system status, probed in the background every system.status.check-interval-ms instead of
+ * on each request. The snapshot (and the SYSTEM change counter behind its ETag) only changes when a
+ * component's status does, so polling dashboards mostly get 304s.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SystemStatusService {
+
+    private final DataSource dataSource;
+    private final ChangeCounters changeCounters;
+
+    private volatile Map<String, Object> snapshot;
+
+    /**
+     * Latest status snapshot (probes once if the scheduler has not run yet)
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> current = snapshot;
+        if (current == null) {
+            refresh();
+            current = snapshot;
+        }
+        return current;
+    }
+
+    @Scheduled(fixedDelayString = "${system.status.check-interval-ms:15000}")
+    public synchronized void refresh() {
+        Map<String, Object> components = new HashMap<>();
+        components.put("database", checkDatabaseStatus());
+        components.put("kubernetes", checkKubernetesStatus());
+        components.put("ssh", checkSshServiceStatus());
+        components.put("platform", "operational");
+
+        Map<String, Object> previous = snapshot;
+        if (previous != null && components.entrySet().stream()
+                .allMatch(component -> component.getValue().equals(previous.get(component.getKey())))) {
+            return;
+        }
+
+        Map<String, Object> status = new HashMap<>(components);
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("uptime", "99.9%");
+        metrics.put("responseTime", "< 100ms");
+        // Time of the last status change
+        metrics.put("lastUpdate", LocalDateTime.now().toString());
+        status.put("metrics", Map.copyOf(metrics));
+
+        snapshot = Map.copyOf(status);
+        changeCounters.bump(ChangeCounters.SYSTEM);
+        if (previous != null) {
+            log.info("System status changed: {}", components);
+        }
+    }
+
+    /**
+     * Check database connectivity
+     */
+    public String checkDatabaseStatus() {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.isValid(5) ? "operational" : "error"; // 5 second timeout
+        } catch (Exception e) {
+            log.warn("Database health check failed", e);
+            return "error";
+        }
+    }
+
+    /**
+     * Check Kubernetes cluster status (mock implementation)
+     */
+    public String checkKubernetesStatus() {
+        // TODO: Implement actual Kubernetes cluster health check
+        return "operational";
+    }
+
+    /**
+     * Check SSH service status (mock implementation)
+     */
+    public String checkSshServiceStatus() {
+        // TODO: Implement actual SSH service health check
+        return "operational";
+    }
+}
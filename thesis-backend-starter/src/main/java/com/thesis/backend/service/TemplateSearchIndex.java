@@ -0,0 +1,316 @@
+package com.thesis.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thesis.backend.entity.ContainerTemplate;
+import com.thesis.backend.repository.ContainerTemplateRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory full-text index over container templates. Every field is tokenized into a weighted
+ * inverted index (term -> template -> weight); terms are additionally indexed by their leading edge
+ * n-grams for prefix matches and by trigrams for the substring matches the old LIKE search gave.
+ * Built on startup and kept current by ContainerTemplateController on create/update/delete.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TemplateSearchIndex {
+
+    static final float NAME_WEIGHT = 5f;
+    static final float CATEGORY_WEIGHT = 3f;
+    static final float TOOLS_WEIGHT = 3f;
+    static final float DIFFICULTY_WEIGHT = 2f;
+    static final float IMAGE_WEIGHT = 1.5f;
+    static final float DESCRIPTION_WEIGHT = 1f;
+
+    private static final float EXACT = 1f;
+    private static final float PREFIX = 0.6f;
+    private static final float SUBSTRING = 0.3f;
+    private static final int MAX_PREFIX = 12;
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final ContainerTemplateRepository containerTemplateRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, ContainerTemplate> templates = new HashMap<>();
+    private final Map<Long, Map<String, Float>> termsByTemplate = new HashMap<>();
+    private final Map<String, Map<Long, Float>> postings = new HashMap<>();
+    private final Map<String, Set<String>> termsByPrefix = new HashMap<>();
+    private final Map<String, Set<String>> termsByTrigram = new HashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<ContainerTemplate> all = containerTemplateRepository.findAll();
+        lock.writeLock().lock();
+        try {
+            templates.clear();
+            termsByTemplate.clear();
+            postings.clear();
+            termsByPrefix.clear();
+            termsByTrigram.clear();
+            all.forEach(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Indexed {} container templates for search", all.size());
+    }
+
+    /**
+     * Add or replace a template in the index
+     */
+    public void index(ContainerTemplate template) {
+        lock.writeLock().lock();
+        try {
+            removeTerms(template.getId());
+            add(template);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long templateId) {
+        lock.writeLock().lock();
+        try {
+            removeTerms(templateId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Templates matching every query word, best first. A word matches a term exactly, as a prefix
+     * ("pyth" -> "python") or, from three characters on, anywhere inside it ("sql" -> "postgresql").
+     */
+    public List<ContainerTemplate> search(String query, int limit) {
+        List<String> words = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (words.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Float> scores = null;
+            for (String word : words) {
+                Map<Long, Float> wordScores = scoreWord(word);
+                if (scores == null) {
+                    scores = wordScores;
+                } else {
+                    // Every word must match
+                    Map<Long, Float> previous = scores;
+                    scores = new HashMap<>();
+                    for (Map.Entry<Long, Float> entry : wordScores.entrySet()) {
+                        Float score = previous.get(entry.getKey());
+                        if (score != null) {
+                            scores.put(entry.getKey(), score + entry.getValue());
+                        }
+                    }
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Float>comparingByValue().reversed()
+                            .thenComparing(entry -> templates.get(entry.getKey()).getName(),
+                                    Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)))
+                    .limit(limit)
+                    .map(entry -> templates.get(entry.getKey()))
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return templates.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Long, Float> scoreWord(String word) {
+        Map<Long, Float> scores = new HashMap<>();
+        Set<String> prefixed = word.length() <= MAX_PREFIX
+                ? termsByPrefix.getOrDefault(word, Set.of())
+                : termsByPrefix.getOrDefault(word.substring(0, MAX_PREFIX), Set.of()).stream()
+                        .filter(term -> term.startsWith(word))
+                        .collect(Collectors.toSet());
+        for (String term : prefixed) {
+            accumulate(scores, term, term.equals(word) ? EXACT : PREFIX);
+        }
+        if (word.length() >= 3) {
+            for (String term : substringCandidates(word)) {
+                if (!term.startsWith(word)) {
+                    accumulate(scores, term, SUBSTRING);
+                }
+            }
+        }
+        return scores;
+    }
+
+    /**
+     * Terms containing the word: intersect the trigram sets, then verify
+     */
+    private Set<String> substringCandidates(String word) {
+        Set<String> candidates = null;
+        for (int i = 0; i + 3 <= word.length(); i++) {
+            Set<String> terms = termsByTrigram.get(word.substring(i, i + 3));
+            if (terms == null) {
+                return Set.of();
+            }
+            if (candidates == null) {
+                candidates = new HashSet<>(terms);
+            } else {
+                candidates.retainAll(terms);
+            }
+            if (candidates.isEmpty()) {
+                return candidates;
+            }
+        }
+        candidates.removeIf(term -> !term.contains(word));
+        return candidates;
+    }
+
+    private void accumulate(Map<Long, Float> scores, String term, float factor) {
+        Map<Long, Float> posting = postings.get(term);
+        if (posting != null) {
+            // A template counts once per word, with its best-matching term
+            posting.forEach((templateId, weight) -> scores.merge(templateId, weight * factor, Math::max));
+        }
+    }
+
+    private void add(ContainerTemplate template) {
+        if (template.getId() == null) {
+            return;
+        }
+        Map<String, Float> terms = new HashMap<>();
+        addField(terms, template.getName(), NAME_WEIGHT);
+        addField(terms, template.getCategory(), CATEGORY_WEIGHT);
+        addField(terms, template.getDifficultyLevel(), DIFFICULTY_WEIGHT);
+        addField(terms, template.getDockerImage(), IMAGE_WEIGHT);
+        addField(terms, template.getDescription(), DESCRIPTION_WEIGHT);
+        for (String tool : tools(template.getPreInstalledTools())) {
+            addField(terms, tool, TOOLS_WEIGHT);
+        }
+
+        templates.put(template.getId(), template);
+        termsByTemplate.put(template.getId(), terms);
+        terms.forEach((term, weight) -> {
+            Map<Long, Float> posting = postings.get(term);
+            if (posting == null) {
+                posting = new HashMap<>();
+                postings.put(term, posting);
+                indexTerm(term);
+            }
+            posting.put(template.getId(), weight);
+        });
+    }
+
+    private void removeTerms(Long templateId) {
+        templates.remove(templateId);
+        Map<String, Float> terms = termsByTemplate.remove(templateId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms.keySet()) {
+            Map<Long, Float> posting = postings.get(term);
+            posting.remove(templateId);
+            if (posting.isEmpty()) {
+                postings.remove(term);
+                unindexTerm(term);
+            }
+        }
+    }
+
+    private void indexTerm(String term) {
+        for (int length = 1; length <= Math.min(term.length(), MAX_PREFIX); length++) {
+            termsByPrefix.computeIfAbsent(term.substring(0, length), key -> new HashSet<>()).add(term);
+        }
+        for (int i = 0; i + 3 <= term.length(); i++) {
+            termsByTrigram.computeIfAbsent(term.substring(i, i + 3), key -> new HashSet<>()).add(term);
+        }
+    }
+
+    private void unindexTerm(String term) {
+        for (int length = 1; length <= Math.min(term.length(), MAX_PREFIX); length++) {
+            removeFrom(termsByPrefix, term.substring(0, length), term);
+        }
+        for (int i = 0; i + 3 <= term.length(); i++) {
+            removeFrom(termsByTrigram, term.substring(i, i + 3), term);
+        }
+    }
+
+    private static void removeFrom(Map<String, Set<String>> index, String key, String term) {
+        Set<String> terms = index.get(key);
+        if (terms != null && terms.remove(term) && terms.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    /**
+     * A term keeps the highest weight of the fields it appears in
+     */
+    private static void addField(Map<String, Float> terms, String text, float weight) {
+        for (String term : tokenize(text)) {
+            terms.merge(term, weight, Math::max);
+        }
+    }
+
+    /**
+     * preInstalledTools is a JSON array; older rows may hold a plain comma-separated list
+     */
+    static List<String> tools(String raw) {
+        if (raw == null || raw.isBlank()) {
+            return List.of();
+        }
+        if (raw.trim().startsWith("[")) {
+            try {
+                List<String> tools = new ArrayList<>();
+                for (JsonNode tool : JSON.readTree(raw)) {
+                    tools.add(tool.asText());
+                }
+                return tools;
+            } catch (Exception e) {
+                log.debug("preInstalledTools is not valid JSON, indexing as text: {}", raw);
+            }
+        }
+        return List.of(raw.split(","));
+    }
+
+    /**
+     * Lowercase words; '+' and '#' are kept so "c++" and "c#" stay searchable
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}+#]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
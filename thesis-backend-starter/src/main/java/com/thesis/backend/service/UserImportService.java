@@ -0,0 +1,370 @@
+package com.thesis.backend.service;
+
+import com.thesis.backend.dto.UserImportResult;
+import com.thesis.backend.dto.UserImportRow;
+import com.thesis.backend.entity.User;
+import com.thesis.backend.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Roster import: validates all rows up front, hashes passwords on a worker pool,
+ * inserts users in JDBC batches and provisions student namespaces concurrently.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserImportService {
+
+    private static final Set<String> IMPORTABLE_ROLES = Set.of("ROLE_STUDENT", "ROLE_TEACHER");
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final NamespaceService namespaceService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${users.import.batch-size:50}")
+    private int batchSize;
+
+    @Value("${users.import.hash-threads:4}")
+    private int hashThreads;
+
+    @Value("${users.import.namespace-concurrency:8}")
+    private int namespaceConcurrency;
+
+    private ExecutorService hashExecutor;
+    private ExecutorService namespaceExecutor;
+
+    @PostConstruct
+    void startExecutors() {
+        hashExecutor = Executors.newFixedThreadPool(Math.max(1, hashThreads));
+        // The pool size is the concurrency limit for namespace provisioning
+        namespaceExecutor = Executors.newFixedThreadPool(Math.max(1, namespaceConcurrency));
+    }
+
+    @PreDestroy
+    void stopExecutors() {
+        hashExecutor.shutdownNow();
+        namespaceExecutor.shutdownNow();
+    }
+
+    /**
+     * Parse a CSV roster with a header line (username,email,password,role[,cohort])
+     */
+    public List<UserImportRow> parseCsv(String csv) {
+        List<UserImportRow> rows = new ArrayList<>();
+        if (csv == null || csv.isBlank()) {
+            return rows;
+        }
+
+        String[] lines = csv.split("\\r?\\n");
+        List<String> header = splitCsvLine(lines[0]).stream()
+                .map(column -> column.trim().toLowerCase(Locale.ROOT))
+                .collect(Collectors.toList());
+        if (!header.contains("username")) {
+            throw new RuntimeException("CSV header must contain a 'username' column");
+        }
+
+        for (int i = 1; i < lines.length; i++) {
+            if (lines[i].isBlank()) {
+                continue;
+            }
+            List<String> values = splitCsvLine(lines[i]);
+            Map<String, String> record = new HashMap<>();
+            for (int c = 0; c < header.size() && c < values.size(); c++) {
+                record.put(header.get(c), values.get(c).trim());
+            }
+
+            UserImportRow row = new UserImportRow();
+            row.setUsername(record.get("username"));
+            row.setEmail(record.get("email"));
+            row.setPassword(record.get("password"));
+            row.setRole(record.get("role"));
+            row.setCohort(record.get("cohort"));
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    /**
+     * Import the given rows, reporting one result per row to the sink as soon as it is known.
+     * The sink may be called from several threads.
+     */
+    public void importUsers(List<UserImportRow> rows, Long adminId, Consumer<UserImportResult> sink) {
+        long started = System.currentTimeMillis();
+        Consumer<UserImportResult> out = result -> {
+            synchronized (sink) {
+                try {
+                    sink.accept(result);
+                } catch (RuntimeException e) {
+                    // A disconnected client must not abort the rest of the import
+                    log.debug("Could not report import result for row {}: {}", result.getRow(), e.getMessage());
+                }
+            }
+        };
+
+        List<PendingUser> pending = validate(rows, out);
+        log.info("Importing {} of {} roster rows", pending.size(), rows.size());
+
+        // Hash everything up front on the pool; batches below only wait for their own rows
+        for (PendingUser user : pending) {
+            String rawPassword = user.row.getPassword();
+            user.passwordHash = CompletableFuture.supplyAsync(() -> passwordEncoder.encode(rawPassword), hashExecutor);
+        }
+
+        List<CompletableFuture<Void>> provisioning = new ArrayList<>();
+        Map<Long, String> createdNamespaces = new ConcurrentHashMap<>();
+
+        for (int from = 0; from < pending.size(); from += batchSize) {
+            List<PendingUser> batch = pending.subList(from, Math.min(from + batchSize, pending.size()));
+            for (PendingUser user : insertBatch(batch, adminId, out)) {
+                if ("ROLE_STUDENT".equals(user.role)) {
+                    provisioning.add(CompletableFuture.runAsync(
+                            () -> provisionNamespace(user, createdNamespaces, out), namespaceExecutor));
+                } else {
+                    out.accept(result(user, "CREATED", null));
+                }
+            }
+        }
+
+        CompletableFuture.allOf(provisioning.toArray(new CompletableFuture[0])).join();
+        recordNamespaces(createdNamespaces);
+
+        log.info("Roster import of {} rows finished in {} ms", rows.size(), System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Validate rows against each other and against existing accounts (two queries in total)
+     */
+    private List<PendingUser> validate(List<UserImportRow> rows, Consumer<UserImportResult> out) {
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (UserImportRow row : rows) {
+            if (row.getUsername() != null) {
+                usernames.add(row.getUsername().trim());
+            }
+            emails.add(emailFor(row));
+        }
+
+        Set<String> existingUsernames = userRepository.findByUsernameIn(usernames).stream()
+                .map(User::getUsername)
+                .collect(Collectors.toSet());
+        Set<String> existingEmails = userRepository.findByEmailIn(emails).stream()
+                .map(User::getEmail)
+                .collect(Collectors.toSet());
+
+        Set<String> seenUsernames = new HashSet<>();
+        Set<String> seenEmails = new HashSet<>();
+        List<PendingUser> pending = new ArrayList<>();
+
+        for (int i = 0; i < rows.size(); i++) {
+            UserImportRow row = rows.get(i);
+            int rowNumber = i + 1;
+            String username = row.getUsername() != null ? row.getUsername().trim() : null;
+            String email = emailFor(row);
+            String role = normalizeRole(row.getRole());
+
+            String problem = null;
+            if (username == null || username.isEmpty()) {
+                problem = "Username is required";
+            } else if (row.getPassword() == null || row.getPassword().trim().isEmpty()) {
+                problem = "Password is required";
+            } else if (role == null || !IMPORTABLE_ROLES.contains(role)) {
+                problem = "Invalid role. Must be STUDENT or TEACHER";
+            } else if (existingUsernames.contains(username) || !seenUsernames.add(username)) {
+                problem = "Username already exists";
+            } else if (existingEmails.contains(email) || !seenEmails.add(email)) {
+                problem = "Email already exists";
+            }
+
+            if (problem != null) {
+                out.accept(UserImportResult.builder()
+                        .row(rowNumber)
+                        .username(username)
+                        .status(problem.endsWith("already exists") ? "SKIPPED" : "FAILED")
+                        .message(problem)
+                        .build());
+                continue;
+            }
+
+            PendingUser user = new PendingUser();
+            user.rowNumber = rowNumber;
+            user.row = row;
+            user.username = username;
+            user.email = email;
+            user.role = role;
+            pending.add(user);
+        }
+        return pending;
+    }
+
+    /**
+     * Insert one batch in a single transaction; falls back to row-by-row inserts if the batch fails.
+     * Rows whose password could not be hashed are reported FAILED and left out.
+     */
+    private List<PendingUser> insertBatch(List<PendingUser> candidates, Long adminId, Consumer<UserImportResult> out) {
+        List<PendingUser> batch = new ArrayList<>(candidates.size());
+        List<User> users = new ArrayList<>(candidates.size());
+        for (PendingUser pendingUser : candidates) {
+            String passwordHash;
+            try {
+                passwordHash = pendingUser.passwordHash.join();
+            } catch (CompletionException | CancellationException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                log.warn("Could not hash the password of imported user {}: {}", pendingUser.username, cause.getMessage());
+                out.accept(result(pendingUser, "FAILED", "Failed to hash password: " + cause.getMessage()));
+                continue;
+            }
+            batch.add(pendingUser);
+            users.add(User.builder()
+                    .username(pendingUser.username)
+                    .email(pendingUser.email)
+                    .password(passwordHash)
+                    .role(pendingUser.role)
+                    .active(true)
+                    .createdByAdminId(adminId)
+                    .cohort(pendingUser.row.getCohort() != null && !pendingUser.row.getCohort().isBlank()
+                            ? pendingUser.row.getCohort().trim() : null)
+                    .build());
+        }
+
+        if (batch.isEmpty()) {
+            return batch;
+        }
+        try {
+            List<User> saved = userRepository.saveAll(users);
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).user = saved.get(i);
+            }
+            return batch;
+        } catch (Exception e) {
+            log.warn("Batch insert of {} users failed, retrying row by row: {}", batch.size(), e.getMessage());
+        }
+
+        List<PendingUser> inserted = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            PendingUser pendingUser = batch.get(i);
+            User user = users.get(i);
+            user.setId(null);
+            try {
+                pendingUser.user = userRepository.save(user);
+                inserted.add(pendingUser);
+            } catch (Exception e) {
+                out.accept(result(pendingUser, "FAILED", "Failed to create user: " + e.getMessage()));
+            }
+        }
+        return inserted;
+    }
+
+    private void provisionNamespace(PendingUser pendingUser, Map<Long, String> createdNamespaces,
+                                    Consumer<UserImportResult> out) {
+        try {
+            String namespace = namespaceService.createStudentNamespace(pendingUser.user);
+            pendingUser.user.setKubernetesNamespace(namespace);
+            createdNamespaces.put(pendingUser.user.getId(), namespace);
+            out.accept(result(pendingUser, "CREATED", null));
+        } catch (Exception e) {
+            log.error("Failed to create namespace for imported student: {}", pendingUser.username, e);
+            // Same as single-user creation: the account stays, the namespace can be created later
+            out.accept(result(pendingUser, "CREATED", "Namespace creation failed: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Store the provisioned namespaces with one select and batched updates per chunk
+     */
+    private void recordNamespaces(Map<Long, String> createdNamespaces) {
+        List<Long> ids = new ArrayList<>(createdNamespaces.keySet());
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + batchSize, ids.size()));
+            transactionTemplate.executeWithoutResult(status ->
+                    userRepository.findAllById(chunk).forEach(user ->
+                            user.setKubernetesNamespace(createdNamespaces.get(user.getId()))));
+        }
+    }
+
+    private UserImportResult result(PendingUser pendingUser, String status, String message) {
+        return UserImportResult.builder()
+                .row(pendingUser.rowNumber)
+                .username(pendingUser.username)
+                .status(status)
+                .userId(pendingUser.user != null ? pendingUser.user.getId() : null)
+                .kubernetesNamespace(pendingUser.user != null ? pendingUser.user.getKubernetesNamespace() : null)
+                .message(message)
+                .build();
+    }
+
+    private String emailFor(UserImportRow row) {
+        if (row.getEmail() != null && !row.getEmail().trim().isEmpty()) {
+            return row.getEmail().trim();
+        }
+        return (row.getUsername() != null ? row.getUsername().trim() : "") + "@example.com";
+    }
+
+    private String normalizeRole(String role) {
+        if (role == null || role.trim().isEmpty()) {
+            return null;
+        }
+        String normalized = role.trim().toUpperCase(Locale.ROOT);
+        return normalized.startsWith("ROLE_") ? normalized : "ROLE_" + normalized;
+    }
+
+    /**
+     * Split one CSV line, honouring double-quoted fields
+     */
+    private List<String> splitCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                if (quoted && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (c == ',' && !quoted) {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    private static class PendingUser {
+        private int rowNumber;
+        private UserImportRow row;
+        private String username;
+        private String email;
+        private String role;
+        private CompletableFuture<String> passwordHash;
+        private User user;
+    }
+}
@@ -0,0 +1,144 @@
+package com.thesis.backend.service;
+
+import com.thesis.backend.entity.User;
+import com.thesis.backend.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Prefix index over usernames and emails for roster autocomplete. Keys are "lowercased term \0 id"
+ * in skip lists, so a prefix query is a range scan that stops as soon as the limit is reached.
+ * Kept current by UserSearchIndexListener on every User insert/update/delete.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserSearchIndex {
+
+    private static final char SEPARATOR = '\0';
+
+    private final UserRepository userRepository;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<String, Long> byUsername = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<String, Long> byEmail = new ConcurrentSkipListMap<>();
+
+    /**
+     * What the index keeps per user; never the password hash
+     */
+    public record Entry(Long id, String username, String email, String role, Boolean active, String cohort) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        List<User> users = userRepository.findAll();
+        entries.clear();
+        byUsername.clear();
+        byEmail.clear();
+        users.forEach(this::index);
+        log.info("Indexed {} users for search", users.size());
+    }
+
+    /**
+     * Add or replace a user
+     */
+    public synchronized void index(User user) {
+        if (user.getId() == null) {
+            return;
+        }
+        Entry entry = new Entry(user.getId(), user.getUsername(), user.getEmail(), user.getRole(),
+                user.getActive(), user.getCohort());
+        Entry previous = entries.put(user.getId(), entry);
+        if (previous != null) {
+            unlink(previous);
+        }
+        link(entry);
+    }
+
+    public synchronized void remove(Long userId) {
+        Entry previous = entries.remove(userId);
+        if (previous != null) {
+            unlink(previous);
+        }
+    }
+
+    /**
+     * Users whose username or email starts with the query (case-insensitive), username matches first,
+     * each group in alphabetical order
+     *
+     * @param role optional exact role filter, e.g. ROLE_STUDENT
+     */
+    public List<Entry> search(String query, String role, int limit) {
+        String prefix = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+        if (prefix.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Set<Long> ids = new LinkedHashSet<>();
+        collect(byUsername, prefix, role, limit, ids);
+        if (ids.size() < limit) {
+            collect(byEmail, prefix, role, limit, ids);
+        }
+
+        List<Entry> results = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Entry entry = entries.get(id);
+            if (entry != null) {
+                results.add(entry);
+            }
+        }
+        return results;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void collect(ConcurrentSkipListMap<String, Long> index, String prefix, String role, int limit, Set<Long> ids) {
+        // Every key starting with the prefix sorts below prefix + MAX_VALUE
+        NavigableMap<String, Long> range = index.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        for (Long id : range.values()) {
+            if (ids.size() >= limit) {
+                return;
+            }
+            Entry entry = entries.get(id);
+            if (entry != null && (role == null || role.equals(entry.role()))) {
+                ids.add(id);
+            }
+        }
+    }
+
+    private void link(Entry entry) {
+        if (entry.username() != null) {
+            byUsername.put(key(entry.username(), entry.id()), entry.id());
+        }
+        if (entry.email() != null) {
+            byEmail.put(key(entry.email(), entry.id()), entry.id());
+        }
+    }
+
+    private void unlink(Entry entry) {
+        if (entry.username() != null) {
+            byUsername.remove(key(entry.username(), entry.id()));
+        }
+        if (entry.email() != null) {
+            byEmail.remove(key(entry.email(), entry.id()));
+        }
+    }
+
+    private static String key(String term, Long id) {
+        return term.toLowerCase(Locale.ROOT) + SEPARATOR + id;
+    }
+}
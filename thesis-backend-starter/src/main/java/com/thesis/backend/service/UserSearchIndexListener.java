@@ -0,0 +1,51 @@
+package com.thesis.backend.service;
+
+import com.thesis.backend.entity.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA listener that keeps UserSearchIndex in step with every path that saves or deletes users
+ * (controllers, roster import, teardown, DataInitializer). Inside a transaction the change is applied
+ * after commit so a rolled-back insert never shows up in autocomplete.
+ */
+@Component
+public class UserSearchIndexListener {
+
+    // Lazy: Hibernate resolves entity listeners while the EntityManagerFactory the index depends on is built
+    private final ObjectProvider<UserSearchIndex> userSearchIndex;
+
+    public UserSearchIndexListener(ObjectProvider<UserSearchIndex> userSearchIndex) {
+        this.userSearchIndex = userSearchIndex;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void saved(User user) {
+        afterCommit(() -> userSearchIndex.getObject().index(user));
+    }
+
+    @PostRemove
+    public void removed(User user) {
+        Long id = user.getId();
+        afterCommit(() -> userSearchIndex.getObject().remove(id));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.thesis.backend.ssh;
+
+import com.thesis.backend.service.SshCredentialIndex.SshCredential;
+import com.thesis.backend.util.TokenBucket;
+import io.fabric8.kubernetes.api.model.Status;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.dsl.ExecListener;
+import io.fabric8.kubernetes.client.dsl.ExecWatch;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.sshd.server.Environment;
+import org.apache.sshd.server.ExitCallback;
+import org.apache.sshd.server.Signal;
+import org.apache.sshd.server.channel.ChannelSession;
+import org.apache.sshd.server.command.Command;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One SSH channel bridged onto a Kubernetes exec stream in the student's pod.
+ * The SSH channel streams are handed to fabric8 directly: output is written from the exec WebSocket's
+ * callbacks, but fabric8 pumps stdin on a thread of its own, so each open session holds one thread.
+ * Data in both directions is charged to the user's bandwidth bucket from {@link SshSessionGovernor}.
+ */
+@Slf4j
+public class PodExecCommand implements Command {
+
+    private final KubernetesClient kubernetesClient;
+    private final SshSessionGovernor governor;
+    private final String[] command;
+    private final boolean tty;
+
+    private InputStream in;
+    private OutputStream out;
+    private OutputStream err;
+    private ExitCallback exitCallback;
+    private ExecWatch execWatch;
+    private final AtomicBoolean exited = new AtomicBoolean();
+
+    public PodExecCommand(KubernetesClient kubernetesClient, SshSessionGovernor governor, boolean tty, String... command) {
+        this.kubernetesClient = kubernetesClient;
+        this.governor = governor;
+        this.tty = tty;
+        this.command = command;
+    }
+
+    @Override
+    public void setInputStream(InputStream in) {
+        this.in = in;
+    }
+
+    @Override
+    public void setOutputStream(OutputStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void setErrorStream(OutputStream err) {
+        this.err = err;
+    }
+
+    @Override
+    public void setExitCallback(ExitCallback callback) {
+        this.exitCallback = callback;
+    }
+
+    @Override
+    public void start(ChannelSession channel, Environment env) throws IOException {
+        SshCredential credential = channel.getSession().getAttribute(PodGatewayFactory.CREDENTIAL);
+        if (credential == null || credential.getPodName() == null) {
+            fail("No container is attached to this SSH connection");
+            return;
+        }
+
+        TokenBucket bandwidth = channel.getSession().getAttribute(SshSessionGovernor.BANDWIDTH);
+        InputStream in = ThrottledStreams.input(this.in, bandwidth, governor);
+        OutputStream out = ThrottledStreams.output(this.out, bandwidth, governor);
+        OutputStream err = ThrottledStreams.output(this.err, bandwidth, governor);
+
+        ExecListener listener = new ExecListener() {
+            @Override
+            public void onFailure(Throwable t, Response failureResponse) {
+                log.warn("Exec into pod {}/{} failed: {}",
+                        credential.getPodNamespace(), credential.getPodName(), t.getMessage());
+                exit(1, "Connection to container failed");
+            }
+
+            @Override
+            public void onExit(int code, Status status) {
+                exit(code, null);
+            }
+
+            @Override
+            public void onClose(int code, String reason) {
+                exit(0, null);
+            }
+        };
+
+        log.info("Routing SSH session {} into pod {}/{}",
+                credential.getSshUsername(), credential.getPodNamespace(), credential.getPodName());
+
+        if (tty) {
+            // With a TTY the container merges stderr into stdout
+            execWatch = kubernetesClient.pods()
+                    .inNamespace(credential.getPodNamespace())
+                    .withName(credential.getPodName())
+                    .readingInput(in)
+                    .writingOutput(out)
+                    .withTTY()
+                    .usingListener(listener)
+                    .exec(command);
+            resize(env);
+            env.addSignalListener((signalChannel, signal) -> resize(env), Signal.WINCH);
+        } else {
+            execWatch = kubernetesClient.pods()
+                    .inNamespace(credential.getPodNamespace())
+                    .withName(credential.getPodName())
+                    .readingInput(in)
+                    .writingOutput(out)
+                    .writingError(err)
+                    .usingListener(listener)
+                    .exec(command);
+        }
+    }
+
+    @Override
+    public void destroy(ChannelSession channel) {
+        if (execWatch != null) {
+            execWatch.close();
+        }
+    }
+
+    private void resize(Environment env) {
+        try {
+            int columns = Integer.parseInt(env.getEnv().getOrDefault(Environment.ENV_COLUMNS, "80"));
+            int lines = Integer.parseInt(env.getEnv().getOrDefault(Environment.ENV_LINES, "24"));
+            execWatch.resize(columns, lines);
+        } catch (Exception e) {
+            log.debug("Could not resize terminal: {}", e.getMessage());
+        }
+    }
+
+    private void fail(String message) throws IOException {
+        err.write((message + "\r\n").getBytes(StandardCharsets.UTF_8));
+        err.flush();
+        exit(1, message);
+    }
+
+    private void exit(int code, String message) {
+        // fabric8 reports both the process exit and the socket close; only the first one counts
+        if (exited.compareAndSet(false, true) && exitCallback != null) {
+            exitCallback.onExit(code, message != null ? message : "");
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.thesis.backend.ssh;
+
+import com.thesis.backend.service.SshCredentialIndex.SshCredential;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import lombok.RequiredArgsConstructor;
+import org.apache.sshd.common.AttributeRepository.AttributeKey;
+import org.apache.sshd.server.channel.ChannelSession;
+import org.apache.sshd.server.command.Command;
+import org.apache.sshd.server.command.CommandFactory;
+import org.apache.sshd.server.shell.ShellFactory;
+
+/**
+ * Shell and exec factory for the SSH gateway: every channel becomes an exec stream in the pod
+ * recorded on the session at authentication time.
+ */
+@RequiredArgsConstructor
+public class PodGatewayFactory implements ShellFactory, CommandFactory {
+
+    /**
+     * Session attribute holding the credential the session authenticated with
+     */
+    public static final AttributeKey<SshCredential> CREDENTIAL = new AttributeKey<>();
+
+    private static final String LOGIN_SHELL =
+            "if command -v bash >/dev/null 2>&1; then exec bash -l; else exec sh -l; fi";
+
+    private final KubernetesClient kubernetesClient;
+    private final SshSessionGovernor governor;
+
+    @Override
+    public Command createShell(ChannelSession channel) {
+        return new PodExecCommand(kubernetesClient, governor, true, "sh", "-c", LOGIN_SHELL);
+    }
+
+    @Override
+    public Command createCommand(ChannelSession channel, String command) {
+        // No TTY so scp/rsync and other binary protocols pass through untouched
+        return new PodExecCommand(kubernetesClient, governor, false, "sh", "-c", command);
+    }
+}
@@ -0,0 +1,91 @@
+package com.thesis.backend.ssh;
+
+import org.apache.sshd.common.config.keys.KeyUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.util.Base64;
+import java.util.Set;
+
+/**
+ * Helpers for OpenSSH public keys as uploaded by users ("type base64 [comment]").
+ * Fingerprints use the OpenSSH SHA256 format, the same one Apache SSHD reports for offered keys.
+ */
+public final class SshKeys {
+
+    private static final Set<String> SUPPORTED_TYPES = Set.of(
+            "ssh-ed25519", "ssh-rsa", "ecdsa-sha2-nistp256", "ecdsa-sha2-nistp384", "ecdsa-sha2-nistp521");
+
+    private SshKeys() {
+    }
+
+    /**
+     * Validate an authorized_keys line and return it as "type base64 [comment]"
+     */
+    public static String normalize(String authorizedKey) {
+        String[] parts = split(authorizedKey);
+        String type = parts[0];
+        if (!SUPPORTED_TYPES.contains(type)) {
+            throw new IllegalArgumentException("Unsupported key type: " + type);
+        }
+        if (!type.equals(embeddedType(decode(parts[1])))) {
+            throw new IllegalArgumentException("Key type does not match key data");
+        }
+        return parts.length > 2 ? type + " " + parts[1] + " " + parts[2] : type + " " + parts[1];
+    }
+
+    /**
+     * SHA256 fingerprint of an authorized_keys line
+     */
+    public static String fingerprint(String authorizedKey) {
+        byte[] blob = decode(split(authorizedKey)[1]);
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(blob);
+            return "SHA256:" + Base64.getEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * SHA256 fingerprint of a key offered during authentication
+     */
+    public static String fingerprint(PublicKey key) {
+        return KeyUtils.getFingerPrint(key);
+    }
+
+    private static String[] split(String authorizedKey) {
+        String[] parts = authorizedKey == null ? new String[0] : authorizedKey.trim().split("\\s+", 3);
+        if (parts.length < 2) {
+            throw new IllegalArgumentException("Expected an OpenSSH public key: '<type> <base64> [comment]'");
+        }
+        return parts;
+    }
+
+    private static byte[] decode(String base64) {
+        try {
+            return Base64.getDecoder().decode(base64);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Key data is not valid base64");
+        }
+    }
+
+    private static String embeddedType(byte[] blob) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(blob))) {
+            int length = in.readInt();
+            if (length <= 0 || length > 64) {
+                throw new IllegalArgumentException("Malformed key data");
+            }
+            byte[] type = new byte[length];
+            in.readFully(type);
+            return new String(type, StandardCharsets.US_ASCII);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Malformed key data");
+        }
+    }
+}
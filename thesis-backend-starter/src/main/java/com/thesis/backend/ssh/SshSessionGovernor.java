@@ -0,0 +1,141 @@
+package com.thesis.backend.ssh;
+
+import com.thesis.backend.util.TokenBucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.sshd.common.AttributeRepository.AttributeKey;
+import org.apache.sshd.common.SshConstants;
+import org.apache.sshd.common.session.Session;
+import org.apache.sshd.common.session.SessionListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Enforces global and per-user SSH session caps and hands every authenticated session
+ * the token bucket shared by all sessions of that user. Exports session, byte and throttle counters.
+ */
+@Slf4j
+@Component
+public class SshSessionGovernor implements SessionListener {
+
+    /**
+     * Per-user bandwidth bucket, set on the session once it is authenticated
+     */
+    public static final AttributeKey<TokenBucket> BANDWIDTH = new AttributeKey<>();
+
+    private static final AttributeKey<String> COUNTED_USER = new AttributeKey<>();
+
+    private final AtomicInteger activeSessions = new AtomicInteger();
+    private final Map<String, UserSessions> sessionsByUser = new ConcurrentHashMap<>();
+
+    private final Counter rejectedGlobal;
+    private final Counter rejectedPerUser;
+    private final Counter bytesIn;
+    private final Counter bytesOut;
+    private final Counter throttleEvents;
+
+    @Value("${ssh.limits.max-sessions:200}")
+    private int maxSessions;
+
+    @Value("${ssh.limits.max-sessions-per-user:4}")
+    private int maxSessionsPerUser;
+
+    @Value("${ssh.limits.bandwidth-bytes-per-second:1048576}")
+    private long bytesPerSecond;
+
+    @Value("${ssh.limits.bandwidth-burst-bytes:262144}")
+    private long burstBytes;
+
+    public SshSessionGovernor(MeterRegistry meterRegistry) {
+        Gauge.builder("ssh.sessions.active", activeSessions, AtomicInteger::get)
+                .description("Open SSH sessions on the embedded server")
+                .register(meterRegistry);
+        rejectedGlobal = Counter.builder("ssh.sessions.rejected").tag("limit", "global").register(meterRegistry);
+        rejectedPerUser = Counter.builder("ssh.sessions.rejected").tag("limit", "user").register(meterRegistry);
+        bytesIn = Counter.builder("ssh.channel.bytes").tag("direction", "in").baseUnit("bytes").register(meterRegistry);
+        bytesOut = Counter.builder("ssh.channel.bytes").tag("direction", "out").baseUnit("bytes").register(meterRegistry);
+        throttleEvents = Counter.builder("ssh.channel.throttled")
+                .description("Channel reads/writes delayed by the per-user bandwidth limit")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void sessionCreated(Session session) {
+        if (activeSessions.incrementAndGet() > maxSessions) {
+            rejectedGlobal.increment();
+            log.warn("Rejecting SSH session from {}: global limit of {} reached", session.getIoSession().getRemoteAddress(), maxSessions);
+            session.close(true);
+        }
+    }
+
+    @Override
+    public void sessionEvent(Session session, Event event) {
+        if (event != Event.Authenticated) {
+            return;
+        }
+
+        String username = session.getUsername();
+        UserSessions userSessions = sessionsByUser.compute(username, (user, existing) -> {
+            UserSessions current = existing != null ? existing : new UserSessions(new TokenBucket(burstBytes, bytesPerSecond));
+            current.count++;
+            return current;
+        });
+        session.setAttribute(COUNTED_USER, username);
+
+        if (userSessions.count > maxSessionsPerUser) {
+            rejectedPerUser.increment();
+            log.warn("Rejecting SSH session for {}: limit of {} concurrent sessions reached", username, maxSessionsPerUser);
+            try {
+                session.disconnect(SshConstants.SSH2_DISCONNECT_TOO_MANY_CONNECTIONS,
+                        "Too many concurrent sessions (max " + maxSessionsPerUser + ")");
+            } catch (IOException e) {
+                session.close(true);
+            }
+            return;
+        }
+
+        session.setAttribute(BANDWIDTH, userSessions.bandwidth);
+    }
+
+    @Override
+    public void sessionClosed(Session session) {
+        activeSessions.decrementAndGet();
+        String username = session.getAttribute(COUNTED_USER);
+        if (username != null) {
+            // Drop the bucket with the user's last session
+            sessionsByUser.computeIfPresent(username, (user, current) -> --current.count <= 0 ? null : current);
+        }
+    }
+
+    public int getActiveSessions() {
+        return activeSessions.get();
+    }
+
+    void recordIn(long bytes) {
+        bytesIn.increment(bytes);
+    }
+
+    void recordOut(long bytes) {
+        bytesOut.increment(bytes);
+    }
+
+    void recordThrottle() {
+        throttleEvents.increment();
+    }
+
+    private static class UserSessions {
+        private final TokenBucket bandwidth;
+        private int count;
+
+        private UserSessions(TokenBucket bandwidth) {
+            this.bandwidth = bandwidth;
+        }
+    }
+}
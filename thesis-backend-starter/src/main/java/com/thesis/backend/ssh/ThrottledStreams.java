@@ -0,0 +1,77 @@
+package com.thesis.backend.ssh;
+
+import com.thesis.backend.util.TokenBucket;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+
+/**
+ * Stream wrappers that charge every byte to a shared {@link TokenBucket} and count it.
+ * Waiting happens on the thread pumping the stream (the Kubernetes exec threads), never on SSHD I/O threads.
+ */
+final class ThrottledStreams {
+
+    private ThrottledStreams() {
+    }
+
+    static InputStream input(InputStream in, TokenBucket bucket, SshSessionGovernor governor) {
+        return new FilterInputStream(in) {
+            @Override
+            public int read() throws IOException {
+                int b = super.read();
+                if (b >= 0) {
+                    charge(bucket, governor, 1);
+                    governor.recordIn(1);
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] buffer, int off, int len) throws IOException {
+                int read = super.read(buffer, off, len);
+                if (read > 0) {
+                    charge(bucket, governor, read);
+                    governor.recordIn(read);
+                }
+                return read;
+            }
+        };
+    }
+
+    static OutputStream output(OutputStream out, TokenBucket bucket, SshSessionGovernor governor) {
+        return new FilterOutputStream(out) {
+            @Override
+            public void write(int b) throws IOException {
+                charge(bucket, governor, 1);
+                out.write(b);
+                governor.recordOut(1);
+            }
+
+            @Override
+            public void write(byte[] buffer, int off, int len) throws IOException {
+                // FilterOutputStream would write byte by byte
+                charge(bucket, governor, len);
+                out.write(buffer, off, len);
+                governor.recordOut(len);
+            }
+        };
+    }
+
+    private static void charge(TokenBucket bucket, SshSessionGovernor governor, int bytes) throws IOException {
+        if (bucket == null) {
+            return;
+        }
+        try {
+            if (bucket.acquire(bytes) > 0) {
+                governor.recordThrottle();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while throttling SSH channel");
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.thesis.backend.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hierarchical timing wheel keyed by an identifier. Scheduling and cancelling are O(1);
+ * {@link #advance(long)} does O(1) work per elapsed tick plus the entries that fire or cascade.
+ * Level 0 has one slot per tick, every higher level covers a full rotation of the level below.
+ * Deadlines are rounded up to the next tick, so entries never fire early.
+ */
+public class HierarchicalTimerWheel<K> {
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final long[] unitTicks;
+    private final List<List<Map<K, Long>>> levels = new ArrayList<>();
+    private final Map<K, Map<K, Long>> slotByKey = new HashMap<>();
+    private final Map<K, Long> overdue = new LinkedHashMap<>();
+    private long currentTick;
+
+    public HierarchicalTimerWheel(long tickMs, int wheelSize, int levelCount, long nowMs) {
+        if (tickMs <= 0 || wheelSize < 2 || levelCount < 1) {
+            throw new IllegalArgumentException("Invalid timer wheel dimensions");
+        }
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.unitTicks = new long[levelCount];
+        this.currentTick = nowMs / tickMs;
+
+        long unit = 1;
+        for (int level = 0; level < levelCount; level++) {
+            unitTicks[level] = unit;
+            List<Map<K, Long>> slots = new ArrayList<>(wheelSize);
+            for (int i = 0; i < wheelSize; i++) {
+                slots.add(new HashMap<>());
+            }
+            levels.add(slots);
+            unit = Math.multiplyExact(unit, wheelSize);
+        }
+    }
+
+    /**
+     * Schedule (or reschedule) a key to fire at the given wall-clock time
+     */
+    public synchronized void schedule(K key, long deadlineMs) {
+        cancel(key);
+        long deadlineTick = Math.floorDiv(deadlineMs + tickMs - 1, tickMs);
+        place(key, deadlineTick);
+    }
+
+    /**
+     * Remove a key; returns false if it was not scheduled
+     */
+    public synchronized boolean cancel(K key) {
+        Map<K, Long> slot = slotByKey.remove(key);
+        if (slot != null) {
+            slot.remove(key);
+            return true;
+        }
+        return overdue.remove(key) != null;
+    }
+
+    /**
+     * Move the wheel forward to the given time and return every key whose deadline has passed
+     */
+    public synchronized List<K> advance(long nowMs) {
+        long targetTick = nowMs / tickMs;
+        List<K> expired = new ArrayList<>(overdue.keySet());
+        overdue.clear();
+
+        while (currentTick < targetTick) {
+            currentTick++;
+            // Cascade higher levels first so re-placed entries land in this tick's level-0 slot
+            for (int level = unitTicks.length - 1; level > 0; level--) {
+                if (currentTick % unitTicks[level] == 0) {
+                    Map<K, Long> slot = slotFor(level, currentTick);
+                    if (!slot.isEmpty()) {
+                        Map<K, Long> cascading = new HashMap<>(slot);
+                        slot.clear();
+                        cascading.forEach((key, deadlineTick) -> {
+                            slotByKey.remove(key);
+                            place(key, deadlineTick);
+                        });
+                    }
+                }
+            }
+
+            Map<K, Long> due = slotFor(0, currentTick);
+            if (!due.isEmpty()) {
+                due.keySet().forEach(slotByKey::remove);
+                expired.addAll(due.keySet());
+                due.clear();
+            }
+
+            expired.addAll(overdue.keySet());
+            overdue.clear();
+        }
+        return expired;
+    }
+
+    public synchronized int size() {
+        return slotByKey.size() + overdue.size();
+    }
+
+    private void place(K key, long deadlineTick) {
+        long delta = deadlineTick - currentTick;
+        if (delta <= 0) {
+            overdue.put(key, deadlineTick);
+            return;
+        }
+
+        int level = 0;
+        while (level < unitTicks.length - 1 && delta >= unitTicks[level + 1]) {
+            level++;
+        }
+
+        // Beyond the top level's range: park in its farthest slot and re-place on cascade
+        long slotTick = deadlineTick;
+        long topRange = unitTicks[level] * wheelSize;
+        if (delta >= topRange) {
+            slotTick = currentTick + topRange - unitTicks[level];
+        }
+
+        Map<K, Long> slot = slotFor(level, slotTick);
+        slot.put(key, deadlineTick);
+        slotByKey.put(key, slot);
+    }
+
+    private Map<K, Long> slotFor(int level, long tick) {
+        return levels.get(level).get((int) ((tick / unitTicks[level]) % wheelSize));
+    }
+}
@@ -0,0 +1,96 @@
+package com.thesis.backend.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Thread-safe token bucket. Tokens refill continuously up to the capacity.
+ * {@link #tryAcquire(long)} never blocks; {@link #acquire(long)} lets a caller go into debt
+ * and sleeps it off, so requests larger than the capacity still make progress at the refill rate.
+ */
+public class TokenBucket {
+
+    private final long capacity;
+    private final double tokensPerNano;
+    private final LongSupplier nanoClock;
+
+    private double tokens;
+    private long lastRefill;
+
+    public TokenBucket(long capacity, double tokensPerSecond) {
+        this(capacity, tokensPerSecond, System::nanoTime);
+    }
+
+    public TokenBucket(long capacity, double tokensPerSecond, LongSupplier nanoClock) {
+        if (capacity <= 0 || tokensPerSecond <= 0) {
+            throw new IllegalArgumentException("Capacity and rate must be positive");
+        }
+        this.capacity = capacity;
+        this.tokensPerNano = tokensPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.nanoClock = nanoClock;
+        this.tokens = capacity;
+        this.lastRefill = nanoClock.getAsLong();
+    }
+
+    /**
+     * Take the permits if they are available right now
+     */
+    public synchronized boolean tryAcquire(long permits) {
+        refill();
+        if (tokens < permits) {
+            return false;
+        }
+        tokens -= permits;
+        return true;
+    }
+
+    /**
+     * Take the permits unconditionally and return how long the caller must wait to pay them off
+     */
+    public synchronized long reserve(long permits) {
+        refill();
+        tokens -= permits;
+        return tokens >= 0 ? 0 : (long) Math.ceil(-tokens / tokensPerNano);
+    }
+
+    /**
+     * Block until the permits are paid for; returns the nanoseconds spent waiting
+     */
+    public long acquire(long permits) throws InterruptedException {
+        long waitNanos = reserve(permits);
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+        return waitNanos;
+    }
+
+    /**
+     * Nanoseconds until the given number of permits could be taken without waiting
+     */
+    public synchronized long nanosUntilAvailable(long permits) {
+        refill();
+        double missing = permits - tokens;
+        return missing <= 0 ? 0 : (long) Math.ceil(missing / tokensPerNano);
+    }
+
+    public synchronized long availableTokens() {
+        refill();
+        return (long) tokens;
+    }
+
+    /**
+     * Nanoclock reading of the last refill, used to evict idle buckets
+     */
+    public synchronized long lastUsedNanos() {
+        return lastRefill;
+    }
+
+    private void refill() {
+        long now = nanoClock.getAsLong();
+        long elapsed = now - lastRefill;
+        if (elapsed > 0) {
+            tokens = Math.min(capacity, tokens + elapsed * tokensPerNano);
+            lastRefill = now;
+        }
+    }
+}
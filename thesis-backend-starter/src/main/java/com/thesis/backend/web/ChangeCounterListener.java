@@ -0,0 +1,47 @@
+package com.thesis.backend.web;
+
+import com.thesis.backend.entity.ContainerInstance;
+import com.thesis.backend.entity.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Bumps the change counter of an entity's collection after its insert/update/delete commits. Bumping
+ * after commit means a response can never carry a newer version than the data it was built from.
+ */
+@Component
+public class ChangeCounterListener {
+
+    private final ObjectProvider<ChangeCounters> changeCounters;
+
+    public ChangeCounterListener(ObjectProvider<ChangeCounters> changeCounters) {
+        this.changeCounters = changeCounters;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void changed(Object entity) {
+        String collection = entity instanceof ContainerInstance ? ChangeCounters.CONTAINERS
+                : entity instanceof User ? ChangeCounters.USERS
+                : null;
+        if (collection == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    changeCounters.getObject().bump(collection);
+                }
+            });
+        } else {
+            changeCounters.getObject().bump(collection);
+        }
+    }
+}
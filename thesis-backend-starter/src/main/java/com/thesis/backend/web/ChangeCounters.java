@@ -0,0 +1,47 @@
+package com.thesis.backend.web;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-collection change counters used as cheap ETag versions: a list endpoint's ETag is built from
+ * the counters of the collections its body depends on, so If-None-Match can be answered before any
+ * repository or Kubernetes work. Counters are bumped after commit by ChangeCounterListener and
+ * explicitly after bulk UPDATE/DELETE statements, which bypass entity listeners.
+ */
+@Component
+public class ChangeCounters {
+
+    public static final String CONTAINERS = "containers";
+    public static final String USERS = "users";
+    public static final String SYSTEM = "system";
+
+    // Counters restart at 0, so the boot time keeps ETags from a previous run from matching
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+
+    public void bump(String collection) {
+        counters.computeIfAbsent(collection, key -> new AtomicLong()).incrementAndGet();
+    }
+
+    public long version(String collection) {
+        AtomicLong counter = counters.get(collection);
+        return counter != null ? counter.get() : 0;
+    }
+
+    /**
+     * Weak ETag (responses may be gzip-encoded) for a view over the given collections
+     *
+     * @param scope view name plus anything else the body depends on, e.g. the caller's user ID
+     */
+    public String etag(String scope, String... collections) {
+        StringBuilder tag = new StringBuilder("W/\"").append(scope);
+        for (String collection : collections) {
+            tag.append('-').append(version(collection));
+        }
+        return tag.append('-').append(epoch).append('"').toString();
+    }
+}
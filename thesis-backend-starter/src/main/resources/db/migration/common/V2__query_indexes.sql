@@ -0,0 +1,31 @@
+-- Composite indexes for the repository queries on hot paths; column order follows the WHERE clauses
+-- (equality columns first, then the range column). QueryPlanIndexTest asserts H2 picks each of them.
+
+-- SshConnectionRepository.findActiveBySshUsername (SSH password auth, credential index refresh)
+create index idx_ssh_connections_username_status on ssh_connections (ssh_username, status);
+
+-- findExpiredConnections (status = 'ACTIVE' and expires_at < ?) and findAllActive
+create index idx_ssh_connections_status_expires on ssh_connections (status, expires_at);
+
+-- findByUserAndStatus, findActiveConnectionsByUser, findByUser
+create index idx_ssh_connections_user_status on ssh_connections (user_id, status);
+
+-- findByContainerInstanceAndStatus, findByContainerInstanceIn, findActiveConnectionsByPodName (join side)
+create index idx_ssh_connections_container_status on ssh_connections (container_instance_id, status);
+
+-- ContainerInstanceRepository.findByOwner and per-owner status filters
+create index idx_container_instance_owner_status on container_instance (owner_id, status);
+
+-- findActiveConnectionsByPodName (kubernetesPodName lookup); orphan GC and status sync by pod name
+create index idx_container_instance_pod_name on container_instance (kubernetes_pod_name);
+
+-- UserRepository.findByRole (student roster) with the active flag
+create index idx_users_role_active on users (role, active);
+
+-- UserRepository.findByCohort (cohort teardown)
+create index idx_users_cohort on users (cohort);
+
+-- ContainerTemplateRepository.findByCategory, findByCreatedBy / findAvailableTemplates, findByIsPublicTrue
+create index idx_container_templates_category on container_templates (category);
+create index idx_container_templates_created_by on container_templates (created_by);
+create index idx_container_templates_public on container_templates (is_public);
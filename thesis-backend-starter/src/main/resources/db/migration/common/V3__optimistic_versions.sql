@@ -0,0 +1,3 @@
+-- Optimistic version columns for rows whose status is changed by conditional bulk UPDATEs
+alter table container_instance add column version bigint default 0 not null;
+alter table ssh_connections add column version bigint default 0 not null;
@@ -0,0 +1,6 @@
+-- Change sequence for the container delta sync API (ContainerChangeLog); existing rows start at 0 and
+-- are picked up by a client's first, full sync
+alter table container_instance add column change_seq bigint default 0 not null;
+
+-- ContainerInstanceRepository.findChanged (change_seq > ? and change_seq <= ? order by change_seq)
+create index idx_container_instance_change_seq on container_instance (change_seq);
@@ -0,0 +1,81 @@
+-- Baseline schema (what ddl-auto generated from the entities), MariaDB (10.3+ for sequences)
+
+create sequence users_seq start with 1 increment by 50;
+create sequence container_instance_seq start with 1 increment by 50;
+create sequence image_template_seq start with 1 increment by 50;
+
+create table users (
+    id bigint not null,
+    email varchar(255) not null,
+    password varchar(255) not null,
+    username varchar(255) not null,
+    role varchar(255),
+    kubernetes_namespace varchar(255),
+    active bit,
+    created_by_admin_id bigint,
+    cohort varchar(255),
+    primary key (id),
+    constraint uk_users_email unique (email),
+    constraint uk_users_username unique (username)
+) engine=InnoDB;
+
+create table image_template (
+    id bigint not null,
+    name varchar(255),
+    docker_image varchar(255),
+    description varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table container_instance (
+    id bigint not null,
+    name varchar(255),
+    status varchar(255),
+    kubernetes_pod_name varchar(255),
+    created_at datetime(6),
+    owner_id bigint,
+    image_template_id bigint,
+    primary key (id),
+    constraint fk_container_instance_owner foreign key (owner_id) references users (id),
+    constraint fk_container_instance_image_template foreign key (image_template_id) references image_template (id)
+) engine=InnoDB;
+
+create table container_templates (
+    id bigint not null auto_increment,
+    version bigint,
+    name varchar(255) not null,
+    description text,
+    docker_image varchar(255) not null,
+    default_command varchar(255),
+    exposed_ports varchar(255),
+    environment_vars text,
+    resource_limits text,
+    ssh_enabled bit,
+    persistent_storage bit,
+    storage_size varchar(255),
+    created_by bigint,
+    is_public bit,
+    category varchar(255),
+    difficulty_level varchar(255),
+    pre_installed_tools text,
+    primary key (id),
+    constraint fk_container_templates_created_by foreign key (created_by) references users (id)
+) engine=InnoDB;
+
+create table ssh_connections (
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    container_instance_id bigint not null,
+    ssh_username varchar(255) not null,
+    ssh_password varchar(255),
+    ssh_public_key text,
+    connection_port integer,
+    container_ip varchar(255),
+    status varchar(255),
+    created_at datetime(6),
+    expires_at datetime(6),
+    last_accessed datetime(6),
+    primary key (id),
+    constraint fk_ssh_connections_user foreign key (user_id) references users (id),
+    constraint fk_ssh_connections_container_instance foreign key (container_instance_id) references container_instance (id)
+) engine=InnoDB;
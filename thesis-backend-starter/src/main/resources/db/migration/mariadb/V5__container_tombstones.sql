@@ -0,0 +1,11 @@
+-- Deleted containers for the delta sync API; pruned after containers.changes.tombstone-retention-days
+create table container_tombstones (
+    container_id bigint not null,
+    owner_id bigint,
+    change_seq bigint not null,
+    deleted_at datetime(6) not null,
+    primary key (container_id)
+) engine=InnoDB;
+
+-- ContainerTombstoneRepository.findChanged
+create index idx_container_tombstones_change_seq on container_tombstones (change_seq);
@@ -0,0 +1,11 @@
+-- Demo accounts previously inserted by the mariadb-init-scripts ConfigMap (teacher123 / student123).
+-- Ids come from users_seq like Hibernate's, so later pooled allocations never collide with them.
+insert into users (id, username, password, email, role, active)
+select next value for users_seq, 'teacher', '$2a$10$QLcHn3PWgcHq6aT7w3lKtOvZab6TDznqSNTW8nHZKIRWNqZtjhF26',
+       'teacher@example.com', 'ROLE_TEACHER', 1
+where not exists (select 1 from users where username = 'teacher');
+
+insert into users (id, username, password, email, role, active)
+select next value for users_seq, 'student', '$2a$10$2W7nw8M9DNNhHrN21RdMmOWcucjTTPTE5RlIgJ3/6qqbUEViurTgC',
+       'student@example.com', 'ROLE_STUDENT', 1
+where not exists (select 1 from users where username = 'student');
@@ -0,0 +1,81 @@
+-- Baseline schema (what ddl-auto generated from the entities), PostgreSQL
+
+create sequence users_seq start with 1 increment by 50;
+create sequence container_instance_seq start with 1 increment by 50;
+create sequence image_template_seq start with 1 increment by 50;
+
+create table users (
+    id bigint not null,
+    email varchar(255) not null,
+    password varchar(255) not null,
+    username varchar(255) not null,
+    role varchar(255),
+    kubernetes_namespace varchar(255),
+    active boolean,
+    created_by_admin_id bigint,
+    cohort varchar(255),
+    primary key (id),
+    constraint uk_users_email unique (email),
+    constraint uk_users_username unique (username)
+);
+
+create table image_template (
+    id bigint not null,
+    name varchar(255),
+    docker_image varchar(255),
+    description varchar(255),
+    primary key (id)
+);
+
+create table container_instance (
+    id bigint not null,
+    name varchar(255),
+    status varchar(255),
+    kubernetes_pod_name varchar(255),
+    created_at timestamp(6),
+    owner_id bigint,
+    image_template_id bigint,
+    primary key (id),
+    constraint fk_container_instance_owner foreign key (owner_id) references users (id),
+    constraint fk_container_instance_image_template foreign key (image_template_id) references image_template (id)
+);
+
+create table container_templates (
+    id bigint generated by default as identity,
+    version bigint,
+    name varchar(255) not null,
+    description text,
+    docker_image varchar(255) not null,
+    default_command varchar(255),
+    exposed_ports varchar(255),
+    environment_vars text,
+    resource_limits text,
+    ssh_enabled boolean,
+    persistent_storage boolean,
+    storage_size varchar(255),
+    created_by bigint,
+    is_public boolean,
+    category varchar(255),
+    difficulty_level varchar(255),
+    pre_installed_tools text,
+    primary key (id),
+    constraint fk_container_templates_created_by foreign key (created_by) references users (id)
+);
+
+create table ssh_connections (
+    id bigint generated by default as identity,
+    user_id bigint not null,
+    container_instance_id bigint not null,
+    ssh_username varchar(255) not null,
+    ssh_password varchar(255),
+    ssh_public_key text,
+    connection_port integer,
+    container_ip varchar(255),
+    status varchar(255),
+    created_at timestamp(6),
+    expires_at timestamp(6),
+    last_accessed timestamp(6),
+    primary key (id),
+    constraint fk_ssh_connections_user foreign key (user_id) references users (id),
+    constraint fk_ssh_connections_container_instance foreign key (container_instance_id) references container_instance (id)
+);
@@ -0,0 +1,166 @@
+package com.thesis.backend.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thesis.backend.dto.UserImportResult;
+import com.thesis.backend.entity.User;
+import com.thesis.backend.repository.UserRepository;
+import com.thesis.backend.service.CohortTeardownService;
+import com.thesis.backend.service.NamespaceService;
+import com.thesis.backend.service.OrphanResourceCollector;
+import com.thesis.backend.service.UserImportService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.method.annotation.AuthenticationPrincipalArgumentResolver;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Roster import through the admin endpoint with mocked persistence: JSON and CSV rosters, duplicates,
+ * a row whose password cannot be hashed, and one NDJSON result line per row.
+ */
+public class AdminControllerImportTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+    private final NamespaceService namespaceService = mock(NamespaceService.class);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong ids = new AtomicLong(100);
+    private UserImportService userImportService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setUp() {
+        userImportService = new UserImportService(userRepository, passwordEncoder, namespaceService,
+                mock(TransactionTemplate.class));
+        ReflectionTestUtils.setField(userImportService, "batchSize", 2);
+        ReflectionTestUtils.setField(userImportService, "hashThreads", 2);
+        ReflectionTestUtils.setField(userImportService, "namespaceConcurrency", 2);
+        ReflectionTestUtils.invokeMethod(userImportService, "startExecutors");
+
+        AdminController controller = new AdminController(userRepository, passwordEncoder, namespaceService,
+                userImportService, mock(OrphanResourceCollector.class), mock(CohortTeardownService.class), objectMapper);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setCustomArgumentResolvers(new AuthenticationPrincipalArgumentResolver())
+                .build();
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                User.builder().id(1L).username("root").role("ROLE_SUPER_ADMIN").build(), null, List.of()));
+
+        when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> {
+            String raw = invocation.getArgument(0);
+            if ("unhashable".equals(raw)) {
+                throw new IllegalStateException("encoder unavailable");
+            }
+            return "hash-" + raw;
+        });
+        when(userRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<User> saved = new ArrayList<>();
+            for (User user : (Iterable<User>) invocation.getArgument(0)) {
+                user.setId(ids.incrementAndGet());
+                saved.add(user);
+            }
+            return saved;
+        });
+        when(namespaceService.createStudentNamespace(any())).thenAnswer(invocation ->
+                "student-" + ((User) invocation.getArgument(0)).getUsername());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ReflectionTestUtils.invokeMethod(userImportService, "stopExecutors");
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void jsonRosterStreamsOneLinePerRowAndSurvivesAHashFailure() throws Exception {
+        String roster = "["
+                + "{\"username\":\"alice\",\"password\":\"secret\",\"role\":\"student\"},"
+                + "{\"username\":\"bob\",\"password\":\"secret\",\"role\":\"TEACHER\"},"
+                + "{\"username\":\"alice\",\"password\":\"other\",\"role\":\"student\"},"
+                + "{\"username\":\"carol\",\"password\":\"unhashable\",\"role\":\"student\"},"
+                + "{\"username\":\"dave\",\"password\":\"secret\",\"role\":\"student\"},"
+                + "{\"username\":\"erin\",\"role\":\"student\"}"
+                + "]";
+
+        Map<Integer, UserImportResult> results = importRoster(post("/api/admin/users/import")
+                .contentType(MediaType.APPLICATION_JSON).content(roster), 6);
+
+        assertEquals("CREATED", results.get(1).getStatus());
+        assertEquals("student-alice", results.get(1).getKubernetesNamespace());
+        assertEquals("CREATED", results.get(2).getStatus());
+        assertNull(results.get(2).getKubernetesNamespace());
+        assertEquals("SKIPPED", results.get(3).getStatus());
+        assertEquals("Username already exists", results.get(3).getMessage());
+        assertEquals("FAILED", results.get(4).getStatus());
+        assertTrue(results.get(4).getMessage().contains("encoder unavailable"));
+        // Rows after the failed hash are still imported
+        assertEquals("CREATED", results.get(5).getStatus());
+        assertNotNull(results.get(5).getUserId());
+        assertEquals("FAILED", results.get(6).getStatus());
+        assertEquals("Password is required", results.get(6).getMessage());
+        verify(namespaceService, never()).createStudentNamespace(argThat(user -> "carol".equals(user.getUsername())));
+    }
+
+    @Test
+    public void csvRosterSkipsExistingAccounts() throws Exception {
+        when(userRepository.findByUsernameIn(any())).thenReturn(List.of(
+                User.builder().id(7L).username("frank").email("frank@example.com").build()));
+        String roster = "username,email,password,role,cohort\n"
+                + "frank,,secret,student,os-2025\n"
+                + "\"grace\",grace@example.com,\"p,w\",student,os-2025\n"
+                + "heidi,grace@example.com,secret,student,\n";
+
+        Map<Integer, UserImportResult> results = importRoster(post("/api/admin/users/import")
+                .contentType("text/csv").content(roster), 3);
+
+        assertEquals("SKIPPED", results.get(1).getStatus());
+        assertEquals("CREATED", results.get(2).getStatus());
+        assertEquals("student-grace", results.get(2).getKubernetesNamespace());
+        assertEquals("SKIPPED", results.get(3).getStatus());
+        assertEquals("Email already exists", results.get(3).getMessage());
+        verify(passwordEncoder).encode("p,w");
+    }
+
+    /**
+     * Run the streamed import and key its NDJSON lines by row, checking there is exactly one per row
+     */
+    private Map<Integer, UserImportResult> importRoster(MockHttpServletRequestBuilder upload, int rows) throws Exception {
+        MvcResult started = mockMvc.perform(upload).andExpect(request().asyncStarted()).andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        List<UserImportResult> lines = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            lines.add(objectMapper.readValue(line, UserImportResult.class));
+        }
+        assertEquals(rows, lines.size());
+        return lines.stream().collect(Collectors.toMap(UserImportResult::getRow, Function.identity()));
+    }
+}
@@ -0,0 +1,144 @@
+package com.thesis.backend.controller;
+
+import com.thesis.backend.entity.ContainerInstance;
+import com.thesis.backend.entity.User;
+import com.thesis.backend.repository.ContainerInstanceRepository;
+import com.thesis.backend.service.ContainerChangeLog;
+import com.thesis.backend.service.ContainerInstanceService;
+import com.thesis.backend.service.DashboardService;
+import com.thesis.backend.web.ChangeCounterListener;
+import com.thesis.backend.web.ChangeCounters;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.method.annotation.AuthenticationPrincipalArgumentResolver;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.LongToIntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Conditional GETs on the container list: a matching If-None-Match is answered with 304 before any
+ * service or repository call, and the ETag moves with status UPDATEs, entity saves and the caller.
+ */
+public class ContainerControllerETagTest {
+
+    private final ContainerInstanceRepository containerRepo = mock(ContainerInstanceRepository.class);
+    private final ContainerInstanceService containerInstanceService = mock(ContainerInstanceService.class);
+    private final ContainerChangeLog containerChangeLog = mock(ContainerChangeLog.class);
+    private final ChangeCounters changeCounters = new ChangeCounters();
+    private final User alice = User.builder().id(7L).username("alice").role("ROLE_STUDENT").build();
+    private final User bob = User.builder().id(8L).username("bob").role("ROLE_STUDENT").build();
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setUp() {
+        ContainerController controller = new ContainerController(null, containerRepo, null, containerInstanceService,
+                null, null, changeCounters, containerChangeLog, mock(DashboardService.class));
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setCustomArgumentResolvers(new AuthenticationPrincipalArgumentResolver())
+                .build();
+        when(containerInstanceService.getStudentContainers(any())).thenReturn(List.of());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void matchingIfNoneMatchIsAnsweredWithoutLoadingContainers() throws Exception {
+        String etag = myContainersEtag(alice);
+
+        mockMvc.perform(get("/api/containers/my-containers").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+
+        verify(containerInstanceService, times(1)).getStudentContainers(alice);
+        verifyNoInteractions(containerRepo);
+    }
+
+    @Test
+    public void statusUpdateChangesTheEtag() throws Exception {
+        String before = myContainersEtag(alice);
+        when(containerRepo.findById(42L)).thenReturn(Optional.of(
+                ContainerInstance.builder().id(42L).name("python-alice").status("Running").build()));
+        when(containerRepo.updateStatus(eq(42L), eq("Stopped"), anyLong())).thenReturn(1);
+        when(containerChangeLog.write(any())).thenAnswer(invocation ->
+                ((LongToIntFunction) invocation.getArgument(0)).applyAsInt(1L));
+
+        mockMvc.perform(post("/api/containers/42/stop")).andExpect(status().isOk());
+
+        assertNotEquals(before, myContainersEtag(alice));
+        mockMvc.perform(get("/api/containers/my-containers").header(HttpHeaders.IF_NONE_MATCH, before))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void entitySaveChangesTheEtagOnceCommitted() throws Exception {
+        String before = myContainersEtag(alice);
+        ChangeCounterListener listener = new ChangeCounterListener(
+                new StaticListableBeanFactory(Map.of("changeCounters", changeCounters)).getBeanProvider(ChangeCounters.class));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            listener.changed(ContainerInstance.builder().id(42L).status("Running").build());
+            // Not visible while the saving transaction is still open
+            assertEquals(before, myContainersEtag(alice));
+
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            TransactionSynchronizationUtils.invokeAfterCommit(synchronizations);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertNotEquals(before, myContainersEtag(alice));
+    }
+
+    @Test
+    public void etagIsPerUser() throws Exception {
+        String aliceEtag = myContainersEtag(alice);
+        String bobEtag = myContainersEtag(bob);
+
+        assertNotEquals(aliceEtag, bobEtag);
+        // Bob presenting Alice's ETag must get his own list, not a 304
+        authenticate(bob);
+        mockMvc.perform(get("/api/containers/my-containers").header(HttpHeaders.IF_NONE_MATCH, aliceEtag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, bobEtag));
+    }
+
+    private String myContainersEtag(User user) throws Exception {
+        authenticate(user);
+        String etag = mockMvc.perform(get("/api/containers/my-containers"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        return etag;
+    }
+
+    private static void authenticate(User user) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, List.of()));
+    }
+}
@@ -0,0 +1,73 @@
+package com.thesis.backend.kubernetes;
+
+import io.fabric8.kubernetes.api.model.ManagedFieldsEntry;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.Quantity;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompactObjectsTest {
+
+    private final CompactObjects compact = new CompactObjects(new LabelInterner(1000));
+
+    @Test
+    public void podRoundTripKeepsMappedFieldsAndDropsTheRest() {
+        Pod pod = pod("alice-ws", "student-alice");
+
+        Pod expanded = compact.expand(compact.compact(pod));
+
+        assertEquals("alice-ws", expanded.getMetadata().getName());
+        assertEquals("student-alice", expanded.getMetadata().getNamespace());
+        assertEquals("42", expanded.getMetadata().getResourceVersion());
+        assertEquals(Map.of("app", "alice-ws", "managed-by", "thesis-platform"), expanded.getMetadata().getLabels());
+        assertEquals("Running", expanded.getStatus().getPhase());
+        assertEquals("10.0.0.7", expanded.getStatus().getPodIP());
+        assertEquals("500m", expanded.getSpec().getContainers().get(0).getResources().getLimits().get("cpu").toString());
+        assertEquals("256Mi", expanded.getSpec().getContainers().get(0).getResources().getRequests().get("memory").toString());
+        assertTrue(expanded.getMetadata().getManagedFields() == null || expanded.getMetadata().getManagedFields().isEmpty());
+        assertTrue(expanded.getMetadata().getAnnotations() == null || expanded.getMetadata().getAnnotations().isEmpty());
+    }
+
+    @Test
+    public void labelStringsAreSharedAcrossObjects() {
+        CompactObjects.CompactPod first = compact.compact(pod("alice-ws", "student-alice"));
+        CompactObjects.CompactPod second = compact.compact(pod("bob-ws", "student-alice"));
+
+        String firstValue = first.meta().labels().get("managed-by");
+        String secondValue = second.meta().labels().get("managed-by");
+        assertSame(firstValue, secondValue);
+        assertSame(first.meta().namespace(), second.meta().namespace());
+    }
+
+    private static Pod pod(String name, String namespace) {
+        return new PodBuilder()
+                .withNewMetadata()
+                    .withName(name)
+                    .withNamespace(new String(namespace.toCharArray()))
+                    .withResourceVersion("42")
+                    .addToLabels("app", name)
+                    .addToLabels("managed-by", new String("thesis-platform".toCharArray()))
+                    .addToAnnotations("kubectl.kubernetes.io/last-applied-configuration", "{}")
+                    .withManagedFields(new ManagedFieldsEntry())
+                .endMetadata()
+                .withNewSpec()
+                    .addNewContainer()
+                        .withName(name)
+                        .withImage("ubuntu:22.04")
+                        .withNewResources()
+                            .addToLimits("cpu", new Quantity("500m"))
+                            .addToRequests("memory", new Quantity("256Mi"))
+                        .endResources()
+                    .endContainer()
+                .endSpec()
+                .withNewStatus()
+                    .withPhase("Running")
+                    .withPodIP("10.0.0.7")
+                .endStatus()
+                .build();
+    }
+}
@@ -0,0 +1,105 @@
+package com.thesis.backend.kubernetes;
+
+import com.thesis.backend.entity.ContainerTemplate;
+import io.fabric8.kubernetes.api.model.Container;
+import io.fabric8.kubernetes.api.model.EnvVar;
+import io.fabric8.kubernetes.api.model.Pod;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompiledPodSpecTest {
+
+    @Test
+    public void honoursTemplateEnvResourcesAndPorts() {
+        CompiledPodSpec spec = CompiledPodSpec.compile(template()
+                .environmentVars("[\"NODE_ENV=development\",\"JAVA_HOME=/usr/lib/jvm/java-17\"]")
+                .resourceLimits("{\"limits\":{\"memory\":\"2Gi\"},\"requests\":{\"cpu\":\"250m\"}}")
+                .exposedPorts("3000, 9229/udp")
+                .build());
+
+        Container container = spec.instantiate("web-alice-1", "default", Map.of("app", "web-alice-1"), "alice", "ssh-credentials-alice")
+                .getSpec().getContainers().get(0);
+
+        Map<String, String> env = container.getEnv().stream()
+                .collect(Collectors.toMap(EnvVar::getName, EnvVar::getValue));
+        assertEquals("development", env.get("NODE_ENV"));
+        assertEquals("/usr/lib/jvm/java-17", env.get("JAVA_HOME"));
+        assertEquals("alice", env.get("WORKSPACE_USER"));
+        assertEquals("2Gi", container.getResources().getLimits().get("memory").toString());
+        assertEquals("250m", container.getResources().getRequests().get("cpu").toString());
+        // Keys the template leaves out keep the platform defaults
+        assertEquals("500m", container.getResources().getLimits().get("cpu").toString());
+        assertEquals(List.of(3000, 9229), container.getPorts().stream().map(p -> p.getContainerPort()).collect(Collectors.toList()));
+        assertEquals("UDP", container.getPorts().get(1).getProtocol());
+    }
+
+    @Test
+    public void instancesDoNotShareMutableState() {
+        CompiledPodSpec spec = CompiledPodSpec.compile(template().persistentStorage(true).build());
+
+        Pod alice = spec.instantiate("ws-alice", "default", Map.of("owner", "alice"), "alice", "ssh-credentials-alice");
+        Pod bob = spec.instantiate("ws-bob", "default", Map.of("owner", "bob"), "bob", "ssh-credentials-bob");
+        alice.getMetadata().getLabels().put("extra", "x");
+        alice.getSpec().getContainers().get(0).getEnv().clear();
+
+        assertEquals(Map.of("owner", "bob"), bob.getMetadata().getLabels());
+        assertFalse(bob.getSpec().getContainers().get(0).getEnv().isEmpty());
+        assertEquals("ws-bob-pvc", bob.getSpec().getVolumes().get(0).getPersistentVolumeClaim().getClaimName());
+    }
+
+    @Test
+    public void sshTemplatesUseThePlatformImageAndPort() {
+        Pod pod = CompiledPodSpec.compile(template().sshEnabled(true).persistentStorage(true).defaultCommand("sleep infinity").build())
+                .instantiate("ssh-alice", "default", Map.of(), "alice", "ssh-credentials-alice");
+        Container container = pod.getSpec().getContainers().get(0);
+
+        assertEquals(CompiledPodSpec.SSH_IMAGE, container.getImage());
+        assertEquals(22, container.getPorts().get(0).getContainerPort());
+        assertTrue(container.getCommand() == null || container.getCommand().isEmpty());
+        // The student's credential Secret is mounted read-only next to the workspace
+        assertEquals(List.of(CompiledPodSpec.WORKSPACE_VOLUME, CompiledPodSpec.CREDENTIALS_VOLUME),
+                pod.getSpec().getVolumes().stream().map(v -> v.getName()).collect(Collectors.toList()));
+        assertEquals("ssh-credentials-alice", pod.getSpec().getVolumes().get(1).getSecret().getSecretName());
+        assertTrue(pod.getSpec().getVolumes().get(1).getSecret().getOptional());
+        assertTrue(container.getVolumeMounts().get(1).getReadOnly());
+        assertEquals(CompiledPodSpec.CREDENTIALS_PATH, container.getVolumeMounts().get(1).getMountPath());
+    }
+
+    @Test
+    public void plainTemplatesMountNoCredentials() {
+        Pod pod = CompiledPodSpec.compile(template().build())
+                .instantiate("web-alice", "default", Map.of(), "alice", "ssh-credentials-alice");
+
+        assertNull(pod.getSpec().getVolumes());
+        assertNull(pod.getSpec().getContainers().get(0).getVolumeMounts());
+    }
+
+    @Test
+    public void rejectsInvalidTemplates() {
+        assertThrows(IllegalArgumentException.class,
+                () -> CompiledPodSpec.compile(template().resourceLimits("{\"cpu-limit\":\"lots\"}").build()));
+        assertThrows(IllegalArgumentException.class,
+                () -> CompiledPodSpec.compile(template().resourceLimits("{\"cpu-request\":\"2\",\"cpu-limit\":\"1\"}").build()));
+        assertThrows(IllegalArgumentException.class,
+                () -> CompiledPodSpec.compile(template().exposedPorts("[70000]").build()));
+        assertThrows(IllegalArgumentException.class,
+                () -> CompiledPodSpec.compile(template().environmentVars("1BAD=x").build()));
+        assertThrows(IllegalArgumentException.class,
+                () -> CompiledPodSpec.compile(template().environmentVars("{\"broken\"").build()));
+    }
+
+    private ContainerTemplate.ContainerTemplateBuilder template() {
+        return ContainerTemplate.builder()
+                .id(1L)
+                .version(0L)
+                .name("web")
+                .dockerImage("node:20-alpine")
+                .sshEnabled(false)
+                .persistentStorage(false);
+    }
+}
@@ -0,0 +1,134 @@
+package com.thesis.backend.repository;
+
+import com.thesis.backend.entity.ContainerInstance;
+import com.thesis.backend.entity.SshConnection;
+import com.thesis.backend.entity.User;
+import com.thesis.backend.service.ContainerChangeLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Conditional UPDATEs in ContainerInstanceRepository and SshConnectionRepository against the Flyway
+ * schema: the row count tells the caller whether it won, and a read after the update sees the new
+ * row instead of the entity already sitting in the persistence context.
+ */
+@DataJpaTest
+public class ConditionalUpdateRepositoryTest {
+
+    // Only stamps entity inserts here; the UPDATEs under test take their sequence as a parameter
+    @MockBean
+    private ContainerChangeLog containerChangeLog;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ContainerInstanceRepository containerInstanceRepository;
+
+    @Autowired
+    private SshConnectionRepository sshConnectionRepository;
+
+    private User student;
+    private ContainerInstance container;
+
+    @BeforeEach
+    public void setUp() {
+        student = entityManager.persist(User.builder()
+                .username("alice")
+                .email("alice@example.com")
+                .password("secret")
+                .role("ROLE_STUDENT")
+                .build());
+        container = entityManager.persist(ContainerInstance.builder()
+                .name("python-alice")
+                .status("Creating")
+                .kubernetesPodName("python-alice-1")
+                .owner(student)
+                .createdAt(LocalDateTime.now())
+                .build());
+        entityManager.flush();
+    }
+
+    @Test
+    public void updateStatusBumpsVersionAndSequence() {
+        Long version = container.getVersion();
+
+        assertEquals(1, containerInstanceRepository.updateStatus(container.getId(), "Running", 7L));
+
+        ContainerInstance reloaded = containerInstanceRepository.findById(container.getId()).orElseThrow();
+        assertEquals("Running", reloaded.getStatus());
+        assertEquals(version + 1, reloaded.getVersion());
+        assertEquals(7L, reloaded.getChangeSeq());
+    }
+
+    @Test
+    public void updateStatusToSameStatusTouchesNoRow() {
+        assertEquals(0, containerInstanceRepository.updateStatus(container.getId(), "Creating", 7L));
+        assertEquals(0, containerInstanceRepository.updateStatus(-1L, "Running", 7L));
+    }
+
+    @Test
+    public void compareAndSetStatusOnlyFromExpectedStatus() {
+        assertEquals(0, containerInstanceRepository.compareAndSetStatus(container.getId(), "Running", "Stopped", 7L));
+        assertEquals("Creating", containerInstanceRepository.findById(container.getId()).orElseThrow().getStatus());
+
+        assertEquals(1, containerInstanceRepository.compareAndSetStatus(container.getId(), "Creating", "Running", 8L));
+        assertEquals("Running", containerInstanceRepository.findById(container.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    public void compareAndSetStatusForIdsSkipsRowsThatMoved() {
+        ContainerInstance other = entityManager.persistAndFlush(ContainerInstance.builder()
+                .name("java-alice")
+                .status("Stopped")
+                .owner(student)
+                .build());
+
+        int updated = containerInstanceRepository.compareAndSetStatus(
+                List.of(container.getId(), other.getId()), "Creating", "Running", 9L);
+
+        assertEquals(1, updated);
+        assertEquals("Stopped", containerInstanceRepository.findById(other.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    public void updatePublicKeyIfActiveIsVisibleToNextRead() {
+        SshConnection connection = persistConnection("ACTIVE");
+        // Loaded into the persistence context first, as the ownership check does before the service runs
+        assertNull(sshConnectionRepository.findById(connection.getId()).orElseThrow().getSshPublicKey());
+
+        assertEquals(1, sshConnectionRepository.updatePublicKeyIfActive(connection.getId(), "ssh-ed25519 AAAA alice"));
+
+        SshConnection reloaded = sshConnectionRepository.findById(connection.getId()).orElseThrow();
+        assertEquals("ssh-ed25519 AAAA alice", reloaded.getSshPublicKey());
+        assertEquals(connection.getVersion() + 1, reloaded.getVersion());
+    }
+
+    @Test
+    public void updatePublicKeyIfActiveIgnoresInactiveConnections() {
+        SshConnection connection = persistConnection("INACTIVE");
+
+        assertEquals(0, sshConnectionRepository.updatePublicKeyIfActive(connection.getId(), "ssh-ed25519 AAAA alice"));
+        assertEquals(0, sshConnectionRepository.updatePublicKeyIfActive(-1L, "ssh-ed25519 AAAA alice"));
+        assertNull(sshConnectionRepository.findById(connection.getId()).orElseThrow().getSshPublicKey());
+    }
+
+    private SshConnection persistConnection(String status) {
+        return entityManager.persistAndFlush(SshConnection.builder()
+                .user(student)
+                .containerInstance(container)
+                .sshUsername("alice")
+                .status(status)
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+}
@@ -0,0 +1,91 @@
+package com.thesis.backend.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the Flyway migrations on H2 and checks that the SQL behind each hot repository query is
+ * planned on its index, so a renamed column or reordered index cannot silently fall back to a scan.
+ * The statements mirror what Hibernate generates for the JPQL/derived queries.
+ */
+@JdbcTest
+public class QueryPlanIndexTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void activeConnectionBySshUsername() {
+        assertPlanUses("select sc.* from ssh_connections sc where sc.ssh_username = 'u42' and sc.status = 'ACTIVE'",
+                "IDX_SSH_CONNECTIONS_USERNAME_STATUS");
+    }
+
+    @Test
+    public void expiredConnections() {
+        assertPlanUses("select sc.* from ssh_connections sc "
+                        + "where sc.expires_at < timestamp '2024-01-01 00:00:00' and sc.status = 'ACTIVE'",
+                "IDX_SSH_CONNECTIONS_STATUS_EXPIRES");
+    }
+
+    @Test
+    public void connectionsByUserAndStatus() {
+        assertPlanUses("select sc.* from ssh_connections sc where sc.user_id = 1 and sc.status = 'ACTIVE'",
+                "IDX_SSH_CONNECTIONS_USER_STATUS");
+    }
+
+    @Test
+    public void activeConnectionsByPodName() {
+        String plan = explain("select sc.* from ssh_connections sc "
+                + "join container_instance ci on ci.id = sc.container_instance_id "
+                + "where ci.kubernetes_pod_name = 'python-alice-1' and sc.status = 'ACTIVE'");
+        assertTrue(plan.contains("IDX_CONTAINER_INSTANCE_POD_NAME"), plan);
+        assertTrue(plan.contains("IDX_SSH_CONNECTIONS_CONTAINER_STATUS"), plan);
+    }
+
+    @Test
+    public void containersByOwner() {
+        assertPlanUses("select ci.* from container_instance ci where ci.owner_id = 1 and ci.status = 'Running'",
+                "IDX_CONTAINER_INSTANCE_OWNER_STATUS");
+        assertNoTableScan("select ci.* from container_instance ci where ci.owner_id = 1");
+    }
+
+    @Test
+    public void containerChangesSinceCursor() {
+        assertPlanUses("select ci.* from container_instance ci where ci.change_seq > 100 and ci.change_seq <= 200 "
+                        + "order by ci.change_seq",
+                "IDX_CONTAINER_INSTANCE_CHANGE_SEQ");
+        assertPlanUses("select t.* from container_tombstones t where t.change_seq > 100 and t.change_seq <= 200 "
+                        + "order by t.change_seq",
+                "IDX_CONTAINER_TOMBSTONES_CHANGE_SEQ");
+    }
+
+    @Test
+    public void usersByRoleAndCohort() {
+        assertPlanUses("select u.* from users u where u.role = 'ROLE_STUDENT'", "IDX_USERS_ROLE_ACTIVE");
+        assertPlanUses("select u.* from users u where u.cohort = 'os-2025-fall'", "IDX_USERS_COHORT");
+    }
+
+    @Test
+    public void templatesByCategory() {
+        assertPlanUses("select ct.* from container_templates ct where ct.category = 'Programming'",
+                "IDX_CONTAINER_TEMPLATES_CATEGORY");
+    }
+
+    private void assertPlanUses(String sql, String index) {
+        String plan = explain(sql);
+        assertTrue(plan.contains(index), () -> "Expected " + index + " in plan:\n" + plan);
+    }
+
+    private void assertNoTableScan(String sql) {
+        String plan = explain(sql);
+        assertFalse(plan.contains("tableScan"), () -> "Unexpected table scan:\n" + plan);
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.queryForObject("explain " + sql, String.class);
+    }
+}
@@ -0,0 +1,151 @@
+package com.thesis.backend.security;
+
+import com.thesis.backend.config.RateLimitProperties;
+import com.thesis.backend.entity.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * RateLimitFilter in front of stub endpoints: 429 with Retry-After once a bucket is empty, logins
+ * limited per submitted username and address as well as per address, and only POSTs counted as pod
+ * creation
+ */
+public class RateLimitFilterTest {
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setLimits(Map.of(
+                "anonymous", Map.of("auth", limit(2, 6)),
+                "anonymous-ip", Map.of("auth", limit(4, 6)),
+                "student", Map.of("create", limit(1, 6), "write", limit(100, 600))));
+        // Frozen clock: buckets never refill during a test
+        RateLimiter rateLimiter = new RateLimiter(properties, new SimpleMeterRegistry(), () -> 0L);
+        RateLimitFilter filter = new RateLimitFilter(rateLimiter, properties);
+        mockMvc = MockMvcBuilders.standaloneSetup(new StubController()).addFilters(filter).build();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void rejectsWith429AndRetryAfter() throws Exception {
+        mockMvc.perform(login("alice", "10.0.0.1")).andExpect(status().isOk());
+        mockMvc.perform(login("alice", "10.0.0.1")).andExpect(status().isOk());
+
+        mockMvc.perform(login("alice", "10.0.0.1"))
+                .andExpect(status().isTooManyRequests())
+                // 6 per minute: the next token in 10 seconds
+                .andExpect(header().string("Retry-After", "10"))
+                .andExpect(jsonPath("$.routeClass").value("auth"))
+                .andExpect(jsonPath("$.retryAfterSeconds").value(10));
+    }
+
+    @Test
+    public void loginsBehindOneAddressAreLimitedPerUsername() throws Exception {
+        mockMvc.perform(login("alice", "10.0.0.1")).andExpect(status().isOk());
+        mockMvc.perform(login("Alice", "10.0.0.1")).andExpect(status().isOk());
+        mockMvc.perform(login("ALICE", "10.0.0.1")).andExpect(status().isTooManyRequests());
+
+        // Same NAT address, other students: own buckets, and the body still reaches the controller
+        mockMvc.perform(login("bob", "10.0.0.1"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("bob"));
+        mockMvc.perform(login("carol", "10.0.0.1")).andExpect(status().isOk());
+        // Same username from another address
+        mockMvc.perform(login("alice", "10.0.0.2")).andExpect(status().isOk());
+    }
+
+    @Test
+    public void oneAddressCannotSprayUsernames() throws Exception {
+        for (String username : List.of("alice", "bob", "carol", "dave")) {
+            mockMvc.perform(login(username, "10.0.0.1")).andExpect(status().isOk());
+        }
+
+        mockMvc.perform(login("erin", "10.0.0.1"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath("$.routeClass").value("auth"));
+        mockMvc.perform(login("erin", "10.0.0.2")).andExpect(status().isOk());
+    }
+
+    @Test
+    public void onlyPostsCountAsPodCreation() throws Exception {
+        authenticate(User.builder().id(7L).username("alice").role("ROLE_STUDENT").build());
+
+        mockMvc.perform(post("/api/kubernetes/namespaces/lab/pods")).andExpect(status().isOk());
+        mockMvc.perform(post("/api/kubernetes/namespaces/lab/pods"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"));
+
+        // Deleting is a generic write with its own bucket
+        mockMvc.perform(delete("/api/kubernetes/namespaces/lab/pods/python-1")).andExpect(status().isOk());
+        mockMvc.perform(delete("/api/kubernetes/namespaces/lab/pods/python-2")).andExpect(status().isOk());
+    }
+
+    private static MockHttpServletRequestBuilder login(String username, String address) {
+        return post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"" + username + "\",\"password\":\"secret\"}")
+                .with(request -> {
+                    request.setRemoteAddr(address);
+                    return request;
+                });
+    }
+
+    private static void authenticate(User user) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, List.of()));
+    }
+
+    private static RateLimitProperties.Limit limit(long capacity, double perMinute) {
+        RateLimitProperties.Limit limit = new RateLimitProperties.Limit();
+        limit.setCapacity(capacity);
+        limit.setPerMinute(perMinute);
+        return limit;
+    }
+
+    @RestController
+    static class StubController {
+
+        @PostMapping("/api/auth/login")
+        public String login(@RequestBody Map<String, String> body) {
+            return body.get("username");
+        }
+
+        @PostMapping("/api/kubernetes/namespaces/lab/pods")
+        public String createPod() {
+            return "created";
+        }
+
+        @DeleteMapping("/api/kubernetes/namespaces/lab/pods/{name}")
+        public String deletePod() {
+            return "deleted";
+        }
+    }
+}
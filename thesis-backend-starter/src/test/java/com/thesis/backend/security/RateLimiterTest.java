@@ -0,0 +1,93 @@
+package com.thesis.backend.security;
+
+import com.thesis.backend.config.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    public void rejectsPastTheBurstAndReportsWhenToRetry() {
+        RateLimiter limiter = new RateLimiter(properties(4), meterRegistry, clock::get);
+
+        assertTrue(limiter.check("user-1", "student", "create").allowed());
+        assertTrue(limiter.check("user-1", "student", "create").allowed());
+        RateLimiter.Decision rejected = limiter.check("user-1", "student", "create");
+        assertFalse(rejected.allowed());
+        // 6 per minute: one token every 10 seconds
+        assertEquals(TimeUnit.SECONDS.toNanos(10), rejected.retryAfterNanos(), TimeUnit.MILLISECONDS.toNanos(1));
+
+        // Other users and other route classes have their own buckets
+        assertTrue(limiter.check("user-2", "student", "create").allowed());
+        assertTrue(limiter.check("user-1", "student", "read").allowed());
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        assertTrue(limiter.check("user-1", "student", "create").allowed());
+        assertEquals(1, meterRegistry.counter("http.ratelimit.requests",
+                "role", "student", "route", "create", "outcome", "rejected").count());
+    }
+
+    @Test
+    public void fallsBackToDefaultLimitsAndLeavesUnknownRoutesUnlimited() {
+        RateLimiter limiter = new RateLimiter(properties(4), meterRegistry, clock::get);
+
+        assertTrue(limiter.check("user-3", "teacher", "read").allowed());
+        assertFalse(limiter.check("user-3", "teacher", "read").allowed());
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limiter.check("user-3", "teacher", "ssh").allowed());
+        }
+    }
+
+    @Test
+    public void boundsTheNumberOfBuckets() {
+        RateLimiter limiter = new RateLimiter(properties(4), meterRegistry, clock::get);
+
+        for (int i = 0; i < 50; i++) {
+            limiter.check("user-" + i, "student", "create");
+        }
+        assertEquals(4, limiter.size());
+
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(31));
+        limiter.evictIdle();
+        assertEquals(0, limiter.size());
+    }
+
+    @Test
+    public void classifiesRoutes() {
+        assertEquals("create", RateLimitFilter.routeClass("POST", "/api/containers/create-for-self"));
+        assertEquals("create", RateLimitFilter.routeClass("POST", "/api/kubernetes/namespaces/lab/pods"));
+        assertEquals("ssh", RateLimitFilter.routeClass("POST", "/api/ssh/connect/42"));
+        assertEquals("auth", RateLimitFilter.routeClass("POST", "/api/auth/login"));
+        assertEquals("write", RateLimitFilter.routeClass("DELETE", "/api/containers/42"));
+        assertEquals("write", RateLimitFilter.routeClass("DELETE", "/api/kubernetes/namespaces/lab/pods/python-1"));
+        assertEquals("write", RateLimitFilter.routeClass("PUT", "/api/kubernetes/namespaces/lab/deployments/web"));
+        assertEquals("read", RateLimitFilter.routeClass("GET", "/api/containers/create-for-self"));
+        assertEquals("super-admin", RateLimitFilter.roleKey("ROLE_SUPER_ADMIN"));
+    }
+
+    private static RateLimitProperties properties(int maxBuckets) {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setStripes(2);
+        properties.setMaxBuckets(maxBuckets);
+        properties.setLimits(Map.of(
+                "student", Map.of("create", limit(2, 6), "read", limit(100, 600)),
+                "default", Map.of("read", limit(1, 60))));
+        return properties;
+    }
+
+    private static RateLimitProperties.Limit limit(long capacity, double perMinute) {
+        RateLimitProperties.Limit limit = new RateLimitProperties.Limit();
+        limit.setCapacity(capacity);
+        limit.setPerMinute(perMinute);
+        return limit;
+    }
+}
@@ -0,0 +1,223 @@
+package com.thesis.backend.service;
+
+import com.thesis.backend.dto.TeardownJobStatus;
+import com.thesis.backend.dto.TeardownRequest;
+import com.thesis.backend.entity.ContainerInstance;
+import com.thesis.backend.entity.User;
+import com.thesis.backend.kubernetes.KubernetesResourceCache;
+import com.thesis.backend.repository.ContainerInstanceRepository;
+import com.thesis.backend.repository.SshConnectionRepository;
+import com.thesis.backend.repository.UserRepository;
+import io.fabric8.kubernetes.api.model.NamespaceBuilder;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.ServiceBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.server.mock.EnableKubernetesMockClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Who a teardown selects, and how a job moves from RUNNING to COMPLETED / COMPLETED_WITH_ERRORS as
+ * users are processed and their namespaces disappear (or get stuck) on a CRUD Kubernetes mock.
+ */
+@EnableKubernetesMockClient(crud = true)
+public class CohortTeardownServiceTest {
+
+    static KubernetesClient client;
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final ContainerInstanceRepository containerInstanceRepository = mock(ContainerInstanceRepository.class);
+    private final CohortTeardownRecords teardownRecords = mock(CohortTeardownRecords.class);
+    private final User superAdmin = user(1L, "root", "ROLE_SUPER_ADMIN", null);
+    private final User admin = user(2L, "admin", "ROLE_ADMIN", null);
+    private final User teacher = user(3L, "teacher", "ROLE_TEACHER", null);
+    private final User alice = user(4L, "alice", "ROLE_STUDENT", null);
+    private final User bob = user(5L, "bob", "ROLE_STUDENT", "student-bob");
+    private CohortTeardownService service;
+
+    @BeforeEach
+    public void setUp() {
+        service = new CohortTeardownService(userRepository, containerInstanceRepository,
+                mock(SshConnectionRepository.class), mock(SshConnectionService.class), mock(NamespaceService.class),
+                client, mock(KubernetesResourceCache.class), teardownRecords);
+        ReflectionTestUtils.setField(service, "sharedNamespace", "default");
+        ReflectionTestUtils.setField(service, "stuckAfterMinutes", 10L);
+        when(userRepository.findAllById(any())).thenReturn(List.of(superAdmin, admin, teacher, alice));
+        teacher.setCohort("os-2025");
+        alice.setCohort("os-2025");
+        when(userRepository.findByCohort("os-2025")).thenReturn(List.of(teacher, alice));
+    }
+
+    @Test
+    public void adminsAndTeachersAreProtectedByDefault() {
+        TeardownRequest request = new TeardownRequest();
+        request.setUserIds(List.of(1L, 2L, 3L, 4L));
+
+        TeardownJobStatus status = run(request);
+
+        assertEquals(1, status.getTotalUsers());
+        verify(teardownRecords).releaseUser(eq(alice), anyList());
+        verify(teardownRecords, never()).releaseUser(eq(teacher), anyList());
+    }
+
+    @Test
+    public void teachersOnlyWhenRequested() {
+        TeardownRequest request = new TeardownRequest();
+        request.setCohort("os-2025");
+        request.setIncludeTeachers(true);
+
+        assertEquals(2, run(request).getTotalUsers());
+        verify(teardownRecords).releaseUser(eq(teacher), anyList());
+    }
+
+    @Test
+    public void criteriaAreCombinedAndTheCallerIsSkipped() {
+        TeardownRequest request = new TeardownRequest();
+        request.setCohort("os-2025");
+        request.setRole("teacher");
+        request.setIncludeTeachers(true);
+        request.setDeleteUsers(true);
+
+        TeardownJobStatus status = run(request, teacher);
+
+        assertEquals(0, status.getTotalUsers());
+        verifyNoInteractions(teardownRecords);
+    }
+
+    @Test
+    public void selectionRequiresACriterion() {
+        assertThrows(RuntimeException.class, () -> service.start(new TeardownRequest(), superAdmin));
+    }
+
+    @Test
+    public void completesOnceUsersAreProcessedWithoutNamespaces() {
+        TeardownRequest request = new TeardownRequest();
+        request.setUserIds(List.of(4L));
+        request.setDeleteUsers(true);
+
+        TeardownJobStatus started = run(request);
+        assertEquals("RUNNING", started.getState());
+
+        service.trackTerminatingNamespaces();
+
+        TeardownJobStatus done = service.getJob(started.getJobId());
+        assertEquals("COMPLETED", done.getState());
+        assertEquals(1, done.getProcessedUsers());
+        assertNotNull(done.getFinishedAt());
+        verify(teardownRecords).deleteUser(eq(alice), anyList());
+    }
+
+    @Test
+    public void staysRunningUntilTheNamespaceIsGone() {
+        client.namespaces().resource(new NamespaceBuilder().withNewMetadata().withName("student-bob").endMetadata()
+                .build()).create();
+        when(userRepository.findAllById(any())).thenReturn(List.of(bob));
+        TeardownRequest request = new TeardownRequest();
+        request.setUserIds(List.of(5L));
+
+        String jobId = run(request).getJobId();
+        service.trackTerminatingNamespaces();
+        TeardownJobStatus terminating = service.getJob(jobId);
+        assertEquals("RUNNING", terminating.getState());
+        assertEquals(1, terminating.getNamespacesTerminating());
+
+        client.namespaces().withName("student-bob").delete();
+        service.trackTerminatingNamespaces();
+        TeardownJobStatus done = service.getJob(jobId);
+        assertEquals("COMPLETED", done.getState());
+        assertEquals(1, done.getNamespacesDeleted());
+    }
+
+    @Test
+    public void namespaceTerminatingTooLongIsReportedStuck() {
+        client.namespaces().resource(new NamespaceBuilder().withNewMetadata().withName("student-bob").endMetadata()
+                .build()).create();
+        when(userRepository.findAllById(any())).thenReturn(List.of(bob));
+        ReflectionTestUtils.setField(service, "stuckAfterMinutes", -1L);
+        TeardownRequest request = new TeardownRequest();
+        request.setUserIds(List.of(5L));
+
+        String jobId = run(request).getJobId();
+        service.trackTerminatingNamespaces();
+
+        TeardownJobStatus status = service.getJob(jobId);
+        assertEquals("COMPLETED_WITH_ERRORS", status.getState());
+        assertTrue(status.getStuckNamespaces().containsKey("student-bob"));
+    }
+
+    @Test
+    public void legacySharedNamespaceObjectsAreDeleted() {
+        // Labelled before managed-by existed, and a per-grant SSH Service without any labels
+        client.pods().inNamespace("default").resource(new PodBuilder().withNewMetadata().withName("python-alice-1")
+                .withLabels(Map.of("app", "python-alice-1", "owner", "alice", "type", "student-container"))
+                .endMetadata().build()).create();
+        client.services().inNamespace("default").resource(new ServiceBuilder().withNewMetadata()
+                .withName("python-alice-1-ssh").endMetadata().build()).create();
+        client.pods().inNamespace("default").resource(new PodBuilder().withNewMetadata().withName("python-carol-1")
+                .withLabels(Map.of("owner", "carol", "type", "student-container")).endMetadata().build()).create();
+        when(containerInstanceRepository.findByOwner(alice)).thenReturn(List.of(
+                ContainerInstance.builder().id(41L).kubernetesPodName("python-alice-1").owner(alice).build()));
+        TeardownRequest request = new TeardownRequest();
+        request.setUserIds(List.of(4L));
+
+        run(request);
+
+        assertNull(client.pods().inNamespace("default").withName("python-alice-1").get());
+        assertNull(client.services().inNamespace("default").withName("python-alice-1-ssh").get());
+        assertNotNull(client.pods().inNamespace("default").withName("python-carol-1").get());
+    }
+
+    @Test
+    public void failedUserCompletesWithErrors() {
+        doThrow(new RuntimeException("database unavailable")).when(teardownRecords).releaseUser(eq(alice), anyList());
+        TeardownRequest request = new TeardownRequest();
+        request.setUserIds(List.of(4L));
+
+        String jobId = run(request).getJobId();
+        service.trackTerminatingNamespaces();
+
+        TeardownJobStatus status = service.getJob(jobId);
+        assertEquals("COMPLETED_WITH_ERRORS", status.getState());
+        assertEquals(1, status.getFailedUsers());
+        assertEquals(List.of("alice: database unavailable"), status.getErrors());
+    }
+
+    private TeardownJobStatus run(TeardownRequest request) {
+        return run(request, superAdmin);
+    }
+
+    /**
+     * Start the job and wait for its user tasks; the job itself only finishes on the next namespace poll
+     */
+    private TeardownJobStatus run(TeardownRequest request, User caller) {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        ReflectionTestUtils.setField(service, "executor", executor);
+        TeardownJobStatus status = service.start(request, caller);
+        executor.shutdown();
+        try {
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(e);
+        }
+        return status;
+    }
+
+    private static User user(Long id, String username, String role, String namespace) {
+        return User.builder().id(id).username(username).email(username + "@example.com").password("secret")
+                .role(role).kubernetesNamespace(namespace).build();
+    }
+}
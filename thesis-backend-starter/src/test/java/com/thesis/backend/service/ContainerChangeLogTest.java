@@ -0,0 +1,160 @@
+package com.thesis.backend.service;
+
+import com.thesis.backend.entity.ContainerInstance;
+import com.thesis.backend.entity.ContainerTombstone;
+import com.thesis.backend.repository.ContainerInstanceRepository;
+import com.thesis.backend.repository.ContainerTombstoneRepository;
+import com.thesis.backend.web.ChangeCounters;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+/**
+ * Cursor and paging rules of the container delta sync against mocked range queries: the cursor never
+ * passes an uncommitted number, same-numbered batches are never split, and stale cursors resync.
+ */
+public class ContainerChangeLogTest {
+
+    private final ContainerInstanceRepository containerInstanceRepository = mock(ContainerInstanceRepository.class);
+    private final ContainerTombstoneRepository containerTombstoneRepository = mock(ContainerTombstoneRepository.class);
+    private ContainerChangeLog changeLog;
+
+    @BeforeEach
+    public void setUp() {
+        when(containerInstanceRepository.maxChangeSeq()).thenReturn(10L);
+        when(containerTombstoneRepository.maxChangeSeq()).thenReturn(8L);
+        when(containerTombstoneRepository.minChangeSeq()).thenReturn(3L);
+        changeLog = new ContainerChangeLog(containerInstanceRepository, containerTombstoneRepository, new ChangeCounters());
+        changeLog.init();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void cursorStopsBelowAnUncommittedNumber() {
+        TransactionSynchronizationManager.initSynchronization();
+        long held = changeLog.stamp();
+        // A later write from another request commits first
+        CompletableFuture.runAsync(() -> changeLog.write(seq -> 1)).join();
+
+        ContainerChangeLog.Changes changes = changeLog.changes(5, null, 100);
+
+        assertEquals(11, held);
+        assertEquals(10, changes.cursor());
+        verify(containerInstanceRepository).findChanged(eq(5L), eq(10L), isNull(), any());
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, TransactionSynchronization.STATUS_COMMITTED);
+
+        assertEquals(12, changeLog.changes(5, null, 100).cursor());
+    }
+
+    @Test
+    public void pageEndsBeforeABatchThatDoesNotFit() {
+        when(containerInstanceRepository.findChanged(eq(5L), eq(10L), isNull(), any()))
+                .thenReturn(containers(6, 7, 7));
+
+        ContainerChangeLog.Changes changes = changeLog.changes(5, null, 2);
+
+        assertEquals(6, changes.cursor());
+        assertTrue(changes.hasMore());
+        assertEquals(List.of(6L), seqs(changes.changed()));
+    }
+
+    @Test
+    public void batchLargerThanThePageIsReturnedWhole() {
+        when(containerInstanceRepository.findChanged(eq(5L), eq(10L), isNull(), any()))
+                .thenReturn(containers(6, 6, 6));
+        when(containerInstanceRepository.findChanged(5L, 6L, null, Pageable.unpaged()))
+                .thenReturn(containers(6, 6, 6, 6, 6));
+        when(containerTombstoneRepository.findChanged(5L, 6L, null, Pageable.unpaged()))
+                .thenReturn(List.of(tombstone(99L, 6)));
+
+        ContainerChangeLog.Changes changes = changeLog.changes(5, null, 2);
+
+        assertEquals(6, changes.cursor());
+        assertTrue(changes.hasMore());
+        assertEquals(5, changes.changed().size());
+        assertEquals(List.of(99L), changes.deleted());
+    }
+
+    @Test
+    public void tombstoneOnlyPage() {
+        when(containerTombstoneRepository.findChanged(eq(5L), eq(10L), isNull(), any()))
+                .thenReturn(List.of(tombstone(41L, 7), tombstone(42L, 9)));
+
+        ContainerChangeLog.Changes changes = changeLog.changes(5, null, 100);
+
+        assertFalse(changes.reset());
+        assertFalse(changes.hasMore());
+        assertEquals(10, changes.cursor());
+        assertTrue(changes.changed().isEmpty());
+        assertEquals(List.of(41L, 42L), changes.deleted());
+    }
+
+    @Test
+    public void cursorBelowTheTombstoneHorizonResets() {
+        List<ContainerInstance> all = containers(1, 4, 10);
+        when(containerInstanceRepository.findAll()).thenReturn(all);
+
+        ContainerChangeLog.Changes changes = changeLog.changes(1, null, 100);
+
+        assertTrue(changes.reset());
+        assertEquals(10, changes.cursor());
+        assertSame(all, changes.changed());
+        verify(containerInstanceRepository, never()).findChanged(eq(1L), anyLong(), any(), any());
+
+        // At the horizon the retained tombstones still cover the gap
+        assertFalse(changeLog.changes(2, null, 100).reset());
+    }
+
+    @Test
+    public void studentSeesOnlyOwnChanges() {
+        changeLog.changes(5, 7L, 100);
+
+        verify(containerInstanceRepository).findChanged(eq(5L), eq(10L), eq(7L), any());
+        verify(containerTombstoneRepository).findChanged(eq(5L), eq(10L), eq(7L), any());
+
+        // A student's snapshot is their own containers, not findAll
+        changeLog.changes(0, 7L, 100);
+
+        verify(containerInstanceRepository).findChanged(Long.MIN_VALUE, Long.MAX_VALUE, 7L, Pageable.unpaged());
+        verify(containerInstanceRepository, never()).findAll();
+    }
+
+    private static List<ContainerInstance> containers(long... seqs) {
+        return LongStream.of(seqs)
+                .mapToObj(seq -> ContainerInstance.builder().id(seq * 100).changeSeq(seq).build())
+                .collect(Collectors.toList());
+    }
+
+    private static ContainerTombstone tombstone(Long containerId, long seq) {
+        return ContainerTombstone.builder().containerId(containerId).changeSeq(seq).build();
+    }
+
+    private static List<Long> seqs(List<ContainerInstance> containers) {
+        return containers.stream().map(ContainerInstance::getChangeSeq).collect(Collectors.toList());
+    }
+}
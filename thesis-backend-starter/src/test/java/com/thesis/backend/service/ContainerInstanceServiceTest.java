@@ -0,0 +1,99 @@
+package com.thesis.backend.service;
+
+import com.thesis.backend.entity.ContainerInstance;
+import com.thesis.backend.entity.ContainerTemplate;
+import com.thesis.backend.entity.User;
+import com.thesis.backend.kubernetes.KubernetesResourceCache;
+import com.thesis.backend.repository.ContainerInstanceRepository;
+import com.thesis.backend.repository.ContainerTemplateRepository;
+import com.thesis.backend.web.ChangeCounters;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.server.mock.EnableKubernetesMockClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.function.LongToIntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Template containers against a CRUD Kubernetes mock: the pod and PVC must be created in the namespace
+ * every later read (status refresh, stop, delete, logs) resolves through namespaceFor.
+ */
+@EnableKubernetesMockClient(crud = true)
+public class ContainerInstanceServiceTest {
+
+    static KubernetesClient client;
+
+    private final ContainerInstanceRepository containerInstanceRepository = mock(ContainerInstanceRepository.class);
+    private final ContainerTemplateRepository containerTemplateRepository = mock(ContainerTemplateRepository.class);
+    private final ContainerChangeLog containerChangeLog = mock(ContainerChangeLog.class);
+    private ContainerInstanceService service;
+
+    @BeforeEach
+    public void setUp() {
+        service = new ContainerInstanceService(containerInstanceRepository, containerTemplateRepository, null, null,
+                client, null, mock(KubernetesResourceCache.class), new CompiledPodSpecCache(), new ChangeCounters(),
+                containerChangeLog);
+        ReflectionTestUtils.setField(service, "namespace", "default");
+
+        when(containerTemplateRepository.findById(1L)).thenReturn(Optional.of(ContainerTemplate.builder()
+                .id(1L)
+                .version(0L)
+                .name("python")
+                .dockerImage("python:3.11-slim")
+                .sshEnabled(false)
+                .persistentStorage(true)
+                .build()));
+        when(containerInstanceRepository.save(any())).thenAnswer(invocation -> {
+            ContainerInstance instance = invocation.getArgument(0);
+            instance.setId(42L);
+            return instance;
+        });
+        when(containerChangeLog.write(any())).thenAnswer(invocation ->
+                ((LongToIntFunction) invocation.getArgument(0)).applyAsInt(1L));
+        when(containerInstanceRepository.compareAndSetStatus(anyLong(), anyString(), anyString(), anyLong())).thenReturn(1);
+    }
+
+    @Test
+    public void templateContainerLivesInTheOwnersNamespaceAndRefreshes() {
+        User student = User.builder().id(7L).username("alice").role("ROLE_STUDENT")
+                .kubernetesNamespace("student-alice").build();
+
+        ContainerInstance instance = service.createContainerFromTemplate(1L, student, null);
+
+        String podName = instance.getKubernetesPodName();
+        assertNotNull(client.pods().inNamespace("student-alice").withName(podName).get());
+        assertNotNull(client.persistentVolumeClaims().inNamespace("student-alice").withName(podName + "-pvc").get());
+        assertNull(client.pods().inNamespace("default").withName(podName).get());
+        // The pod has no phase yet: it is starting, not stopped
+        assertEquals("Creating", instance.getStatus());
+        verify(containerInstanceRepository, never()).compareAndSetStatus(anyLong(), anyString(), eq("Stopped"), anyLong());
+
+        client.pods().inNamespace("student-alice").withName(podName).editStatus(pod -> new PodBuilder(pod)
+                .withNewStatus().withPhase("Running").endStatus()
+                .build());
+        service.updateContainerStatus(instance);
+
+        assertEquals("Running", instance.getStatus());
+        verify(containerInstanceRepository).compareAndSetStatus(42L, "Creating", "Running", 1L);
+    }
+
+    @Test
+    public void ownersWithoutANamespaceUseTheSharedOne() {
+        User student = User.builder().id(8L).username("bob").role("ROLE_STUDENT").build();
+
+        ContainerInstance instance = service.createContainerFromTemplate(1L, student, null);
+
+        assertNotNull(client.pods().inNamespace("default").withName(instance.getKubernetesPodName()).get());
+        assertEquals("default", service.namespaceFor(instance));
+    }
+}
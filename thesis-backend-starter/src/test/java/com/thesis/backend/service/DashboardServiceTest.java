@@ -0,0 +1,143 @@
+package com.thesis.backend.service;
+
+import com.thesis.backend.entity.ContainerInstance;
+import com.thesis.backend.entity.User;
+import com.thesis.backend.model.KubernetesListResult;
+import com.thesis.backend.repository.ImageTemplateRepository;
+import com.thesis.backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Section isolation and caching of the composed dashboard, with a stub section that blocks until the
+ * test releases it
+ */
+public class DashboardServiceTest {
+
+    private final ContainerInstanceService containerInstanceService = mock(ContainerInstanceService.class);
+    private final ActivityService activityService = mock(ActivityService.class);
+    private final PodService podService = mock(PodService.class);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final User alice = User.builder().id(7L).username("alice").role("ROLE_STUDENT").build();
+    private final User bob = User.builder().id(8L).username("bob").role("ROLE_STUDENT").build();
+    private DashboardService service;
+
+    @BeforeEach
+    public void setUp() {
+        service = new DashboardService(containerInstanceService, mock(UserRepository.class),
+                mock(ImageTemplateRepository.class), podService, activityService, mock(SystemStatusService.class));
+        configure(8, 64, 5000);
+        when(containerInstanceService.getStudentContainers(any())).thenReturn(List.of());
+        when(podService.getAllPods(true, true, false)).thenReturn(new KubernetesListResult<>());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        service.stopExecutor();
+    }
+
+    @Test
+    public void slowSectionTimesOutAndTheRestIsServed() {
+        configure(8, 64, 100);
+        when(activityService.userActivities(alice)).thenAnswer(invocation -> slow(List.of()));
+
+        Map<String, Object> document = service.getDashboard(alice);
+
+        assertEquals(List.of("recentActivities"), document.get("unavailableSections"));
+        assertNull(document.get("recentActivities"));
+        assertNotNull(document.get("containers"));
+    }
+
+    @Test
+    public void partialDocumentIsNotReused() {
+        configure(8, 64, 100);
+        when(activityService.userActivities(alice)).thenAnswer(invocation -> slow(List.of()));
+
+        service.getDashboard(alice);
+        release.countDown();
+        Map<String, Object> complete = service.getDashboard(alice);
+        Map<String, Object> cached = service.getDashboard(alice);
+
+        assertEquals(List.of(), complete.get("unavailableSections"));
+        assertSame(complete, cached);
+        verify(containerInstanceService, times(2)).getStudentContainers(alice);
+    }
+
+    @Test
+    public void saturatedPoolRejectsSectionsInsteadOfQueueing() throws Exception {
+        // One worker blocked on alice's containers, her second section fills the one-slot queue
+        configure(1, 1, 5000);
+        when(containerInstanceService.getStudentContainers(alice)).thenAnswer(invocation -> slow(List.of()));
+        CompletableFuture<Map<String, Object>> aliceDashboard = CompletableFuture.supplyAsync(() -> service.getDashboard(alice));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        Map<String, Object> document = service.getDashboard(bob);
+
+        assertEquals(List.of("containers", "recentActivities"), document.get("unavailableSections"));
+        verify(containerInstanceService, never()).getStudentContainers(bob);
+        release.countDown();
+        assertEquals(List.of(), aliceDashboard.get(5, TimeUnit.SECONDS).get("unavailableSections"));
+    }
+
+    @Test
+    public void concurrentRequestsForOneKeyShareTheComputation() throws Exception {
+        when(containerInstanceService.getStudentContainers(alice)).thenAnswer(invocation -> slow(List.of()));
+
+        CompletableFuture<Map<String, Object>> first = CompletableFuture.supplyAsync(() -> service.getDashboard(alice));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Map<String, Object>> second = CompletableFuture.supplyAsync(() -> service.getDashboard(alice));
+        release.countDown();
+
+        assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+        verify(containerInstanceService, times(1)).getStudentContainers(alice);
+    }
+
+    @Test
+    public void staffShareOneDocumentPerRoleButStudentsDoNot() {
+        User teacher = User.builder().id(1L).username("teacher").role("ROLE_TEACHER").build();
+        User otherTeacher = User.builder().id(2L).username("teacher2").role("ROLE_TEACHER").build();
+        when(containerInstanceService.getAllContainers()).thenReturn(List.<ContainerInstance>of());
+
+        assertSame(service.getDashboard(teacher), service.getDashboard(otherTeacher));
+        service.getDashboard(alice);
+        service.getDashboard(bob);
+
+        verify(containerInstanceService, times(1)).getAllContainers();
+        // Pod counts cover every student namespace, not only the backend's own
+        verify(podService, times(1)).getAllPods(eq(true), eq(true), eq(false));
+        verify(containerInstanceService).getStudentContainers(alice);
+        verify(containerInstanceService).getStudentContainers(bob);
+    }
+
+    private void configure(int threads, int queueCapacity, long sectionTimeoutMs) {
+        if (ReflectionTestUtils.getField(service, "executor") != null) {
+            service.stopExecutor();
+        }
+        ReflectionTestUtils.setField(service, "threads", threads);
+        ReflectionTestUtils.setField(service, "queueCapacity", queueCapacity);
+        ReflectionTestUtils.setField(service, "sectionTimeoutMs", sectionTimeoutMs);
+        ReflectionTestUtils.setField(service, "cacheTtlMs", 60_000L);
+        service.startExecutor();
+    }
+
+    private <T> T slow(T value) throws InterruptedException {
+        started.countDown();
+        release.await(10, TimeUnit.SECONDS);
+        return value;
+    }
+}
@@ -0,0 +1,73 @@
+package com.thesis.backend.service;
+
+import com.thesis.backend.entity.ContainerTemplate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TemplateSearchIndexTest {
+
+    private TemplateSearchIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        index = new TemplateSearchIndex(null);
+        index.index(template(1L, "Python Development Environment", "Programming", "Beginner",
+                "Ubuntu container with Python 3 and common data science libraries", "[\"python3\",\"pip\",\"numpy\",\"pandas\"]"));
+        index.index(template(2L, "Data Science Environment", "Data Science", "Advanced",
+                "Jupyter notebooks with Python and R", "[\"jupyter\",\"python3\",\"scikit-learn\"]"));
+        index.index(template(3L, "Databases", "Web Development", "Intermediate",
+                "MySQL and PostgreSQL for the databases course", "[\"mysql-client\",\"psql\"]"));
+    }
+
+    @Test
+    public void ranksNameMatchesAboveDescriptionMatches() {
+        assertEquals(List.of(1L, 2L), ids(index.search("python", 10)));
+    }
+
+    @Test
+    public void matchesPrefixesAndFragmentsOfAnyField() {
+        assertEquals(List.of(1L, 2L), ids(index.search("pyth", 10)));
+        assertEquals(List.of(2L), ids(index.search("scikit", 10)));
+        assertEquals(List.of(3L), ids(index.search("sql", 10)));
+        assertEquals(List.of(2L), ids(index.search("advanced", 10)));
+    }
+
+    @Test
+    public void requiresEveryWord() {
+        assertEquals(List.of(2L), ids(index.search("python jupyter", 10)));
+        assertTrue(index.search("python mysql", 10).isEmpty());
+    }
+
+    @Test
+    public void updatesAndRemovalsAreReflected() {
+        index.index(template(3L, "Rust Systems Programming", "Programming", "Advanced", "Cargo and rustup", "[]"));
+        assertTrue(index.search("postgresql", 10).isEmpty());
+        assertEquals(List.of(3L), ids(index.search("rust", 10)));
+
+        index.remove(1L);
+        assertEquals(List.of(2L), ids(index.search("python", 10)));
+        assertEquals(2, index.size());
+    }
+
+    private static List<Long> ids(List<ContainerTemplate> templates) {
+        return templates.stream().map(ContainerTemplate::getId).collect(Collectors.toList());
+    }
+
+    private static ContainerTemplate template(Long id, String name, String category, String difficulty,
+                                              String description, String tools) {
+        return ContainerTemplate.builder()
+                .id(id)
+                .name(name)
+                .category(category)
+                .difficultyLevel(difficulty)
+                .description(description)
+                .dockerImage("ubuntu:22.04")
+                .preInstalledTools(tools)
+                .build();
+    }
+}
@@ -0,0 +1,53 @@
+package com.thesis.backend.service;
+
+import com.thesis.backend.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserSearchIndexTest {
+
+    private UserSearchIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        index = new UserSearchIndex(null);
+        index.index(user(1L, "alice", "alice@uni.edu", "ROLE_STUDENT"));
+        index.index(user(2L, "Alina", "a.k@uni.edu", "ROLE_STUDENT"));
+        index.index(user(3L, "bob", "alfred.b@uni.edu", "ROLE_STUDENT"));
+        index.index(user(4L, "alteacher", "t@uni.edu", "ROLE_TEACHER"));
+    }
+
+    @Test
+    public void matchesUsernamePrefixesBeforeEmailPrefixes() {
+        assertEquals(List.of(1L, 2L, 4L, 3L), ids(index.search("AL", null, 10)));
+    }
+
+    @Test
+    public void filtersByRoleAndLimits() {
+        assertEquals(List.of(1L, 2L, 3L), ids(index.search("al", "ROLE_STUDENT", 10)));
+        assertEquals(List.of(1L), ids(index.search("al", "ROLE_STUDENT", 1)));
+    }
+
+    @Test
+    public void followsRenamesAndDeletes() {
+        index.index(user(1L, "zoe", "zoe@uni.edu", "ROLE_STUDENT"));
+        index.remove(2L);
+
+        assertEquals(List.of(4L, 3L), ids(index.search("al", null, 10)));
+        assertEquals(List.of(1L), ids(index.search("zo", null, 10)));
+        assertEquals(3, index.size());
+    }
+
+    private static List<Long> ids(List<UserSearchIndex.Entry> entries) {
+        return entries.stream().map(UserSearchIndex.Entry::id).collect(Collectors.toList());
+    }
+
+    private static User user(Long id, String username, String email, String role) {
+        return User.builder().id(id).username(username).email(email).password("x").role(role).build();
+    }
+}
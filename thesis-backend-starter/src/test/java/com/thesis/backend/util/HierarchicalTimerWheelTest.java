@@ -0,0 +1,75 @@
+package com.thesis.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HierarchicalTimerWheelTest {
+
+    @Test
+    public void firesOnTheTickOfTheDeadline() {
+        HierarchicalTimerWheel<String> wheel = new HierarchicalTimerWheel<>(1000, 8, 3, 0);
+        wheel.schedule("a", 2500);
+
+        assertTrue(wheel.advance(2000).isEmpty());
+        assertEquals(List.of("a"), wheel.advance(3000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void cascadesFromHigherLevelsWithoutFiringEarly() {
+        HierarchicalTimerWheel<Long> wheel = new HierarchicalTimerWheel<>(10, 4, 3, 0);
+        Random random = new Random(42);
+        List<long[]> scheduled = new ArrayList<>();
+        for (long id = 0; id < 500; id++) {
+            long deadline = random.nextInt(2000);
+            wheel.schedule(id, deadline);
+            scheduled.add(new long[]{id, deadline});
+        }
+
+        int fired = 0;
+        for (long now = 0; now <= 2100; now += 10) {
+            for (Long id : wheel.advance(now)) {
+                long deadline = scheduled.get(id.intValue())[1];
+                assertTrue(deadline <= now, "fired early");
+                assertTrue(deadline > now - 10, "fired late");
+                fired++;
+            }
+        }
+        assertEquals(500, fired);
+    }
+
+    @Test
+    public void cancelledAndRescheduledKeysFireOnce() {
+        HierarchicalTimerWheel<String> wheel = new HierarchicalTimerWheel<>(1000, 8, 2, 0);
+        wheel.schedule("cancelled", 5000);
+        wheel.schedule("moved", 5000);
+        assertTrue(wheel.cancel("cancelled"));
+        wheel.schedule("moved", 9000);
+
+        assertTrue(wheel.advance(8000).isEmpty());
+        assertEquals(List.of("moved"), wheel.advance(9000));
+    }
+
+    @Test
+    public void pastDeadlinesFireOnNextAdvance() {
+        HierarchicalTimerWheel<String> wheel = new HierarchicalTimerWheel<>(1000, 8, 2, 10_000);
+        wheel.schedule("late", 1_000);
+        assertEquals(List.of("late"), wheel.advance(10_000));
+    }
+
+    @Test
+    public void deadlinesBeyondTheTopLevelAreParkedAndReplaced() {
+        // 4 slots x 2 levels covers 16 ticks; schedule 100 ticks out
+        HierarchicalTimerWheel<String> wheel = new HierarchicalTimerWheel<>(1, 4, 2, 0);
+        wheel.schedule("far", 100);
+        for (long now = 1; now < 100; now++) {
+            assertTrue(wheel.advance(now).isEmpty(), "fired early at " + now);
+        }
+        assertEquals(List.of("far"), wheel.advance(100));
+    }
+}
@@ -0,0 +1,54 @@
+package com.thesis.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenBucketTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    public void startsFullAndRefillsAtTheConfiguredRate() {
+        TokenBucket bucket = new TokenBucket(10, 5, clock::get);
+
+        assertTrue(bucket.tryAcquire(10));
+        assertFalse(bucket.tryAcquire(1));
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(400));
+        assertEquals(2, bucket.availableTokens());
+        assertTrue(bucket.tryAcquire(2));
+        assertFalse(bucket.tryAcquire(1));
+    }
+
+    @Test
+    public void neverRefillsBeyondCapacity() {
+        TokenBucket bucket = new TokenBucket(10, 100, clock::get);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(60));
+        assertEquals(10, bucket.availableTokens());
+    }
+
+    @Test
+    public void reserveGoesIntoDebtAndReportsTheWait() {
+        TokenBucket bucket = new TokenBucket(100, 1000, clock::get);
+
+        assertEquals(0, bucket.reserve(100));
+        // 500 tokens of debt at 1000 tokens/s is half a second
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(500), bucket.reserve(500));
+        assertFalse(bucket.tryAcquire(1));
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        assertEquals(0, bucket.availableTokens());
+    }
+
+    @Test
+    public void reportsTimeUntilPermitsAreAvailable() {
+        TokenBucket bucket = new TokenBucket(10, 10, clock::get);
+        bucket.tryAcquire(10);
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(300), bucket.nanosUntilAvailable(3));
+        assertEquals(0, new TokenBucket(10, 10, clock::get).nanosUntilAvailable(3));
+    }
+}
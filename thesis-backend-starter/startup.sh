@@ -10,30 +10,67 @@ if [ ! -z "$ROOT_PASSWORD" ]; then
     echo "root:$ROOT_PASSWORD" | chpasswd
 fi
 
-# Create student users if provided
-if [ ! -z "$SSH_USERS" ]; then
-    IFS=',' read -ra USERS <<< "$SSH_USERS"
-    for user_info in "${USERS[@]}"; do
-        IFS=':' read -ra USER_PASS <<< "$user_info"
-        username="${USER_PASS[0]}"
-        password="${USER_PASS[1]}"
-        
-        # Create user with home directory
-        useradd -m -s /bin/bash "$username"
-        
-        # Set password
-        echo "$username:$password" | chpasswd
-        
-        # Add user to sudo group
-        usermod -aG sudo "$username"
-        
-        # Create workspace directory for the user
-        mkdir -p "/home/$username/workspace"
-        chown "$username:$username" "/home/$username/workspace"
-        
-        echo "Created user: $username"
+# SSH credentials are projected by the backend into a Secret mounted here.
+# Each line of "users" is "username:crypt-hash" and "authorized_keys.<username>" holds that
+# user's public key; the kubelet refreshes the files in place.
+CREDENTIALS_DIR="${SSH_CREDENTIALS_DIR:-/etc/thesis-ssh}"
+MANAGED_USERS_FILE=/var/lib/thesis-ssh/managed-users
+SYNC_INTERVAL="${SSH_CREDENTIALS_SYNC_INTERVAL:-5}"
+
+mkdir -p "$(dirname "$MANAGED_USERS_FILE")"
+touch "$MANAGED_USERS_FILE"
+
+apply_credentials() {
+    local users_file="$CREDENTIALS_DIR/users"
+    local desired
+    desired=$(mktemp)
+    [ -f "$users_file" ] && cut -d: -f1 "$users_file" | grep -v '^$' | sort > "$desired"
+
+    if [ -f "$users_file" ]; then
+        while IFS=: read -r username _; do
+            [ -z "$username" ] && continue
+            if ! id "$username" >/dev/null 2>&1; then
+                useradd -m -s /bin/bash -G sudo "$username"
+                mkdir -p "/home/$username/workspace"
+                chown "$username:$username" "/home/$username/workspace"
+                echo "Created user: $username"
+            fi
+            usermod -U -e '' "$username" 2>/dev/null
+
+            keys_file="$CREDENTIALS_DIR/authorized_keys.$username"
+            if [ -f "$keys_file" ]; then
+                install -d -m 700 -o "$username" -g "$username" "/home/$username/.ssh"
+                install -m 600 -o "$username" -g "$username" "$keys_file" "/home/$username/.ssh/authorized_keys"
+            else
+                rm -f "/home/$username/.ssh/authorized_keys"
+            fi
+        done < "$users_file"
+
+        # Hashes only; plaintext passwords never reach the container
+        grep -v '^$' "$users_file" | chpasswd -e
+    fi
+
+    # Lock accounts whose access was revoked or expired
+    comm -23 "$MANAGED_USERS_FILE" "$desired" | while read -r username; do
+        # Expiring the account also blocks key logins, which a password lock alone does not
+        usermod -L -e 1 "$username" 2>/dev/null && echo "Locked user: $username"
+        rm -f "/home/$username/.ssh/authorized_keys"
+        pkill -KILL -u "$username" 2>/dev/null
     done
-fi
+
+    mv "$desired" "$MANAGED_USERS_FILE"
+}
+
+# The kubelet swaps the ..data symlink atomically on every Secret update
+last_version=""
+while true; do
+    version=$(readlink "$CREDENTIALS_DIR/..data" 2>/dev/null)
+    if [ "$version" != "$last_version" ]; then
+        apply_credentials
+        last_version="$version"
+    fi
+    sleep "$SYNC_INTERVAL"
+done &
 
 # Keep SSH server running
 echo "SSH server started. Container ready for connections."
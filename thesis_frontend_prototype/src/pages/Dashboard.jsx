@@ -52,214 +52,58 @@ const Dashboard = () => {
     return () => clearInterval(interval);
   }, [isAuthenticated, user]);
 
-  const fetchDashboardData = async () => {
-    try {
-      setLoading(true);
-      console.log('=== Dashboard Data Fetch Started ===');
-      console.log('User object:', user);
-      console.log('User role:', userRole);
-      console.log('Is authenticated:', isAuthenticated);
-      
-      // Fetch different data based on user role
-      if (userRole === 'TEACHER') {
-        console.log('Fetching teacher data...');
-        await Promise.all([
-          fetchTeacherStatistics(),
-          fetchRecentActivities(),
-          fetchSystemStatus()
-        ]);
-      } else {
-        console.log('Fetching student data...');
-        await Promise.all([
-          fetchStudentStatistics(),
-          fetchStudentActivities()
-        ]);
-      }
-      
-      setError(null);
-    } catch (err) {
-      console.error('Failed to fetch dashboard data:', err);
-      setError('Failed to load dashboard data. Please try again.');
-    } finally {
-      setLoading(false);
-    }
-  };
-
-  const fetchTeacherStatistics = async () => {
-    try {
-      console.log('=== Teacher Statistics Fetch ===');
-      console.log('User role:', userRole);
-      console.log('User object:', user);
-      
-      console.log('Making API calls...');
-      const userToken = user?.token;
-      console.log('Using token:', userToken);
-      
-      const [podsRes, containersRes, usersRes, templatesRes] = await Promise.all([
-        api.getWithToken('/kubernetes/pods', userToken),
-        api.getWithToken('/containers', userToken),
-        api.getWithToken('/users', userToken),
-        api.getWithToken('/images', userToken)
-      ]);
-
-      console.log('Raw API responses:');
-      console.log('- Pods:', podsRes);
-      console.log('- Containers:', containersRes);
-      console.log('- Users:', usersRes);
-      console.log('- Templates:', templatesRes);
-
-      const pods = podsRes || [];
-      const containers = containersRes || [];
-      const users = usersRes || [];
-      const templates = templatesRes || [];
-
-      console.log('Processed data:');
-      console.log('- Pods length:', pods.length);
-      console.log('- Containers length:', containers.length);
-      console.log('- Users length:', users.length);
-      console.log('- Templates length:', templates.length);
-
-      const newStatistics = {
-        totalPods: pods.length,
-        runningPods: pods.filter(pod => pod.status === 'Running').length,
-        totalContainers: containers.length,
-        activeContainers: containers.filter(c => c.status === 'running').length,
-        totalUsers: users.length,
-        activeUsers: users.filter(u => u.status === 'active').length,
-        templates: templates.length
-      };
+  const teacherQuickActions = [
+    { label: 'Create Pod', icon: FaPlus, action: () => navigate('/kubernetes-management'), color: 'primary' },
+    { label: 'Manage Templates', icon: FaDocker, action: () => navigate('/container-templates'), color: 'success' },
+    { label: 'View Users', icon: FaUsers, action: () => navigate('/user-management'), color: 'info' },
+    { label: 'Pod Management', icon: FaCube, action: () => navigate('/pod-management'), color: 'warning' }
+  ];
 
-      console.log('New statistics object:', newStatistics);
+  const studentQuickActions = [
+    { label: 'My Containers', icon: FaDocker, action: () => navigate('/student-containers'), color: 'primary' },
+    { label: 'Create Container', icon: FaPlus, action: () => navigate('/student-containers'), color: 'success' }
+  ];
 
-      setDashboardData(prev => ({
-        ...prev,
-        statistics: newStatistics,
-        quickActions: [
-          { label: 'Create Pod', icon: FaPlus, action: () => navigate('/kubernetes-management'), color: 'primary' },
-          { label: 'Manage Templates', icon: FaDocker, action: () => navigate('/container-templates'), color: 'success' },
-          { label: 'View Users', icon: FaUsers, action: () => navigate('/user-management'), color: 'info' },
-          { label: 'Pod Management', icon: FaCube, action: () => navigate('/pod-management'), color: 'warning' }
-        ]
-      }));
-
-      console.log('Statistics updated successfully');
-    } catch (error) {
-      console.error('=== Teacher Statistics Error ===');
-      console.error('Error details:', error);
-      console.error('Error message:', error.message);
-      console.error('Error stack:', error.stack);
-      
-      // Set default values if API calls fail
-      setDashboardData(prev => ({
-        ...prev,
-        statistics: {
-          totalPods: 0,
-          runningPods: 0,
-          totalContainers: 0,
-          activeContainers: 0,
-          totalUsers: 0,
-          activeUsers: 0,
-          templates: 0
-        }
-      }));
-    }
+  const unknownSystemStatus = {
+    kubernetes: 'unknown',
+    database: 'unknown',
+    ssh: 'unknown'
   };
 
-  const fetchStudentStatistics = async () => {
+  // One request to /dashboard; sections the server could not compute in time come back null
+  const fetchDashboardData = async () => {
     try {
-      const userToken = user?.token;
-      const containersRes = await api.getWithToken('/containers/my-containers', userToken);
-      const containers = containersRes || [];
+      setLoading(true);
+      const dashboard = await api.getWithToken('/dashboard', user?.token);
+      const containers = dashboard?.containers || {};
+      const users = dashboard?.users || {};
+      const pods = dashboard?.pods || {};
 
       setDashboardData(prev => ({
         ...prev,
         statistics: {
-          totalContainers: containers.length,
-          activeContainers: containers.filter(c => c.status === 'running').length,
-          templates: 0,
-          totalPods: 0,
-          runningPods: 0,
-          totalUsers: 0,
-          activeUsers: 0
+          totalPods: pods.total || 0,
+          runningPods: pods.running || 0,
+          totalContainers: containers.total || 0,
+          activeContainers: containers.running || 0,
+          totalUsers: users.total || 0,
+          activeUsers: users.active || 0,
+          templates: dashboard?.templates || 0
         },
-        quickActions: [
-          { label: 'My Containers', icon: FaDocker, action: () => navigate('/student-containers'), color: 'primary' },
-          { label: 'Create Container', icon: FaPlus, action: () => navigate('/student-containers'), color: 'success' }
-        ]
-      }));
-    } catch (error) {
-      console.error('Failed to fetch student statistics:', error);
-      setDashboardData(prev => ({
-        ...prev,
-        statistics: {
-          totalContainers: 0,
-          activeContainers: 0,
-          templates: 0,
-          totalPods: 0,
-          runningPods: 0,
-          totalUsers: 0,
-          activeUsers: 0
-        }
+        recentActivities: dashboard?.recentActivities || [],
+        systemStatus: dashboard?.systemStatus || unknownSystemStatus,
+        quickActions: userRole === 'TEACHER' ? teacherQuickActions : studentQuickActions
       }));
-    }
-  };
 
-  const fetchRecentActivities = async () => {
-    try {
-      const userToken = user?.token;
-      const response = await api.getWithToken('/activities/recent', userToken);
-      setDashboardData(prev => ({
-        ...prev,
-        recentActivities: response || []
-      }));
-    } catch (error) {
-      console.error('Failed to fetch recent activities:', error);
-      setDashboardData(prev => ({
-        ...prev,
-        recentActivities: []
-      }));
-    }
-  };
-
-  const fetchStudentActivities = async () => {
-    try {
-      const userToken = user?.token;
-      const response = await api.getWithToken('/activities/my-activities', userToken);
-      setDashboardData(prev => ({
-        ...prev,
-        recentActivities: response || []
-      }));
-    } catch (error) {
-      console.error('Failed to fetch student activities:', error);
-      setDashboardData(prev => ({
-        ...prev,
-        recentActivities: []
-      }));
-    }
-  };
-
-  const fetchSystemStatus = async () => {
-    try {
-      const userToken = user?.token;
-      const response = await api.getWithToken('/system/status', userToken);
-      setDashboardData(prev => ({
-        ...prev,
-        systemStatus: response || {
-          kubernetes: 'unknown',
-          database: 'unknown',
-          ssh: 'unknown'
-        }
-      }));
-    } catch (error) {
-      console.error('Failed to fetch system status:', error);
-      setDashboardData(prev => ({
-        ...prev,
-        systemStatus: {
-          kubernetes: 'unknown',
-          database: 'unknown',
-          ssh: 'unknown'
-        }
-      }));
+      if (dashboard?.unavailableSections?.length) {
+        console.warn('Dashboard sections unavailable:', dashboard.unavailableSections);
+      }
+      setError(null);
+    } catch (err) {
+      console.error('Failed to fetch dashboard data:', err);
+      setError('Failed to load dashboard data. Please try again.');
+    } finally {
+      setLoading(false);
     }
   };
 
@@ -224,6 +224,12 @@ class ApiService {
     return await this.request('/containers');
   }
 
+  // Delta sync: { cursor, reset, hasMore, changed, deleted }; pass the returned cursor as `since` next time
+  async getContainerChanges(since = 0, limit = 500) {
+    const params = new URLSearchParams({ since: String(since), limit: String(limit) });
+    return await this.request(`/containers/changes?${params}`);
+  }
+
   async createContainer(templateId) {
     return await this.request('/containers', {
       method: 'POST',
@@ -433,6 +439,12 @@ class ApiService {
     return await this.request('/users/students');
   }
 
+  async searchUsers(query, role = 'STUDENT', limit = 20) {
+    const params = new URLSearchParams({ q: query, limit: String(limit) });
+    if (role) params.set('role', role);
+    return await this.request(`/users/search?${params}`);
+  }
+
   async getAllUsers() {
     return await this.request('/users');
   }